@@ -0,0 +1,21 @@
+package com.diit.ExternelDataManagement.common;
+
+/**
+ * 文件记录入库方式
+ */
+public enum IngestMode {
+
+    AUTO("自动选择：记录数超过 scan.copy-threshold 后切换为 COPY"),
+    BATCH("多行 INSERT 批量写入"),
+    COPY("COPY FROM STDIN 写入临时表后合并");
+
+    private final String description;
+
+    IngestMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -3,14 +3,47 @@ package com.diit.ExternelDataManagement.config;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
-@EnableConfigurationProperties({SchedulerConfig.class})
+@EnableConfigurationProperties({SchedulerConfig.class, ScanConfig.class})
 public class ApplicationConfig {
 
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    /**
+     * 异步解析任务专用线程池，与 Tomcat 请求线程隔离，长时间扫描不会占用接口请求线程
+     */
+    @Bean(name = "parseJobExecutor")
+    public ThreadPoolTaskExecutor parseJobExecutor(ScanConfig scanConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(scanConfig.getJobThreads());
+        executor.setMaxPoolSize(scanConfig.getJobThreads());
+        executor.setQueueCapacity(scanConfig.getJobQueueCapacity());
+        executor.setThreadNamePrefix("parse-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 文件解析线程池，所有解析流水线共用，scan.parallelism 即全局解析线程数上限
+     * 并发的解析任务按文件轮流使用解析线程，应用关闭时由 Spring 关闭线程池
+     */
+    @Bean(name = "parserExecutor")
+    public ThreadPoolTaskExecutor parserExecutor(ScanConfig scanConfig) {
+        int threads = Math.max(1, scanConfig.getParallelism());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("parse-worker-");
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.util.FileCopyUtils;
 
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 数据库初始化类
@@ -39,8 +41,24 @@ public class DatabaseInitializer implements CommandLineRunner {
         try {
             // 初始化NAS表
             initNasTable();
+
+            // 初始化扫描清单表
+            executeSqlScript("sql/create_scan_manifest_table.sql");
+
+            // 初始化解析隔离名单表
+            executeSqlScript("sql/create_parse_quarantine_table.sql");
+
+            // 初始化文件记录唯一索引（存在历史重复记录时无法创建，启动失败，需先执行一次性去重迁移）
+            initFileRecordUniqueIndex();
+
+            // 文件记录扩展列（坐标系、补充信息）
+            executeSqlScript("sql/add_external_data_info_columns.sql");
             
             logger.info("数据库表初始化完成");
+        } catch (IllegalStateException e) {
+            // 唯一索引缺失时所有入库（ON CONFLICT）都会失败，不能带病启动
+            logger.error("数据库表初始化失败: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("数据库表初始化失败", e);
             // 不抛出异常，避免影响应用启动
@@ -164,6 +182,105 @@ public class DatabaseInitializer implements CommandLineRunner {
         }
     }
     
+    /**
+     * 初始化文件记录唯一索引
+     * 入库的 ON CONFLICT 依赖该索引，索引缺失时所有写入都会失败，因此无法创建时直接终止启动。
+     * 启动时不删除任何数据：存在重复记录时由运维手动执行 sql/migrate_dedupe_external_data_info.sql 后重启
+     *
+     * @throws IllegalStateException 存在重复记录或索引创建失败
+     */
+    private void initFileRecordUniqueIndex() {
+        if (fileRecordUniqueIndexExists()) {
+            logger.debug("文件记录唯一索引已存在，跳过创建");
+            return;
+        }
+        Integer duplicateGroups = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM external_data_info " +
+                "GROUP BY RECEIVE_CODE, FILE_PATH, COALESCE(LAYER_NAME, '') HAVING COUNT(*) > 1) t",
+                Integer.class);
+        if (duplicateGroups != null && duplicateGroups > 0) {
+            throw new IllegalStateException("external_data_info 中存在 " + duplicateGroups +
+                    " 组重复文件记录，无法创建唯一索引 uk_external_data_info_file_layer，入库将全部失败；" +
+                    "请确认后手动执行一次性迁移 sql/migrate_dedupe_external_data_info.sql 再重启应用");
+        }
+        executeSqlScript("sql/create_external_data_info_unique_index.sql");
+        if (!fileRecordUniqueIndexExists()) {
+            throw new IllegalStateException("唯一索引 uk_external_data_info_file_layer 创建失败，入库将全部失败；" +
+                    "请检查数据库权限后手动执行 sql/create_external_data_info_unique_index.sql 再重启应用");
+        }
+    }
+
+    /**
+     * 当前 Schema 下是否已存在文件记录唯一索引
+     */
+    private boolean fileRecordUniqueIndexExists() {
+        Integer indexCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE schemaname = current_schema() " +
+                "AND indexname = 'uk_external_data_info_file_layer'",
+                Integer.class);
+        return indexCount != null && indexCount > 0;
+    }
+
+    /**
+     * 执行建表脚本（脚本中的语句均为幂等语句，可重复执行）
+     * @param scriptPath classpath 下的脚本路径
+     */
+    private void executeSqlScript(String scriptPath) {
+        try {
+            ClassPathResource resource = new ClassPathResource(scriptPath);
+            String sql = FileCopyUtils.copyToString(
+                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)
+            );
+
+            int executedCount = 0;
+            for (String statement : splitStatements(sql)) {
+                // 去掉注释行后再判断是否为空语句
+                StringBuilder body = new StringBuilder();
+                for (String line : statement.split("\n")) {
+                    if (!line.trim().startsWith("--")) {
+                        body.append(line).append('\n');
+                    }
+                }
+                String trimmed = body.toString().trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                jdbcTemplate.execute(trimmed);
+                executedCount++;
+            }
+            logger.info("脚本 {} 执行完成，共执行 {} 条语句", scriptPath, executedCount);
+        } catch (Exception e) {
+            logger.error("脚本 {} 执行失败: {}", scriptPath, e.getMessage(), e);
+            // 不抛出异常，避免影响应用启动
+        }
+    }
+
+    /**
+     * 按分号拆分SQL脚本，$$ 包围的函数体/DO块内的分号不作为语句分隔符
+     */
+    private List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inDollarQuote = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '$' && i + 1 < sql.length() && sql.charAt(i + 1) == '$') {
+                inDollarQuote = !inDollarQuote;
+                current.append("$$");
+                i++;
+                continue;
+            }
+            if (c == ';' && !inDollarQuote) {
+                statements.add(current.toString());
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+        statements.add(current.toString());
+        return statements;
+    }
+
     /**
      * 列出所有表（用于调试）
      */
@@ -0,0 +1,225 @@
+package com.diit.ExternelDataManagement.config;
+
+import com.diit.ExternelDataManagement.mapper.FileMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 文件目录扫描配置
+ * 对应 application.properties 中 scan.* 配置项
+ */
+@Component
+@ConfigurationProperties(prefix = "scan")
+public class ScanConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScanConfig.class);
+
+    // 扫描线程池并行度（目录遍历与文件解析共用），默认取CPU核数
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // 解析流水线各阶段之间有界队列的容量（队列满时上游阻塞）
+    private int queueCapacity = 1000;
+
+    // 解析结果每次交给入库阶段的记录条数，每个分片一条多行 INSERT 一次提交
+    // （PostgreSQL 单条语句最多 65535 个参数，每条记录 12 个参数，超过 5461 时按 5461 处理）
+    private int writeChunkSize = 500;
+
+    // 未凑满分片的记录最长等待时长（秒），超时后写入；解析较慢时避免逐条提交，结束时剩余记录立即写入
+    private int writeFlushIntervalSeconds = 5;
+
+    // 自动选择入库方式时，累计记录数超过该值后改用 COPY 入库
+    private int copyThreshold = 50000;
+
+    // COPY 入库时每次 COPY 并合并的记录条数
+    private int copyChunkSize = 20000;
+
+    // 异步解析任务线程数（同时执行的解析任务数）
+    private int jobThreads = 2;
+
+    // 异步解析任务排队上限，超出后拒绝提交
+    private int jobQueueCapacity = 20;
+
+    // 已结束的解析任务在内存中保留的时长（分钟）
+    private int jobRetentionMinutes = 1440;
+
+    // 各格式同时解析的文件数上限（格式名 -> 上限，0 表示不限制），未配置的格式使用解析器声明的默认值
+    private Map<String, Integer> formatConcurrency = new HashMap<>();
+
+    // 是否启用图层解析结果磁盘缓存（按 路径+大小+修改时间 命中，重启后仍有效）
+    private boolean layerCacheEnabled = true;
+
+    // 图层缓存目录
+    private String layerCacheDir = System.getProperty("java.io.tmpdir") + "/externel-data-layer-cache";
+
+    // 图层缓存占用磁盘空间上限（字节），超出后淘汰最久未访问的条目
+    private long layerCacheMaxBytes = 256L * 1024 * 1024;
+
+    // 单个文件解析时限（秒，0 表示不限制），超时的文件以默认记录入库并标记为超时
+    private int parseTimeoutSeconds = 300;
+
+    // 各格式的解析时限（格式名 -> 秒，0 表示不限制），未配置的格式使用 parseTimeoutSeconds
+    private Map<String, Integer> formatTimeoutSeconds = new HashMap<>();
+
+    // 同一文件（大小和修改时间不变）连续解析超时达到该次数后列入隔离名单，之后的扫描不再解析（0 表示不隔离）
+    private int quarantineThreshold = 2;
+
+    // 查询文件状态时即超时的文件大小和修改时间未知，只能按路径隔离；超过该时长（小时）后重新尝试，0 表示一直隔离
+    private int quarantinePathExpiryHours = 24;
+
+    // 执行单个文件解析单元的工作线程上限（0 表示取 parallelism 的 2 倍），卡在 I/O 上的超时线程退出前占用名额
+    private int parseWorkerThreads = 0;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getWriteChunkSize() {
+        return writeChunkSize;
+    }
+
+    public void setWriteChunkSize(int writeChunkSize) {
+        if (writeChunkSize > FileMapper.MAX_UPSERT_BATCH_SIZE) {
+            logger.warn("scan.write-chunk-size={} 超出单条语句参数上限，按 {} 处理", writeChunkSize,
+                    FileMapper.MAX_UPSERT_BATCH_SIZE);
+            writeChunkSize = FileMapper.MAX_UPSERT_BATCH_SIZE;
+        }
+        this.writeChunkSize = writeChunkSize;
+    }
+
+    public int getCopyThreshold() {
+        return copyThreshold;
+    }
+
+    public void setCopyThreshold(int copyThreshold) {
+        this.copyThreshold = copyThreshold;
+    }
+
+    public int getCopyChunkSize() {
+        return copyChunkSize;
+    }
+
+    public void setCopyChunkSize(int copyChunkSize) {
+        this.copyChunkSize = copyChunkSize;
+    }
+
+    public int getJobThreads() {
+        return jobThreads;
+    }
+
+    public void setJobThreads(int jobThreads) {
+        this.jobThreads = jobThreads;
+    }
+
+    public int getJobQueueCapacity() {
+        return jobQueueCapacity;
+    }
+
+    public void setJobQueueCapacity(int jobQueueCapacity) {
+        this.jobQueueCapacity = jobQueueCapacity;
+    }
+
+    public int getJobRetentionMinutes() {
+        return jobRetentionMinutes;
+    }
+
+    public void setJobRetentionMinutes(int jobRetentionMinutes) {
+        this.jobRetentionMinutes = jobRetentionMinutes;
+    }
+
+    public Map<String, Integer> getFormatConcurrency() {
+        return formatConcurrency;
+    }
+
+    public void setFormatConcurrency(Map<String, Integer> formatConcurrency) {
+        this.formatConcurrency = formatConcurrency;
+    }
+
+    public boolean isLayerCacheEnabled() {
+        return layerCacheEnabled;
+    }
+
+    public void setLayerCacheEnabled(boolean layerCacheEnabled) {
+        this.layerCacheEnabled = layerCacheEnabled;
+    }
+
+    public String getLayerCacheDir() {
+        return layerCacheDir;
+    }
+
+    public void setLayerCacheDir(String layerCacheDir) {
+        this.layerCacheDir = layerCacheDir;
+    }
+
+    public long getLayerCacheMaxBytes() {
+        return layerCacheMaxBytes;
+    }
+
+    public void setLayerCacheMaxBytes(long layerCacheMaxBytes) {
+        this.layerCacheMaxBytes = layerCacheMaxBytes;
+    }
+
+    public int getParseTimeoutSeconds() {
+        return parseTimeoutSeconds;
+    }
+
+    public void setParseTimeoutSeconds(int parseTimeoutSeconds) {
+        this.parseTimeoutSeconds = parseTimeoutSeconds;
+    }
+
+    public Map<String, Integer> getFormatTimeoutSeconds() {
+        return formatTimeoutSeconds;
+    }
+
+    public void setFormatTimeoutSeconds(Map<String, Integer> formatTimeoutSeconds) {
+        this.formatTimeoutSeconds = formatTimeoutSeconds;
+    }
+
+    public int getQuarantineThreshold() {
+        return quarantineThreshold;
+    }
+
+    public void setQuarantineThreshold(int quarantineThreshold) {
+        this.quarantineThreshold = quarantineThreshold;
+    }
+
+    public int getQuarantinePathExpiryHours() {
+        return quarantinePathExpiryHours;
+    }
+
+    public void setQuarantinePathExpiryHours(int quarantinePathExpiryHours) {
+        this.quarantinePathExpiryHours = quarantinePathExpiryHours;
+    }
+
+    public int getParseWorkerThreads() {
+        return parseWorkerThreads;
+    }
+
+    public void setParseWorkerThreads(int parseWorkerThreads) {
+        this.parseWorkerThreads = parseWorkerThreads;
+    }
+
+    public int getWriteFlushIntervalSeconds() {
+        return writeFlushIntervalSeconds;
+    }
+
+    public void setWriteFlushIntervalSeconds(int writeFlushIntervalSeconds) {
+        this.writeFlushIntervalSeconds = writeFlushIntervalSeconds;
+    }
+}
@@ -1,10 +1,15 @@
 package com.diit.ExternelDataManagement.controller;
 
 import com.diit.ExternelDataManagement.common.APIResponse;
+import com.diit.ExternelDataManagement.common.IngestMode;
 import com.diit.ExternelDataManagement.pojo.DataEntity;
-import com.diit.ExternelDataManagement.pojo.FileEntity;
+import com.diit.ExternelDataManagement.pojo.LayerCacheStats;
+import com.diit.ExternelDataManagement.pojo.ParseJob;
+import com.diit.ExternelDataManagement.pojo.ParseQuarantineEntry;
+import com.diit.ExternelDataManagement.pojo.ParseResult;
 import com.diit.ExternelDataManagement.service.DataService;
 import com.diit.ExternelDataManagement.service.FileService;
+import com.diit.ExternelDataManagement.service.ParseJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,6 +29,9 @@ public class DataController {
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private ParseJobService parseJobService;
+
     @PostMapping("/receive/{id}")
     @Operation(summary = "处理数据接收", description = "根据ID处理外部数据包接收，生成接收编码并更新状态")
     public APIResponse<DataEntity> processDataById(
@@ -34,12 +42,44 @@ public class DataController {
     }
 
     @PostMapping("/parse/{receiveCode}")
-    @Operation(summary = "解析文件目录", description = "根据接收编码查询文件路径，解析目录下所有文件并存入数据库")
-    public APIResponse<List<FileEntity>> parseFilesByReceiveCode(
+    @Operation(summary = "解析文件目录", description = "根据接收编码查询文件路径，解析目录下所有文件并存入数据库，返回本次解析的文件记录及解析统计；" +
+            "上次扫描存在、本次已删除的文件列在 progress.removedFiles 中，其入库记录保留并在补充信息中标记 fileStatus = removed")
+    public APIResponse<ParseResult> parseFilesByReceiveCode(
             @Parameter(description = "接收编码", required = true, example = "REC_20241201_143022_A1B2C3D4")
-            @PathVariable String receiveCode) {
-        List<FileEntity> parsedFiles = fileService.parseAndSaveFiles(receiveCode);
-        return APIResponse.ok(parsedFiles);
+            @PathVariable String receiveCode,
+            @Parameter(description = "入库方式：AUTO（默认，记录数超过阈值后使用 COPY）、BATCH、COPY", example = "AUTO")
+            @RequestParam(required = false) IngestMode ingestMode) {
+        ParseResult result = fileService.parseAndSaveFiles(receiveCode, ingestMode);
+        return APIResponse.ok(result);
+    }
+
+    @PostMapping("/parse-jobs/{receiveCode}")
+    @Operation(summary = "提交异步解析任务", description = "根据接收编码提交后台解析任务，立即返回任务信息，可通过任务ID查询进度")
+    public APIResponse<ParseJob> submitParseJob(
+            @Parameter(description = "接收编码", required = true, example = "REC_20241201_143022_A1B2C3D4")
+            @PathVariable String receiveCode,
+            @Parameter(description = "入库方式：AUTO（默认，记录数超过阈值后使用 COPY）、BATCH、COPY", example = "AUTO")
+            @RequestParam(required = false) IngestMode ingestMode) {
+        ParseJob job = parseJobService.submit(receiveCode, ingestMode);
+        return APIResponse.ok(job);
+    }
+
+    @GetMapping("/parse-jobs/{jobId}")
+    @Operation(summary = "查询解析任务进度", description = "根据任务ID查询异步解析任务的状态和进度")
+    public APIResponse<ParseJob> getParseJob(
+            @Parameter(description = "解析任务ID", required = true, example = "JOB_20241201_143022_A1B2C3D4")
+            @PathVariable String jobId) {
+        ParseJob job = parseJobService.getJob(jobId);
+        return APIResponse.ok(job);
+    }
+
+    @PostMapping("/parse-jobs/{jobId}/cancel")
+    @Operation(summary = "取消解析任务", description = "根据任务ID取消未结束的异步解析任务，已入库的记录不会回滚")
+    public APIResponse<ParseJob> cancelParseJob(
+            @Parameter(description = "解析任务ID", required = true, example = "JOB_20241201_143022_A1B2C3D4")
+            @PathVariable String jobId) {
+        ParseJob job = parseJobService.cancel(jobId);
+        return APIResponse.ok(job);
     }
 
     @PostMapping("/restart-quality-check/{id}")
@@ -57,4 +97,35 @@ public class DataController {
         com.diit.ExternelDataManagement.pojo.SyncStatusResult result = dataService.syncQualityCheckStatus();
         return APIResponse.ok(result);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/layer-cache/{receiveCode}/invalidate")
+    @Operation(summary = "失效图层缓存", description = "使接收编码对应目录下所有文件的图层解析缓存失效并清空扫描清单，下次解析时全部重新解析，返回失效的缓存条目数")
+    public APIResponse<Integer> invalidateLayerCache(
+            @Parameter(description = "接收编码", required = true, example = "REC_20241201_143022_A1B2C3D4")
+            @PathVariable String receiveCode) {
+        int invalidated = fileService.invalidateLayerCache(receiveCode);
+        return APIResponse.ok(invalidated);
+    }
+
+    @GetMapping("/layer-cache/stats")
+    @Operation(summary = "图层缓存统计", description = "查询图层解析缓存的命中、未命中、淘汰次数及占用空间")
+    public APIResponse<LayerCacheStats> getLayerCacheStats() {
+        return APIResponse.ok(fileService.getLayerCacheStats());
+    }
+
+    @GetMapping("/quarantine/{receiveCode}")
+    @Operation(summary = "解析隔离名单", description = "查询接收编码下多次解析超时的文件，连续超时次数达到 scan.quarantine-threshold 的文件在扫描时跳过解析")
+    public APIResponse<List<ParseQuarantineEntry>> getParseQuarantine(
+            @Parameter(description = "接收编码", required = true, example = "REC_20241201_143022_A1B2C3D4")
+            @PathVariable String receiveCode) {
+        return APIResponse.ok(fileService.getParseQuarantine(receiveCode));
+    }
+
+    @DeleteMapping("/quarantine/{receiveCode}")
+    @Operation(summary = "清空解析隔离名单", description = "清空接收编码下的解析隔离名单，下次解析时重新尝试这些文件，返回移出的条目数")
+    public APIResponse<Integer> releaseParseQuarantine(
+            @Parameter(description = "接收编码", required = true, example = "REC_20241201_143022_A1B2C3D4")
+            @PathVariable String receiveCode) {
+        return APIResponse.ok(fileService.releaseParseQuarantine(receiveCode));
+    }
+}
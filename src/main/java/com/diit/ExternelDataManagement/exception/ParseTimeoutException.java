@@ -0,0 +1,24 @@
+package com.diit.ExternelDataManagement.exception;
+
+/**
+ * 单个文件解析超过该格式的时限
+ */
+public class ParseTimeoutException extends RuntimeException {
+
+    private final String format;
+    private final long timeoutSeconds;
+
+    public ParseTimeoutException(String format, long timeoutSeconds, String filePath) {
+        super("文件解析超时（" + format + " 格式时限 " + timeoutSeconds + " 秒）: " + filePath);
+        this.format = format;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+}
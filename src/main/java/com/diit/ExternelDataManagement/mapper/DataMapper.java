@@ -56,4 +56,18 @@ public interface DataMapper {
 
     @Update("UPDATE receive_external_package_info SET quality_status = #{qualityStatus} WHERE instance_id = #{instanceId}")
     int updateQualityStatusByInstanceId(@Param("instanceId") String instanceId, @Param("qualityStatus") String qualityStatus);
-}
\ No newline at end of file
+
+    /**
+     * 按实例ID批量更新质检状态，一条语句完成（UPDATE ... FROM VALUES），返回实际更新的实例ID
+     * @param updates 每项包含 instanceId 和 qualityStatus
+     */
+    @Select("<script>" +
+            "UPDATE receive_external_package_info AS t SET quality_status = v.quality_status FROM (VALUES " +
+            "<foreach item='update' collection='updates' separator=','>" +
+            "(#{update.instanceId}, #{update.qualityStatus})" +
+            "</foreach>" +
+            ") AS v(instance_id, quality_status) WHERE t.instance_id = v.instance_id RETURNING t.instance_id" +
+            "</script>")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<String> updateQualityStatusBatch(@Param("updates") List<DataEntity> updates);
+}
@@ -10,11 +10,76 @@ import java.util.List;
 public interface FileMapper {
 
     @Insert("INSERT INTO external_data_info (ID, RECEIVE_CODE, FILE_PATH, DATA_TYPE, FILE_TYPE, BBOX, DATA_SIZE, " +
-            "TOTAL_OBJECT_NUM, TOTAL_AREA, LAYER_NAME) " +
+            "TOTAL_OBJECT_NUM, TOTAL_AREA, LAYER_NAME, CRS, METADATA) " +
             "VALUES (#{id}, #{receiveCode}, #{filePath}, #{dataType}, #{fileType}, #{bbox}, #{dataSize}, " +
-            "#{totalObjectNum}, #{totalArea}, #{layerName})")
+            "#{totalObjectNum}, #{totalArea}, #{layerName}, #{crs}, CAST(#{metadata} AS JSONB))")
     int insert(FileEntity fileEntity);
 
+    // 每条记录绑定的参数个数（ID 至 METADATA 共 12 列）
+    int UPSERT_COLUMN_COUNT = 12;
+
+    // 单条多行 INSERT 的记录数上限：PostgreSQL/pgjdbc 单条语句最多 65535 个绑定参数
+    int MAX_UPSERT_BATCH_SIZE = 65535 / UPSERT_COLUMN_COUNT;
+
+    /**
+     * 唯一索引冲突处理：已存在的记录（接收编码 + 文件路径 + 图层名称）仅在内容变化时更新，
+     * RETURNING 返回每条被写入的记录是否为新增（xmax = 0），未变化的记录不返回
+     */
+    String UPSERT_CONFLICT_CLAUSE = " ON CONFLICT (RECEIVE_CODE, FILE_PATH, (COALESCE(LAYER_NAME, ''))) DO UPDATE SET " +
+            "DATA_TYPE = EXCLUDED.DATA_TYPE, FILE_TYPE = EXCLUDED.FILE_TYPE, BBOX = EXCLUDED.BBOX, " +
+            "DATA_SIZE = EXCLUDED.DATA_SIZE, TOTAL_OBJECT_NUM = EXCLUDED.TOTAL_OBJECT_NUM, TOTAL_AREA = EXCLUDED.TOTAL_AREA, " +
+            "CRS = EXCLUDED.CRS, METADATA = EXCLUDED.METADATA " +
+            "WHERE (external_data_info.DATA_TYPE, external_data_info.FILE_TYPE, external_data_info.BBOX, " +
+            "external_data_info.DATA_SIZE, external_data_info.TOTAL_OBJECT_NUM, external_data_info.TOTAL_AREA, " +
+            "external_data_info.CRS, external_data_info.METADATA) " +
+            "IS DISTINCT FROM (EXCLUDED.DATA_TYPE, EXCLUDED.FILE_TYPE, EXCLUDED.BBOX, " +
+            "EXCLUDED.DATA_SIZE, EXCLUDED.TOTAL_OBJECT_NUM, EXCLUDED.TOTAL_AREA, EXCLUDED.CRS, EXCLUDED.METADATA) " +
+            "RETURNING (xmax = 0) AS inserted";
+
+    /**
+     * 写入单条记录（已存在则按需更新）
+     * @return true 新增，false 更新，null 已存在且未变化
+     */
+    @Select("INSERT INTO external_data_info (ID, RECEIVE_CODE, FILE_PATH, DATA_TYPE, FILE_TYPE, BBOX, DATA_SIZE, " +
+            "TOTAL_OBJECT_NUM, TOTAL_AREA, LAYER_NAME, CRS, METADATA) " +
+            "VALUES (#{id}, #{receiveCode}, #{filePath}, #{dataType}, #{fileType}, #{bbox}, #{dataSize}, " +
+            "#{totalObjectNum}, #{totalArea}, #{layerName}, #{crs}, CAST(#{metadata} AS JSONB))" + UPSERT_CONFLICT_CLAUSE)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    Boolean upsert(FileEntity fileEntity);
+
+    /**
+     * 多行 VALUES 批量写入（已存在则按需更新），一条语句一次提交
+     * @param fileEntities 文件记录列表（不能为空，不能包含重复的唯一键，不超过 MAX_UPSERT_BATCH_SIZE 条）
+     * @return 每条被写入记录是否为新增；未变化的记录不在结果中
+     */
+    @Select("<script>" +
+            "INSERT INTO external_data_info (ID, RECEIVE_CODE, FILE_PATH, DATA_TYPE, FILE_TYPE, BBOX, DATA_SIZE, " +
+            "TOTAL_OBJECT_NUM, TOTAL_AREA, LAYER_NAME, CRS, METADATA) VALUES " +
+            "<foreach item='file' collection='fileEntities' separator=','>" +
+            "(#{file.id}, #{file.receiveCode}, #{file.filePath}, #{file.dataType}, #{file.fileType}, #{file.bbox}, " +
+            "#{file.dataSize}, #{file.totalObjectNum}, #{file.totalArea}, #{file.layerName}, #{file.crs}, CAST(#{file.metadata} AS JSONB))" +
+            "</foreach>" + UPSERT_CONFLICT_CLAUSE +
+            "</script>")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    List<Boolean> upsertBatch(@Param("fileEntities") List<FileEntity> fileEntities);
+
+    /**
+     * 标记已删除文件的记录：补充信息写入 fileStatus = removed，记录本身保留；
+     * 文件重新出现并再次入库时补充信息被覆盖，标记随之消失
+     * @param receiveCode 接收编码
+     * @param filePaths 已删除的文件路径（不能为空）
+     * @return 新标记的记录数（已标记的记录不重复计数）
+     */
+    @Update("<script>" +
+            "UPDATE external_data_info SET METADATA = COALESCE(METADATA, '{}'::jsonb) || '{\"fileStatus\":\"removed\"}'::jsonb " +
+            "WHERE RECEIVE_CODE = #{receiveCode} AND FILE_PATH IN " +
+            "<foreach item='filePath' collection='filePaths' open='(' separator=',' close=')'>" +
+            "#{filePath}" +
+            "</foreach>" +
+            " AND (METADATA ->> 'fileStatus') IS DISTINCT FROM 'removed'" +
+            "</script>")
+    int markRemoved(@Param("receiveCode") String receiveCode, @Param("filePaths") List<String> filePaths);
+
     @Select("SELECT FILE_PATH FROM receive_external_package_info WHERE RECEIVE_CODE = #{receiveCode}")
     String getFilePathByReceiveCode(@Param("receiveCode") String receiveCode);
 
@@ -29,7 +94,9 @@ public interface FileMapper {
         @Result(property = "dataSize", column = "DATA_SIZE"),
         @Result(property = "totalObjectNum", column = "TOTAL_OBJECT_NUM"),
         @Result(property = "totalArea", column = "TOTAL_AREA"),
-        @Result(property = "layerName", column = "LAYER_NAME")
+        @Result(property = "layerName", column = "LAYER_NAME"),
+        @Result(property = "crs", column = "CRS"),
+        @Result(property = "metadata", column = "METADATA")
     })
     List<FileEntity> findByReceiveCode(@Param("receiveCode") String receiveCode);
 
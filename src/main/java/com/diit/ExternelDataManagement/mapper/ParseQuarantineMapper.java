@@ -0,0 +1,65 @@
+package com.diit.ExternelDataManagement.mapper;
+
+import com.diit.ExternelDataManagement.pojo.ParseQuarantineEntry;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 解析隔离名单数据访问接口
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Mapper
+public interface ParseQuarantineMapper {
+
+    /**
+     * 查询接收编码下的全部隔离名单条目
+     */
+    @Select("SELECT RECEIVE_CODE, FILE_PATH, FILE_SIZE, LAST_MODIFIED, FORMAT, TIMEOUT_COUNT, LAST_TIMEOUT_TIME " +
+            "FROM external_parse_quarantine WHERE RECEIVE_CODE = #{receiveCode} ORDER BY FILE_PATH")
+    @Results({
+        @Result(property = "receiveCode", column = "RECEIVE_CODE"),
+        @Result(property = "filePath", column = "FILE_PATH"),
+        @Result(property = "fileSize", column = "FILE_SIZE"),
+        @Result(property = "lastModified", column = "LAST_MODIFIED"),
+        @Result(property = "format", column = "FORMAT"),
+        @Result(property = "timeoutCount", column = "TIMEOUT_COUNT"),
+        @Result(property = "lastTimeoutTime", column = "LAST_TIMEOUT_TIME")
+    })
+    List<ParseQuarantineEntry> findByReceiveCode(@Param("receiveCode") String receiveCode);
+
+    /**
+     * 批量记录解析超时：新文件超时次数为 1；已存在且大小和修改时间不变时超时次数加 1，文件已变化时重新计数
+     */
+    @Insert("<script>" +
+            "INSERT INTO external_parse_quarantine AS q (RECEIVE_CODE, FILE_PATH, FILE_SIZE, LAST_MODIFIED, FORMAT, TIMEOUT_COUNT, LAST_TIMEOUT_TIME) VALUES " +
+            "<foreach item='entry' collection='entries' separator=','>" +
+            "(#{entry.receiveCode}, #{entry.filePath}, #{entry.fileSize}, #{entry.lastModified}, #{entry.format}, 1, #{entry.lastTimeoutTime})" +
+            "</foreach>" +
+            " ON CONFLICT (RECEIVE_CODE, FILE_PATH) DO UPDATE SET " +
+            "TIMEOUT_COUNT = CASE WHEN q.FILE_SIZE = EXCLUDED.FILE_SIZE AND q.LAST_MODIFIED = EXCLUDED.LAST_MODIFIED " +
+            "THEN q.TIMEOUT_COUNT + 1 ELSE 1 END, " +
+            "FILE_SIZE = EXCLUDED.FILE_SIZE, LAST_MODIFIED = EXCLUDED.LAST_MODIFIED, FORMAT = EXCLUDED.FORMAT, " +
+            "LAST_TIMEOUT_TIME = EXCLUDED.LAST_TIMEOUT_TIME" +
+            "</script>")
+    int recordTimeouts(@Param("entries") List<ParseQuarantineEntry> entries);
+
+    /**
+     * 删除接收编码下指定文件的隔离名单条目（文件已解析成功或已删除）
+     */
+    @Delete("<script>" +
+            "DELETE FROM external_parse_quarantine WHERE RECEIVE_CODE = #{receiveCode} AND FILE_PATH IN " +
+            "<foreach item='filePath' collection='filePaths' open='(' separator=',' close=')'>" +
+            "#{filePath}" +
+            "</foreach>" +
+            "</script>")
+    int deleteByFilePaths(@Param("receiveCode") String receiveCode, @Param("filePaths") List<String> filePaths);
+
+    /**
+     * 清空接收编码下的隔离名单（下次扫描重新尝试解析这些文件）
+     */
+    @Delete("DELETE FROM external_parse_quarantine WHERE RECEIVE_CODE = #{receiveCode}")
+    int deleteByReceiveCode(@Param("receiveCode") String receiveCode);
+}
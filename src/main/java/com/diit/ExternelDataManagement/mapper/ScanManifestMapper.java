@@ -0,0 +1,61 @@
+package com.diit.ExternelDataManagement.mapper;
+
+import com.diit.ExternelDataManagement.pojo.ScanManifestEntry;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * 扫描清单数据访问接口
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Mapper
+public interface ScanManifestMapper {
+
+    /**
+     * 查询接收编码下的全部清单条目
+     */
+    @Select("SELECT RECEIVE_CODE, FILE_PATH, FILE_SIZE, LAST_MODIFIED, LAYER_FINGERPRINT, SCAN_TIME " +
+            "FROM external_scan_manifest WHERE RECEIVE_CODE = #{receiveCode}")
+    @Results({
+        @Result(property = "receiveCode", column = "RECEIVE_CODE"),
+        @Result(property = "filePath", column = "FILE_PATH"),
+        @Result(property = "fileSize", column = "FILE_SIZE"),
+        @Result(property = "lastModified", column = "LAST_MODIFIED"),
+        @Result(property = "layerFingerprint", column = "LAYER_FINGERPRINT"),
+        @Result(property = "scanTime", column = "SCAN_TIME")
+    })
+    List<ScanManifestEntry> findByReceiveCode(@Param("receiveCode") String receiveCode);
+
+    /**
+     * 批量写入清单条目（已存在则更新）
+     */
+    @Insert("<script>" +
+            "INSERT INTO external_scan_manifest (RECEIVE_CODE, FILE_PATH, FILE_SIZE, LAST_MODIFIED, LAYER_FINGERPRINT, SCAN_TIME) VALUES " +
+            "<foreach item='entry' collection='entries' separator=','>" +
+            "(#{entry.receiveCode}, #{entry.filePath}, #{entry.fileSize}, #{entry.lastModified}, #{entry.layerFingerprint}, #{entry.scanTime})" +
+            "</foreach>" +
+            " ON CONFLICT (RECEIVE_CODE, FILE_PATH) DO UPDATE SET FILE_SIZE = EXCLUDED.FILE_SIZE, " +
+            "LAST_MODIFIED = EXCLUDED.LAST_MODIFIED, LAYER_FINGERPRINT = EXCLUDED.LAYER_FINGERPRINT, SCAN_TIME = EXCLUDED.SCAN_TIME" +
+            "</script>")
+    int upsertBatch(@Param("entries") List<ScanManifestEntry> entries);
+
+    /**
+     * 删除接收编码下指定文件的清单条目
+     */
+    @Delete("<script>" +
+            "DELETE FROM external_scan_manifest WHERE RECEIVE_CODE = #{receiveCode} AND FILE_PATH IN " +
+            "<foreach item='filePath' collection='filePaths' open='(' separator=',' close=')'>" +
+            "#{filePath}" +
+            "</foreach>" +
+            "</script>")
+    int deleteByFilePaths(@Param("receiveCode") String receiveCode, @Param("filePaths") List<String> filePaths);
+
+    /**
+     * 删除接收编码下的全部清单条目（下次扫描全量解析）
+     */
+    @Delete("DELETE FROM external_scan_manifest WHERE RECEIVE_CODE = #{receiveCode}")
+    int deleteByReceiveCode(@Param("receiveCode") String receiveCode);
+}
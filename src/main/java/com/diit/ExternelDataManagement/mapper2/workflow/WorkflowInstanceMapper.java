@@ -7,6 +7,8 @@ import org.apache.ibatis.annotations.Result;
 import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 @Mapper
 public interface WorkflowInstanceMapper {
 
@@ -16,4 +18,15 @@ public interface WorkflowInstanceMapper {
         @Result(property = "status", column = "status")
     })
     WorkflowInstanceEntity findById(@Param("instanceId") Long instanceId);
+
+    /**
+     * 一次查询多个工作流实例的状态，不存在的实例不返回
+     */
+    @Select("SELECT wf_instance_id, status FROM workflow_instance_info " +
+            "WHERE wf_instance_id = ANY(#{instanceIds,typeHandler=org.apache.ibatis.type.ArrayTypeHandler})")
+    @Results({
+        @Result(property = "id", column = "wf_instance_id"),
+        @Result(property = "status", column = "status")
+    })
+    List<WorkflowInstanceEntity> findByIds(@Param("instanceIds") Long[] instanceIds);
 }
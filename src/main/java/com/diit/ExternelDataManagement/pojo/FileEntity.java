@@ -12,6 +12,8 @@ public class FileEntity {
     private Integer totalObjectNum;
     private Double totalArea;
     private String layerName;
+    private String crs;
+    private String metadata;
 
     public FileEntity() {
     }
@@ -96,6 +98,22 @@ public class FileEntity {
         this.layerName = layerName;
     }
 
+    public String getCrs() {
+        return crs;
+    }
+
+    public void setCrs(String crs) {
+        this.crs = crs;
+    }
+
+    public String getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(String metadata) {
+        this.metadata = metadata;
+    }
+
     @Override
     public String toString() {
         return "FileEntity{" +
@@ -109,6 +127,8 @@ public class FileEntity {
                 ", totalObjectNum=" + totalObjectNum +
                 ", totalArea=" + totalArea +
                 ", layerName='" + layerName + '\'' +
+                ", crs='" + crs + '\'' +
+                ", metadata='" + metadata + '\'' +
                 '}';
     }
 }
\ No newline at end of file
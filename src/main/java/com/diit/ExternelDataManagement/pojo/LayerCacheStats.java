@@ -0,0 +1,94 @@
+package com.diit.ExternelDataManagement.pojo;
+
+/**
+ * 图层解析结果缓存统计
+ */
+public class LayerCacheStats {
+
+    private boolean enabled;       // 是否启用缓存
+    private long hitCount;         // 命中次数
+    private long missCount;        // 未命中次数
+    private long evictionCount;    // 因超出容量被淘汰的条目数
+    private long invalidationCount; // 按接收编码失效的条目数
+    private int entryCount;        // 当前条目数
+    private long totalBytes;       // 当前占用磁盘空间（字节）
+    private long maxBytes;         // 容量上限（字节）
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public void setInvalidationCount(long invalidationCount) {
+        this.invalidationCount = invalidationCount;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "LayerCacheStats{" +
+                "enabled=" + enabled +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", invalidationCount=" + invalidationCount +
+                ", entryCount=" + entryCount +
+                ", totalBytes=" + totalBytes +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+}
@@ -1,5 +1,8 @@
 package com.diit.ExternelDataManagement.pojo;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 图层信息实体类
  */
@@ -11,6 +14,8 @@ public class LayerInfo {
     private String bbox;
     private double totalArea;
     private String filePath; // 图层对应的文件路径（主要用于 GDB 中每个图层对应的 .gdbtable 文件）
+    private String crs; // 坐标系标识（如 EPSG:4490），无坐标系信息时为 null
+    private Map<String, Object> metadata = new LinkedHashMap<>(); // 格式相关的补充信息（如 .dbf 字段结构、顶点数、部件数），以 JSON 入库
     
     public LayerInfo() {
     }
@@ -68,6 +73,22 @@ public class LayerInfo {
         this.filePath = filePath;
     }
     
+    public String getCrs() {
+        return crs;
+    }
+    
+    public void setCrs(String crs) {
+        this.crs = crs;
+    }
+    
+    public Map<String, Object> getMetadata() {
+        return metadata;
+    }
+    
+    public void setMetadata(Map<String, Object> metadata) {
+        this.metadata = metadata;
+    }
+    
     @Override
     public String toString() {
         return "LayerInfo{" +
@@ -76,6 +97,7 @@ public class LayerInfo {
                 ", geometryType='" + geometryType + '\'' +
                 ", bbox='" + bbox + '\'' +
                 ", totalArea=" + totalArea +
+                ", crs='" + crs + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,131 @@
+package com.diit.ExternelDataManagement.pojo;
+
+import com.diit.ExternelDataManagement.common.IngestMode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 异步文件解析任务
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class ParseJob {
+
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final String STATUS_FAILED = "failed";
+    public static final String STATUS_CANCELLED = "cancelled";
+
+    private String jobId;
+    private String receiveCode;
+    private IngestMode ingestMode;              // 入库方式
+    private volatile String status;            // 任务状态：queued/running/completed/failed/cancelled
+    private volatile String message;           // 失败原因等说明
+    private LocalDateTime submitTime;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime endTime;
+    private final ParseProgress progress = new ParseProgress();
+
+    public ParseJob() {
+    }
+
+    public ParseJob(String jobId, String receiveCode, IngestMode ingestMode) {
+        this.jobId = jobId;
+        this.receiveCode = receiveCode;
+        this.ingestMode = ingestMode;
+        this.status = STATUS_QUEUED;
+        this.submitTime = LocalDateTime.now();
+    }
+
+    /**
+     * 任务是否已结束（完成、失败或取消）
+     */
+    public boolean isFinished() {
+        return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status) || STATUS_CANCELLED.equals(status);
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getReceiveCode() {
+        return receiveCode;
+    }
+
+    public void setReceiveCode(String receiveCode) {
+        this.receiveCode = receiveCode;
+    }
+
+    public IngestMode getIngestMode() {
+        return ingestMode;
+    }
+
+    public void setIngestMode(IngestMode ingestMode) {
+        this.ingestMode = ingestMode;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getSubmitTime() {
+        return submitTime;
+    }
+
+    public void setSubmitTime(LocalDateTime submitTime) {
+        this.submitTime = submitTime;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public ParseProgress getProgress() {
+        return progress;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseJob{" +
+                "jobId='" + jobId + '\'' +
+                ", receiveCode='" + receiveCode + '\'' +
+                ", ingestMode=" + ingestMode +
+                ", status='" + status + '\'' +
+                ", message='" + message + '\'' +
+                ", submitTime=" + submitTime +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", progress=" + progress +
+                '}';
+    }
+}
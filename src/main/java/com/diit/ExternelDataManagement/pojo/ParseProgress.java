@@ -0,0 +1,168 @@
+package com.diit.ExternelDataManagement.pojo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文件解析进度
+ * 由解析线程并发更新，可被查询线程随时读取；同时承载取消标记
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class ParseProgress {
+
+    private final AtomicInteger filesSeen = new AtomicInteger();       // 已发现的待解析文件数
+    private final AtomicInteger filesParsed = new AtomicInteger();     // 已解析的文件数
+    private final AtomicInteger filesUnchanged = new AtomicInteger();  // 未变化而跳过解析的文件数
+    private final AtomicInteger filesFailed = new AtomicInteger();     // 解析失败的文件数
+    private final AtomicInteger filesTimedOut = new AtomicInteger();   // 解析超时的文件数（同时计入失败数）
+    private final AtomicInteger filesQuarantined = new AtomicInteger(); // 在隔离名单中而跳过解析的文件数
+    private final AtomicInteger filesRemoved = new AtomicInteger();    // 上次扫描存在、本次已删除的文件数
+    private final AtomicInteger rowsPersisted = new AtomicInteger();   // 成功入库的记录数
+    private final AtomicInteger rowsUpdated = new AtomicInteger();     // 已存在且内容变化而更新的记录数
+    private final AtomicInteger rowsSkipped = new AtomicInteger();     // 已存在且未变化而跳过的记录数
+    private final AtomicInteger rowsFailed = new AtomicInteger();      // 入库失败的记录数
+
+    private volatile List<String> removedFiles = Collections.emptyList(); // 已删除的文件路径（扫描结束后写入）
+
+    private volatile boolean cancelled;
+
+    public void fileSeen() {
+        filesSeen.incrementAndGet();
+    }
+
+    public void fileParsed() {
+        filesParsed.incrementAndGet();
+    }
+
+    public void fileUnchanged() {
+        filesUnchanged.incrementAndGet();
+    }
+
+    public void fileFailed() {
+        filesFailed.incrementAndGet();
+    }
+
+    public void fileTimedOut() {
+        filesTimedOut.incrementAndGet();
+    }
+
+    public void fileQuarantined() {
+        filesQuarantined.incrementAndGet();
+    }
+
+    /**
+     * 记录上次扫描存在、本次扫描中已不存在的文件
+     * @param removedFiles 已删除的文件路径
+     */
+    public void filesRemoved(List<String> removedFiles) {
+        this.removedFiles = Collections.unmodifiableList(removedFiles);
+        filesRemoved.set(removedFiles.size());
+    }
+
+    public void rowsPersisted(int count) {
+        rowsPersisted.addAndGet(count);
+    }
+
+    public void rowsUpdated(int count) {
+        rowsUpdated.addAndGet(count);
+    }
+
+    public void rowSkipped() {
+        rowsSkipped.incrementAndGet();
+    }
+
+    public void rowsSkipped(int count) {
+        rowsSkipped.addAndGet(count);
+    }
+
+    public void rowFailed() {
+        rowsFailed.incrementAndGet();
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 已取消时抛出 CancellationException，用于在解析过程中的检查点中止任务
+     */
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("解析任务已取消");
+        }
+    }
+
+    public int getFilesSeen() {
+        return filesSeen.get();
+    }
+
+    public int getFilesParsed() {
+        return filesParsed.get();
+    }
+
+    public int getFilesUnchanged() {
+        return filesUnchanged.get();
+    }
+
+    public int getFilesFailed() {
+        return filesFailed.get();
+    }
+
+    public int getFilesTimedOut() {
+        return filesTimedOut.get();
+    }
+
+    public int getFilesQuarantined() {
+        return filesQuarantined.get();
+    }
+
+    public int getFilesRemoved() {
+        return filesRemoved.get();
+    }
+
+    public List<String> getRemovedFiles() {
+        return removedFiles;
+    }
+
+    public int getRowsPersisted() {
+        return rowsPersisted.get();
+    }
+
+    public int getRowsUpdated() {
+        return rowsUpdated.get();
+    }
+
+    public int getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    public int getRowsFailed() {
+        return rowsFailed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ParseProgress{" +
+                "filesSeen=" + filesSeen +
+                ", filesParsed=" + filesParsed +
+                ", filesUnchanged=" + filesUnchanged +
+                ", filesFailed=" + filesFailed +
+                ", filesTimedOut=" + filesTimedOut +
+                ", filesQuarantined=" + filesQuarantined +
+                ", filesRemoved=" + filesRemoved +
+                ", rowsPersisted=" + rowsPersisted +
+                ", rowsUpdated=" + rowsUpdated +
+                ", rowsSkipped=" + rowsSkipped +
+                ", rowsFailed=" + rowsFailed +
+                ", cancelled=" + cancelled +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package com.diit.ExternelDataManagement.pojo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 解析隔离名单条目
+ * 对应 external_parse_quarantine 表，记录文件解析超时时的大小、修改时间和连续超时次数
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class ParseQuarantineEntry {
+
+    private String receiveCode;
+    private String filePath;
+    private long fileSize;
+    private long lastModified;          // 修改时间（毫秒时间戳，GDB 文件夹取其中最新的文件）
+    private String format;              // 超时时识别出的格式
+    private int timeoutCount;           // 大小和修改时间不变时的连续超时次数
+    private LocalDateTime lastTimeoutTime;
+
+    public ParseQuarantineEntry() {
+    }
+
+    public ParseQuarantineEntry(String receiveCode, String filePath, long fileSize, long lastModified, String format) {
+        this.receiveCode = receiveCode;
+        this.filePath = filePath;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.format = format;
+        this.timeoutCount = 1;
+        this.lastTimeoutTime = LocalDateTime.now();
+    }
+
+    public String getReceiveCode() {
+        return receiveCode;
+    }
+
+    public void setReceiveCode(String receiveCode) {
+        this.receiveCode = receiveCode;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public int getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public void setTimeoutCount(int timeoutCount) {
+        this.timeoutCount = timeoutCount;
+    }
+
+    public LocalDateTime getLastTimeoutTime() {
+        return lastTimeoutTime;
+    }
+
+    public void setLastTimeoutTime(LocalDateTime lastTimeoutTime) {
+        this.lastTimeoutTime = lastTimeoutTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseQuarantineEntry{" +
+                "receiveCode='" + receiveCode + '\'' +
+                ", filePath='" + filePath + '\'' +
+                ", fileSize=" + fileSize +
+                ", lastModified=" + lastModified +
+                ", format='" + format + '\'' +
+                ", timeoutCount=" + timeoutCount +
+                ", lastTimeoutTime=" + lastTimeoutTime +
+                '}';
+    }
+}
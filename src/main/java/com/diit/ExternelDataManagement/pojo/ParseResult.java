@@ -0,0 +1,47 @@
+package com.diit.ExternelDataManagement.pojo;
+
+import java.util.List;
+
+/**
+ * 同步文件解析结果：本次解析的文件记录及解析统计（含已删除的文件）
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class ParseResult {
+
+    private List<FileEntity> files;    // 本次解析的文件实体列表（未变化而跳过的文件不在其中）
+    private ParseProgress progress;    // 解析统计
+
+    public ParseResult() {
+    }
+
+    public ParseResult(List<FileEntity> files, ParseProgress progress) {
+        this.files = files;
+        this.progress = progress;
+    }
+
+    public List<FileEntity> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<FileEntity> files) {
+        this.files = files;
+    }
+
+    public ParseProgress getProgress() {
+        return progress;
+    }
+
+    public void setProgress(ParseProgress progress) {
+        this.progress = progress;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult{" +
+                "files=" + (files != null ? files.size() : 0) +
+                ", progress=" + progress +
+                '}';
+    }
+}
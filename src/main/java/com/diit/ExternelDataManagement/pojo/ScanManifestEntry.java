@@ -0,0 +1,91 @@
+package com.diit.ExternelDataManagement.pojo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 扫描清单条目
+ * 对应 external_scan_manifest 表，记录文件上次解析时的大小、修改时间和图层指纹
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class ScanManifestEntry {
+
+    private String receiveCode;
+    private String filePath;
+    private long fileSize;              // 大小（字节，.shp 包含同名 .dbf/.shx/.prj/.cpg，GDB 文件夹为其中文件的总大小）
+    private long lastModified;          // 修改时间（毫秒时间戳，.shp 包含同名附属文件，GDB 文件夹取其中最新的文件）
+    private String layerFingerprint;    // 图层指纹（图层名称、要素数量等信息的 SHA-256）
+    private LocalDateTime scanTime;
+
+    public ScanManifestEntry() {
+    }
+
+    public ScanManifestEntry(String receiveCode, String filePath, long fileSize, long lastModified) {
+        this.receiveCode = receiveCode;
+        this.filePath = filePath;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.scanTime = LocalDateTime.now();
+    }
+
+    public String getReceiveCode() {
+        return receiveCode;
+    }
+
+    public void setReceiveCode(String receiveCode) {
+        this.receiveCode = receiveCode;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getLayerFingerprint() {
+        return layerFingerprint;
+    }
+
+    public void setLayerFingerprint(String layerFingerprint) {
+        this.layerFingerprint = layerFingerprint;
+    }
+
+    public LocalDateTime getScanTime() {
+        return scanTime;
+    }
+
+    public void setScanTime(LocalDateTime scanTime) {
+        this.scanTime = scanTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanManifestEntry{" +
+                "receiveCode='" + receiveCode + '\'' +
+                ", filePath='" + filePath + '\'' +
+                ", fileSize=" + fileSize +
+                ", lastModified=" + lastModified +
+                ", layerFingerprint='" + layerFingerprint + '\'' +
+                ", scanTime=" + scanTime +
+                '}';
+    }
+}
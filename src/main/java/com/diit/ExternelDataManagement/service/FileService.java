@@ -1,9 +1,59 @@
 package com.diit.ExternelDataManagement.service;
 
+import com.diit.ExternelDataManagement.common.IngestMode;
 import com.diit.ExternelDataManagement.pojo.FileEntity;
+import com.diit.ExternelDataManagement.pojo.LayerCacheStats;
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import com.diit.ExternelDataManagement.pojo.ParseQuarantineEntry;
+import com.diit.ExternelDataManagement.pojo.ParseResult;
+
 import java.util.List;
 
 public interface FileService {
 
     List<FileEntity> parseAndSaveFiles(String receiveCode);
-}
\ No newline at end of file
+
+    /**
+     * 按指定入库方式解析并保存文件
+     * 上次扫描存在、本次已删除的文件计入解析统计，其入库记录保留并在补充信息中标记 fileStatus = removed
+     * @param receiveCode 接收编码
+     * @param ingestMode 入库方式，为 null 时自动选择
+     * @return 本次解析的文件实体列表及解析统计（含已删除的文件）
+     */
+    ParseResult parseAndSaveFiles(String receiveCode, IngestMode ingestMode);
+
+    /**
+     * 解析并保存文件，解析过程中更新进度；解析结果边解析边入库，不在内存中保留
+     * 扫描结束时已删除的文件写入进度，其入库记录在补充信息中标记 fileStatus = removed
+     * @param receiveCode 接收编码
+     * @param ingestMode 入库方式，为 null 时自动选择
+     * @param progress 解析进度（取消后在下一个检查点抛出 CancellationException）
+     */
+    void parseAndSaveFiles(String receiveCode, IngestMode ingestMode, ParseProgress progress);
+
+    /**
+     * 使接收编码对应目录下所有文件的图层缓存失效，并清空其扫描清单，下次解析时全部重新解析
+     * @param receiveCode 接收编码
+     * @return 失效的缓存条目数
+     */
+    int invalidateLayerCache(String receiveCode);
+
+    /**
+     * 图层缓存统计（命中、未命中、淘汰次数等）
+     */
+    LayerCacheStats getLayerCacheStats();
+
+    /**
+     * 查询接收编码下的解析隔离名单（解析超时的文件及连续超时次数）
+     * @param receiveCode 接收编码
+     * @return 隔离名单条目列表
+     */
+    List<ParseQuarantineEntry> getParseQuarantine(String receiveCode);
+
+    /**
+     * 清空接收编码下的解析隔离名单，下次解析时重新尝试这些文件
+     * @param receiveCode 接收编码
+     * @return 移出的条目数
+     */
+    int releaseParseQuarantine(String receiveCode);
+}
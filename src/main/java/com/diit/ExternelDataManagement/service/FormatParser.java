@@ -0,0 +1,47 @@
+package com.diit.ExternelDataManagement.service;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 单一数据格式的解析器
+ * 由解析器注册表按文件头魔数识别格式后调用；新增格式只需实现本接口并注册为 Spring 组件
+ */
+public interface FormatParser {
+
+    /**
+     * 格式名称（如 shp、gdb、mdb），用于日志和并发上限配置
+     */
+    String getFormat();
+
+    /**
+     * 该格式的文件扩展名（小写，不含点）
+     */
+    Set<String> getExtensions();
+
+    /**
+     * 根据文件头判断是否为该格式
+     * @param file 文件或文件夹
+     * @param header 文件开头最多 512 字节（只读，大端字节序）；文件夹为 null
+     * @return true表示是该格式
+     */
+    boolean matches(File file, ByteBuffer header);
+
+    /**
+     * 同时解析该格式文件的数量上限，0 表示不限制
+     */
+    int getMaxConcurrency();
+
+    /**
+     * 解析文件，提取图层信息
+     * @param file 文件或文件夹
+     * @return 图层信息列表
+     * @throws IOException 文件无法读取或格式损坏
+     */
+    List<LayerInfo> parse(File file) throws IOException;
+}
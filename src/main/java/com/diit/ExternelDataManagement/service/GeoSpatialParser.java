@@ -1,6 +1,7 @@
 package com.diit.ExternelDataManagement.service;
 
 import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.impl.FileFingerprint;
 
 import java.util.List;
 
@@ -17,6 +18,14 @@ public interface GeoSpatialParser {
      */
     List<LayerInfo> parseLayers(String filePath);
 
+    /**
+     * 解析地理数据文件，使用调用方已计算的文件指纹查询缓存，不再重复查询文件及附属文件的状态
+     * @param filePath 文件路径
+     * @param fingerprint 文件指纹，为 null 时由解析器计算
+     * @return 图层信息列表
+     */
+    List<LayerInfo> parseLayers(String filePath, FileFingerprint fingerprint);
+
     /**
      * 检查文件是否支持解析
      * @param filePath 文件路径
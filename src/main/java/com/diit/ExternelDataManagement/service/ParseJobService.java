@@ -0,0 +1,35 @@
+package com.diit.ExternelDataManagement.service;
+
+import com.diit.ExternelDataManagement.common.IngestMode;
+import com.diit.ExternelDataManagement.pojo.ParseJob;
+
+/**
+ * 异步文件解析任务服务接口
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public interface ParseJobService {
+
+    /**
+     * 提交解析任务；同一接收编码已有未结束的任务时直接返回该任务
+     * @param receiveCode 接收编码
+     * @param ingestMode 入库方式，为 null 时自动选择
+     * @return 解析任务
+     */
+    ParseJob submit(String receiveCode, IngestMode ingestMode);
+
+    /**
+     * 查询解析任务状态与进度
+     * @param jobId 任务ID
+     * @return 解析任务
+     */
+    ParseJob getJob(String jobId);
+
+    /**
+     * 取消解析任务
+     * @param jobId 任务ID
+     * @return 解析任务
+     */
+    ParseJob cancel(String jobId);
+}
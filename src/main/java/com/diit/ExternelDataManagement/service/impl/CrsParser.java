@@ -0,0 +1,376 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 坐标参考系 WKT 解析器
+ * 支持 Shapefile .prj 与 FileGDB 中的 ESRI WKT（WKT1）以及 WKT2，解析出坐标系标识、是否为地理坐标系和椭球参数。
+ * 解析结果按 WKT 的 SHA-256 缓存，大量图层共用同一坐标系时只解析一次。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class CrsParser {
+
+    // 缓存上限，超出后整体清空（实际数据中不同坐标系的数量很少）
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Map<String, CrsInfo> CACHE = new ConcurrentHashMap<>();
+
+    // 常用 ESRI 坐标系名称 -> EPSG 代码（ESRI WKT 中通常不含 AUTHORITY）
+    private static final Map<String, String> KNOWN_NAMES = new HashMap<>();
+
+    static {
+        KNOWN_NAMES.put("GCS_CHINA_GEODETIC_COORDINATE_SYSTEM_2000", "EPSG:4490");
+        KNOWN_NAMES.put("CHINA GEODETIC COORDINATE SYSTEM 2000", "EPSG:4490");
+        KNOWN_NAMES.put("GCS_WGS_1984", "EPSG:4326");
+        KNOWN_NAMES.put("WGS 84", "EPSG:4326");
+        KNOWN_NAMES.put("GCS_XIAN_1980", "EPSG:4610");
+        KNOWN_NAMES.put("GCS_BEIJING_1954", "EPSG:4214");
+        KNOWN_NAMES.put("WGS_1984_WEB_MERCATOR_AUXILIARY_SPHERE", "EPSG:3857");
+    }
+
+    private CrsParser() {
+    }
+
+    /**
+     * 解析 WKT（带缓存）
+     * @param wkt 坐标系 WKT
+     * @return 坐标系信息；WKT 为空或无法解析时返回 null
+     */
+    public static CrsInfo parse(String wkt) {
+        if (wkt == null || wkt.trim().isEmpty()) {
+            return null;
+        }
+        String key = sha256(wkt.trim());
+        CrsInfo cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CrsInfo info;
+        try {
+            info = fromNode(new Tokenizer(wkt.trim()).parseNode());
+        } catch (IllegalArgumentException e) {
+            info = null;
+        }
+        if (info == null) {
+            return null;
+        }
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(key, info);
+        return info;
+    }
+
+    private static CrsInfo fromNode(Node root) {
+        String keyword = root.keyword;
+        if (keyword.equals("COMPD_CS") || keyword.equals("COMPOUNDCRS")) {
+            // 复合坐标系取其中的水平坐标系
+            for (Object arg : root.args) {
+                if (arg instanceof Node) {
+                    CrsInfo horizontal = fromNode((Node) arg);
+                    if (horizontal != null) {
+                        return horizontal;
+                    }
+                }
+            }
+            return null;
+        }
+
+        CrsInfo info = new CrsInfo();
+        switch (keyword) {
+            case "GEOGCS":
+            case "GEOGCRS":
+            case "GEOGRAPHICCRS":
+            case "GEODCRS":
+            case "GEODETICCRS":
+                info.geographic = true;
+                break;
+            case "PROJCS":
+            case "PROJCRS":
+            case "PROJECTEDCRS":
+                info.geographic = false;
+                break;
+            default:
+                return null;
+        }
+        info.name = root.firstString();
+
+        Node ellipsoid = root.find("SPHEROID", "ELLIPSOID");
+        if (ellipsoid != null && ellipsoid.numberCount() >= 2) {
+            info.semiMajorAxis = ellipsoid.number(0);
+            info.inverseFlattening = ellipsoid.number(1);
+        }
+
+        if (info.geographic) {
+            Node unit = root.child("UNIT", "ANGLEUNIT");
+            if (unit == null) {
+                unit = root.find("ANGLEUNIT");
+            }
+            if (unit != null && unit.numberCount() >= 1 && unit.number(0) > 0) {
+                info.angularUnit = unit.number(0);
+            }
+        }
+
+        Node authority = root.child("AUTHORITY", "ID");
+        if (authority != null && authority.args.size() >= 2) {
+            info.identifier = authority.args.get(0) + ":" + formatCode(authority.args.get(1));
+        } else if (info.name != null) {
+            info.identifier = KNOWN_NAMES.getOrDefault(info.name.toUpperCase(Locale.ROOT), info.name);
+        }
+        info.initEqualArea();
+        return info;
+    }
+
+    private static String formatCode(Object code) {
+        if (code instanceof Double && (Double) code == Math.rint((Double) code)) {
+            return String.valueOf(((Double) code).longValue());
+        }
+        return String.valueOf(code);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * WKT 节点：关键字[参数, ...]，参数为字符串、数值或子节点
+     */
+    private static final class Node {
+        private final String keyword;
+        private final List<Object> args = new ArrayList<>();
+
+        Node(String keyword) {
+            this.keyword = keyword;
+        }
+
+        String firstString() {
+            return !args.isEmpty() && args.get(0) instanceof String ? (String) args.get(0) : null;
+        }
+
+        int numberCount() {
+            int count = 0;
+            for (Object arg : args) {
+                if (arg instanceof Double) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        double number(int index) {
+            int count = 0;
+            for (Object arg : args) {
+                if (arg instanceof Double && count++ == index) {
+                    return (Double) arg;
+                }
+            }
+            throw new IllegalArgumentException("缺少数值参数: " + keyword);
+        }
+
+        /** 直接子节点 */
+        Node child(String... keywords) {
+            for (Object arg : args) {
+                if (arg instanceof Node && matches(((Node) arg).keyword, keywords)) {
+                    return (Node) arg;
+                }
+            }
+            return null;
+        }
+
+        /** 深度优先查找子孙节点 */
+        Node find(String... keywords) {
+            for (Object arg : args) {
+                if (arg instanceof Node) {
+                    Node node = (Node) arg;
+                    if (matches(node.keyword, keywords)) {
+                        return node;
+                    }
+                    Node found = node.find(keywords);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static boolean matches(String keyword, String[] keywords) {
+            for (String candidate : keywords) {
+                if (candidate.equals(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * WKT 词法与语法分析（方括号与圆括号等价）
+     */
+    private static final class Tokenizer {
+        private final String text;
+        private int pos;
+
+        Tokenizer(String text) {
+            this.text = text;
+        }
+
+        Node parseNode() {
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("WKT 格式错误，位置 " + pos);
+            }
+            Node node = new Node(text.substring(start, pos).toUpperCase(Locale.ROOT));
+            skipSpaces();
+            if (pos >= text.length() || (text.charAt(pos) != '[' && text.charAt(pos) != '(')) {
+                return node;
+            }
+            pos++;
+            while (true) {
+                skipSpaces();
+                if (pos >= text.length()) {
+                    throw new IllegalArgumentException("WKT 括号不匹配");
+                }
+                char c = text.charAt(pos);
+                if (c == ']' || c == ')') {
+                    pos++;
+                    return node;
+                }
+                if (c == ',') {
+                    pos++;
+                } else if (c == '"') {
+                    node.args.add(parseString());
+                } else if (c == '-' || c == '+' || c == '.' || Character.isDigit(c)) {
+                    node.args.add(parseNumber());
+                } else {
+                    node.args.add(parseNode());
+                }
+            }
+        }
+
+        private String parseString() {
+            StringBuilder value = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    if (pos < text.length() && text.charAt(pos) == '"') {
+                        value.append('"');
+                        pos++;
+                    } else {
+                        return value.toString();
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            throw new IllegalArgumentException("WKT 字符串未结束");
+        }
+
+        private Double parseNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-.0123456789eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            try {
+                return Double.parseDouble(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("WKT 数值格式错误: " + text.substring(start, pos));
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * 坐标系信息
+     * 地理坐标系提供椭球上的等积圆柱投影（基于等积纬度），投影坐标下的平面面积即为椭球面积
+     */
+    public static class CrsInfo {
+        private String identifier;
+        private String name;
+        private boolean geographic;
+        private double semiMajorAxis = 6378137.0;
+        private double inverseFlattening = 298.257222101;
+        private double angularUnit = Math.PI / 180;
+
+        private double eccentricity;
+        private double qPolar;
+        private double authalicRadius;
+
+        private void initEqualArea() {
+            double f = inverseFlattening > 0 ? 1 / inverseFlattening : 0;
+            eccentricity = Math.sqrt(f * (2 - f));
+            qPolar = q(1.0);
+            authalicRadius = semiMajorAxis * Math.sqrt(qPolar / 2);
+        }
+
+        /**
+         * q(φ) = (1 - e²)[sinφ / (1 - e²sin²φ) - ln((1 - e·sinφ) / (1 + e·sinφ)) / (2e)]，e = 0 时为 2·sinφ
+         */
+        private double q(double sinPhi) {
+            double e = eccentricity;
+            if (e < 1e-12) {
+                return 2 * sinPhi;
+            }
+            double es = e * sinPhi;
+            return (1 - e * e) * (sinPhi / (1 - es * es) - Math.log((1 - es) / (1 + es)) / (2 * e));
+        }
+
+        /** 坐标系标识，如 EPSG:4490；无权威代码时为坐标系名称 */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** 是否为地理坐标系（经纬度） */
+        public boolean isGeographic() {
+            return geographic;
+        }
+
+        public double getSemiMajorAxis() {
+            return semiMajorAxis;
+        }
+
+        public double getInverseFlattening() {
+            return inverseFlattening;
+        }
+
+        /** 等积投影 X（米），参数为坐标系角度单位下的经度 */
+        public double equalAreaX(double lon) {
+            return authalicRadius * lon * angularUnit;
+        }
+
+        /** 等积投影 Y（米），参数为坐标系角度单位下的纬度 */
+        public double equalAreaY(double lat) {
+            return authalicRadius * q(Math.sin(lat * angularUnit)) / qPolar;
+        }
+    }
+}
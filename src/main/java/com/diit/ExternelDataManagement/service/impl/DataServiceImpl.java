@@ -11,11 +11,21 @@ import com.diit.ExternelDataManagement.service.WorkflowService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -32,6 +42,13 @@ public class DataServiceImpl implements DataService {
     @Autowired
     private WorkflowInstanceMapper workflowInstanceMapper;
 
+    @Autowired
+    @Qualifier("primaryTransactionManager")
+    private PlatformTransactionManager transactionManager;
+
+    // 质检状态批量更新每条语句的记录数（每条记录 2 个参数）
+    private static final int STATUS_UPDATE_BATCH_SIZE = 1000;
+
     @Override
     public DataEntity processDataById(String id) {
         logger.info("开始处理数据ID: {}", id);
@@ -143,106 +160,134 @@ public class DataServiceImpl implements DataService {
             return result;
         }
 
-        int updatedCount = 0;
-        int skippedCount = 0;
-        int failedCount = 0;
-
-        // 遍历每条记录，查询工作流状态并更新
+        // 1. 解析实例ID，格式错误的记录直接标记失败
+        List<SyncStatusResult.SyncDetail> details = new ArrayList<>(qualityCheckingList.size());
+        Set<Long> instanceIds = new LinkedHashSet<>();
         for (DataEntity dataEntity : qualityCheckingList) {
-            String instanceId = dataEntity.getInstanceId();
-            String id = dataEntity.getId();
-            String receiveCode = dataEntity.getReceiveCode();
-            String oldQualityStatus = dataEntity.getQualityStatus();
-
             SyncStatusResult.SyncDetail detail = new SyncStatusResult.SyncDetail();
-            detail.setId(id);
-            detail.setReceiveCode(receiveCode);
-            detail.setInstanceId(instanceId);
-            detail.setOldQualityStatus(oldQualityStatus);
-
-            logger.info("------------------------------------------------------");
-            logger.info("处理记录 [{}] - ID: {}, ReceiveCode: {}, InstanceId: {}",
-                    qualityCheckingList.indexOf(dataEntity) + 1, id, receiveCode, instanceId);
-
+            detail.setId(dataEntity.getId());
+            detail.setReceiveCode(dataEntity.getReceiveCode());
+            detail.setInstanceId(dataEntity.getInstanceId());
+            detail.setOldQualityStatus(dataEntity.getQualityStatus());
+            details.add(detail);
             try {
-                // 查询工作流实例状态
-                WorkflowInstanceEntity workflowInstance = workflowInstanceMapper.findById(Long.parseLong(instanceId));
+                instanceIds.add(Long.parseLong(dataEntity.getInstanceId()));
+            } catch (NumberFormatException e) {
+                logger.error("❌ instance_id 格式错误: {}", dataEntity.getInstanceId(), e);
+                markFailed(detail, "instance_id格式错误: " + e.getMessage());
+            }
+        }
 
-                if (workflowInstance == null) {
-                    logger.warn("❌ 未找到工作流实例，instance_id: {}", instanceId);
-                    detail.setAction("failed");
-                    detail.setMessage("未找到工作流实例");
-                    failedCount++;
-                    result.addDetail(detail);
-                    continue;
+        // 2. 一次查询全部工作流实例状态
+        Map<Long, Integer> workflowStatuses = new HashMap<>();
+        try {
+            if (!instanceIds.isEmpty()) {
+                for (WorkflowInstanceEntity instance : workflowInstanceMapper.findByIds(instanceIds.toArray(new Long[0]))) {
+                    workflowStatuses.put(instance.getId(), instance.getStatus());
                 }
-
-                Integer workflowStatus = workflowInstance.getStatus();
-                detail.setWorkflowStatus(workflowStatus);
-
-                String workflowStatusDesc = getWorkflowStatusDesc(workflowStatus);
-                detail.setWorkflowStatusDesc(workflowStatusDesc);
-                logger.info("工作流状态: {} ({})", workflowStatus, workflowStatusDesc);
-
-                // 根据工作流状态更新质检状态
-                // 2: 运行中 - 不修改
-                // 3: 失败 - 修改为"未通过"
-                // 4: 成功 - 修改为"通过"
-                String newQualityStatus = null;
-
-                if (workflowStatus == 2) {
-                    logger.info("⏳ 工作流运行中，跳过更新");
-                    detail.setAction("skipped");
-                    detail.setMessage("工作流仍在运行中");
-                    detail.setNewQualityStatus(oldQualityStatus);
-                    skippedCount++;
-                    result.addDetail(detail);
-                    continue;
-                } else if (workflowStatus == 3) {
-                    newQualityStatus = "未通过";
-                    logger.info("❌ 工作流失败，准备更新质检状态: {} -> {}", oldQualityStatus, newQualityStatus);
-                } else if (workflowStatus == 4) {
-                    newQualityStatus = "通过";
-                    logger.info("✅ 工作流成功，准备更新质检状态: {} -> {}", oldQualityStatus, newQualityStatus);
-                } else {
-                    logger.warn("⚠️  未知的工作流状态: {}", workflowStatus);
-                    detail.setAction("failed");
-                    detail.setMessage("未知的工作流状态: " + workflowStatus);
-                    failedCount++;
-                    result.addDetail(detail);
-                    continue;
+            }
+            logger.info("查询工作流实例状态完成，请求: {} 个，返回: {} 个", instanceIds.size(), workflowStatuses.size());
+        } catch (Exception e) {
+            logger.error("❌ 批量查询工作流实例状态失败", e);
+            for (SyncStatusResult.SyncDetail detail : details) {
+                if (detail.getAction() == null) {
+                    markFailed(detail, "异常: " + e.getMessage());
                 }
+            }
+        }
 
-                detail.setNewQualityStatus(newQualityStatus);
+        // 3. 根据工作流状态确定新的质检状态
+        // 2: 运行中 - 不修改
+        // 3: 失败 - 修改为"未通过"
+        // 4: 成功 - 修改为"通过"
+        Map<String, DataEntity> updates = new LinkedHashMap<>();
+        for (int i = 0; i < details.size(); i++) {
+            SyncStatusResult.SyncDetail detail = details.get(i);
+            if (detail.getAction() != null) {
+                continue;
+            }
+            String instanceId = detail.getInstanceId();
+            Integer workflowStatus = workflowStatuses.get(Long.parseLong(instanceId));
+            if (workflowStatus == null) {
+                logger.warn("❌ 未找到工作流实例 [{}]，ID: {}, instance_id: {}", i + 1, detail.getId(), instanceId);
+                markFailed(detail, "未找到工作流实例");
+                continue;
+            }
+            detail.setWorkflowStatus(workflowStatus);
+            detail.setWorkflowStatusDesc(getWorkflowStatusDesc(workflowStatus));
+
+            String newQualityStatus;
+            if (workflowStatus == 2) {
+                logger.debug("⏳ 工作流运行中，跳过更新 [{}]，ID: {}", i + 1, detail.getId());
+                detail.setAction("skipped");
+                detail.setMessage("工作流仍在运行中");
+                detail.setNewQualityStatus(detail.getOldQualityStatus());
+                continue;
+            } else if (workflowStatus == 3) {
+                newQualityStatus = "未通过";
+            } else if (workflowStatus == 4) {
+                newQualityStatus = "通过";
+            } else {
+                logger.warn("⚠️  未知的工作流状态 [{}]，ID: {}, 状态: {}", i + 1, detail.getId(), workflowStatus);
+                markFailed(detail, "未知的工作流状态: " + workflowStatus);
+                continue;
+            }
+            logger.info("工作流{} [{}]，ID: {}, 准备更新质检状态: {} -> {}", getWorkflowStatusDesc(workflowStatus),
+                    i + 1, detail.getId(), detail.getOldQualityStatus(), newQualityStatus);
+            detail.setNewQualityStatus(newQualityStatus);
+
+            DataEntity update = new DataEntity();
+            update.setInstanceId(instanceId);
+            update.setQualityStatus(newQualityStatus);
+            updates.put(instanceId, update);
+        }
 
-                // 更新质检状态
-                int updated = dataMapper.updateQualityStatusByInstanceId(instanceId, newQualityStatus);
-                if (updated > 0) {
-                    updatedCount++;
-                    logger.info("✔️  成功更新质检状态: {} -> {}", oldQualityStatus, newQualityStatus);
+        // 4. 在一个事务中按分片批量更新质检状态
+        Set<String> updatedInstanceIds = new HashSet<>();
+        String updateError = null;
+        if (!updates.isEmpty()) {
+            List<DataEntity> updateList = new ArrayList<>(updates.values());
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    for (int i = 0; i < updateList.size(); i += STATUS_UPDATE_BATCH_SIZE) {
+                        updatedInstanceIds.addAll(dataMapper.updateQualityStatusBatch(
+                                updateList.subList(i, Math.min(i + STATUS_UPDATE_BATCH_SIZE, updateList.size()))));
+                    }
+                });
+                logger.info("批量更新质检状态完成，待更新实例: {} 个，已更新实例: {} 个",
+                        updateList.size(), updatedInstanceIds.size());
+            } catch (Exception e) {
+                logger.error("❌ 批量更新质检状态失败，已回滚", e);
+                updatedInstanceIds.clear();
+                updateError = "异常: " + e.getMessage();
+            }
+        }
+
+        // 5. 汇总结果
+        int updatedCount = 0;
+        int skippedCount = 0;
+        int failedCount = 0;
+        for (SyncStatusResult.SyncDetail detail : details) {
+            if (detail.getAction() == null) {
+                if (updatedInstanceIds.contains(detail.getInstanceId())) {
                     detail.setAction("updated");
                     detail.setMessage("成功更新质检状态");
                 } else {
-                    logger.error("❌ 更新质检状态失败");
-                    detail.setAction("failed");
-                    detail.setMessage("数据库更新失败");
-                    failedCount++;
+                    markFailed(detail, updateError != null ? updateError : "数据库更新失败");
                 }
-                result.addDetail(detail);
-
-            } catch (NumberFormatException e) {
-                logger.error("❌ instance_id 格式错误: {}", instanceId, e);
-                detail.setAction("failed");
-                detail.setMessage("instance_id格式错误: " + e.getMessage());
-                failedCount++;
-                result.addDetail(detail);
-            } catch (Exception e) {
-                logger.error("❌ 处理记录时发生异常，ID: {}, instance_id: {}", id, instanceId, e);
-                detail.setAction("failed");
-                detail.setMessage("异常: " + e.getMessage());
-                failedCount++;
-                result.addDetail(detail);
             }
+            switch (detail.getAction()) {
+                case "updated":
+                    updatedCount++;
+                    break;
+                case "skipped":
+                    skippedCount++;
+                    break;
+                default:
+                    failedCount++;
+                    break;
+            }
+            result.addDetail(detail);
         }
 
         result.setUpdatedCount(updatedCount);
@@ -260,6 +305,11 @@ public class DataServiceImpl implements DataService {
         return result;
     }
 
+    private void markFailed(SyncStatusResult.SyncDetail detail, String message) {
+        detail.setAction("failed");
+        detail.setMessage(message);
+    }
+
     private String getWorkflowStatusDesc(Integer status) {
         if (status == null) return "未知";
         switch (status) {
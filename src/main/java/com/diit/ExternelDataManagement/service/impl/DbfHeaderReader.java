@@ -0,0 +1,234 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * dBASE（.dbf）文件头读取器
+ * 只读取文件头和字段描述区（通常不足 1KB），得到记录数、记录长度、代码页标记和字段列表，不扫描任何记录。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class DbfHeaderReader {
+
+    // 文件头长度
+    private static final int HEADER_SIZE = 32;
+
+    // 每个字段描述的长度
+    private static final int FIELD_DESCRIPTOR_SIZE = 32;
+
+    // 字段描述区结束标记
+    private static final byte FIELD_TERMINATOR = 0x0D;
+
+    // 文件头第 29 字节（语言驱动 ID）-> 字符集
+    private static final Map<Integer, String> CODE_PAGES = new HashMap<>();
+
+    static {
+        CODE_PAGES.put(0x01, "IBM437");
+        CODE_PAGES.put(0x02, "IBM850");
+        CODE_PAGES.put(0x03, "windows-1252");
+        CODE_PAGES.put(0x4D, "GBK");
+        CODE_PAGES.put(0x4E, "x-windows-949");
+        CODE_PAGES.put(0x4F, "Big5");
+        CODE_PAGES.put(0x57, "windows-1252");
+        CODE_PAGES.put(0x7A, "GBK");
+        CODE_PAGES.put(0x7B, "Shift_JIS");
+        CODE_PAGES.put(0xC8, "windows-1250");
+        CODE_PAGES.put(0xC9, "windows-1251");
+    }
+
+    private DbfHeaderReader() {
+    }
+
+    /**
+     * 读取 .dbf 文件头
+     * @param dbfPath .dbf 文件路径（同目录下的 .cpg 文件存在时优先使用其中声明的字符集）
+     * @return 文件头信息
+     * @throws IOException 文件不存在或文件头损坏
+     */
+    public static DbfHeader read(Path dbfPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(dbfPath, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE, dbfPath);
+
+            DbfHeader dbf = new DbfHeader();
+            dbf.version = Byte.toUnsignedInt(header.get(0));
+            dbf.recordCount = header.getInt(4);
+            dbf.headerLength = Short.toUnsignedInt(header.getShort(8));
+            dbf.recordLength = Short.toUnsignedInt(header.getShort(10));
+            dbf.codePage = Byte.toUnsignedInt(header.get(29));
+            if (dbf.recordCount < 0 || dbf.headerLength < HEADER_SIZE + 1) {
+                throw new IOException("dbf 文件头无效: " + dbfPath);
+            }
+            dbf.encoding = resolveEncoding(dbfPath, dbf.codePage);
+
+            Charset charset = toCharset(dbf.encoding);
+            ByteBuffer descriptors = readFully(channel, HEADER_SIZE, dbf.headerLength - HEADER_SIZE, dbfPath);
+            List<DbfField> fields = new ArrayList<>();
+            while (descriptors.remaining() >= FIELD_DESCRIPTOR_SIZE
+                    && descriptors.get(descriptors.position()) != FIELD_TERMINATOR) {
+                int start = descriptors.position();
+                DbfField field = new DbfField();
+                field.name = readName(descriptors, start, charset);
+                field.type = (char) Byte.toUnsignedInt(descriptors.get(start + 11));
+                field.length = Byte.toUnsignedInt(descriptors.get(start + 16));
+                field.decimals = Byte.toUnsignedInt(descriptors.get(start + 17));
+                fields.add(field);
+                descriptors.position(start + FIELD_DESCRIPTOR_SIZE);
+            }
+            dbf.fields = Collections.unmodifiableList(fields);
+            return dbf;
+        }
+    }
+
+    /**
+     * 字段名：11 字节，以 0 结尾
+     */
+    private static String readName(ByteBuffer buffer, int start, Charset charset) {
+        int length = 0;
+        while (length < 11 && buffer.get(start + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, charset).trim();
+    }
+
+    /**
+     * 字符集：优先读取同名 .cpg 文件，否则按语言驱动 ID 映射，无法识别时按 UTF-8 处理
+     */
+    private static String resolveEncoding(Path dbfPath, int codePage) {
+        String fileName = dbfPath.getFileName().toString();
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        for (String ext : new String[]{".cpg", ".CPG"}) {
+            Path cpgPath = dbfPath.resolveSibling(baseName + ext);
+            if (Files.isRegularFile(cpgPath)) {
+                try {
+                    String declared = new String(Files.readAllBytes(cpgPath), StandardCharsets.US_ASCII).trim();
+                    if (!declared.isEmpty()) {
+                        return declared.matches("\\d{1,5}") ? windowsCodePage(Integer.parseInt(declared)) : declared;
+                    }
+                } catch (IOException e) {
+                    // .cpg 读取失败时按语言驱动 ID 处理
+                }
+            }
+        }
+        return CODE_PAGES.getOrDefault(codePage, "UTF-8");
+    }
+
+    /**
+     * .cpg 中的数字代码页 -> 字符集名称
+     */
+    private static String windowsCodePage(int codePage) {
+        switch (codePage) {
+            case 936: return "GBK";
+            case 950: return "Big5";
+            case 949: return "x-windows-949";
+            case 932: return "Shift_JIS";
+            case 65001: return "UTF-8";
+            default: return "windows-" + codePage;
+        }
+    }
+
+    private static Charset toCharset(String encoding) {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("dbf 文件头不完整: " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 文件头信息
+     */
+    public static class DbfHeader {
+        private int version;
+        private int recordCount;
+        private int headerLength;
+        private int recordLength;
+        private int codePage;
+        private String encoding;
+        private List<DbfField> fields = Collections.emptyList();
+
+        public int getVersion() {
+            return version;
+        }
+
+        /** 记录数（含删除标记的记录） */
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        public int getHeaderLength() {
+            return headerLength;
+        }
+
+        public int getRecordLength() {
+            return recordLength;
+        }
+
+        /** 文件头第 29 字节的语言驱动 ID */
+        public int getCodePage() {
+            return codePage;
+        }
+
+        /** 属性数据的字符集名称 */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        public List<DbfField> getFields() {
+            return fields;
+        }
+    }
+
+    /**
+     * 字段描述
+     */
+    public static class DbfField {
+        private String name;
+        private char type;
+        private int length;
+        private int decimals;
+
+        public String getName() {
+            return name;
+        }
+
+        /** 字段类型：C 字符、N 数值、F 浮点、D 日期、L 逻辑、M 备注 */
+        public char getType() {
+            return type;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public int getDecimals() {
+            return decimals;
+        }
+    }
+}
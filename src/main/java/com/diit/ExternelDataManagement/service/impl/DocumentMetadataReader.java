@@ -0,0 +1,601 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Office 文档元数据读取器
+ * OOXML（docx/xlsx）：从文件末尾读取 ZIP 中央目录，只解压 docProps/app.xml，得到页数、字数、工作表等统计信息；
+ * 旧版二进制文档（doc/xls）：读取 OLE2 复合文档头，按需查找 FAT 找到 \005SummaryInformation 流并解析属性集。
+ * 按文件头的魔数判断实际格式，与扩展名无关；全部为定位读取，不读取正文内容。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class DocumentMetadataReader {
+
+    // ZIP 中央目录结束记录：签名(4) + ... + 中央目录大小(4) + 中央目录偏移(4) + 注释长度(2)
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final String APP_PROPERTIES_ENTRY = "docProps/app.xml";
+
+    // app.xml 的大小上限，超出时视为异常文件不解压
+    private static final int MAX_APP_XML_SIZE = 1024 * 1024;
+
+    // 中央目录的大小上限
+    private static final long MAX_CENTRAL_DIRECTORY_SIZE = 64L * 1024 * 1024;
+
+    private static final long OLE_SIGNATURE = 0xE11AB1A1E011CFD0L;
+    private static final int OLE_HEADER_SIZE = 512;
+    private static final int OLE_DIRECTORY_ENTRY_SIZE = 128;
+    private static final int OLE_HEADER_DIFAT_COUNT = 109;
+    private static final long OLE_END_OF_CHAIN = 0xFFFFFFFEL;
+    private static final long OLE_MAX_SECTOR = 0xFFFFFFFAL;
+    private static final String SUMMARY_STREAM = "\u0005SummaryInformation";
+
+    // 目录项与扇区链的遍历上限，防止损坏文件的链成环
+    private static final int MAX_CHAIN_LENGTH = 1 << 20;
+
+    // SummaryInformation 属性ID -> 名称
+    private static final Map<Integer, String> SUMMARY_PROPERTIES = new HashMap<>();
+
+    static {
+        SUMMARY_PROPERTIES.put(2, "title");
+        SUMMARY_PROPERTIES.put(3, "subject");
+        SUMMARY_PROPERTIES.put(4, "author");
+        SUMMARY_PROPERTIES.put(5, "keywords");
+        SUMMARY_PROPERTIES.put(8, "lastAuthor");
+        SUMMARY_PROPERTIES.put(12, "created");
+        SUMMARY_PROPERTIES.put(13, "modified");
+        SUMMARY_PROPERTIES.put(14, "pages");
+        SUMMARY_PROPERTIES.put(15, "words");
+        SUMMARY_PROPERTIES.put(16, "characters");
+        SUMMARY_PROPERTIES.put(18, "application");
+    }
+
+    // app.xml 中读取的统计元素 -> 名称
+    private static final Map<String, String> APP_ELEMENTS = new LinkedHashMap<>();
+
+    static {
+        APP_ELEMENTS.put("Application", "application");
+        APP_ELEMENTS.put("AppVersion", "appVersion");
+        APP_ELEMENTS.put("Pages", "pages");
+        APP_ELEMENTS.put("Words", "words");
+        APP_ELEMENTS.put("Characters", "characters");
+        APP_ELEMENTS.put("Paragraphs", "paragraphs");
+        APP_ELEMENTS.put("Lines", "lines");
+        APP_ELEMENTS.put("Company", "company");
+    }
+
+    private static final Pattern LPSTR_PATTERN = Pattern.compile("<vt:lpstr>([^<]*)</vt:lpstr>");
+
+    private static final Pattern HEADING_PAIR_PATTERN = Pattern.compile(
+            "<vt:lpstr>([^<]*)</vt:lpstr>\\s*</vt:variant>\\s*<vt:variant>\\s*<vt:i4>(\\d+)</vt:i4>");
+
+    private DocumentMetadataReader() {
+    }
+
+    /**
+     * 读取文档元数据
+     * @param documentPath 文档路径
+     * @return 元数据（格式、统计信息、作者等），只包含文档中存在的项
+     * @throws IOException 文件既不是 ZIP 也不是 OLE2 复合文档，或结构损坏
+     */
+    public static Map<String, Object> read(Path documentPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(documentPath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < 8) {
+                throw new IOException("文档文件过小: " + documentPath);
+            }
+            ByteBuffer magic = readFully(channel, 0, 8, documentPath);
+            if (magic.getInt(0) == LOCAL_SIGNATURE) {
+                return readOoxml(channel, fileSize, documentPath);
+            }
+            if (magic.getLong(0) == OLE_SIGNATURE) {
+                return readOle(channel, fileSize, documentPath);
+            }
+            throw new IOException("无法识别的文档格式: " + documentPath);
+        }
+    }
+
+    // ==================== OOXML ====================
+
+    /**
+     * 从文件末尾定位中央目录，统计条目并解压 docProps/app.xml
+     */
+    private static Map<String, Object> readOoxml(FileChannel channel, long fileSize, Path path) throws IOException {
+        int tailSize = (int) Math.min(fileSize, EOCD_SIZE + MAX_COMMENT_LENGTH);
+        ByteBuffer tail = readFully(channel, fileSize - tailSize, tailSize, path);
+        int eocd = -1;
+        for (int i = tailSize - EOCD_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == EOCD_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            throw new IOException("未找到 ZIP 中央目录: " + path);
+        }
+        int entryCount = Short.toUnsignedInt(tail.getShort(eocd + 10));
+        long directorySize = Integer.toUnsignedLong(tail.getInt(eocd + 12));
+        long directoryOffset = Integer.toUnsignedLong(tail.getInt(eocd + 16));
+        if (directoryOffset + directorySize > fileSize || directorySize > MAX_CENTRAL_DIRECTORY_SIZE) {
+            throw new IOException("ZIP 中央目录越界（可能为 ZIP64）: " + path);
+        }
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("format", "OOXML");
+        ByteBuffer directory = readFully(channel, directoryOffset, (int) directorySize, path);
+        int worksheets = 0;
+        int slides = 0;
+        int position = 0;
+        ZipEntry appEntry = null;
+        // 中央目录项：签名(4) + ... + 压缩方式(2)@10 + 压缩大小(4)@20 + 原始大小(4)@24
+        //           + 文件名长度(2)@28 + 扩展字段长度(2)@30 + 注释长度(2)@32 + 本地文件头偏移(4)@42 + 文件名@46
+        while (position + 46 <= directory.limit() && directory.getInt(position) == CENTRAL_SIGNATURE) {
+            int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            if (position + 46 + nameLength > directory.limit()) {
+                break;
+            }
+            byte[] nameBytes = new byte[nameLength];
+            directory.get(position + 46, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            if (name.equals(APP_PROPERTIES_ENTRY)) {
+                appEntry = new ZipEntry();
+                appEntry.method = Short.toUnsignedInt(directory.getShort(position + 10));
+                appEntry.compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+                appEntry.size = Integer.toUnsignedLong(directory.getInt(position + 24));
+                appEntry.localHeaderOffset = Integer.toUnsignedLong(directory.getInt(position + 42));
+            } else if (name.startsWith("xl/worksheets/") && name.endsWith(".xml") && name.indexOf('/', 14) < 0) {
+                worksheets++;
+            } else if (name.startsWith("ppt/slides/") && name.endsWith(".xml") && name.indexOf('/', 11) < 0) {
+                slides++;
+            }
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        metadata.put("entries", entryCount);
+        if (worksheets > 0) {
+            metadata.put("sheets", worksheets);
+        }
+        if (slides > 0) {
+            metadata.put("slides", slides);
+        }
+        if (appEntry != null) {
+            parseAppXml(readZipEntry(channel, appEntry, fileSize, path), metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * 读取单个 ZIP 条目：本地文件头(30) + 文件名 + 扩展字段之后为数据，支持存储和 Deflate 两种方式
+     */
+    private static String readZipEntry(FileChannel channel, ZipEntry entry, long fileSize, Path path)
+            throws IOException {
+        if (entry.size > MAX_APP_XML_SIZE || entry.compressedSize > MAX_APP_XML_SIZE) {
+            throw new IOException("docProps/app.xml 过大: " + path);
+        }
+        ByteBuffer local = readFully(channel, entry.localHeaderOffset, 30, path);
+        if (local.getInt(0) != LOCAL_SIGNATURE) {
+            throw new IOException("ZIP 本地文件头无效: " + path);
+        }
+        long dataOffset = entry.localHeaderOffset + 30
+                + Short.toUnsignedInt(local.getShort(26)) + Short.toUnsignedInt(local.getShort(28));
+        if (dataOffset + entry.compressedSize > fileSize) {
+            throw new IOException("ZIP 条目越界: " + path);
+        }
+        ByteBuffer data = readFully(channel, dataOffset, (int) entry.compressedSize, path);
+        byte[] compressed = new byte[data.remaining()];
+        data.get(compressed);
+        if (entry.method == 0) {
+            return new String(compressed, StandardCharsets.UTF_8);
+        }
+        if (entry.method != 8) {
+            throw new IOException("不支持的 ZIP 压缩方式 " + entry.method + ": " + path);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] content = new byte[(int) entry.size];
+            int length = 0;
+            while (length < content.length && !inflater.finished()) {
+                int read = inflater.inflate(content, length, content.length - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            return new String(content, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IOException("docProps/app.xml 解压失败: " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * app.xml（扩展属性）：统计元素直接取值，工作表/幻灯片标题取自 HeadingPairs + TitlesOfParts
+     */
+    private static void parseAppXml(String xml, Map<String, Object> metadata) {
+        for (Map.Entry<String, String> element : APP_ELEMENTS.entrySet()) {
+            Matcher matcher = Pattern.compile("<" + element.getKey() + ">([^<]*)</" + element.getKey() + ">")
+                    .matcher(xml);
+            if (matcher.find() && !matcher.group(1).trim().isEmpty()) {
+                String value = unescapeXml(matcher.group(1).trim());
+                metadata.put(element.getValue(), value.matches("\\d{1,9}") ? (Object) Integer.parseInt(value) : value);
+            }
+        }
+
+        int headingStart = xml.indexOf("<HeadingPairs>");
+        int headingEnd = xml.indexOf("</HeadingPairs>");
+        int titlesStart = xml.indexOf("<TitlesOfParts>");
+        int titlesEnd = xml.indexOf("</TitlesOfParts>");
+        if (headingStart < 0 || headingEnd < 0 || titlesStart < 0 || titlesEnd < 0) {
+            return;
+        }
+        List<String> titles = new ArrayList<>();
+        Matcher titleMatcher = LPSTR_PATTERN.matcher(xml.substring(titlesStart, titlesEnd));
+        while (titleMatcher.find()) {
+            titles.add(unescapeXml(titleMatcher.group(1)));
+        }
+        // HeadingPairs 依次为 (分类名, 数量)，TitlesOfParts 按相同顺序列出各分类的标题
+        Matcher pairMatcher = HEADING_PAIR_PATTERN.matcher(xml.substring(headingStart, headingEnd));
+        int index = 0;
+        while (pairMatcher.find()) {
+            String heading = pairMatcher.group(1);
+            int count = Integer.parseInt(pairMatcher.group(2));
+            int end = Math.min(titles.size(), index + count);
+            if (heading.equals("Worksheets") || heading.equals("工作表")) {
+                metadata.put("sheets", count);
+                metadata.put("sheetNames", new ArrayList<>(titles.subList(Math.min(index, end), end)));
+            }
+            index += count;
+        }
+    }
+
+    private static String unescapeXml(String text) {
+        return text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    // ==================== OLE2 ====================
+
+    /**
+     * OLE2 复合文档：读取 512 字节文件头，顺序查找目录项中的 SummaryInformation 流并解析
+     * 文件头：扇区大小指数(2)@30 + 短扇区大小指数(2)@32 + FAT 扇区数(4)@44 + 首个目录扇区(4)@48
+     *       + 短流大小上限(4)@56 + 首个 MiniFAT 扇区(4)@60 + 首个 DIFAT 扇区(4)@68 + DIFAT 前 109 项@76
+     */
+    private static Map<String, Object> readOle(FileChannel channel, long fileSize, Path path) throws IOException {
+        ByteBuffer header = readFully(channel, 0, OLE_HEADER_SIZE, path);
+        OleFile ole = new OleFile(channel, header, fileSize, path);
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("format", "OLE2");
+        DirectoryEntry root = null;
+        DirectoryEntry summary = null;
+        int streams = 0;
+        int entryIndex = 0;
+        for (long sector : ole.chain(Integer.toUnsignedLong(header.getInt(48)), false)) {
+            ByteBuffer directory = ole.readSector(sector);
+            for (int offset = 0; offset + OLE_DIRECTORY_ENTRY_SIZE <= directory.limit();
+                 offset += OLE_DIRECTORY_ENTRY_SIZE, entryIndex++) {
+                DirectoryEntry entry = DirectoryEntry.read(directory, offset);
+                if (entry.type == 5 && entryIndex == 0) {
+                    root = entry;
+                } else if (entry.type == 2) {
+                    streams++;
+                    if (SUMMARY_STREAM.equals(entry.name)) {
+                        summary = entry;
+                    }
+                }
+            }
+        }
+        metadata.put("streams", streams);
+        if (summary != null && root != null && summary.size > 0 && summary.size <= MAX_APP_XML_SIZE) {
+            parsePropertySet(ole.readStream(summary, root), metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * 属性集：字节序(2) + 版本(2) + 系统ID(4) + CLSID(16) + 节数(4) + [FMTID(16) + 节偏移(4)]
+     * 节：大小(4) + 属性数(4) + [属性ID(4) + 属性偏移(4)]，属性值为 类型(4) + 值
+     */
+    private static void parsePropertySet(ByteBuffer stream, Map<String, Object> metadata) {
+        try {
+            if (stream.limit() < 48 || Short.toUnsignedInt(stream.getShort(0)) != 0xFFFE) {
+                return;
+            }
+            int section = stream.getInt(44);
+            int propertyCount = stream.getInt(section + 4);
+            Map<Integer, Integer> offsets = new HashMap<>();
+            for (int i = 0; i < propertyCount && section + 8 + i * 8 + 8 <= stream.limit(); i++) {
+                offsets.put(stream.getInt(section + 8 + i * 8), section + stream.getInt(section + 12 + i * 8));
+            }
+            // 属性 1 为字符串属性的代码页
+            Charset charset = StandardCharsets.ISO_8859_1;
+            Integer codePageOffset = offsets.get(1);
+            if (codePageOffset != null && stream.getInt(codePageOffset) == 2) {
+                charset = codePageCharset(Short.toUnsignedInt(stream.getShort(codePageOffset + 4)));
+            }
+            for (Map.Entry<Integer, String> property : SUMMARY_PROPERTIES.entrySet()) {
+                Integer offset = offsets.get(property.getKey());
+                Object value = offset != null ? readProperty(stream, offset, charset) : null;
+                if (value != null && !"".equals(value)) {
+                    metadata.put(property.getValue(), value);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 属性集损坏时只保留已读出的项
+        }
+    }
+
+    private static Object readProperty(ByteBuffer stream, int offset, Charset charset) {
+        int type = stream.getInt(offset);
+        switch (type) {
+            case 2:
+                return (int) stream.getShort(offset + 4);
+            case 3:
+                return stream.getInt(offset + 4);
+            case 30: {
+                int length = stream.getInt(offset + 4);
+                // 按剩余字节数比较，损坏的长度值不会因 int 溢出而通过检查
+                if (length <= 0 || length > stream.limit() - offset - 8) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                stream.get(offset + 8, bytes);
+                return trimNulls(new String(bytes, charset));
+            }
+            case 31: {
+                int length = stream.getInt(offset + 4);
+                if (length <= 0 || length > (stream.limit() - offset - 8) / 2) {
+                    return null;
+                }
+                byte[] bytes = new byte[length * 2];
+                stream.get(offset + 8, bytes);
+                return trimNulls(new String(bytes, StandardCharsets.UTF_16LE));
+            }
+            case 64: {
+                // FILETIME：1601-01-01 起的 100 纳秒数
+                long fileTime = stream.getLong(offset + 4);
+                if (fileTime <= 0) {
+                    return null;
+                }
+                long epochMillis = fileTime / 10_000 - 11_644_473_600_000L;
+                return Instant.ofEpochMilli(epochMillis).toString();
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static String trimNulls(String text) {
+        int end = text.indexOf('\0');
+        return (end >= 0 ? text.substring(0, end) : text).trim();
+    }
+
+    private static Charset codePageCharset(int codePage) {
+        if (codePage == 65001) {
+            return StandardCharsets.UTF_8;
+        }
+        if (codePage == 1200) {
+            return StandardCharsets.UTF_16LE;
+        }
+        try {
+            return Charset.forName("Cp" + codePage);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("文档结构不完整: " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * ZIP 条目位置
+     */
+    private static final class ZipEntry {
+        private int method;
+        private long compressedSize;
+        private long size;
+        private long localHeaderOffset;
+    }
+
+    /**
+     * OLE2 目录项：名称(64, UTF-16LE) + 名称长度(2)@64 + 类型(1)@66 + ... + 起始扇区(4)@116 + 流大小(4)@120
+     */
+    private static final class DirectoryEntry {
+        private String name;
+        private int type;
+        private long startSector;
+        private long size;
+
+        static DirectoryEntry read(ByteBuffer buffer, int offset) {
+            DirectoryEntry entry = new DirectoryEntry();
+            int nameLength = Math.min(64, Short.toUnsignedInt(buffer.getShort(offset + 64)));
+            byte[] nameBytes = new byte[Math.max(0, nameLength - 2)];
+            buffer.get(offset, nameBytes);
+            entry.name = new String(nameBytes, StandardCharsets.UTF_16LE);
+            entry.type = Byte.toUnsignedInt(buffer.get(offset + 66));
+            entry.startSector = Integer.toUnsignedLong(buffer.getInt(offset + 116));
+            entry.size = Integer.toUnsignedLong(buffer.getInt(offset + 120));
+            return entry;
+        }
+    }
+
+    /**
+     * OLE2 扇区访问：FAT 与 MiniFAT 按扇区读取并缓存，只读取扇区链实际经过的部分
+     */
+    private static final class OleFile {
+        private final FileChannel channel;
+        private final ByteBuffer header;
+        private final long fileSize;
+        private final Path path;
+        private final int sectorSize;
+        private final int miniSectorSize;
+        private final long miniStreamCutoff;
+        private final Map<Long, ByteBuffer> fatSectors = new HashMap<>();
+        private final Map<Long, ByteBuffer> miniFatSectors = new HashMap<>();
+        private List<Long> difat;
+        private List<Long> miniFatChain;
+
+        OleFile(FileChannel channel, ByteBuffer header, long fileSize, Path path) throws IOException {
+            this.channel = channel;
+            this.header = header;
+            this.fileSize = fileSize;
+            this.path = path;
+            int sectorShift = Short.toUnsignedInt(header.getShort(30));
+            int miniSectorShift = Short.toUnsignedInt(header.getShort(32));
+            if (sectorShift < 7 || sectorShift > 16 || miniSectorShift > sectorShift) {
+                throw new IOException("OLE2 扇区大小无效: " + path);
+            }
+            this.sectorSize = 1 << sectorShift;
+            this.miniSectorSize = 1 << miniSectorShift;
+            this.miniStreamCutoff = Integer.toUnsignedLong(header.getInt(56));
+        }
+
+        ByteBuffer readSector(long sector) throws IOException {
+            long position = (sector + 1) * sectorSize;
+            if (sector > OLE_MAX_SECTOR || position + sectorSize > fileSize) {
+                throw new IOException("OLE2 扇区越界: " + sector + " (" + path + ")");
+            }
+            return readFully(channel, position, sectorSize, path);
+        }
+
+        /**
+         * 扇区链：mini 为 true 时按 MiniFAT 查找下一个短扇区
+         */
+        List<Long> chain(long start, boolean mini) throws IOException {
+            List<Long> sectors = new ArrayList<>();
+            long sector = start;
+            while (sector <= OLE_MAX_SECTOR && sector != OLE_END_OF_CHAIN) {
+                if (sectors.size() >= MAX_CHAIN_LENGTH) {
+                    throw new IOException("OLE2 扇区链过长: " + path);
+                }
+                sectors.add(sector);
+                sector = mini ? nextMiniSector(sector) : nextSector(sector);
+            }
+            return sectors;
+        }
+
+        private long nextSector(long sector) throws IOException {
+            int perSector = sectorSize / 4;
+            long fatIndex = sector / perSector;
+            ByteBuffer fat = fatSectors.get(fatIndex);
+            if (fat == null) {
+                fat = readSector(fatSectorLocation(fatIndex));
+                fatSectors.put(fatIndex, fat);
+            }
+            return Integer.toUnsignedLong(fat.getInt((int) (sector % perSector) * 4));
+        }
+
+        private long nextMiniSector(long miniSector) throws IOException {
+            if (miniFatChain == null) {
+                miniFatChain = chain(Integer.toUnsignedLong(header.getInt(60)), false);
+            }
+            int perSector = sectorSize / 4;
+            long index = miniSector / perSector;
+            if (index >= miniFatChain.size()) {
+                throw new IOException("OLE2 MiniFAT 越界: " + path);
+            }
+            ByteBuffer miniFat = miniFatSectors.get(index);
+            if (miniFat == null) {
+                miniFat = readSector(miniFatChain.get((int) index));
+                miniFatSectors.put(index, miniFat);
+            }
+            return Integer.toUnsignedLong(miniFat.getInt((int) (miniSector % perSector) * 4));
+        }
+
+        /**
+         * 第 index 个 FAT 扇区的位置：前 109 个在文件头中，其余在 DIFAT 扇区链中（每个扇区最后 4 字节为下一 DIFAT 扇区）
+         */
+        private long fatSectorLocation(long index) throws IOException {
+            if (index < OLE_HEADER_DIFAT_COUNT) {
+                return Integer.toUnsignedLong(header.getInt(76 + (int) index * 4));
+            }
+            if (difat == null) {
+                difat = new ArrayList<>();
+                long sector = Integer.toUnsignedLong(header.getInt(68));
+                int perSector = sectorSize / 4 - 1;
+                while (sector <= OLE_MAX_SECTOR && difat.size() < MAX_CHAIN_LENGTH) {
+                    ByteBuffer buffer = readSector(sector);
+                    for (int i = 0; i < perSector; i++) {
+                        difat.add(Integer.toUnsignedLong(buffer.getInt(i * 4)));
+                    }
+                    sector = Integer.toUnsignedLong(buffer.getInt(perSector * 4));
+                }
+            }
+            long difatIndex = index - OLE_HEADER_DIFAT_COUNT;
+            if (difatIndex >= difat.size()) {
+                throw new IOException("OLE2 DIFAT 越界: " + path);
+            }
+            return difat.get((int) difatIndex);
+        }
+
+        /**
+         * 读取流内容：小于短流上限的流存放在根目录项的短流容器中，按 64 字节短扇区寻址
+         */
+        ByteBuffer readStream(DirectoryEntry entry, DirectoryEntry root) throws IOException {
+            ByteBuffer stream = ByteBuffer.allocate((int) entry.size).order(ByteOrder.LITTLE_ENDIAN);
+            if (entry.size >= miniStreamCutoff) {
+                for (long sector : chain(entry.startSector, false)) {
+                    ByteBuffer data = readSector(sector);
+                    data.limit(Math.min(data.limit(), stream.remaining()));
+                    stream.put(data);
+                    if (!stream.hasRemaining()) {
+                        break;
+                    }
+                }
+            } else {
+                List<Long> container = chain(root.startSector, false);
+                int perSector = sectorSize / miniSectorSize;
+                for (long miniSector : chain(entry.startSector, true)) {
+                    long containerIndex = miniSector / perSector;
+                    if (containerIndex >= container.size()) {
+                        throw new IOException("OLE2 短流越界: " + path);
+                    }
+                    long position = (container.get((int) containerIndex) + 1) * sectorSize
+                            + (miniSector % perSector) * miniSectorSize;
+                    int length = Math.min(miniSectorSize, stream.remaining());
+                    ByteBuffer data = readFully(channel, position, length, path);
+                    stream.put(data);
+                    if (!stream.hasRemaining()) {
+                        break;
+                    }
+                }
+            }
+            stream.flip();
+            return stream;
+        }
+    }
+}
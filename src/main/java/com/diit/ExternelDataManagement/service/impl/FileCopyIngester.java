@@ -0,0 +1,169 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.mapper.FileMapper;
+import com.diit.ExternelDataManagement.pojo.FileEntity;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 基于 PostgreSQL COPY 的文件记录批量入库
+ * 每个分片先通过 CopyManager 以 CSV 格式 COPY 到会话级临时表，再合并到 external_data_info，
+ * 合并时已存在的记录（接收编码 + 文件路径 + 图层名称）按需更新，分片合并完成即提交。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class FileCopyIngester {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileCopyIngester.class);
+
+    private static final String STAGING_TABLE = "external_data_info_staging";
+
+    private static final String COLUMNS = "ID, RECEIVE_CODE, FILE_PATH, DATA_TYPE, FILE_TYPE, BBOX, DATA_SIZE, " +
+            "TOTAL_OBJECT_NUM, TOTAL_AREA, LAYER_NAME, CRS, METADATA";
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE IF NOT EXISTS " + STAGING_TABLE +
+            " (LIKE external_data_info INCLUDING DEFAULTS) ON COMMIT DELETE ROWS";
+
+    private static final String COPY_SQL = "COPY " + STAGING_TABLE + " (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    // 同一分片内重复的记录只保留一条，已存在于正式表的记录由唯一索引冲突处理按需更新
+    private static final String MERGE_SQL = "INSERT INTO external_data_info (" + COLUMNS + ") " +
+            "SELECT DISTINCT ON (s.RECEIVE_CODE, s.FILE_PATH, COALESCE(s.LAYER_NAME, '')) " + COLUMNS + " " +
+            "FROM " + STAGING_TABLE + " s" + FileMapper.UPSERT_CONFLICT_CLAUSE;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource dataSource;
+
+    /**
+     * 打开 COPY 入库会话，会话在整个解析过程中独占一个连接
+     */
+    public CopySession openSession() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+            }
+            connection.commit();
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return new CopySession(connection, copyManager);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * COPY 入库会话
+     */
+    public static class CopySession implements AutoCloseable {
+
+        private final Connection connection;
+        private final CopyManager copyManager;
+
+        private CopySession(Connection connection, CopyManager copyManager) {
+            this.connection = connection;
+            this.copyManager = copyManager;
+        }
+
+        /**
+         * 将一个分片 COPY 到临时表并合并到正式表，成功后提交
+         * @param fileEntities 文件记录
+         * @return 新增与更新的行数（其余为已存在且未变化或分片内重复的记录）
+         * @throws Exception COPY 或合并失败时抛出，当前分片已回滚
+         */
+        public MergeResult ingest(List<FileEntity> fileEntities) throws Exception {
+            try {
+                long copied = copyManager.copyIn(COPY_SQL, new StringReader(toCsv(fileEntities)));
+                int inserted = 0;
+                int updated = 0;
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(MERGE_SQL)) {
+                    while (resultSet.next()) {
+                        if (resultSet.getBoolean(1)) {
+                            inserted++;
+                        } else {
+                            updated++;
+                        }
+                    }
+                }
+                connection.commit();
+                logger.debug("COPY 入库完成 - 写入临时表: {} 行，合并新增: {} 行，更新: {} 行", copied, inserted, updated);
+                return new MergeResult(inserted, updated);
+            } catch (Exception e) {
+                rollbackQuietly();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                rollbackQuietly();
+                connection.setAutoCommit(true);
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("关闭 COPY 入库连接失败: {}", e.getMessage());
+            }
+        }
+
+        private void rollbackQuietly() {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                logger.warn("回滚 COPY 入库事务失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 合并结果
+     */
+    public record MergeResult(int inserted, int updated) {
+    }
+
+    /**
+     * 按 CSV 格式拼接记录：字段统一加引号，null 输出为空（COPY 视为 NULL）
+     */
+    static String toCsv(List<FileEntity> fileEntities) {
+        StringBuilder csv = new StringBuilder(fileEntities.size() * 256);
+        for (FileEntity file : fileEntities) {
+            appendField(csv, file.getId()).append(',');
+            appendField(csv, file.getReceiveCode()).append(',');
+            appendField(csv, file.getFilePath()).append(',');
+            appendField(csv, file.getDataType()).append(',');
+            appendField(csv, file.getFileType()).append(',');
+            appendField(csv, file.getBbox()).append(',');
+            appendField(csv, file.getDataSize()).append(',');
+            appendField(csv, file.getTotalObjectNum()).append(',');
+            appendField(csv, file.getTotalArea()).append(',');
+            appendField(csv, file.getLayerName()).append(',');
+            appendField(csv, file.getCrs()).append(',');
+            appendField(csv, file.getMetadata()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder csv, Object value) {
+        if (value == null) {
+            return csv;
+        }
+        return csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,92 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+
+/**
+ * 文件内容指纹：(规范路径, 大小, 修改时间)
+ * 覆盖解析时实际读取的全部文件：普通文件取自身大小与修改时间，.shp 同时计入同名的
+ * .dbf / .shx / .prj / .cpg 附属文件（大小求和、修改时间取最新）；文件夹（GDB）取其下直接包含的文件的总大小与最新修改时间。
+ * 图层缓存键与扫描清单共用，任一附属文件变化都会使两者失效。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class FileFingerprint {
+
+    // Shapefile 的属性、索引、坐标系和编码文件变化同样影响解析结果
+    private static final String[] SHAPEFILE_SIDECARS = {".dbf", ".shx", ".prj", ".cpg"};
+
+    private final String path;
+    private final long size;
+    private final long lastModified;
+
+    private FileFingerprint(String path, long size, long lastModified) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 计算文件或文件夹的指纹
+     * @param file 文件或文件夹
+     * @return 指纹
+     * @throws IOException 文件不存在或无法读取属性
+     */
+    public static FileFingerprint of(File file) throws IOException {
+        Path path = file.toPath().toRealPath();
+        long size = 0;
+        long lastModified = 0;
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(path)) {
+                for (Path child : children) {
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        size += attributes.size();
+                        lastModified = Math.max(lastModified, attributes.lastModifiedTime().toMillis());
+                    }
+                }
+            }
+        } else {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            size = attributes.size();
+            lastModified = attributes.lastModifiedTime().toMillis();
+            String fileName = path.getFileName().toString();
+            if (fileName.toLowerCase(Locale.ROOT).endsWith(".shp")) {
+                String baseName = fileName.substring(0, fileName.length() - 4);
+                for (String extension : SHAPEFILE_SIDECARS) {
+                    for (String candidate : new String[]{extension, extension.toUpperCase(Locale.ROOT)}) {
+                        Path sidecar = path.resolveSibling(baseName + candidate);
+                        if (Files.isRegularFile(sidecar)) {
+                            BasicFileAttributes sidecarAttributes = Files.readAttributes(sidecar, BasicFileAttributes.class);
+                            size += sidecarAttributes.size();
+                            lastModified = Math.max(lastModified, sidecarAttributes.lastModifiedTime().toMillis());
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return new FileFingerprint(path.toString(), size, lastModified);
+    }
+
+    /** 规范路径 */
+    public String getPath() {
+        return path;
+    }
+
+    /** 大小（字节，包含附属文件） */
+    public long getSize() {
+        return size;
+    }
+
+    /** 最新修改时间（毫秒时间戳，包含附属文件） */
+    public long getLastModified() {
+        return lastModified;
+    }
+}
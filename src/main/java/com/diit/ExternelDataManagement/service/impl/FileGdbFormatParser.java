@@ -0,0 +1,58 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * FileGDB 解析器
+ * FileGDB 是以 .gdb 结尾的文件夹，没有文件头可供识别
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class FileGdbFormatParser implements FormatParser {
+
+    // 一个 GDB 通常包含大量表文件，同时解析的数量过多会挤占扫描线程池
+    private static final int MAX_CONCURRENCY = 4;
+
+    private final SimpleGeoParser simpleGeoParser;
+
+    public FileGdbFormatParser(SimpleGeoParser simpleGeoParser) {
+        this.simpleGeoParser = simpleGeoParser;
+    }
+
+    @Override
+    public String getFormat() {
+        return "gdb";
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Collections.singleton("gdb");
+    }
+
+    @Override
+    public boolean matches(File file, ByteBuffer header) {
+        return header == null && file.isDirectory() && file.getName().toLowerCase(Locale.ROOT).endsWith(".gdb");
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return MAX_CONCURRENCY;
+    }
+
+    @Override
+    public List<LayerInfo> parse(File file) throws IOException {
+        return simpleGeoParser.parseGdbFile(file.getAbsolutePath());
+    }
+}
@@ -1,40 +1,58 @@
 package com.diit.ExternelDataManagement.service.impl;
 
+import com.diit.ExternelDataManagement.common.IngestMode;
+import com.diit.ExternelDataManagement.config.ScanConfig;
 import com.diit.ExternelDataManagement.exception.DataNotFoundException;
+import com.diit.ExternelDataManagement.exception.ParseTimeoutException;
 import com.diit.ExternelDataManagement.mapper.DataMapper;
 import com.diit.ExternelDataManagement.mapper.FileMapper;
+import com.diit.ExternelDataManagement.mapper.ParseQuarantineMapper;
+import com.diit.ExternelDataManagement.mapper.ScanManifestMapper;
 import com.diit.ExternelDataManagement.pojo.FileEntity;
+import com.diit.ExternelDataManagement.pojo.LayerCacheStats;
 import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import com.diit.ExternelDataManagement.pojo.ParseQuarantineEntry;
+import com.diit.ExternelDataManagement.pojo.ParseResult;
+import com.diit.ExternelDataManagement.pojo.ScanManifestEntry;
 import com.diit.ExternelDataManagement.service.FileService;
 import com.diit.ExternelDataManagement.service.GeoSpatialParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 @Service
 public class FileServiceImpl implements FileService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileServiceImpl.class);
 
-    // 支持的数据文件扩展名
-    private static final Set<String> SUPPORTED_EXTENSIONS = new HashSet<>(
-            Arrays.asList("shp", "gdb", "mdb", "tiff", "tif", "img", "doc", "docx", "xls", "xlsx")
-    );
-
     @Autowired
     private FileMapper fileMapper;
 
@@ -43,6 +61,32 @@ public class FileServiceImpl implements FileService {
 
     @Autowired
     private GeoSpatialParser geoSpatialParser;
+
+    @Autowired
+    private ParsePipeline parsePipeline;
+
+    @Autowired
+    private FileCopyIngester fileCopyIngester;
+
+    @Autowired
+    private ScanConfig scanConfig;
+
+    @Autowired
+    private ScanManifestMapper scanManifestMapper;
+
+    @Autowired
+    private LayerInfoCache layerInfoCache;
+
+    @Autowired
+    private ParseQuarantineMapper parseQuarantineMapper;
+
+    @Autowired
+    private ParseDeadlineExecutor parseDeadlineExecutor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 扫描清单批量写入/删除的分片大小
+    private static final int MANIFEST_BATCH_SIZE = 500;
     
     /**
      * 规范化文件路径，支持 UNC 路径
@@ -85,14 +129,67 @@ public class FileServiceImpl implements FileService {
 
     @Override
     public List<FileEntity> parseAndSaveFiles(String receiveCode) {
+        return parseAndSave(receiveCode, IngestMode.AUTO, new ParseProgress(), true);
+    }
+
+    @Override
+    public ParseResult parseAndSaveFiles(String receiveCode, IngestMode ingestMode) {
+        ParseProgress progress = new ParseProgress();
+        List<FileEntity> fileEntities = parseAndSave(receiveCode, ingestMode, progress, true);
+        return new ParseResult(fileEntities, progress);
+    }
+
+    @Override
+    public void parseAndSaveFiles(String receiveCode, IngestMode ingestMode, ParseProgress progress) {
+        parseAndSave(receiveCode, ingestMode, progress, false);
+    }
+
+    @Override
+    public int invalidateLayerCache(String receiveCode) {
+        String filePath = fileMapper.getFilePathByReceiveCode(receiveCode);
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new DataNotFoundException("File path not found for receive code: " + receiveCode);
+        }
+        int invalidated = layerInfoCache.invalidateUnder(new File(normalizePath(filePath)));
+        // 清单中未变化的文件会被跳过，需一并清空才能重新解析
+        int manifestEntries = scanManifestMapper.deleteByReceiveCode(receiveCode);
+        logger.info("图层缓存已失效，receiveCode: {}, 缓存条目: {}, 清单条目: {}", receiveCode, invalidated, manifestEntries);
+        return invalidated;
+    }
+
+    @Override
+    public LayerCacheStats getLayerCacheStats() {
+        return layerInfoCache.getStats();
+    }
+
+    @Override
+    public List<ParseQuarantineEntry> getParseQuarantine(String receiveCode) {
+        return parseQuarantineMapper.findByReceiveCode(receiveCode);
+    }
+
+    @Override
+    public int releaseParseQuarantine(String receiveCode) {
+        int released = parseQuarantineMapper.deleteByReceiveCode(receiveCode);
+        logger.info("解析隔离名单已清空，receiveCode: {}, 移出: {} 条", receiveCode, released);
+        return released;
+    }
+
+    /**
+     * 解析目录并保存文件记录
+     * @param receiveCode 接收编码
+     * @param ingestMode 入库方式，为 null 时自动选择
+     * @param progress 解析进度
+     * @param retainRows 是否保留并返回全部解析结果（异步任务不保留，内存占用与目录规模无关）
+     * @return retainRows 为 true 时按遍历顺序返回文件实体列表，否则返回空列表
+     */
+    private List<FileEntity> parseAndSave(String receiveCode, IngestMode ingestMode, ParseProgress progress,
+                                          boolean retainRows) {
         // 根据receiveCode查询文件路径
         String filePath = fileMapper.getFilePathByReceiveCode(receiveCode);
         if (filePath == null || filePath.trim().isEmpty()) {
             throw new DataNotFoundException("File path not found for receive code: " + receiveCode);
         }
 
-        List<FileEntity> fileEntities = new ArrayList<>();
-        
         // 规范化路径（处理 UNC 路径）
         String normalizedPath = normalizePath(filePath);
         logger.info("原始路径: {}, 规范化后路径: {}", filePath, normalizedPath);
@@ -191,65 +288,59 @@ public class FileServiceImpl implements FileService {
         
         logger.info("目录验证通过: {}", normalizedPath);
 
-        // 递归解析目录下的所有文件
-        parseDirectoryRecursively(directory, receiveCode, fileEntities);
+        // 加载上次扫描清单，未变化的文件不再重新解析；隔离名单中的文件跳过解析
+        int pathExpiryHours = scanConfig.getQuarantinePathExpiryHours();
+        ScanContext context = new ScanContext(receiveCode, loadScanManifest(receiveCode),
+                loadParseQuarantine(receiveCode), scanConfig.getQuarantineThreshold(),
+                pathExpiryHours > 0 ? Duration.ofHours(pathExpiryHours) : null, progress);
+
+        // 解析结果按分片写入，由数据库唯一索引去重
+        IngestMode mode = ingestMode != null ? ingestMode : IngestMode.AUTO;
+        logger.info("入库方式: {} ({})", mode, mode.getDescription());
+        RowWriter rowWriter = new RowWriter(progress, mode);
+        List<FileEntity> fileEntities;
+        try {
+            // 流水线：并行遍历 -> 并行解析 -> 分片入库，扫描过程中持续入库
+            fileEntities = parsePipeline.run(directory, this::isSupportedFile,
+                    file -> parseFileIfChanged(file, context), rowWriter, progress, retainRows);
+            rowWriter.flush();
+        } finally {
+            rowWriter.close();
+        }
+
+        List<String> removedFiles = context.getRemovedFiles();
+        progress.filesRemoved(removedFiles);
+        logger.info("增量扫描比对完成 - 重新解析: {} 个文件，未变化: {} 个文件，已删除: {} 个文件",
+                context.getParsedEntries().size(), context.getUnchangedCount(), removedFiles.size());
+        for (String removedFile : removedFiles) {
+            logger.warn("文件自上次扫描后已被删除: {}", removedFile);
+        }
+        markRemovedRecords(receiveCode, removedFiles);
+        if (progress.getFilesTimedOut() > 0 || progress.getFilesQuarantined() > 0) {
+            logger.warn("解析超时: {} 个文件，因在隔离名单中跳过: {} 个文件",
+                    progress.getFilesTimedOut(), progress.getFilesQuarantined());
+        }
+
+        int totalCount = rowWriter.getTotalCount();
+        if (totalCount > 0) {
+            logger.info("文件保存完成 - 新增: {} 条，更新: {} 条，跳过: {} 条，失败: {} 条，总计: {} 条",
+                    rowWriter.getSuccessCount(), rowWriter.getUpdateCount(), rowWriter.getSkipCount(),
+                    rowWriter.getFailCount(), totalCount);
 
-        // 批量保存到数据库，添加错误处理和重复检查
-        if (!fileEntities.isEmpty()) {
-            // 先查询已存在的记录，避免重复插入
-            List<FileEntity> existingFiles = fileMapper.findByReceiveCode(receiveCode);
-            Set<String> existingKeys = new HashSet<>();
-            for (FileEntity existing : existingFiles) {
-                String key = existing.getFilePath() + "|" + (existing.getLayerName() != null ? existing.getLayerName() : "");
-                existingKeys.add(key);
-            }
-            
-            int successCount = 0;
-            int skipCount = 0;
-            int failCount = 0;
-            
-            for (FileEntity fileEntity : fileEntities) {
-                try {
-                    // 检查是否已存在相同的记录（根据文件路径和图层名称）
-                    String key = fileEntity.getFilePath() + "|" + (fileEntity.getLayerName() != null ? fileEntity.getLayerName() : "");
-                    
-                    if (existingKeys.contains(key)) {
-                        skipCount++;
-                        logger.debug("文件记录已存在，跳过插入: 文件路径={}, 图层={}", 
-                                fileEntity.getFilePath(), fileEntity.getLayerName());
-                        continue;
-                    }
-                    
-                    // 执行插入
-                    int result = fileMapper.insert(fileEntity);
-                    if (result > 0) {
-                        successCount++;
-                        existingKeys.add(key); // 添加到已存在集合，避免同批次重复
-                        logger.debug("成功插入文件记录: ID={}, 文件路径={}", 
-                                fileEntity.getId(), fileEntity.getFilePath());
-                    } else {
-                        failCount++;
-                        logger.warn("插入文件记录返回0，可能插入失败: 文件路径={}", fileEntity.getFilePath());
-                    }
-                } catch (Exception e) {
-                    failCount++;
-                    logger.error("插入文件记录失败: 文件路径={}, 图层={}, 错误: {}", 
-                            fileEntity.getFilePath(), fileEntity.getLayerName(), e.getMessage(), e);
-                    // 继续处理其他文件，不中断整个流程
-                }
-            }
-            
-            logger.info("文件保存完成 - 成功: {} 条，跳过: {} 条，失败: {} 条，总计: {} 条", 
-                    successCount, skipCount, failCount, fileEntities.size());
-            
             // 如果所有文件都保存失败，抛出异常
-            if (successCount == 0 && skipCount == 0 && !fileEntities.isEmpty()) {
+            if (rowWriter.getFailCount() == totalCount) {
                 throw new RuntimeException("所有文件记录保存失败，请检查日志");
             }
+        } else if (context.getUnchangedCount() > 0) {
+            logger.info("所有文件自上次扫描后均未变化，无需重新入库，receiveCode: {}", receiveCode);
         } else {
             logger.warn("未找到任何可解析的文件，receiveCode: {}", receiveCode);
         }
 
+        // 更新扫描清单（入库失败的文件不写入清单，下次扫描时重新解析）
+        saveScanManifest(context, rowWriter.getFailedPaths(), removedFiles);
+        saveParseQuarantine(context);
+
         // 更新receive_external_package_info表的状态字段（仅在至少有一条记录成功保存后）
         try {
             dataMapper.updateStatusByReceiveCode(receiveCode, "通过", "已接收");
@@ -262,39 +353,133 @@ public class FileServiceImpl implements FileService {
         return fileEntities;
     }
 
-    private void parseDirectoryRecursively(File directory, String receiveCode, List<FileEntity> fileEntities) {
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    // 检查是否是 .gdb 文件夹（Geodatabase 是一个文件夹，但名称以 .gdb 结尾）
-                    String fileName = file.getName().toLowerCase();
-                    if (fileName.endsWith(".gdb")) {
-                        // GDB 文件夹直接作为整体解析，不递归进入
-                        logger.info("发现 GDB 文件夹: {}", file.getAbsolutePath());
-                        parseFileWithParser(file, receiveCode, fileEntities);
-                    } else {
-                        // 其他文件夹递归处理子目录
-                        parseDirectoryRecursively(file, receiveCode, fileEntities);
-                    }
-                } else {
-                    // 只处理支持的文件类型
-                    if (isSupportedFile(file)) {
-                        // 使用地理空间解析器解析文件，为每个图层创建一条记录
-                        parseFileWithParser(file, receiveCode, fileEntities);
-                    }
-                }
+    /**
+     * 比对扫描清单，仅解析新增或发生变化的文件
+     * 文件状态查询、比对和解析作为一个解析单元在时限内执行，超时的文件以超时标记的默认记录入库
+     * @param file 文件对象
+     * @param context 扫描上下文
+     * @return 该文件对应的文件实体列表；文件未变化时返回空列表
+     */
+    private List<FileEntity> parseFileIfChanged(File file, ScanContext context) {
+        ParseProgress progress = context.getProgress();
+        progress.checkCancelled();
+        progress.fileSeen();
+
+        String filePath = file.getAbsolutePath();
+        ScanManifestEntry previous = context.markSeen(filePath);
+        // 查询文件状态时即超时的文件无法比对大小和修改时间，按路径隔离（有效期内），不再提交解析
+        if (context.isQuarantinedByPath(filePath)) {
+            context.recordQuarantined();
+            logger.warn("文件多次在查询状态时超时，已列入隔离名单，跳过解析: {}", filePath);
+            return Collections.emptyList();
+        }
+
+        FileParseUnit unit = new FileParseUnit();
+        try {
+            parseDeadlineExecutor.call(file, () -> runParseUnit(file, context, previous, unit));
+        } catch (ParseTimeoutException e) {
+            logger.warn("{}，创建超时标记的默认记录", e.getMessage());
+            progress.fileFailed();
+            context.recordTimedOut(new ParseQuarantineEntry(context.getReceiveCode(), filePath,
+                    unit.fileSize, unit.lastModified, e.getFormat()));
+            FileEntity fileEntity = createDefaultFileEntity(file, context.getReceiveCode(), unit.fileSize);
+            fileEntity.setMetadata(timedOutMetadataJson(e));
+            return Collections.singletonList(fileEntity);
+        } catch (InterruptedIOException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("解析任务已中断");
+        } catch (IOException e) {
+            logger.error("文件解析单元执行失败: {}, 创建默认记录", filePath, e);
+            progress.fileFailed();
+            return Collections.singletonList(createDefaultFileEntity(file, context.getReceiveCode(), unit.fileSize));
+        }
+
+        if (unit.unchanged) {
+            context.recordUnchanged();
+            logger.debug("文件自上次扫描后未变化，跳过解析: {}", filePath);
+            return Collections.emptyList();
+        }
+        if (unit.quarantined) {
+            context.recordQuarantined();
+            logger.warn("文件多次解析超时，已列入隔离名单，跳过解析: {}", filePath);
+            return Collections.emptyList();
+        }
+
+        ScanManifestEntry entry = unit.manifestEntry;
+        if (entry.getLayerFingerprint() == null) {
+            progress.fileFailed();
+        } else {
+            progress.fileParsed();
+            context.recordParsed(entry);
+            // 文件已修改但图层信息与上次一致，已入库的记录无需重复写入
+            if (previous != null && entry.getLayerFingerprint().equals(previous.getLayerFingerprint())) {
+                logger.info("文件已修改但图层信息未变化，跳过入库: {}", filePath);
+                return Collections.emptyList();
             }
         }
+        return unit.fileEntities;
+    }
+
+    /**
+     * 解析单元：在解析工作线程中查询文件状态、比对扫描清单和隔离名单并解析文件
+     * 结果写入 unit，由调用方在时限内取回后更新扫描上下文；超时后工作线程的结果被丢弃
+     */
+    private FileParseUnit runParseUnit(File file, ScanContext context, ScanManifestEntry previous,
+                                       FileParseUnit unit) {
+        String filePath = file.getAbsolutePath();
+        FileSizeIndex sizeIndex = context.getSizeIndex();
+        // 与图层缓存键相同的指纹：.shp 同时计入 .dbf / .shx / .prj / .cpg，只改属性表或坐标系也会重新解析
+        FileFingerprint fingerprint;
+        try {
+            fingerprint = FileFingerprint.of(file);
+        } catch (IOException e) {
+            logger.warn("无法读取文件属性: {} - {}", filePath, e.getMessage());
+            fingerprint = null;
+        }
+        long fileSize = fingerprint != null ? fingerprint.getSize() : sizeIndex.sizeOf(file);
+        long lastModified = fingerprint != null ? fingerprint.getLastModified() : sizeIndex.lastModifiedOf(file);
+        unit.fileSize = fileSize;
+        unit.lastModified = lastModified;
+
+        if (context.isUnchanged(previous, fileSize, lastModified)) {
+            unit.unchanged = true;
+            return unit;
+        }
+        if (context.isQuarantined(filePath, fileSize, lastModified)) {
+            unit.quarantined = true;
+            return unit;
+        }
+        unit.manifestEntry = new ScanManifestEntry(context.getReceiveCode(), filePath, fileSize, lastModified);
+        // 图层缓存键复用同一指纹，每个文件只查询一次文件及附属文件的状态
+        unit.fileEntities = parseFileWithParser(file, context.getReceiveCode(), sizeIndex, unit.manifestEntry,
+                fingerprint);
+        return unit;
+    }
+
+    /**
+     * 单个文件解析单元的结果；文件状态在查询完成后立即写入，超时时用于记录隔离名单（未查询到时为 -1）
+     */
+    private static final class FileParseUnit {
+        private volatile long fileSize = -1;
+        private volatile long lastModified = -1;
+        private volatile boolean unchanged;
+        private volatile boolean quarantined;
+        private volatile ScanManifestEntry manifestEntry;
+        private volatile List<FileEntity> fileEntities;
     }
 
     /**
      * 使用地理空间解析器解析文件，提取图层信息
      * @param file 文件对象
      * @param receiveCode 接收编码
-     * @param fileEntities 文件实体列表
+     * @param sizeIndex 文件大小索引
+     * @param manifestEntry 扫描清单条目，解析成功时写入图层指纹
+     * @param fingerprint 文件指纹（用作图层缓存键），无法读取文件属性时为 null
+     * @return 该文件对应的文件实体列表
      */
-    private void parseFileWithParser(File file, String receiveCode, List<FileEntity> fileEntities) {
+    private List<FileEntity> parseFileWithParser(File file, String receiveCode, FileSizeIndex sizeIndex,
+                                                 ScanManifestEntry manifestEntry, FileFingerprint fingerprint) {
+        List<FileEntity> fileEntities = new ArrayList<>();
         try {
             logger.info("使用地理空间解析器解析文件: {}", file.getAbsolutePath());
             
@@ -302,51 +487,393 @@ public class FileServiceImpl implements FileService {
             boolean isContainerFile = isContainerFile(file);
             
             // 使用地理空间解析器解析图层信息
-            List<LayerInfo> layerInfos = geoSpatialParser.parseLayers(file.getAbsolutePath());
+            List<LayerInfo> layerInfos = geoSpatialParser.parseLayers(file.getAbsolutePath(), fingerprint);
+            manifestEntry.setLayerFingerprint(computeLayerFingerprint(layerInfos));
             
             if (layerInfos != null && !layerInfos.isEmpty()) {
                 // 如果是容器文件，先为容器文件本身创建一条记录
                 if (isContainerFile) {
-                    FileEntity containerEntity = createContainerFileEntity(file, receiveCode, layerInfos);
+                    FileEntity containerEntity = createContainerFileEntity(file, receiveCode, layerInfos, sizeIndex);
                     fileEntities.add(containerEntity);
                     logger.info("添加容器文件记录: {}, 包含 {} 个图层", file.getName(), layerInfos.size());
                 }
                 
                 // 为每个图层创建一条记录
                 for (LayerInfo layerInfo : layerInfos) {
-                    FileEntity fileEntity = createFileEntityFromLayer(file, receiveCode, layerInfo);
+                    FileEntity fileEntity = createFileEntityFromLayer(file, receiveCode, layerInfo, sizeIndex);
                     fileEntities.add(fileEntity);
                     logger.info("添加图层记录: {}, 要素数量: {}", layerInfo.getLayerName(), layerInfo.getFeatureCount());
                 }
             } else {
                 // 如果没有解析到图层信息，创建一个默认记录
                 logger.warn("未解析到图层信息，创建默认记录: {}", file.getAbsolutePath());
-                FileEntity fileEntity = createDefaultFileEntity(file, receiveCode);
+                FileEntity fileEntity = createDefaultFileEntity(file, receiveCode, sizeIndex.sizeOf(file));
                 fileEntities.add(fileEntity);
             }
         } catch (Exception e) {
             logger.error("地理空间解析文件失败: {}, 创建默认记录", file.getAbsolutePath(), e);
             // 解析失败时，创建一个默认记录
-            FileEntity fileEntity = createDefaultFileEntity(file, receiveCode);
+            FileEntity fileEntity = createDefaultFileEntity(file, receiveCode, sizeIndex.sizeOf(file));
             fileEntities.add(fileEntity);
         }
+        return fileEntities;
+    }
+
+    private String recordKey(FileEntity fileEntity) {
+        return fileEntity.getFilePath() + "|" + (fileEntity.getLayerName() != null ? fileEntity.getLayerName() : "");
     }
 
     /**
-     * 检查文件是否是支持的类型
+     * 文件记录写入器：在流水线入库阶段按分片写入记录，并统计新增/更新/跳过/失败数
+     * 去重由数据库唯一索引（接收编码 + 文件路径 + 图层名称）和 ON CONFLICT 完成：
+     * 新记录插入，已存在且内容变化的记录更新，内容未变化的记录跳过。
+     * BATCH 方式每个分片一条多行 INSERT 一次提交；COPY 方式累积到 scan.copy-chunk-size 条后
+     * 通过 COPY 写入临时表再合并，COPY 失败的分片回退为 BATCH 方式。
+     * 仅在入库线程中调用，无需同步
+     */
+    private class RowWriter implements Consumer<List<FileEntity>> {
+
+        private final ParseProgress progress;
+        private final IngestMode ingestMode;
+        private final Set<String> failedPaths = new HashSet<>();
+        private int successCount = 0;
+        private int updateCount = 0;
+        private int skipCount = 0;
+        private int failCount = 0;
+
+        // COPY 方式下等待写入的记录（分片间的重复记录由合并语句去重）
+        private final List<FileEntity> copyBuffer = new ArrayList<>();
+        private FileCopyIngester.CopySession copySession;
+        private boolean copyUnavailable = false;
+        private int rowsReceived = 0;
+
+        RowWriter(ParseProgress progress, IngestMode ingestMode) {
+            this.progress = progress;
+            this.ingestMode = ingestMode;
+        }
+
+        @Override
+        public void accept(List<FileEntity> chunk) {
+            if (progress.isCancelled()) {
+                logger.warn("解析任务已取消，停止入库 - 已新增: {} 条，更新: {} 条，跳过: {} 条，失败: {} 条",
+                        successCount, updateCount, skipCount, failCount);
+                throw new CancellationException("解析任务已取消");
+            }
+            rowsReceived += chunk.size();
+
+            // 同一分片内的重复记录只写入一次（同一条 ON CONFLICT DO UPDATE 语句不能两次更新同一行）
+            List<FileEntity> pending = new ArrayList<>(chunk.size());
+            Set<String> pendingKeys = new HashSet<>();
+            for (FileEntity fileEntity : chunk) {
+                if (!pendingKeys.add(recordKey(fileEntity))) {
+                    skipCount++;
+                    progress.rowSkipped();
+                    logger.debug("分片内重复的文件记录，跳过: 文件路径={}, 图层={}",
+                            fileEntity.getFilePath(), fileEntity.getLayerName());
+                    continue;
+                }
+                pending.add(fileEntity);
+            }
+
+            if (useCopy()) {
+                copyBuffer.addAll(pending);
+                if (copyBuffer.size() >= Math.max(1, scanConfig.getCopyChunkSize())) {
+                    flush();
+                }
+                return;
+            }
+            upsertBatch(pending);
+        }
+
+        /**
+         * 写入 COPY 方式下尚未写入的记录
+         */
+        void flush() {
+            if (copyBuffer.isEmpty()) {
+                return;
+            }
+            List<FileEntity> rows = new ArrayList<>(copyBuffer);
+            copyBuffer.clear();
+
+            try {
+                if (copySession == null) {
+                    copySession = fileCopyIngester.openSession();
+                    logger.info("已切换为 COPY 方式入库，入库方式: {}, 已接收记录: {} 条", ingestMode, rowsReceived);
+                }
+                FileCopyIngester.MergeResult result = copySession.ingest(rows);
+                int skipped = rows.size() - result.inserted() - result.updated();
+                recordWritten(result.inserted(), result.updated(), skipped);
+                logger.debug("COPY 入库成功: 新增 {} 条，更新 {} 条，未变化跳过 {} 条",
+                        result.inserted(), result.updated(), skipped);
+                return;
+            } catch (Exception e) {
+                if (copySession == null) {
+                    // 无法建立 COPY 会话（如连接不是 PostgreSQL 连接），后续分片不再尝试 COPY
+                    copyUnavailable = true;
+                }
+                logger.warn("COPY 入库失败，回退为批量插入: {} 条，错误: {}", rows.size(), e.getMessage());
+            }
+            upsertInSlices(rows);
+        }
+
+        /**
+         * 按 scan.write-chunk-size 分片批量写入 COPY 缓冲区中的记录（整个缓冲区一条语句会超出参数上限）
+         * 缓冲区跨越多个分片，遇到重复记录时另起一片，同一条 ON CONFLICT 语句不会两次更新同一行
+         */
+        private void upsertInSlices(List<FileEntity> rows) {
+            int sliceSize = Math.max(1, scanConfig.getWriteChunkSize());
+            List<FileEntity> slice = new ArrayList<>(Math.min(sliceSize, rows.size()));
+            Set<String> sliceKeys = new HashSet<>();
+            for (FileEntity fileEntity : rows) {
+                if (slice.size() >= sliceSize || !sliceKeys.add(recordKey(fileEntity))) {
+                    upsertBatch(slice);
+                    slice = new ArrayList<>(Math.min(sliceSize, rows.size()));
+                    sliceKeys.clear();
+                    sliceKeys.add(recordKey(fileEntity));
+                }
+                slice.add(fileEntity);
+            }
+            upsertBatch(slice);
+        }
+
+        private boolean useCopy() {
+            if (copyUnavailable) {
+                return false;
+            }
+            if (ingestMode == IngestMode.COPY) {
+                return true;
+            }
+            return ingestMode == IngestMode.AUTO && rowsReceived > scanConfig.getCopyThreshold();
+        }
+
+        private void upsertBatch(List<FileEntity> pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // 整个分片一条多行 INSERT ... ON CONFLICT，一次往返一次提交
+            try {
+                List<Boolean> returned = fileMapper.upsertBatch(pending);
+                int inserted = 0;
+                for (Boolean isInsert : returned) {
+                    if (Boolean.TRUE.equals(isInsert)) {
+                        inserted++;
+                    }
+                }
+                int updated = returned.size() - inserted;
+                recordWritten(inserted, updated, pending.size() - returned.size());
+                logger.debug("批量写入文件记录成功: 新增 {} 条，更新 {} 条，未变化跳过 {} 条",
+                        inserted, updated, pending.size() - returned.size());
+                return;
+            } catch (Exception e) {
+                logger.warn("批量写入文件记录失败，逐条重试以隔离错误记录: {} 条，错误: {}", pending.size(), e.getMessage());
+            }
+
+            // 批量写入失败时逐条写入，单条失败不影响分片内其他记录
+            for (FileEntity fileEntity : pending) {
+                upsertSingle(fileEntity);
+            }
+        }
+
+        private void upsertSingle(FileEntity fileEntity) {
+            try {
+                Boolean isInsert = fileMapper.upsert(fileEntity);
+                if (isInsert == null) {
+                    recordWritten(0, 0, 1);
+                    logger.debug("文件记录已存在且未变化，跳过: 文件路径={}, 图层={}",
+                            fileEntity.getFilePath(), fileEntity.getLayerName());
+                } else if (isInsert) {
+                    recordWritten(1, 0, 0);
+                    logger.debug("成功插入文件记录: ID={}, 文件路径={}",
+                            fileEntity.getId(), fileEntity.getFilePath());
+                } else {
+                    recordWritten(0, 1, 0);
+                    logger.debug("成功更新文件记录: 文件路径={}, 图层={}",
+                            fileEntity.getFilePath(), fileEntity.getLayerName());
+                }
+            } catch (Exception e) {
+                failCount++;
+                progress.rowFailed();
+                failedPaths.add(fileEntity.getFilePath());
+                logger.error("插入文件记录失败: 文件路径={}, 图层={}, 错误: {}",
+                        fileEntity.getFilePath(), fileEntity.getLayerName(), e.getMessage(), e);
+                // 继续处理其他文件，不中断整个流程
+            }
+        }
+
+        private void recordWritten(int inserted, int updated, int skipped) {
+            successCount += inserted;
+            updateCount += updated;
+            skipCount += skipped;
+            progress.rowsPersisted(inserted);
+            progress.rowsUpdated(updated);
+            progress.rowsSkipped(skipped);
+        }
+
+        void close() {
+            if (copySession != null) {
+                copySession.close();
+                copySession = null;
+            }
+        }
+
+        int getSuccessCount() {
+            return successCount;
+        }
+
+        int getUpdateCount() {
+            return updateCount;
+        }
+
+        int getSkipCount() {
+            return skipCount;
+        }
+
+        int getFailCount() {
+            return failCount;
+        }
+
+        int getTotalCount() {
+            return successCount + updateCount + skipCount + failCount;
+        }
+
+        Set<String> getFailedPaths() {
+            return failedPaths;
+        }
+    }
+
+    /**
+     * 加载接收编码对应的上次扫描清单
+     * @param receiveCode 接收编码
+     * @return 清单条目列表，读取失败时返回空列表（退化为全量解析）
+     */
+    private List<ScanManifestEntry> loadScanManifest(String receiveCode) {
+        try {
+            List<ScanManifestEntry> entries = scanManifestMapper.findByReceiveCode(receiveCode);
+            logger.info("加载扫描清单完成，receiveCode: {}, 条目数: {}", receiveCode, entries.size());
+            return entries;
+        } catch (Exception e) {
+            logger.warn("加载扫描清单失败，将全量解析，receiveCode: {}, 错误: {}", receiveCode, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 保存本次扫描清单：写入重新解析成功的文件，删除已不存在的文件
+     * @param context 扫描上下文
+     * @param failedPaths 入库失败的文件路径
+     * @param removedFiles 已删除的文件路径
+     */
+    private void saveScanManifest(ScanContext context, Set<String> failedPaths, List<String> removedFiles) {
+        List<ScanManifestEntry> entries = new ArrayList<>();
+        for (ScanManifestEntry entry : context.getParsedEntries()) {
+            if (!failedPaths.contains(entry.getFilePath())) {
+                entries.add(entry);
+            }
+        }
+        try {
+            for (int i = 0; i < entries.size(); i += MANIFEST_BATCH_SIZE) {
+                scanManifestMapper.upsertBatch(entries.subList(i, Math.min(i + MANIFEST_BATCH_SIZE, entries.size())));
+            }
+            for (int i = 0; i < removedFiles.size(); i += MANIFEST_BATCH_SIZE) {
+                scanManifestMapper.deleteByFilePaths(context.getReceiveCode(),
+                        removedFiles.subList(i, Math.min(i + MANIFEST_BATCH_SIZE, removedFiles.size())));
+            }
+            logger.info("扫描清单已更新，receiveCode: {}, 写入: {} 条，删除: {} 条",
+                    context.getReceiveCode(), entries.size(), removedFiles.size());
+        } catch (Exception e) {
+            // 清单写入失败只影响下次扫描的增量判断，不影响本次结果
+            logger.error("更新扫描清单失败，receiveCode: {}, 错误: {}", context.getReceiveCode(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 标记已删除文件的入库记录（补充信息 fileStatus = removed），记录不删除，便于追溯；
+     * 标记失败只记录日志，已删除的文件仍会从扫描清单中移除
+     * @param receiveCode 接收编码
+     * @param removedFiles 已删除的文件路径
+     */
+    private void markRemovedRecords(String receiveCode, List<String> removedFiles) {
+        if (removedFiles.isEmpty()) {
+            return;
+        }
+        try {
+            int marked = 0;
+            for (int i = 0; i < removedFiles.size(); i += MANIFEST_BATCH_SIZE) {
+                marked += fileMapper.markRemoved(receiveCode,
+                        removedFiles.subList(i, Math.min(i + MANIFEST_BATCH_SIZE, removedFiles.size())));
+            }
+            logger.info("已删除文件的入库记录已标记，receiveCode: {}, 文件: {} 个，记录: {} 条",
+                    receiveCode, removedFiles.size(), marked);
+        } catch (Exception e) {
+            logger.error("标记已删除文件的入库记录失败，receiveCode: {}, 错误: {}", receiveCode, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 加载解析隔离名单，加载失败时不跳过任何文件
+     */
+    private List<ParseQuarantineEntry> loadParseQuarantine(String receiveCode) {
+        try {
+            return parseQuarantineMapper.findByReceiveCode(receiveCode);
+        } catch (Exception e) {
+            logger.warn("加载解析隔离名单失败，不跳过任何文件，receiveCode: {}, 错误: {}", receiveCode, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 更新解析隔离名单：记录本次超时的文件，移除已解析成功或已删除的文件
+     */
+    private void saveParseQuarantine(ScanContext context) {
+        List<ParseQuarantineEntry> timedOut = new ArrayList<>(context.getTimedOutEntries());
+        List<String> released = context.getReleasedQuarantineFiles();
+        try {
+            for (int i = 0; i < timedOut.size(); i += MANIFEST_BATCH_SIZE) {
+                parseQuarantineMapper.recordTimeouts(timedOut.subList(i, Math.min(i + MANIFEST_BATCH_SIZE, timedOut.size())));
+            }
+            for (int i = 0; i < released.size(); i += MANIFEST_BATCH_SIZE) {
+                parseQuarantineMapper.deleteByFilePaths(context.getReceiveCode(),
+                        released.subList(i, Math.min(i + MANIFEST_BATCH_SIZE, released.size())));
+            }
+            if (!timedOut.isEmpty() || !released.isEmpty()) {
+                logger.info("解析隔离名单已更新，receiveCode: {}, 超时: {} 条，移出: {} 条",
+                        context.getReceiveCode(), timedOut.size(), released.size());
+            }
+        } catch (Exception e) {
+            logger.error("更新解析隔离名单失败，receiveCode: {}, 错误: {}", context.getReceiveCode(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 计算图层指纹（图层名称、几何类型、要素数量、边界框、面积、坐标系、补充信息）
+     * @param layerInfos 图层信息列表
+     * @return SHA-256 十六进制字符串
+     */
+    private String computeLayerFingerprint(List<LayerInfo> layerInfos) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (layerInfos != null) {
+                for (LayerInfo layerInfo : layerInfos) {
+                    String layerKey = layerInfo.getLayerName() + "|" + layerInfo.getGeometryType() + "|"
+                            + layerInfo.getFeatureCount() + "|" + layerInfo.getBbox() + "|"
+                            + layerInfo.getTotalArea() + "|" + layerInfo.getCrs() + "|"
+                            + toMetadataJson(layerInfo) + "\n";
+                    digest.update(layerKey.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 检查文件是否是支持的类型（以解析器注册的扩展名为准）
      * @param file 文件对象
      * @return true表示支持，false表示不支持
      */
     private boolean isSupportedFile(File file) {
-        String fileName = file.getName().toLowerCase();
-        int lastDotIndex = fileName.lastIndexOf('.');
-        
-        if (lastDotIndex > 0 && lastDotIndex < fileName.length() - 1) {
-            String extension = fileName.substring(lastDotIndex + 1);
-            return SUPPORTED_EXTENSIONS.contains(extension);
-        }
-        
-        return false;
+        return geoSpatialParser.canParse(file.getName());
     }
 
     /**
@@ -354,9 +881,10 @@ public class FileServiceImpl implements FileService {
      * @param file 文件对象
      * @param receiveCode 接收编码
      * @param layerInfo 图层信息
+     * @param sizeIndex 文件大小索引
      * @return 文件实体
      */
-    private FileEntity createFileEntityFromLayer(File file, String receiveCode, LayerInfo layerInfo) {
+    private FileEntity createFileEntityFromLayer(File file, String receiveCode, LayerInfo layerInfo, FileSizeIndex sizeIndex) {
         FileEntity fileEntity = new FileEntity();
 
         // 生成唯一ID
@@ -383,25 +911,16 @@ public class FileServiceImpl implements FileService {
         // 对于文件夹（如 GDB），需要计算文件夹的总大小
         // 对于普通文件，使用文件大小
         long fileSizeBytes;
+        Long layerFileSize = null;
         if (layerInfo.getFilePath() != null && !layerInfo.getFilePath().isEmpty()) {
             // GDB 图层有指定的文件路径，使用该文件的大小
-            File layerFile = new File(layerInfo.getFilePath());
-            if (layerFile.exists() && layerFile.isFile()) {
-                fileSizeBytes = layerFile.length();
-            } else {
-                // 如果指定的文件不存在，回退到原逻辑
-                if (file.isDirectory()) {
-                    fileSizeBytes = calculateDirectorySize(file);
-                } else {
-                    fileSizeBytes = file.length();
-                }
-            }
-        } else if (file.isDirectory()) {
-            // 文件夹但没有指定图层文件路径，计算文件夹的总大小
-            fileSizeBytes = calculateDirectorySize(file);
+            layerFileSize = sizeIndex.regularFileSize(new File(layerInfo.getFilePath()));
+        }
+        if (layerFileSize != null) {
+            fileSizeBytes = layerFileSize;
         } else {
-            // 普通文件，使用文件大小
-            fileSizeBytes = file.length();
+            // 没有指定图层文件路径或文件不存在，使用文件/文件夹总大小
+            fileSizeBytes = sizeIndex.sizeOf(file);
         }
         fileEntity.setDataSize(formatFileSize(fileSizeBytes));
 
@@ -410,17 +929,50 @@ public class FileServiceImpl implements FileService {
         fileEntity.setTotalObjectNum(layerInfo.getFeatureCount()); // 要素数量
         fileEntity.setBbox(layerInfo.getBbox()); // 边界框
         fileEntity.setTotalArea(layerInfo.getTotalArea()); // 总面积
+        fileEntity.setCrs(layerInfo.getCrs()); // 坐标系
+        fileEntity.setMetadata(toMetadataJson(layerInfo)); // 补充信息
 
         return fileEntity;
     }
 
+    /**
+     * 图层补充信息序列化为 JSON，无补充信息时返回 null
+     */
+    private String toMetadataJson(LayerInfo layerInfo) {
+        if (layerInfo.getMetadata() == null || layerInfo.getMetadata().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(layerInfo.getMetadata());
+        } catch (JsonProcessingException e) {
+            logger.warn("图层补充信息序列化失败: {} - {}", layerInfo.getLayerName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析超时记录的补充信息
+     */
+    private String timedOutMetadataJson(ParseTimeoutException e) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("parseStatus", "timedOut");
+        metadata.put("format", e.getFormat());
+        metadata.put("timeoutSeconds", e.getTimeoutSeconds());
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
     /**
      * 创建默认文件实体（当GDAL解析失败时）
      * @param file 文件对象
      * @param receiveCode 接收编码
+     * @param fileSizeBytes 文件大小（字节，对于文件夹为总大小），未知时为负数
      * @return 文件实体
      */
-    private FileEntity createDefaultFileEntity(File file, String receiveCode) {
+    private FileEntity createDefaultFileEntity(File file, String receiveCode, long fileSizeBytes) {
         FileEntity fileEntity = new FileEntity();
 
         // 生成唯一ID
@@ -442,15 +994,10 @@ public class FileServiceImpl implements FileService {
         String fileType = determineFileType(null, fileEntity.getDataType());
         fileEntity.setFileType(fileType);
 
-        // 设置文件大小（转换为可读格式）
-        // 对于文件夹（如 GDB），需要计算文件夹的总大小
-        long fileSizeBytes;
-        if (file.isDirectory()) {
-            fileSizeBytes = calculateDirectorySize(file);
-        } else {
-            fileSizeBytes = file.length();
+        // 设置文件大小（转换为可读格式）；查询文件状态时超时的文件大小未知，留空
+        if (fileSizeBytes >= 0) {
+            fileEntity.setDataSize(formatFileSize(fileSizeBytes));
         }
-        fileEntity.setDataSize(formatFileSize(fileSizeBytes));
 
         // 设置默认值
         fileEntity.setBbox(null); // bbox默认为空
@@ -461,28 +1008,6 @@ public class FileServiceImpl implements FileService {
         return fileEntity;
     }
 
-    /**
-     * 计算文件夹的总大小（递归计算所有文件的大小）
-     * @param directory 文件夹对象
-     * @return 文件夹的总大小（字节）
-     */
-    private long calculateDirectorySize(File directory) {
-        long size = 0;
-        if (directory.exists() && directory.isDirectory()) {
-            File[] files = directory.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isFile()) {
-                        size += file.length();
-                    } else if (file.isDirectory()) {
-                        size += calculateDirectorySize(file); // 递归计算子文件夹大小
-                    }
-                }
-            }
-        }
-        return size;
-    }
-
     private String generateUniqueId() {
         // 生成格式: FILE_YYYYMMDD_HHMMSS_UUID前8位
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
@@ -566,9 +1091,10 @@ public class FileServiceImpl implements FileService {
      * @param file 文件对象
      * @param receiveCode 接收编码
      * @param layerInfos 图层信息列表
+     * @param sizeIndex 文件大小索引
      * @return 容器文件实体
      */
-    private FileEntity createContainerFileEntity(File file, String receiveCode, List<LayerInfo> layerInfos) {
+    private FileEntity createContainerFileEntity(File file, String receiveCode, List<LayerInfo> layerInfos, FileSizeIndex sizeIndex) {
         FileEntity fileEntity = new FileEntity();
 
         // 生成唯一ID
@@ -589,12 +1115,7 @@ public class FileServiceImpl implements FileService {
         }
 
         // 计算容器文件的总大小
-        long fileSizeBytes;
-        if (file.isDirectory()) {
-            fileSizeBytes = calculateDirectorySize(file);
-        } else {
-            fileSizeBytes = file.length();
-        }
+        long fileSizeBytes = sizeIndex.sizeOf(file);
         fileEntity.setDataSize(formatFileSize(fileSizeBytes));
 
         // 汇总所有图层的要素数量
@@ -0,0 +1,173 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单次扫描内的文件大小索引
+ * 目录首次被查询时通过一次 Files.walkFileTree 遍历记录其下所有文件及子目录的大小和修改时间，
+ * 之后同一次扫描中的大小查询（容器记录、GDB 图层 .gdbtable、默认记录）全部命中索引，
+ * 避免对同一个 GDB 目录反复递归统计。
+ * 线程安全，可在并行扫描任务间共享。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class FileSizeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSizeIndex.class);
+
+    // 普通文件大小（字节）
+    private final Map<Path, Long> fileSizes = new ConcurrentHashMap<>();
+
+    // 目录总大小（字节，包含所有子目录）
+    private final Map<Path, Long> directorySizes = new ConcurrentHashMap<>();
+
+    // 修改时间（毫秒时间戳），目录取其自身及其下所有文件中最新的修改时间
+    private final Map<Path, Long> lastModifiedTimes = new ConcurrentHashMap<>();
+
+    /**
+     * 获取文件或目录的大小
+     * @param file 文件或目录
+     * @return 文件大小；目录返回其下所有文件大小之和；不存在返回0
+     */
+    public long sizeOf(File file) {
+        Path path = toKey(file);
+        Long size = fileSizes.get(path);
+        if (size != null) {
+            return size;
+        }
+        size = directorySizes.get(path);
+        if (size != null) {
+            return size;
+        }
+
+        BasicFileAttributes attrs = readAttributes(path);
+        if (attrs == null) {
+            return 0L;
+        }
+        if (attrs.isDirectory()) {
+            return indexDirectory(path);
+        }
+        recordFile(path, attrs);
+        return attrs.size();
+    }
+
+    /**
+     * 获取文件或目录的修改时间
+     * @param file 文件或目录
+     * @return 毫秒时间戳；目录返回其下最新的修改时间；不存在返回0
+     */
+    public long lastModifiedOf(File file) {
+        Path path = toKey(file);
+        Long lastModified = lastModifiedTimes.get(path);
+        if (lastModified != null) {
+            return lastModified;
+        }
+        // 尚未索引，先统计大小（同时记录修改时间）
+        sizeOf(file);
+        return lastModifiedTimes.getOrDefault(path, 0L);
+    }
+
+    /**
+     * 获取普通文件的大小
+     * @param file 文件
+     * @return 文件大小；若不存在或不是普通文件返回 null
+     */
+    public Long regularFileSize(File file) {
+        Path path = toKey(file);
+        Long size = fileSizes.get(path);
+        if (size != null) {
+            return size;
+        }
+        if (directorySizes.containsKey(path)) {
+            return null;
+        }
+
+        BasicFileAttributes attrs = readAttributes(path);
+        if (attrs == null || !attrs.isRegularFile()) {
+            return null;
+        }
+        recordFile(path, attrs);
+        return attrs.size();
+    }
+
+    /**
+     * 一次遍历目录树，记录所有文件与子目录的大小和修改时间
+     */
+    private long indexDirectory(Path root) {
+        Deque<long[]> totals = new ArrayDeque<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    // [0] 目录总大小，[1] 最新修改时间
+                    totals.push(new long[]{0L, attrs.lastModifiedTime().toMillis()});
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        recordFile(file, attrs);
+                        long[] total = totals.peek();
+                        total[0] += attrs.size();
+                        total[1] = Math.max(total[1], attrs.lastModifiedTime().toMillis());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    logger.debug("读取文件属性失败: {} - {}", file, exc.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                    long[] dirTotal = totals.pop();
+                    directorySizes.put(dir, dirTotal[0]);
+                    lastModifiedTimes.put(dir, dirTotal[1]);
+                    if (!totals.isEmpty()) {
+                        long[] parentTotal = totals.peek();
+                        parentTotal[0] += dirTotal[0];
+                        parentTotal[1] = Math.max(parentTotal[1], dirTotal[1]);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("统计目录大小失败: {} - {}", root, e.getMessage());
+        }
+        return directorySizes.getOrDefault(root, 0L);
+    }
+
+    private void recordFile(Path path, BasicFileAttributes attrs) {
+        fileSizes.put(path, attrs.size());
+        lastModifiedTimes.put(path, attrs.lastModifiedTime().toMillis());
+    }
+
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Path toKey(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,180 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 格式解析器注册表
+ * 一次读取文件开头 512 字节，按魔数识别实际格式后交给对应的 FormatParser（文件夹按名称识别），
+ * 与扩展名不符或无法识别的文件不再抛异常，直接返回空结果。
+ * 每种格式按解析器声明（或 scan.format-concurrency.&lt;格式&gt; 配置）限制同时解析的文件数，
+ * 避免 MDB 等重量级格式占满扫描线程池。
+ * 在 ParseDeadlineExecutor 的解析单元中调用时，识别出格式后切换为该格式的解析时限，
+ * 并发许可在解析工作线程中获取和归还（等待许可不计入时限，最长等待一个时限），
+ * 卡在 I/O 上的解析线程退出前始终占用许可，格式并发上限不会被突破。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class FormatParserRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormatParserRegistry.class);
+
+    // 识别格式时读取的文件头长度
+    private static final int HEADER_SIZE = 512;
+
+    private final List<FormatParser> parsers;
+
+    // 扩展名 -> 解析器
+    private final Map<String, FormatParser> parsersByExtension = new HashMap<>();
+
+    // 格式 -> 并发许可，不限制的格式没有条目
+    private final Map<String, Semaphore> permits = new HashMap<>();
+
+    public FormatParserRegistry(List<FormatParser> parsers, ScanConfig scanConfig) {
+        this.parsers = Collections.unmodifiableList(new ArrayList<>(parsers));
+        for (FormatParser parser : this.parsers) {
+            for (String extension : parser.getExtensions()) {
+                FormatParser previous = parsersByExtension.put(extension.toLowerCase(Locale.ROOT), parser);
+                if (previous != null && previous != parser) {
+                    throw new IllegalStateException("扩展名 " + extension + " 被多个解析器注册: "
+                            + previous.getFormat() + ", " + parser.getFormat());
+                }
+            }
+            int limit = scanConfig.getFormatConcurrency().getOrDefault(parser.getFormat(), parser.getMaxConcurrency());
+            if (limit > 0) {
+                permits.put(parser.getFormat(), new Semaphore(limit, true));
+            }
+            logger.info("注册格式解析器: {} {}，并发上限: {}", parser.getFormat(), parser.getExtensions(),
+                    limit > 0 ? limit : "不限制");
+        }
+    }
+
+    /**
+     * 是否为已注册解析器的扩展名（只看文件名，不读取文件）
+     */
+    public boolean supportsExtension(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        int lastDotIndex = name.lastIndexOf('.');
+        return lastDotIndex > 0 && lastDotIndex < name.length() - 1
+                && parsersByExtension.containsKey(name.substring(lastDotIndex + 1));
+    }
+
+    /**
+     * 按扩展名推测格式（只看文件名，不读取文件）
+     * @return 格式名称，未注册的扩展名返回 null
+     */
+    public String formatOf(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        int lastDotIndex = name.lastIndexOf('.');
+        FormatParser parser = lastDotIndex >= 0 ? parsersByExtension.get(name.substring(lastDotIndex + 1)) : null;
+        return parser != null ? parser.getFormat() : null;
+    }
+
+    /**
+     * 识别文件格式：读取文件头后先尝试扩展名对应的解析器，再依次尝试其它解析器
+     * @return 匹配的解析器，无法识别时返回 null
+     */
+    public FormatParser identify(File file) throws IOException {
+        ByteBuffer header = file.isDirectory() ? null : readHeader(file);
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        int lastDotIndex = name.lastIndexOf('.');
+        FormatParser expected = lastDotIndex >= 0 ? parsersByExtension.get(name.substring(lastDotIndex + 1)) : null;
+        if (expected != null && expected.matches(file, header)) {
+            return expected;
+        }
+        for (FormatParser parser : parsers) {
+            if (parser != expected && parser.matches(file, header)) {
+                logger.info("文件内容与扩展名不符，按 {} 格式解析: {}", parser.getFormat(), file.getAbsolutePath());
+                return parser;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 识别格式并解析，同一格式同时解析的文件数受并发上限约束
+     * @return 图层信息列表；无法识别格式时返回空列表
+     */
+    public List<LayerInfo> parse(File file) throws IOException {
+        FormatParser parser = identify(file);
+        if (parser == null) {
+            logger.warn("无法识别文件格式，跳过解析: {}", file.getAbsolutePath());
+            return Collections.emptyList();
+        }
+        ParseDeadlineExecutor.Deadline deadline = ParseDeadlineExecutor.current();
+        if (deadline != null) {
+            deadline.identified(parser.getFormat());
+        }
+        Semaphore semaphore = permits.get(parser.getFormat());
+        if (semaphore == null) {
+            return parser.parse(file);
+        }
+        acquire(semaphore, parser, file, deadline);
+        try {
+            return parser.parse(file);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 获取格式并发许可；在解析单元中时暂停计时，最长等待该格式的一个时限
+     */
+    private void acquire(Semaphore semaphore, FormatParser parser, File file, ParseDeadlineExecutor.Deadline deadline)
+            throws IOException {
+        long waitMillis = deadline != null ? deadline.getLimitMillis() : 0;
+        if (deadline != null) {
+            deadline.pause();
+        }
+        try {
+            if (waitMillis <= 0) {
+                semaphore.acquire();
+            } else if (!semaphore.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("等待 " + parser.getFormat() + " 解析许可超时（许可均被未结束的解析占用）: "
+                        + file.getAbsolutePath());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待解析许可时被中断: " + file.getAbsolutePath());
+        } finally {
+            if (deadline != null) {
+                deadline.resume();
+            }
+        }
+    }
+
+    /**
+     * 文件开头最多 512 字节，大端字节序
+     */
+    private ByteBuffer readHeader(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满或到达文件末尾
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
+    }
+}
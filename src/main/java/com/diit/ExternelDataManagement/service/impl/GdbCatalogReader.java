@@ -0,0 +1,185 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * FileGDB 系统目录读取器
+ * 顺序读取系统目录表 GDB_SystemCatalog（a00000001）得到表ID与表名的对应关系，
+ * 再读取 GDB_Items 表得到各项目的名称、类型和数据集路径，并直接关联到对应的表文件。
+ * 表文件名为 "a" + ObjectID 的 8 位小写十六进制（如 ObjectID 26 对应 a0000001a）。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class GdbCatalogReader {
+
+    // 系统目录表文件
+    public static final String SYSTEM_CATALOG_TABLE = "a00000001";
+
+    private static final String ITEMS_TABLE_NAME = "GDB_Items";
+
+    // GDB_Items.Type 中常用项目类型的 GUID -> 类型名称
+    private static final Map<String, String> ITEM_TYPES = new HashMap<>();
+
+    static {
+        ITEM_TYPES.put("{70737809-852C-4A03-9E22-2CECEA5B9BFA}", "esriFeatureClass");
+        ITEM_TYPES.put("{CD06BC3B-789D-4C51-AAFA-A467912B8965}", "esriTable");
+        ITEM_TYPES.put("{74737149-DCB5-4257-8904-B9724E32A530}", "esriFeatureDataset");
+        ITEM_TYPES.put("{C673FE0F-7280-404F-8532-20755DD8FC06}", "esriWorkspace");
+        ITEM_TYPES.put("{F3783E6F-65CA-4514-8315-CE3985DAD3B1}", "esriFolder");
+        ITEM_TYPES.put("{B606A7E1-FA5B-439C-849C-6E9C2481537B}", "esriRelationshipClass");
+        ITEM_TYPES.put("{8C368B12-A12E-4C7E-9638-C9C64E69E98F}", "esriCodedValueDomain");
+        ITEM_TYPES.put("{C29DA988-8C3E-45F7-8B5C-18E51EE7BEB4}", "esriRangeDomain");
+    }
+
+    private GdbCatalogReader() {
+    }
+
+    /**
+     * 表ID（表文件名，不含扩展名）
+     */
+    public static String tableId(int objectId) {
+        return String.format("a%08x", objectId);
+    }
+
+    /**
+     * 读取 GDB 系统目录和 GDB_Items 表
+     * @param tableIndex GDB 表文件索引
+     * @return 目录信息；GDB_Items 不存在时项目列表为空
+     * @throws IOException 系统目录表不存在或无法解析
+     */
+    public static Catalog read(GdbTableIndex tableIndex) throws IOException {
+        GdbTableIndex.Table catalogTable = tableIndex.get(SYSTEM_CATALOG_TABLE);
+        if (catalogTable == null) {
+            throw new IOException("未找到 GDB 系统目录表: "
+                    + tableIndex.getGdbDir().resolve(SYSTEM_CATALOG_TABLE + ".gdbtable"));
+        }
+
+        Catalog catalog = new Catalog();
+        for (GdbTableReader.Row row : GdbTableReader.readRows(catalogTable.getTablePath(),
+                catalogTable.getTablxPath(), Arrays.asList("Name", "FileFormat"))) {
+            String name = row.getString("Name");
+            if (name == null || name.trim().isEmpty()) {
+                continue;
+            }
+            String tableId = tableId(row.getObjectId());
+            catalog.tableNames.put(tableId, name.trim());
+            catalog.tableIds.put(name.trim(), tableId);
+        }
+
+        GdbTableIndex.Table itemsTable = tableIndex.get(catalog.tableIds.get(ITEMS_TABLE_NAME));
+        if (itemsTable == null) {
+            return catalog;
+        }
+        for (GdbTableReader.Row row : GdbTableReader.readRows(itemsTable.getTablePath(), itemsTable.getTablxPath(),
+                Arrays.asList("UUID", "Type", "Name", "PhysicalName", "Path"))) {
+            Item item = new Item();
+            item.uuid = row.getString("UUID");
+            item.typeUuid = row.getString("Type");
+            item.type = typeName(item.typeUuid);
+            item.name = lastPathSegment(row.getString("Name"));
+            item.path = row.getString("Path");
+            item.tableId = catalog.tableIds.get(item.name);
+            if (item.tableId == null && row.getString("PhysicalName") != null) {
+                item.tableId = catalog.tableIds.get(row.getString("PhysicalName"));
+            }
+            catalog.items.add(item);
+        }
+        return catalog;
+    }
+
+    /**
+     * GDB_Items.Type 的类型名称，未知类型返回 GUID 本身
+     */
+    static String typeName(String typeUuid) {
+        if (typeUuid == null) {
+            return null;
+        }
+        return ITEM_TYPES.getOrDefault(typeUuid.toUpperCase(Locale.ROOT), typeUuid);
+    }
+
+    /**
+     * 名称可能带有数据集路径（如 "\\数据集\\图层"），取最后一段
+     */
+    private static String lastPathSegment(String rawName) {
+        if (rawName == null) {
+            return null;
+        }
+        String name = rawName.trim();
+        int index = name.lastIndexOf('\\');
+        return index >= 0 ? name.substring(index + 1) : name;
+    }
+
+    /**
+     * 目录信息
+     */
+    public static class Catalog {
+        private final Map<String, String> tableNames = new LinkedHashMap<>();
+        private final Map<String, String> tableIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final List<Item> items = new ArrayList<>();
+
+        /** 表ID -> 表名 */
+        public Map<String, String> getTableNames() {
+            return Collections.unmodifiableMap(tableNames);
+        }
+
+        /** 按表名（不区分大小写）查找表ID，不存在返回 null */
+        public String getTableId(String tableName) {
+            return tableName != null ? tableIds.get(tableName) : null;
+        }
+
+        /** GDB_Items 中的全部项目 */
+        public List<Item> getItems() {
+            return Collections.unmodifiableList(items);
+        }
+    }
+
+    /**
+     * GDB_Items 项目
+     */
+    public static class Item {
+        private String uuid;
+        private String typeUuid;
+        private String type;
+        private String name;
+        private String path;
+        private String tableId;
+
+        public String getUuid() {
+            return uuid;
+        }
+
+        public String getTypeUuid() {
+            return typeUuid;
+        }
+
+        /** 类型名称（如 esriFeatureClass），未知类型为 GUID */
+        public String getType() {
+            return type;
+        }
+
+        /** 项目名称（已去除数据集路径） */
+        public String getName() {
+            return name;
+        }
+
+        /** GDB 内部路径（如 \数据集\图层） */
+        public String getPath() {
+            return path;
+        }
+
+        /** 对应的表ID，要素数据集等没有表文件的项目为 null */
+        public String getTableId() {
+            return tableId;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * FileGDB 表文件索引
+ * 只列举一次 GDB 目录，按表ID（如 a0000000a）汇总 .gdbtable / .gdbtablx / .spx 文件及其大小，
+ * 同一 GDB 的系统目录、各图层表头读取和备用解析共用该索引，不再逐个图层遍历目录或探测文件是否存在。
+ * 列举时直接使用目录项自带的文件属性（Windows 与 SMB 共享上无需逐个文件查询），建立后不可变。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class GdbTableIndex {
+
+    private static final String TABLE_EXTENSION = "gdbtable";
+    private static final String TABLX_EXTENSION = "gdbtablx";
+    private static final String SPATIAL_INDEX_EXTENSION = "spx";
+
+    // 表ID长度："a" + 8 位十六进制
+    private static final int TABLE_ID_LENGTH = 9;
+
+    private final Path gdbDir;
+
+    // 表ID（小写）-> 表文件，按表ID排序
+    private final Map<String, Table> tables;
+
+    private GdbTableIndex(Path gdbDir, Map<String, Table> tables) {
+        this.gdbDir = gdbDir;
+        this.tables = Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * 列举 GDB 目录，建立表文件索引
+     * @param gdbDir GDB 目录
+     * @return 表文件索引
+     * @throws IOException 目录无法列举
+     */
+    public static GdbTableIndex build(Path gdbDir) throws IOException {
+        Map<String, Table> tables = new TreeMap<>();
+        Files.walkFileTree(gdbDir, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    add(tables, file, attributes.size());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new GdbTableIndex(gdbDir, tables);
+    }
+
+    /**
+     * 表文件名为 "a" + 8 位十六进制表ID + "." + 扩展名，其它文件（属性索引 .atx、锁文件等）忽略
+     */
+    private static void add(Map<String, Table> tables, Path file, long size) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.length() <= TABLE_ID_LENGTH + 1 || fileName.charAt(0) != 'a'
+                || fileName.charAt(TABLE_ID_LENGTH) != '.') {
+            return;
+        }
+        for (int i = 1; i < TABLE_ID_LENGTH; i++) {
+            if (Character.digit(fileName.charAt(i), 16) < 0) {
+                return;
+            }
+        }
+        String tableId = fileName.substring(0, TABLE_ID_LENGTH);
+        String extension = fileName.substring(TABLE_ID_LENGTH + 1);
+        switch (extension) {
+            case TABLE_EXTENSION:
+                table(tables, tableId).tablePath = file;
+                table(tables, tableId).tableSize = size;
+                break;
+            case TABLX_EXTENSION:
+                table(tables, tableId).tablxPath = file;
+                table(tables, tableId).tablxSize = size;
+                break;
+            case SPATIAL_INDEX_EXTENSION:
+                table(tables, tableId).spatialIndexPath = file;
+                table(tables, tableId).spatialIndexSize = size;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Table table(Map<String, Table> tables, String tableId) {
+        return tables.computeIfAbsent(tableId, Table::new);
+    }
+
+    public Path getGdbDir() {
+        return gdbDir;
+    }
+
+    /**
+     * 按表ID（不区分大小写）查找有 .gdbtable 文件的表
+     * @return 表文件；不存在时返回 null
+     */
+    public Table get(String tableId) {
+        if (tableId == null) {
+            return null;
+        }
+        Table table = tables.get(tableId.toLowerCase(Locale.ROOT));
+        return table != null && table.tablePath != null ? table : null;
+    }
+
+    /**
+     * 全部有 .gdbtable 文件的表，按表ID排序
+     */
+    public Collection<Table> getTables() {
+        return tables.values().stream().filter(table -> table.tablePath != null).toList();
+    }
+
+    /**
+     * 单个表的文件
+     */
+    public static final class Table {
+        private final String tableId;
+        private Path tablePath;
+        private long tableSize;
+        private Path tablxPath;
+        private long tablxSize;
+        private Path spatialIndexPath;
+        private long spatialIndexSize;
+
+        private Table(String tableId) {
+            this.tableId = tableId;
+        }
+
+        /** 表ID（小写，如 a0000000a） */
+        public String getTableId() {
+            return tableId;
+        }
+
+        public Path getTablePath() {
+            return tablePath;
+        }
+
+        public long getTableSize() {
+            return tableSize;
+        }
+
+        /** 行偏移索引 .gdbtablx，不存在时为 null */
+        public Path getTablxPath() {
+            return tablxPath;
+        }
+
+        public long getTablxSize() {
+            return tablxSize;
+        }
+
+        /** 空间索引 .spx，不存在时为 null */
+        public Path getSpatialIndexPath() {
+            return spatialIndexPath;
+        }
+
+        public long getSpatialIndexSize() {
+            return spatialIndexSize;
+        }
+
+        /** 表文件、行偏移索引和空间索引的总大小 */
+        public long getTotalSize() {
+            return tableSize + tablxSize + spatialIndexSize;
+        }
+    }
+}
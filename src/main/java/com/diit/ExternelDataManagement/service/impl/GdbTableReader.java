@@ -0,0 +1,746 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * FileGDB 表文件（.gdbtable / .gdbtablx）读取器
+ * 直接内存映射表文件头和字段描述区，读取精确的有效行数、字段描述和几何字段定义（空间参考 WKT、XY 范围、Z/M 标记）；
+ * 系统表等小表可通过 .gdbtablx 行偏移索引顺序解码指定字段的行数据，不依赖 JDBC。
+ * 仅支持 FileGDB 10.x 格式（ArcGIS 10 及以上版本写入的格式）。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class GdbTableReader {
+
+    // .gdbtable 文件头长度
+    private static final int TABLE_HEADER_SIZE = 40;
+
+    // .gdbtablx 文件头长度
+    private static final int TABLX_HEADER_SIZE = 16;
+
+    // FileGDB 10.x 表文件版本号
+    private static final int TABLE_VERSION_10 = 3;
+
+    // 字段描述区最大长度，超出视为文件损坏
+    private static final int MAX_FIELD_SECTION_SIZE = 64 * 1024 * 1024;
+
+    // .gdbtablx 中每个偏移量块包含的行数
+    private static final int TABLX_BLOCK_ROWS = 1024;
+
+    // 字段类型
+    public static final int FIELD_TYPE_INT16 = 0;
+    public static final int FIELD_TYPE_INT32 = 1;
+    public static final int FIELD_TYPE_FLOAT32 = 2;
+    public static final int FIELD_TYPE_FLOAT64 = 3;
+    public static final int FIELD_TYPE_STRING = 4;
+    public static final int FIELD_TYPE_DATETIME = 5;
+    public static final int FIELD_TYPE_OBJECTID = 6;
+    public static final int FIELD_TYPE_GEOMETRY = 7;
+    public static final int FIELD_TYPE_BINARY = 8;
+    public static final int FIELD_TYPE_RASTER = 9;
+    public static final int FIELD_TYPE_GUID = 10;
+    public static final int FIELD_TYPE_GLOBALID = 11;
+    public static final int FIELD_TYPE_XML = 12;
+    public static final int FIELD_TYPE_INT64 = 13;
+    public static final int FIELD_TYPE_DATE = 14;
+    public static final int FIELD_TYPE_TIME = 15;
+    public static final int FIELD_TYPE_DATETIME_OFFSET = 16;
+
+    private GdbTableReader() {
+    }
+
+    /**
+     * 读取表文件头和字段描述
+     * @param tablePath .gdbtable 文件路径（同目录下的 .gdbtablx 存在时一并读取其文件头）
+     * @return 表信息
+     * @throws IOException 文件不存在、版本不支持或文件头损坏
+     */
+    public static TableInfo read(Path tablePath) throws IOException {
+        return read(tablePath, tablxPath(tablePath));
+    }
+
+    /**
+     * 读取表文件头和字段描述（.gdbtablx 路径已知，如来自 GdbTableIndex）
+     * @param tablePath .gdbtable 文件路径
+     * @param tablxPath .gdbtablx 文件路径，为 null 时不读取
+     * @return 表信息
+     * @throws IOException 文件不存在、版本不支持或文件头损坏
+     */
+    public static TableInfo read(Path tablePath, Path tablxPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(tablePath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < TABLE_HEADER_SIZE) {
+                throw new IOException("gdbtable 文件过小: " + tablePath);
+            }
+
+            ByteBuffer header = map(channel, 0, TABLE_HEADER_SIZE);
+            int version = header.getInt(0);
+            if (version != TABLE_VERSION_10) {
+                throw new IOException("不支持的 gdbtable 版本: " + version + " (" + tablePath + ")");
+            }
+
+            TableInfo info = new TableInfo();
+            info.rowCount = header.getInt(4);
+            info.maxRowSize = header.getInt(8);
+            long fieldSectionOffset = header.getLong(32);
+            if (fieldSectionOffset < TABLE_HEADER_SIZE || fieldSectionOffset + 4 > fileSize) {
+                throw new IOException("gdbtable 字段描述区偏移无效: " + fieldSectionOffset + " (" + tablePath + ")");
+            }
+
+            int fieldSectionSize = map(channel, fieldSectionOffset, 4).getInt(0);
+            if (fieldSectionSize < 10 || fieldSectionSize > MAX_FIELD_SECTION_SIZE
+                    || fieldSectionOffset + 4 + fieldSectionSize > fileSize) {
+                throw new IOException("gdbtable 字段描述区长度无效: " + fieldSectionSize + " (" + tablePath + ")");
+            }
+            ByteBuffer fieldSection = map(channel, fieldSectionOffset + 4, fieldSectionSize);
+            readFieldSection(fieldSection, info);
+
+            readTablxHeader(tablxPath, info);
+            return info;
+        }
+    }
+
+    /**
+     * 按行偏移索引顺序读取全部有效行，只解码指定字段
+     * 整个表文件一次性内存映射，适用于系统目录表、GDB_Items 等小表
+     * @param tablePath .gdbtable 文件路径（同目录下必须存在 .gdbtablx）
+     * @param columns 需要解码的字段名（不区分大小写），其余字段仅跳过
+     * @return 有效行，按 ObjectID 升序
+     * @throws IOException 文件不存在、字段描述不完整或行数据损坏
+     */
+    public static List<Row> readRows(Path tablePath, Collection<String> columns) throws IOException {
+        return readRows(tablePath, tablxPath(tablePath), columns);
+    }
+
+    /**
+     * 按行偏移索引顺序读取全部有效行（.gdbtablx 路径已知，如来自 GdbTableIndex）
+     * @param tablePath .gdbtable 文件路径
+     * @param tablxPath .gdbtablx 文件路径
+     * @param columns 需要解码的字段名（不区分大小写），其余字段仅跳过
+     * @return 有效行，按 ObjectID 升序
+     * @throws IOException 文件不存在、字段描述不完整或行数据损坏
+     */
+    public static List<Row> readRows(Path tablePath, Path tablxPath, Collection<String> columns) throws IOException {
+        if (tablxPath == null) {
+            throw new IOException("缺少 gdbtablx 文件，无法读取行数据: " + tablePath);
+        }
+        TableInfo info = read(tablePath, tablxPath);
+        if (!info.fieldsComplete) {
+            throw new IOException("gdbtable 字段描述不完整，无法读取行数据: " + tablePath);
+        }
+        long[] offsets = readRowOffsets(tablxPath);
+
+        Set<String> wanted = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        wanted.addAll(columns);
+        int lastWanted = -1;
+        for (int i = 0; i < info.fields.size(); i++) {
+            if (wanted.contains(info.fields.get(i).name)) {
+                lastWanted = i;
+            }
+        }
+
+        List<Row> rows = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(tablePath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("gdbtable 文件过大，不支持读取行数据: " + tablePath);
+            }
+            ByteBuffer data = map(channel, 0, (int) fileSize);
+            for (int i = 0; i < offsets.length; i++) {
+                long offset = offsets[i];
+                if (offset == 0) {
+                    continue; // 已删除或未使用的行槽
+                }
+                if (offset + 4 > fileSize) {
+                    throw new IOException("gdbtable 行偏移无效: " + offset + " (" + tablePath + ")");
+                }
+                int blobSize = data.getInt((int) offset);
+                if (blobSize <= 0) {
+                    continue; // 长度为负表示已删除的行
+                }
+                if (offset + 4 + blobSize > fileSize) {
+                    throw new IOException("gdbtable 行长度无效: " + blobSize + " (" + tablePath + ")");
+                }
+                ByteBuffer blob = data.slice((int) offset + 4, blobSize).order(ByteOrder.LITTLE_ENDIAN);
+                try {
+                    rows.add(decodeRow(blob, i + 1, info, wanted, lastWanted));
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    throw new IOException("gdbtable 行数据损坏 (ObjectID " + (i + 1) + ", " + tablePath + ")", e);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 解码一行：空值标记位图（每个可空字段占1位） + 各非空字段的值（ObjectID 不存储在行中）
+     */
+    private static Row decodeRow(ByteBuffer blob, int objectId, TableInfo info, Set<String> wanted, int lastWanted) {
+        int nullableCount = 0;
+        for (Field field : info.fields) {
+            if (field.nullable && field.type != FIELD_TYPE_OBJECTID) {
+                nullableCount++;
+            }
+        }
+        byte[] nullFlags = new byte[(nullableCount + 7) / 8];
+        blob.get(nullFlags);
+
+        Row row = new Row(objectId);
+        int nullIndex = 0;
+        for (int i = 0; i <= lastWanted; i++) {
+            Field field = info.fields.get(i);
+            if (field.type == FIELD_TYPE_OBJECTID) {
+                continue;
+            }
+            boolean keep = wanted.contains(field.name);
+            if (field.nullable) {
+                boolean isNull = (nullFlags[nullIndex >> 3] & (1 << (nullIndex & 7))) != 0;
+                nullIndex++;
+                if (isNull) {
+                    if (keep) {
+                        row.values.put(field.name, null);
+                    }
+                    continue;
+                }
+            }
+            Object value = readValue(blob, field, info.stringsUtf8, keep);
+            if (keep) {
+                row.values.put(field.name, value);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 读取单个字段值；keep 为 false 时只移动读取位置
+     */
+    private static Object readValue(ByteBuffer blob, Field field, boolean utf8, boolean keep) {
+        switch (field.type) {
+            case FIELD_TYPE_INT16:
+                return blob.getShort();
+            case FIELD_TYPE_INT32:
+                return blob.getInt();
+            case FIELD_TYPE_FLOAT32:
+                return blob.getFloat();
+            case FIELD_TYPE_FLOAT64:
+            case FIELD_TYPE_DATETIME:
+            case FIELD_TYPE_DATE:
+            case FIELD_TYPE_TIME:
+                return blob.getDouble();
+            case FIELD_TYPE_INT64:
+                return blob.getLong();
+            case FIELD_TYPE_DATETIME_OFFSET: {
+                double value = blob.getDouble();
+                blob.getShort(); // 时区偏移（分钟）
+                return value;
+            }
+            case FIELD_TYPE_STRING:
+            case FIELD_TYPE_XML: {
+                int length = readVarUInt(blob);
+                if (!keep) {
+                    skip(blob, length);
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                blob.get(bytes);
+                return new String(bytes, utf8 || field.type == FIELD_TYPE_XML
+                        ? StandardCharsets.UTF_8 : StandardCharsets.UTF_16LE);
+            }
+            case FIELD_TYPE_GUID:
+            case FIELD_TYPE_GLOBALID: {
+                byte[] bytes = new byte[16];
+                blob.get(bytes);
+                return formatGuid(bytes);
+            }
+            case FIELD_TYPE_GEOMETRY:
+            case FIELD_TYPE_BINARY:
+                skip(blob, readVarUInt(blob));
+                return null;
+            default:
+                throw new IllegalArgumentException("不支持读取的字段类型: " + field.type);
+        }
+    }
+
+    /**
+     * 按 Windows GUID 布局（前三段小端）格式化为 {XXXXXXXX-XXXX-XXXX-XXXX-XXXXXXXXXXXX}
+     */
+    private static String formatGuid(byte[] b) {
+        return String.format("{%02X%02X%02X%02X-%02X%02X-%02X%02X-%02X%02X-%02X%02X%02X%02X%02X%02X}",
+                b[3], b[2], b[1], b[0], b[5], b[4], b[7], b[6],
+                b[8], b[9], b[10], b[11], b[12], b[13], b[14], b[15]);
+    }
+
+    /**
+     * 读取 .gdbtablx 行偏移索引
+     * 文件头：魔数(4) + 偏移量块数(4) + 总行槽数(4) + 偏移量字节数(4)，之后为各块的偏移量；
+     * 稀疏表在偏移量区之后附带块位图，标记哪些逻辑块实际存在。
+     * @return 下标为 ObjectID - 1 的行偏移量，0 表示该行不存在
+     */
+    private static long[] readRowOffsets(Path tablxPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(tablxPath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < TABLX_HEADER_SIZE) {
+                throw new IOException("gdbtablx 文件过小: " + tablxPath);
+            }
+            ByteBuffer header = map(channel, 0, TABLX_HEADER_SIZE);
+            int blockCount = header.getInt(4);
+            int totalRows = header.getInt(8);
+            int offsetSize = header.getInt(12);
+            if (offsetSize < 4 || offsetSize > 6 || blockCount < 0 || totalRows < 0) {
+                throw new IOException("gdbtablx 文件头无效: " + tablxPath);
+            }
+
+            long[] offsets = new long[totalRows];
+            if (blockCount == 0) {
+                return offsets;
+            }
+            long sectionSize = (long) blockCount * TABLX_BLOCK_ROWS * offsetSize;
+            if (TABLX_HEADER_SIZE + sectionSize > fileSize || sectionSize > Integer.MAX_VALUE) {
+                throw new IOException("gdbtablx 偏移量区长度无效: " + tablxPath);
+            }
+            ByteBuffer section = map(channel, TABLX_HEADER_SIZE, (int) sectionSize);
+
+            // 块位图：位图字数为 0 时各块按逻辑顺序连续存放
+            ByteBuffer blockMap = null;
+            int logicalBlocks = blockCount;
+            long trailerOffset = TABLX_HEADER_SIZE + sectionSize;
+            if (trailerOffset + 16 <= fileSize) {
+                ByteBuffer trailer = map(channel, trailerOffset, 16);
+                int bitmapWords = trailer.getInt(0);
+                if (bitmapWords > 0 && trailerOffset + 16 + (long) bitmapWords * 4 <= fileSize) {
+                    logicalBlocks = Math.min(trailer.getInt(4), bitmapWords * 32);
+                    blockMap = map(channel, trailerOffset + 16, bitmapWords * 4);
+                }
+            }
+
+            int physicalBlock = 0;
+            for (int logicalBlock = 0; logicalBlock < logicalBlocks && physicalBlock < blockCount; logicalBlock++) {
+                if (blockMap != null && (blockMap.get(logicalBlock >> 3) & (1 << (logicalBlock & 7))) == 0) {
+                    continue;
+                }
+                int base = physicalBlock * TABLX_BLOCK_ROWS;
+                for (int j = 0; j < TABLX_BLOCK_ROWS; j++) {
+                    int rowIndex = logicalBlock * TABLX_BLOCK_ROWS + j;
+                    if (rowIndex >= totalRows) {
+                        break;
+                    }
+                    offsets[rowIndex] = readOffset(section, (base + j) * offsetSize, offsetSize);
+                }
+                physicalBlock++;
+            }
+            return offsets;
+        }
+    }
+
+    private static long readOffset(ByteBuffer buffer, int position, int size) {
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value |= (long) Byte.toUnsignedInt(buffer.get(position + i)) << (8 * i);
+        }
+        return value;
+    }
+
+    private static Path tablxPath(Path tablePath) {
+        String fileName = tablePath.getFileName().toString();
+        return tablePath.resolveSibling(fileName.substring(0, fileName.lastIndexOf('.')) + ".gdbtablx");
+    }
+
+    /**
+     * 解析字段描述区
+     * 字段描述区结构：版本(4) + 图层标记(4，首字节为几何类型，第4字节含 Z/M 标记) + 字段数(2) + 字段描述
+     */
+    private static void readFieldSection(ByteBuffer buffer, TableInfo info) {
+        buffer.getInt(); // 字段描述区版本
+        int flags = buffer.getInt();
+        info.geometryType = flags & 0xFF;
+        info.stringsUtf8 = ((flags >>> 8) & 0x01) != 0;
+        info.hasZ = ((flags >>> 24) & 0x80) != 0;
+        info.hasM = ((flags >>> 24) & 0x40) != 0;
+
+        int fieldCount = Short.toUnsignedInt(buffer.getShort());
+        List<Field> fields = new ArrayList<>(fieldCount);
+        try {
+            for (int i = 0; i < fieldCount; i++) {
+                Field field = readField(buffer, info);
+                if (field == null) {
+                    // 无法解析的字段类型，后续字段描述的位置无法确定
+                    info.fieldsComplete = false;
+                    break;
+                }
+                fields.add(field);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            info.fieldsComplete = false;
+        }
+        info.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * 解析单个字段描述
+     * @return 字段；遇到无法确定长度的字段类型（如栅格字段）返回 null
+     */
+    private static Field readField(ByteBuffer buffer, TableInfo info) {
+        Field field = new Field();
+        field.name = readUtf16(buffer, Byte.toUnsignedInt(buffer.get()));
+        field.alias = readUtf16(buffer, Byte.toUnsignedInt(buffer.get()));
+        field.type = Byte.toUnsignedInt(buffer.get());
+
+        switch (field.type) {
+            case FIELD_TYPE_OBJECTID:
+            case FIELD_TYPE_BINARY:
+            case FIELD_TYPE_GUID:
+            case FIELD_TYPE_GLOBALID:
+            case FIELD_TYPE_XML:
+                field.width = Byte.toUnsignedInt(buffer.get());
+                field.nullable = (buffer.get() & 0x01) != 0;
+                break;
+            case FIELD_TYPE_STRING:
+                field.width = buffer.getInt();
+                field.nullable = (buffer.get() & 0x01) != 0;
+                skip(buffer, readVarUInt(buffer)); // 默认值
+                break;
+            case FIELD_TYPE_INT16:
+            case FIELD_TYPE_INT32:
+            case FIELD_TYPE_FLOAT32:
+            case FIELD_TYPE_FLOAT64:
+            case FIELD_TYPE_DATETIME:
+            case FIELD_TYPE_INT64:
+            case FIELD_TYPE_DATE:
+            case FIELD_TYPE_TIME:
+            case FIELD_TYPE_DATETIME_OFFSET:
+                field.width = Byte.toUnsignedInt(buffer.get());
+                field.nullable = (buffer.get() & 0x01) != 0;
+                skip(buffer, Byte.toUnsignedInt(buffer.get())); // 默认值
+                break;
+            case FIELD_TYPE_GEOMETRY:
+                buffer.get(); // 未使用
+                field.nullable = (buffer.get() & 0x01) != 0;
+                readGeometryDef(buffer, field.name, info);
+                break;
+            default:
+                return null;
+        }
+        return field;
+    }
+
+    /**
+     * 解析几何字段定义：空间参考 WKT、坐标原点/比例/容差、XY 范围和空间索引格网
+     */
+    private static void readGeometryDef(ByteBuffer buffer, String fieldName, TableInfo info) {
+        GeometryDef def = new GeometryDef();
+        def.fieldName = fieldName;
+        int wktBytes = Short.toUnsignedInt(buffer.getShort());
+        def.wkt = readUtf16(buffer, wktBytes / 2);
+
+        int geomFlags = Byte.toUnsignedInt(buffer.get());
+        boolean hasMOrigin = (geomFlags & 0x02) != 0;
+        boolean hasZOrigin = (geomFlags & 0x04) != 0;
+
+        skip(buffer, 3 * 8);                 // X 原点、Y 原点、XY 比例
+        if (hasMOrigin) {
+            skip(buffer, 2 * 8);             // M 原点、M 比例
+        }
+        if (hasZOrigin) {
+            skip(buffer, 2 * 8);             // Z 原点、Z 比例
+        }
+        skip(buffer, 8);                     // XY 容差
+        if (hasMOrigin) {
+            skip(buffer, 8);                 // M 容差
+        }
+        if (hasZOrigin) {
+            skip(buffer, 8);                 // Z 容差
+        }
+
+        def.xMin = buffer.getDouble();
+        def.yMin = buffer.getDouble();
+        def.xMax = buffer.getDouble();
+        def.yMax = buffer.getDouble();
+        // 范围之后的内容仅用于定位下一个字段，解析失败时几何字段定义仍然可用
+        info.geometryField = def;
+
+        if (info.hasZ) {
+            skip(buffer, 2 * 8);             // Z 范围
+        }
+        if (info.hasM) {
+            skip(buffer, 2 * 8);             // M 范围
+        }
+
+        buffer.get();                        // 未使用
+        int gridCount = buffer.getInt();     // 空间索引格网级数
+        if (gridCount < 0 || gridCount > 16) {
+            throw new IllegalArgumentException("空间索引格网级数无效: " + gridCount);
+        }
+        skip(buffer, gridCount * 8);
+    }
+
+    /**
+     * 读取 .gdbtablx 文件头：总行槽数（含已删除行）和行偏移量字节数，文件不存在时跳过
+     */
+    private static void readTablxHeader(Path tablxPath, TableInfo info) {
+        if (tablxPath == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(tablxPath, StandardOpenOption.READ)) {
+            if (channel.size() < TABLX_HEADER_SIZE) {
+                return;
+            }
+            ByteBuffer header = map(channel, 0, TABLX_HEADER_SIZE);
+            info.totalRowSlots = header.getInt(8);
+            info.offsetSize = header.getInt(12);
+        } catch (IOException e) {
+            // .gdbtablx 仅提供补充信息，读取失败不影响表信息
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, int size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static String readUtf16(ByteBuffer buffer, int charCount) {
+        byte[] bytes = new byte[charCount * 2];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_16LE);
+    }
+
+    /**
+     * 读取变长无符号整数（每字节低7位有效，最高位为续位标记）
+     */
+    static int readVarUInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            int b = Byte.toUnsignedInt(buffer.get());
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 28) {
+                throw new IllegalArgumentException("变长整数过长");
+            }
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) {
+        if (bytes < 0 || bytes > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        buffer.position(buffer.position() + bytes);
+    }
+
+    /**
+     * 几何类型名称
+     */
+    public static String geometryTypeName(int geometryType) {
+        switch (geometryType) {
+            case 0: return "None";
+            case 1: return "Point";
+            case 2: return "MultiPoint";
+            case 3: return "Polyline";
+            case 4: return "Polygon";
+            case 9: return "MultiPatch";
+            default: return "Unknown";
+        }
+    }
+
+    /**
+     * 表信息
+     */
+    public static class TableInfo {
+        private int rowCount;
+        private int maxRowSize;
+        private int totalRowSlots = -1;
+        private int offsetSize = -1;
+        private int geometryType;
+        private boolean hasZ;
+        private boolean hasM;
+        private boolean stringsUtf8;
+        private boolean fieldsComplete = true;
+        private List<Field> fields = Collections.emptyList();
+        private GeometryDef geometryField;
+
+        /** 有效行数（不含已删除行） */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /** 最大行长度（字节） */
+        public int getMaxRowSize() {
+            return maxRowSize;
+        }
+
+        /** .gdbtablx 中的总行槽数（含已删除行），无 .gdbtablx 时为 -1 */
+        public int getTotalRowSlots() {
+            return totalRowSlots;
+        }
+
+        /** .gdbtablx 中每个行偏移量的字节数，无 .gdbtablx 时为 -1 */
+        public int getOffsetSize() {
+            return offsetSize;
+        }
+
+        /** 几何类型编码，0 表示非空间表 */
+        public int getGeometryType() {
+            return geometryType;
+        }
+
+        public String getGeometryTypeName() {
+            return geometryTypeName(geometryType);
+        }
+
+        public boolean hasGeometry() {
+            return geometryType != 0;
+        }
+
+        public boolean isHasZ() {
+            return hasZ;
+        }
+
+        public boolean isHasM() {
+            return hasM;
+        }
+
+        public boolean isStringsUtf8() {
+            return stringsUtf8;
+        }
+
+        /** 字段描述是否全部解析（遇到栅格等不支持的字段类型时为 false） */
+        public boolean isFieldsComplete() {
+            return fieldsComplete;
+        }
+
+        public List<Field> getFields() {
+            return fields;
+        }
+
+        /** 几何字段定义，非空间表为 null */
+        public GeometryDef getGeometryField() {
+            return geometryField;
+        }
+    }
+
+    /**
+     * 字段描述
+     */
+    public static class Field {
+        private String name;
+        private String alias;
+        private int type;
+        private int width;
+        private boolean nullable;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        /** 字段宽度（字符串为最大长度） */
+        public int getWidth() {
+            return width;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+    }
+
+    /**
+     * 行数据：ObjectID 及已解码的字段值（字段名不区分大小写）
+     */
+    public static class Row {
+        private final int objectId;
+        private final Map<String, Object> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        private Row(int objectId) {
+            this.objectId = objectId;
+        }
+
+        public int getObjectId() {
+            return objectId;
+        }
+
+        /** 字段值，空值或未解码的字段返回 null */
+        public Object get(String fieldName) {
+            return values.get(fieldName);
+        }
+
+        public String getString(String fieldName) {
+            Object value = values.get(fieldName);
+            return value != null ? value.toString() : null;
+        }
+
+        public Integer getInteger(String fieldName) {
+            Object value = values.get(fieldName);
+            return value instanceof Number ? ((Number) value).intValue() : null;
+        }
+    }
+
+    /**
+     * 几何字段定义
+     */
+    public static class GeometryDef {
+        private String fieldName;
+        private String wkt;
+        private double xMin;
+        private double yMin;
+        private double xMax;
+        private double yMax;
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        /** 空间参考 WKT */
+        public String getWkt() {
+            return wkt;
+        }
+
+        public double getXMin() {
+            return xMin;
+        }
+
+        public double getYMin() {
+            return yMin;
+        }
+
+        public double getXMax() {
+            return xMax;
+        }
+
+        public double getYMax() {
+            return yMax;
+        }
+
+        /** 范围是否有效（空图层的范围为 NaN） */
+        public boolean hasExtent() {
+            return !Double.isNaN(xMin) && !Double.isNaN(yMin) && !Double.isNaN(xMax) && !Double.isNaN(yMax)
+                    && xMin <= xMax && yMin <= yMax;
+        }
+    }
+}
@@ -6,12 +6,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 地理空间数据解析服务实现
- * 使用简化的纯 Java 解析器，支持 GDB 和 Shapefile
+ * 由格式解析器注册表按文件头识别格式并分发到对应的解析器，解析结果按文件内容缓存
  * 
  * @author Assistant
  * @since 2025-11-05
@@ -21,22 +22,45 @@ public class GeoSpatialParserImpl implements GeoSpatialParser {
 
     private static final Logger logger = LoggerFactory.getLogger(GeoSpatialParserImpl.class);
     
-    private final SimpleGeoParser simpleGeoParser;
+    private final FormatParserRegistry formatParserRegistry;
+    
+    private final LayerInfoCache layerInfoCache;
     
     // 构造函数注入
-    public GeoSpatialParserImpl(SimpleGeoParser simpleGeoParser) {
-        this.simpleGeoParser = simpleGeoParser;
+    public GeoSpatialParserImpl(FormatParserRegistry formatParserRegistry, LayerInfoCache layerInfoCache) {
+        this.formatParserRegistry = formatParserRegistry;
+        this.layerInfoCache = layerInfoCache;
     }
 
     @Override
     public List<LayerInfo> parseLayers(String filePath) {
+        return parseLayers(filePath, null);
+    }
+
+    @Override
+    public List<LayerInfo> parseLayers(String filePath, FileFingerprint fingerprint) {
         logger.info("开始解析地理空间数据文件: {}", filePath);
         List<LayerInfo> layerInfos = new ArrayList<>();
 
+        File file = new File(filePath);
+        // 已有指纹说明文件存在，不再查询文件状态
+        if (fingerprint == null && !file.exists()) {
+            logger.warn("文件不存在: {}", filePath);
+            return layerInfos;
+        }
+        // 文件内容未变化时直接使用缓存的解析结果
+        LayerInfoCache.Key cacheKey = fingerprint != null ? layerInfoCache.keyOf(fingerprint) : layerInfoCache.keyOf(file);
+        List<LayerInfo> cached = cacheKey != null ? layerInfoCache.get(cacheKey) : null;
+        if (cached != null) {
+            logger.info("使用缓存的解析结果，共 {} 个图层: {}", cached.size(), filePath);
+            return cached;
+        }
         try {
-            // 使用简化的解析器
-            layerInfos.addAll(simpleGeoParser.parseGeospatialFile(filePath));
+            layerInfos.addAll(formatParserRegistry.parse(file));
             logger.info("文件解析完成，共解析了 {} 个图层", layerInfos.size());
+            if (cacheKey != null && !layerInfos.isEmpty()) {
+                layerInfoCache.put(cacheKey, layerInfos);
+            }
         } catch (Exception e) {
             logger.error("解析文件时发生异常: {} - {}", filePath, e.getMessage(), e);
             // 不重新抛出异常，返回空列表，让调用方知道解析失败但没有数据
@@ -47,18 +71,6 @@ public class GeoSpatialParserImpl implements GeoSpatialParser {
 
     @Override
     public boolean canParse(String filePath) {
-        String extension = getFileExtension(filePath).toLowerCase();
-        return extension.equals("shp") || extension.equals("gdb");
-    }
-
-    /**
-     * 获取文件扩展名
-     */
-    private String getFileExtension(String filePath) {
-        int lastDotIndex = filePath.lastIndexOf('.');
-        if (lastDotIndex > 0 && lastDotIndex < filePath.length() - 1) {
-            return filePath.substring(lastDotIndex + 1);
-        }
-        return "";
+        return formatParserRegistry.supportsExtension(new File(filePath).getName());
     }
-}
\ No newline at end of file
+}
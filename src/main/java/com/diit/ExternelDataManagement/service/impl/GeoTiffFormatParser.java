@@ -0,0 +1,67 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GeoTIFF / BigTIFF 解析器
+ * 文件头为 "II" 或 "MM" 加版本号 42（TIFF）或 43（BigTIFF）
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class GeoTiffFormatParser implements FormatParser {
+
+    private final SimpleGeoParser simpleGeoParser;
+
+    public GeoTiffFormatParser(SimpleGeoParser simpleGeoParser) {
+        this.simpleGeoParser = simpleGeoParser;
+    }
+
+    @Override
+    public String getFormat() {
+        return "tif";
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return new HashSet<>(Arrays.asList("tif", "tiff"));
+    }
+
+    @Override
+    public boolean matches(File file, ByteBuffer header) {
+        if (header == null || header.limit() < 8) {
+            return false;
+        }
+        int version;
+        if (header.get(0) == 'I' && header.get(1) == 'I') {
+            version = Byte.toUnsignedInt(header.get(2)) | Byte.toUnsignedInt(header.get(3)) << 8;
+        } else if (header.get(0) == 'M' && header.get(1) == 'M') {
+            version = Short.toUnsignedInt(header.getShort(2));
+        } else {
+            return false;
+        }
+        return version == 42 || version == 43;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        // 只读取文件头和 IFD，不限制
+        return 0;
+    }
+
+    @Override
+    public List<LayerInfo> parse(File file) throws IOException {
+        return simpleGeoParser.parseGeoTiff(file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,569 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GeoTIFF / BigTIFF 文件头读取器
+ * 只映射文件头、IFD 目录和目录项引用的少量标签数据，得到影像尺寸、波段数、像素类型、分块方式、压缩方式，
+ * 并由 GeoKey 目录确定坐标系、由 ModelTiepoint + ModelPixelScale（或 ModelTransformation）计算范围。
+ * 不读取任何像素数据，读取耗时与影像大小无关。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class GeoTiffReader {
+
+    // 标签
+    private static final int TAG_NEW_SUBFILE_TYPE = 254;
+    private static final int TAG_IMAGE_WIDTH = 256;
+    private static final int TAG_IMAGE_LENGTH = 257;
+    private static final int TAG_BITS_PER_SAMPLE = 258;
+    private static final int TAG_COMPRESSION = 259;
+    private static final int TAG_SAMPLES_PER_PIXEL = 277;
+    private static final int TAG_ROWS_PER_STRIP = 278;
+    private static final int TAG_PLANAR_CONFIG = 284;
+    private static final int TAG_TILE_WIDTH = 322;
+    private static final int TAG_TILE_LENGTH = 323;
+    private static final int TAG_SAMPLE_FORMAT = 339;
+    private static final int TAG_MODEL_PIXEL_SCALE = 33550;
+    private static final int TAG_MODEL_TIEPOINT = 33922;
+    private static final int TAG_MODEL_TRANSFORMATION = 34264;
+    private static final int TAG_GEO_KEY_DIRECTORY = 34735;
+    private static final int TAG_GEO_ASCII_PARAMS = 34737;
+    private static final int TAG_GDAL_NODATA = 42113;
+
+    // GeoKey
+    private static final int KEY_MODEL_TYPE = 1024;
+    private static final int KEY_RASTER_TYPE = 1025;
+    private static final int KEY_CITATION = 1026;
+    private static final int KEY_GEOGRAPHIC_TYPE = 2048;
+    private static final int KEY_GEOG_CITATION = 2049;
+    private static final int KEY_PROJECTED_CS_TYPE = 3072;
+    private static final int KEY_PCS_CITATION = 3073;
+
+    // GeoKey 中的用户自定义值
+    private static final int USER_DEFINED = 32767;
+
+    // 像素为点（PixelIsPoint）时范围需外扩半个像素
+    private static final int RASTER_PIXEL_IS_POINT = 2;
+
+    // 最多遍历的 IFD 数（主影像 + 金字塔），防止损坏文件的目录链成环或过长
+    private static final int MAX_IFD_COUNT = 64;
+
+    // 单个目录项数据的上限，超出时忽略（GeoTIFF 元数据通常只有几百字节）
+    private static final long MAX_VALUE_BYTES = 1024 * 1024;
+
+    // 压缩方式编码 -> 名称
+    private static final Map<Integer, String> COMPRESSIONS = new HashMap<>();
+
+    static {
+        COMPRESSIONS.put(1, "None");
+        COMPRESSIONS.put(2, "CCITT RLE");
+        COMPRESSIONS.put(3, "CCITT Fax3");
+        COMPRESSIONS.put(4, "CCITT Fax4");
+        COMPRESSIONS.put(5, "LZW");
+        COMPRESSIONS.put(6, "OJPEG");
+        COMPRESSIONS.put(7, "JPEG");
+        COMPRESSIONS.put(8, "Deflate");
+        COMPRESSIONS.put(32773, "PackBits");
+        COMPRESSIONS.put(32946, "Deflate");
+        COMPRESSIONS.put(34712, "JPEG2000");
+        COMPRESSIONS.put(34887, "LERC");
+        COMPRESSIONS.put(34925, "LZMA");
+        COMPRESSIONS.put(50000, "ZSTD");
+        COMPRESSIONS.put(50001, "WebP");
+    }
+
+    private GeoTiffReader() {
+    }
+
+    /**
+     * 读取 TIFF 文件头、主影像 IFD 和 GeoTIFF 标签
+     * @param tiffPath .tif/.tiff 文件路径
+     * @return 影像信息
+     * @throws IOException 文件不是 TIFF 或目录结构损坏
+     */
+    public static TiffInfo read(Path tiffPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(tiffPath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < 8) {
+                throw new IOException("tiff 文件过小: " + tiffPath);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(16, fileSize));
+            ByteOrder order;
+            if (header.get(0) == 'I' && header.get(1) == 'I') {
+                order = ByteOrder.LITTLE_ENDIAN;
+            } else if (header.get(0) == 'M' && header.get(1) == 'M') {
+                order = ByteOrder.BIG_ENDIAN;
+            } else {
+                throw new IOException("不是 TIFF 文件: " + tiffPath);
+            }
+            header.order(order);
+
+            TiffInfo info = new TiffInfo();
+            int version = Short.toUnsignedInt(header.getShort(2));
+            long firstIfd;
+            if (version == 42) {
+                firstIfd = Integer.toUnsignedLong(header.getInt(4));
+            } else if (version == 43 && fileSize >= 16) {
+                if (header.getShort(4) != 8) {
+                    throw new IOException("BigTIFF 偏移量长度无效: " + tiffPath);
+                }
+                info.bigTiff = true;
+                firstIfd = header.getLong(8);
+            } else {
+                throw new IOException("TIFF 版本号无效 (" + version + "): " + tiffPath);
+            }
+
+            IfdReader reader = new IfdReader(channel, order, info.bigTiff, fileSize, tiffPath);
+            Set<Long> visited = new HashSet<>();
+            long ifdOffset = firstIfd;
+            while (ifdOffset != 0 && visited.size() < MAX_IFD_COUNT && visited.add(ifdOffset)) {
+                Map<Integer, Entry> entries = new HashMap<>();
+                long nextIfd = reader.readIfd(ifdOffset, entries);
+                if (visited.size() == 1) {
+                    readImage(reader, entries, info);
+                } else if ((reader.longValue(entries.get(TAG_NEW_SUBFILE_TYPE), 0) & 1) != 0) {
+                    // 缩小分辨率的子影像即金字塔
+                    info.overviewCount++;
+                } else {
+                    info.subImageCount++;
+                }
+                ifdOffset = nextIfd;
+            }
+            if (visited.isEmpty()) {
+                throw new IOException("TIFF 缺少影像目录: " + tiffPath);
+            }
+            return info;
+        }
+    }
+
+    /**
+     * 主影像的尺寸、像素类型、分块方式和地理信息
+     */
+    private static void readImage(IfdReader reader, Map<Integer, Entry> entries, TiffInfo info) throws IOException {
+        info.width = reader.longValue(entries.get(TAG_IMAGE_WIDTH), 0);
+        info.height = reader.longValue(entries.get(TAG_IMAGE_LENGTH), 0);
+        info.bandCount = (int) reader.longValue(entries.get(TAG_SAMPLES_PER_PIXEL), 1);
+        info.bitsPerSample = (int) reader.longValue(entries.get(TAG_BITS_PER_SAMPLE), 1);
+        int sampleFormat = (int) reader.longValue(entries.get(TAG_SAMPLE_FORMAT), 1);
+        info.dataType = dataTypeName(sampleFormat, info.bitsPerSample);
+        int compression = (int) reader.longValue(entries.get(TAG_COMPRESSION), 1);
+        info.compression = COMPRESSIONS.getOrDefault(compression, "Unknown (" + compression + ")");
+        info.planarConfig = reader.longValue(entries.get(TAG_PLANAR_CONFIG), 1) == 2 ? "Separate" : "Contiguous";
+        if (entries.containsKey(TAG_TILE_WIDTH) && entries.containsKey(TAG_TILE_LENGTH)) {
+            info.tiled = true;
+            info.blockWidth = reader.longValue(entries.get(TAG_TILE_WIDTH), 0);
+            info.blockHeight = reader.longValue(entries.get(TAG_TILE_LENGTH), 0);
+        } else {
+            info.blockWidth = info.width;
+            info.blockHeight = Math.min(info.height, reader.longValue(entries.get(TAG_ROWS_PER_STRIP), info.height));
+        }
+        String noData = reader.asciiValue(entries.get(TAG_GDAL_NODATA));
+        info.noData = noData != null && !noData.trim().isEmpty() ? noData.trim() : null;
+
+        readGeoKeys(reader, entries, info);
+
+        double[] scale = reader.doubleValues(entries.get(TAG_MODEL_PIXEL_SCALE));
+        double[] tiepoint = reader.doubleValues(entries.get(TAG_MODEL_TIEPOINT));
+        double[] transform = reader.doubleValues(entries.get(TAG_MODEL_TRANSFORMATION));
+        // 像素为点时，像素中心对应模型坐标，范围向外扩半个像素
+        double shift = info.rasterType == RASTER_PIXEL_IS_POINT ? -0.5 : 0;
+        if (transform != null && transform.length >= 16) {
+            info.extent = transformedExtent(transform, info.width, info.height, shift);
+        } else if (scale != null && scale.length >= 2 && tiepoint != null && tiepoint.length >= 6) {
+            double minX = tiepoint[3] - (tiepoint[0] - shift) * scale[0];
+            double maxY = tiepoint[4] + (tiepoint[1] - shift) * scale[1];
+            info.extent = new double[]{minX, maxY - info.height * scale[1], minX + info.width * scale[0], maxY};
+            info.pixelSizeX = scale[0];
+            info.pixelSizeY = scale[1];
+        }
+    }
+
+    /**
+     * 仿射变换矩阵（4x4，按行存储）下影像四角的外包矩形
+     */
+    private static double[] transformedExtent(double[] m, long width, long height, double shift) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (double i : new double[]{shift, width + shift}) {
+            for (double j : new double[]{shift, height + shift}) {
+                double x = m[0] * i + m[1] * j + m[3];
+                double y = m[4] * i + m[5] * j + m[7];
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        return new double[]{minX, minY, maxX, maxY};
+    }
+
+    /**
+     * GeoKey 目录：头部(版本, 修订号, 次修订号, 键数) + 每个键(键ID, 值所在标签, 数量, 值或偏移)，均为 SHORT
+     * 值所在标签为 0 时值直接存于第 4 项，为 34737 时是 GeoAsciiParams 中的偏移（GeoDoubleParams 只用于自定义参数，不读取）
+     */
+    private static void readGeoKeys(IfdReader reader, Map<Integer, Entry> entries, TiffInfo info) throws IOException {
+        long[] directory = reader.longValues(entries.get(TAG_GEO_KEY_DIRECTORY));
+        if (directory == null || directory.length < 4) {
+            return;
+        }
+        String asciiParams = reader.asciiValue(entries.get(TAG_GEO_ASCII_PARAMS));
+        int keyCount = (int) Math.min(directory[3], (directory.length - 4) / 4);
+        Map<Integer, Integer> shortKeys = new HashMap<>();
+        Map<Integer, String> asciiKeys = new HashMap<>();
+        for (int k = 0; k < keyCount; k++) {
+            int base = 4 + k * 4;
+            int keyId = (int) directory[base];
+            int location = (int) directory[base + 1];
+            int count = (int) directory[base + 2];
+            int value = (int) directory[base + 3];
+            if (location == 0) {
+                shortKeys.put(keyId, value);
+            } else if (location == TAG_GEO_ASCII_PARAMS && asciiParams != null
+                    && value >= 0 && value < asciiParams.length()) {
+                String text = asciiParams.substring(value, Math.min(asciiParams.length(), value + count));
+                asciiKeys.put(keyId, text.replaceAll("\\|+$", "").trim());
+            }
+        }
+        info.geoTiff = true;
+        int modelType = shortKeys.getOrDefault(KEY_MODEL_TYPE, 0);
+        info.rasterType = shortKeys.getOrDefault(KEY_RASTER_TYPE, 1);
+        int projected = shortKeys.getOrDefault(KEY_PROJECTED_CS_TYPE, 0);
+        int geographic = shortKeys.getOrDefault(KEY_GEOGRAPHIC_TYPE, 0);
+        info.geographic = modelType == 2 || (modelType == 0 && projected == 0 && geographic > 0);
+        int code = info.geographic ? geographic : projected;
+        if (code > 0 && code != USER_DEFINED) {
+            info.crs = "EPSG:" + code;
+        } else {
+            String citation = info.geographic ? asciiKeys.get(KEY_GEOG_CITATION) : asciiKeys.get(KEY_PCS_CITATION);
+            if (citation == null || citation.isEmpty()) {
+                citation = asciiKeys.get(KEY_CITATION);
+            }
+            info.crs = citation != null && !citation.isEmpty() ? citation : null;
+        }
+    }
+
+    /**
+     * 像素类型名称，如 UInt8、Int16、Float32
+     */
+    private static String dataTypeName(int sampleFormat, int bits) {
+        switch (sampleFormat) {
+            case 2: return "Int" + bits;
+            case 3: return "Float" + bits;
+            case 5: return "CInt" + bits;
+            case 6: return "CFloat" + bits;
+            default: return bits == 1 ? "Bit1" : "UInt" + bits;
+        }
+    }
+
+    /**
+     * 目录项：值（不超过 4/8 字节时内联）或值所在的偏移
+     */
+    private static final class Entry {
+        private int type;
+        private long count;
+        private long valueOffset;
+        private boolean inline;
+        private byte[] inlineBytes;
+    }
+
+    /**
+     * IFD 读取：每个 IFD 单独映射，目录项引用的数据按需映射
+     */
+    private static final class IfdReader {
+        private final FileChannel channel;
+        private final ByteOrder order;
+        private final boolean bigTiff;
+        private final long fileSize;
+        private final Path path;
+
+        IfdReader(FileChannel channel, ByteOrder order, boolean bigTiff, long fileSize, Path path) {
+            this.channel = channel;
+            this.order = order;
+            this.bigTiff = bigTiff;
+            this.fileSize = fileSize;
+            this.path = path;
+        }
+
+        /**
+         * 读取一个 IFD 的全部目录项
+         * 经典 TIFF：项数(2) + 12 字节目录项 + 下一 IFD 偏移(4)；BigTIFF：项数(8) + 20 字节目录项 + 下一 IFD 偏移(8)
+         * @return 下一个 IFD 的偏移，0 表示结束
+         */
+        long readIfd(long offset, Map<Integer, Entry> entries) throws IOException {
+            int countSize = bigTiff ? 8 : 2;
+            int entrySize = bigTiff ? 20 : 12;
+            int nextSize = bigTiff ? 8 : 4;
+            MappedByteBuffer countBuffer = map(offset, countSize);
+            long entryCount = bigTiff ? countBuffer.getLong(0) : Short.toUnsignedInt(countBuffer.getShort(0));
+            if (entryCount < 0 || entryCount > 0xFFFF) {
+                throw new IOException("TIFF 目录项数无效: " + entryCount + " (" + path + ")");
+            }
+            int length = (int) entryCount * entrySize + nextSize;
+            MappedByteBuffer buffer = map(offset + countSize, length);
+            int valueSize = bigTiff ? 8 : 4;
+            for (int i = 0; i < entryCount; i++) {
+                int start = i * entrySize;
+                Entry entry = new Entry();
+                int tag = Short.toUnsignedInt(buffer.getShort(start));
+                entry.type = Short.toUnsignedInt(buffer.getShort(start + 2));
+                entry.count = bigTiff ? buffer.getLong(start + 4) : Integer.toUnsignedLong(buffer.getInt(start + 4));
+                int valueStart = start + (bigTiff ? 12 : 8);
+                long byteCount = entry.count * typeSize(entry.type);
+                if (entry.count >= 0 && byteCount <= valueSize) {
+                    entry.inline = true;
+                    entry.inlineBytes = new byte[valueSize];
+                    buffer.get(valueStart, entry.inlineBytes);
+                } else {
+                    entry.valueOffset = bigTiff ? buffer.getLong(valueStart)
+                            : Integer.toUnsignedLong(buffer.getInt(valueStart));
+                }
+                entries.put(tag, entry);
+            }
+            int nextStart = (int) entryCount * entrySize;
+            return bigTiff ? buffer.getLong(nextStart) : Integer.toUnsignedLong(buffer.getInt(nextStart));
+        }
+
+        /**
+         * 整数标签的第一个值
+         */
+        long longValue(Entry entry, long defaultValue) throws IOException {
+            long[] values = longValues(entry);
+            return values != null && values.length > 0 ? values[0] : defaultValue;
+        }
+
+        /**
+         * 整数标签（BYTE/SHORT/LONG/LONG8 及有符号类型）的全部值
+         */
+        long[] longValues(Entry entry) throws IOException {
+            ByteBuffer data = data(entry);
+            if (data == null) {
+                return null;
+            }
+            int size = typeSize(entry.type);
+            long[] values = new long[(int) entry.count];
+            for (int i = 0; i < values.length; i++) {
+                int pos = i * size;
+                switch (entry.type) {
+                    case 1: case 7: values[i] = Byte.toUnsignedInt(data.get(pos)); break;
+                    case 6: values[i] = data.get(pos); break;
+                    case 3: values[i] = Short.toUnsignedInt(data.getShort(pos)); break;
+                    case 8: values[i] = data.getShort(pos); break;
+                    case 4: case 13: values[i] = Integer.toUnsignedLong(data.getInt(pos)); break;
+                    case 9: values[i] = data.getInt(pos); break;
+                    case 16: case 17: case 18: values[i] = data.getLong(pos); break;
+                    default: return null;
+                }
+            }
+            return values;
+        }
+
+        /**
+         * 浮点标签（DOUBLE/FLOAT/RATIONAL）的全部值
+         */
+        double[] doubleValues(Entry entry) throws IOException {
+            ByteBuffer data = data(entry);
+            if (data == null) {
+                return null;
+            }
+            double[] values = new double[(int) entry.count];
+            for (int i = 0; i < values.length; i++) {
+                switch (entry.type) {
+                    case 12: values[i] = data.getDouble(i * 8); break;
+                    case 11: values[i] = data.getFloat(i * 4); break;
+                    case 5: values[i] = Integer.toUnsignedLong(data.getInt(i * 8))
+                            / (double) Integer.toUnsignedLong(data.getInt(i * 8 + 4)); break;
+                    case 10: values[i] = data.getInt(i * 8) / (double) data.getInt(i * 8 + 4); break;
+                    default: return null;
+                }
+            }
+            return values;
+        }
+
+        /**
+         * ASCII 标签的值（去掉末尾的 0）
+         */
+        String asciiValue(Entry entry) throws IOException {
+            ByteBuffer data = data(entry);
+            if (data == null || entry.type != 2) {
+                return null;
+            }
+            byte[] bytes = new byte[(int) entry.count];
+            data.get(0, bytes);
+            int length = bytes.length;
+            while (length > 0 && bytes[length - 1] == 0) {
+                length--;
+            }
+            return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        }
+
+        private ByteBuffer data(Entry entry) throws IOException {
+            if (entry == null) {
+                return null;
+            }
+            if (entry.inline) {
+                return ByteBuffer.wrap(entry.inlineBytes).order(order);
+            }
+            long byteCount = entry.count * typeSize(entry.type);
+            if (entry.count <= 0 || byteCount <= 0 || byteCount > MAX_VALUE_BYTES) {
+                return null;
+            }
+            return map(entry.valueOffset, (int) byteCount);
+        }
+
+        private MappedByteBuffer map(long position, int length) throws IOException {
+            if (position < 0 || position + length > fileSize) {
+                throw new IOException("TIFF 目录偏移越界: " + position + " (" + path + ")");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            buffer.order(order);
+            return buffer;
+        }
+
+        private static int typeSize(int type) {
+            switch (type) {
+                case 1: case 2: case 6: case 7: return 1;
+                case 3: case 8: return 2;
+                case 4: case 9: case 11: case 13: return 4;
+                case 5: case 10: case 12: case 16: case 17: case 18: return 8;
+                default: return 1;
+            }
+        }
+    }
+
+    /**
+     * 影像信息
+     */
+    public static class TiffInfo {
+        private boolean bigTiff;
+        private long width;
+        private long height;
+        private int bandCount;
+        private int bitsPerSample;
+        private String dataType;
+        private String compression;
+        private String planarConfig;
+        private boolean tiled;
+        private long blockWidth;
+        private long blockHeight;
+        private String noData;
+        private int overviewCount;
+        private int subImageCount;
+        private boolean geoTiff;
+        private boolean geographic;
+        private int rasterType = 1;
+        private String crs;
+        private double pixelSizeX;
+        private double pixelSizeY;
+        private double[] extent;
+
+        public boolean isBigTiff() {
+            return bigTiff;
+        }
+
+        public long getWidth() {
+            return width;
+        }
+
+        public long getHeight() {
+            return height;
+        }
+
+        public int getBandCount() {
+            return bandCount;
+        }
+
+        public int getBitsPerSample() {
+            return bitsPerSample;
+        }
+
+        /** 像素类型，如 UInt8、Int16、Float32 */
+        public String getDataType() {
+            return dataType;
+        }
+
+        /** 压缩方式名称，如 None、LZW、Deflate */
+        public String getCompression() {
+            return compression;
+        }
+
+        /** 波段存储方式：Contiguous（像素交错）或 Separate（波段分离） */
+        public String getPlanarConfig() {
+            return planarConfig;
+        }
+
+        /** 是否按瓦片存储（否则按条带存储） */
+        public boolean isTiled() {
+            return tiled;
+        }
+
+        /** 瓦片宽度，条带存储时为影像宽度 */
+        public long getBlockWidth() {
+            return blockWidth;
+        }
+
+        /** 瓦片高度，条带存储时为每条带行数 */
+        public long getBlockHeight() {
+            return blockHeight;
+        }
+
+        /** GDAL_NODATA 标签中的无效值，没有时为 null */
+        public String getNoData() {
+            return noData;
+        }
+
+        /** 内部金字塔层数 */
+        public int getOverviewCount() {
+            return overviewCount;
+        }
+
+        /** 除主影像和金字塔外的其它子影像数（如掩膜） */
+        public int getSubImageCount() {
+            return subImageCount;
+        }
+
+        /** 是否包含 GeoKey 目录 */
+        public boolean isGeoTiff() {
+            return geoTiff;
+        }
+
+        /** 是否为地理坐标系（经纬度） */
+        public boolean isGeographic() {
+            return geographic;
+        }
+
+        /** 坐标系标识，如 EPSG:4490；自定义坐标系为其描述文本，没有时为 null */
+        public String getCrs() {
+            return crs;
+        }
+
+        /** X 方向像素大小，仅由 ModelPixelScale 得到时有值 */
+        public double getPixelSizeX() {
+            return pixelSizeX;
+        }
+
+        /** Y 方向像素大小，仅由 ModelPixelScale 得到时有值 */
+        public double getPixelSizeY() {
+            return pixelSizeY;
+        }
+
+        /** 范围 [minX, minY, maxX, maxY]，没有地理配准信息时为 null */
+        public double[] getExtent() {
+            return extent;
+        }
+    }
+}
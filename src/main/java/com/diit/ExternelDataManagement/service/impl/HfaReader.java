@@ -0,0 +1,315 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ERDAS IMAGINE（HFA，.img）文件头读取器
+ * 从文件头找到根节点，遍历根节点下的 Eimg_Layer 节点得到影像尺寸、波段数、像素类型和分块大小，
+ * 再读取第一个波段下的 Map_Info 节点（Eprj_MapInfo）得到像素中心坐标和像素大小计算范围。
+ * 全部通过定位读取完成，只读取节点头和少量节点数据（通常几 KB），不读取像素数据。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class HfaReader {
+
+    private static final String HEADER_TAG = "EHFA_HEADER_TAG";
+
+    // 节点头：next(4) + prev(4) + parent(4) + child(4) + data(4) + dataSize(4) + name(64) + type(32) + modTime(4)
+    private static final int ENTRY_SIZE = 124;
+
+    private static final String LAYER_TYPE = "Eimg_Layer";
+
+    private static final String MAP_INFO_TYPE = "Eprj_MapInfo";
+
+    // 遍历的节点数上限，防止损坏文件的节点链成环
+    private static final int MAX_NODES = 4096;
+
+    // Eimg_Layer.pixelType 枚举值 -> 像素类型名称
+    private static final String[] PIXEL_TYPES = {
+            "UInt1", "UInt2", "UInt4", "UInt8", "Int8", "UInt16", "Int16", "UInt32", "Int32",
+            "Float32", "Float64", "CFloat32", "CFloat64"
+    };
+
+    private static final String[] LAYER_TYPES = {"thematic", "athematic", "fft"};
+
+    private HfaReader() {
+    }
+
+    /**
+     * 读取 .img 文件头
+     * @param imgPath .img 文件路径
+     * @return 影像信息
+     * @throws IOException 文件不是 HFA 格式或节点结构损坏
+     */
+    public static ImgInfo read(Path imgPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(imgPath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            // 文件头：标记(16) + Ehfa_File 偏移(4)
+            ByteBuffer tag = readFully(channel, 0, 20, fileSize, imgPath);
+            byte[] tagBytes = new byte[HEADER_TAG.length()];
+            tag.get(0, tagBytes);
+            if (!HEADER_TAG.equals(new String(tagBytes, StandardCharsets.US_ASCII))) {
+                throw new IOException("不是 ERDAS IMAGINE 文件: " + imgPath);
+            }
+            long filePtr = Integer.toUnsignedLong(tag.getInt(16));
+            if (filePtr < 20) {
+                throw new IOException("img 文件头偏移无效: " + imgPath);
+            }
+
+            // Ehfa_File：version(4) + freeList(4) + rootEntryPtr(4) + entryHeaderLength(2) + dictionaryPtr(4)
+            ByteBuffer file = readFully(channel, filePtr, 18, fileSize, imgPath);
+            long rootPtr = Integer.toUnsignedLong(file.getInt(8));
+            Entry root = readEntry(channel, rootPtr, fileSize, imgPath);
+
+            ImgInfo info = new ImgInfo();
+            Set<Long> visited = new HashSet<>();
+            long childPtr = root.child;
+            while (childPtr != 0 && visited.size() < MAX_NODES && visited.add(childPtr)) {
+                Entry entry = readEntry(channel, childPtr, fileSize, imgPath);
+                if (LAYER_TYPE.equals(entry.type)) {
+                    readLayer(channel, entry, info, fileSize, imgPath);
+                    info.bandNames.add(entry.name);
+                    if (info.extent == null) {
+                        readMapInfo(channel, entry, info, visited, fileSize, imgPath);
+                    }
+                }
+                childPtr = entry.next;
+            }
+            if (info.bandCount == 0) {
+                throw new IOException("img 文件中没有影像波段: " + imgPath);
+            }
+            return info;
+        }
+    }
+
+    /**
+     * Eimg_Layer：width(4) + height(4) + layerType(2) + pixelType(2) + blockWidth(4) + blockHeight(4)
+     * 各波段尺寸相同，像素类型以第一个波段为准
+     */
+    private static void readLayer(FileChannel channel, Entry entry, ImgInfo info, long fileSize, Path path)
+            throws IOException {
+        if (entry.dataSize < 20) {
+            return;
+        }
+        ByteBuffer data = readFully(channel, entry.data, 20, fileSize, path);
+        if (info.bandCount == 0) {
+            info.width = data.getInt(0);
+            info.height = data.getInt(4);
+            int layerType = Short.toUnsignedInt(data.getShort(8));
+            int pixelType = Short.toUnsignedInt(data.getShort(10));
+            info.layerType = layerType < LAYER_TYPES.length ? LAYER_TYPES[layerType] : String.valueOf(layerType);
+            info.pixelType = pixelType < PIXEL_TYPES.length ? PIXEL_TYPES[pixelType] : "Unknown (" + pixelType + ")";
+            info.blockWidth = data.getInt(12);
+            info.blockHeight = data.getInt(16);
+        }
+        info.bandCount++;
+    }
+
+    /**
+     * 在波段节点的子节点中查找 Map_Info 并读取范围
+     */
+    private static void readMapInfo(FileChannel channel, Entry layer, ImgInfo info, Set<Long> visited,
+                                    long fileSize, Path path) throws IOException {
+        long childPtr = layer.child;
+        while (childPtr != 0 && visited.size() < MAX_NODES && visited.add(childPtr)) {
+            Entry entry = readEntry(channel, childPtr, fileSize, path);
+            if (MAP_INFO_TYPE.equals(entry.type) && entry.dataSize > 0 && entry.dataSize <= 64 * 1024) {
+                parseMapInfo(readFully(channel, entry.data, (int) entry.dataSize, fileSize, path), info);
+                return;
+            }
+            childPtr = entry.next;
+        }
+    }
+
+    /**
+     * Eprj_MapInfo：proName(字符串) + upperLeftCenter(坐标) + lowerRightCenter(坐标) + pixelSize(大小) + units(字符串)
+     * 字符串与对象指针均以 数量(4) + 偏移(4) 开头，后接内容；坐标与大小为两个 double，坐标为左上、右下像素中心
+     */
+    private static void parseMapInfo(ByteBuffer data, ImgInfo info) {
+        try {
+            info.projectionName = readString(data);
+            double[] upperLeft = readPair(data);
+            double[] lowerRight = readPair(data);
+            double[] pixelSize = readPair(data);
+            info.units = data.remaining() >= 8 ? readString(data) : null;
+            if (upperLeft == null || lowerRight == null || pixelSize == null) {
+                return;
+            }
+            info.pixelSizeX = pixelSize[0];
+            info.pixelSizeY = pixelSize[1];
+            // 像素中心外扩半个像素得到影像外边界
+            double minX = Math.min(upperLeft[0], lowerRight[0]) - Math.abs(pixelSize[0]) / 2;
+            double maxX = Math.max(upperLeft[0], lowerRight[0]) + Math.abs(pixelSize[0]) / 2;
+            double minY = Math.min(upperLeft[1], lowerRight[1]) - Math.abs(pixelSize[1]) / 2;
+            double maxY = Math.max(upperLeft[1], lowerRight[1]) + Math.abs(pixelSize[1]) / 2;
+            info.extent = new double[]{minX, minY, maxX, maxY};
+        } catch (BufferUnderflowException e) {
+            // 节点数据不完整时不设置范围
+        }
+    }
+
+    private static String readString(ByteBuffer data) {
+        int count = data.getInt();
+        data.getInt();
+        if (count <= 0) {
+            return null;
+        }
+        if (count > data.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[count];
+        data.get(bytes);
+        int length = 0;
+        while (length < bytes.length && bytes[length] != 0) {
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1).trim();
+    }
+
+    private static double[] readPair(ByteBuffer data) {
+        int count = data.getInt();
+        data.getInt();
+        if (count <= 0) {
+            return null;
+        }
+        return new double[]{data.getDouble(), data.getDouble()};
+    }
+
+    private static Entry readEntry(FileChannel channel, long position, long fileSize, Path path) throws IOException {
+        ByteBuffer buffer = readFully(channel, position, ENTRY_SIZE, fileSize, path);
+        Entry entry = new Entry();
+        entry.next = Integer.toUnsignedLong(buffer.getInt(0));
+        entry.child = Integer.toUnsignedLong(buffer.getInt(12));
+        entry.data = Integer.toUnsignedLong(buffer.getInt(16));
+        entry.dataSize = Integer.toUnsignedLong(buffer.getInt(20));
+        entry.name = readFixedString(buffer, 24, 64);
+        entry.type = readFixedString(buffer, 88, 32);
+        return entry;
+    }
+
+    private static String readFixedString(ByteBuffer buffer, int start, int maxLength) {
+        int length = 0;
+        while (length < maxLength && buffer.get(start + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size, long fileSize, Path path)
+            throws IOException {
+        if (position < 0 || position + size > fileSize) {
+            throw new IOException("img 节点偏移越界: " + position + " (" + path + ")");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("img 文件头不完整: " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 节点头
+     */
+    private static final class Entry {
+        private long next;
+        private long child;
+        private long data;
+        private long dataSize;
+        private String name;
+        private String type;
+    }
+
+    /**
+     * 影像信息
+     */
+    public static class ImgInfo {
+        private int width;
+        private int height;
+        private int bandCount;
+        private final List<String> bandNames = new ArrayList<>();
+        private String pixelType;
+        private String layerType;
+        private int blockWidth;
+        private int blockHeight;
+        private String projectionName;
+        private String units;
+        private double pixelSizeX;
+        private double pixelSizeY;
+        private double[] extent;
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getBandCount() {
+            return bandCount;
+        }
+
+        /** 波段节点名称（如 Layer_1） */
+        public List<String> getBandNames() {
+            return bandNames;
+        }
+
+        /** 像素类型，如 UInt8、Int16、Float32 */
+        public String getPixelType() {
+            return pixelType;
+        }
+
+        /** 波段类型：thematic（专题）或 athematic（连续） */
+        public String getLayerType() {
+            return layerType;
+        }
+
+        public int getBlockWidth() {
+            return blockWidth;
+        }
+
+        public int getBlockHeight() {
+            return blockHeight;
+        }
+
+        /** Map_Info 中的投影名称（如 UTM、Geographic (Lat/Lon)），没有地图信息时为 null */
+        public String getProjectionName() {
+            return projectionName;
+        }
+
+        /** 坐标单位（如 meters、dd） */
+        public String getUnits() {
+            return units;
+        }
+
+        public double getPixelSizeX() {
+            return pixelSizeX;
+        }
+
+        public double getPixelSizeY() {
+            return pixelSizeY;
+        }
+
+        /** 范围 [minX, minY, maxX, maxY]，没有地图信息时为 null */
+        public double[] getExtent() {
+            return extent;
+        }
+    }
+}
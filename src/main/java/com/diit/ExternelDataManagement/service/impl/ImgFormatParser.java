@@ -0,0 +1,66 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ERDAS IMAGINE（.img）解析器
+ * 文件头以 "EHFA_HEADER_TAG" 开头
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class ImgFormatParser implements FormatParser {
+
+    private static final byte[] HEADER_TAG = "EHFA_HEADER_TAG".getBytes(StandardCharsets.US_ASCII);
+
+    private final SimpleGeoParser simpleGeoParser;
+
+    public ImgFormatParser(SimpleGeoParser simpleGeoParser) {
+        this.simpleGeoParser = simpleGeoParser;
+    }
+
+    @Override
+    public String getFormat() {
+        return "img";
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Collections.singleton("img");
+    }
+
+    @Override
+    public boolean matches(File file, ByteBuffer header) {
+        if (header == null || header.limit() < HEADER_TAG.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER_TAG.length; i++) {
+            if (header.get(i) != HEADER_TAG[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        // 只读取节点头，不限制
+        return 0;
+    }
+
+    @Override
+    public List<LayerInfo> parse(File file) throws IOException {
+        return simpleGeoParser.parseImgFile(file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,333 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.pojo.LayerCacheStats;
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 图层解析结果的磁盘缓存
+ * 以 (规范路径, 大小, 修改时间) 为键，每个条目一个 JSON 文件，重启后仍然有效；
+ * 条目按最近访问顺序排列（命中时更新文件修改时间，重启后按修改时间恢复顺序），总大小超出上限时淘汰最久未访问的条目。
+ * 文件内容变化后大小或修改时间随之变化，旧条目不再命中，最终被淘汰。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class LayerInfoCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LayerInfoCache.class);
+
+    private static final String ENTRY_SUFFIX = ".json";
+
+    // 忽略未知字段：LayerInfo 删除字段后，升级前写入的条目仍可读取，不会全部失效
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ScanConfig scanConfig;
+
+    // 条目文件名（键的 SHA-256）-> 条目信息，按访问顺序排列
+    private final LinkedHashMap<String, IndexEntry> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    private boolean loaded;
+    private long totalBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    public LayerInfoCache(ScanConfig scanConfig) {
+        this.scanConfig = scanConfig;
+    }
+
+    /**
+     * 计算文件的缓存键（见 FileFingerprint，.shp 同时计入同名附属文件）
+     * @return 缓存键；缓存未启用或无法读取文件属性时返回 null
+     */
+    public Key keyOf(File file) {
+        if (!scanConfig.isLayerCacheEnabled()) {
+            return null;
+        }
+        try {
+            return keyOf(FileFingerprint.of(file));
+        } catch (IOException e) {
+            logger.debug("无法计算缓存键，不使用缓存: {} - {}", file.getAbsolutePath(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 由已计算的文件指纹得到缓存键，调用方已查询过文件状态时使用，不再重复查询
+     * @return 缓存键；缓存未启用时返回 null
+     */
+    public Key keyOf(FileFingerprint fingerprint) {
+        if (!scanConfig.isLayerCacheEnabled()) {
+            return null;
+        }
+        return new Key(fingerprint.getPath(), fingerprint.getSize(), fingerprint.getLastModified());
+    }
+
+    /**
+     * 查询缓存
+     * @return 缓存的图层信息；未命中时返回 null
+     */
+    public List<LayerInfo> get(Key key) {
+        String name = key.fileName();
+        synchronized (this) {
+            ensureLoaded();
+            if (index.get(name) == null) {
+                missCount++;
+                return null;
+            }
+        }
+        Path entryPath = cacheDir().resolve(name);
+        try {
+            CachedLayers cached = objectMapper.readValue(entryPath.toFile(), CachedLayers.class);
+            if (!key.path.equals(cached.path) || key.size != cached.size || key.lastModified != cached.lastModified) {
+                // SHA-256 冲突或条目被外部修改
+                synchronized (this) {
+                    missCount++;
+                }
+                return null;
+            }
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (this) {
+                hitCount++;
+            }
+            logger.debug("图层缓存命中: {}", key.path);
+            return cached.layers;
+        } catch (IOException e) {
+            logger.warn("读取图层缓存失败，丢弃该条目: {} - {}", key.path, e.getMessage());
+            synchronized (this) {
+                missCount++;
+                remove(name);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存，超出容量时淘汰最久未访问的条目
+     */
+    public void put(Key key, List<LayerInfo> layers) {
+        CachedLayers cached = new CachedLayers();
+        cached.path = key.path;
+        cached.size = key.size;
+        cached.lastModified = key.lastModified;
+        cached.layers = layers;
+        String name = key.fileName();
+        try {
+            byte[] content = objectMapper.writeValueAsBytes(cached);
+            if (content.length > scanConfig.getLayerCacheMaxBytes()) {
+                return;
+            }
+            Path dir = cacheDir();
+            Files.createDirectories(dir);
+            // 先写临时文件再改名，避免并发读到不完整的条目
+            Path temp = Files.createTempFile(dir, name, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                ensureLoaded();
+                IndexEntry previous = index.put(name, new IndexEntry(key.path, content.length));
+                totalBytes += content.length - (previous != null ? previous.bytes : 0);
+                evictOverflow();
+            }
+        } catch (IOException e) {
+            logger.warn("写入图层缓存失败: {} - {}", key.path, e.getMessage());
+        }
+    }
+
+    /**
+     * 使目录（含子目录）下所有文件的缓存条目失效
+     * @param directory 目录
+     * @return 失效的条目数
+     */
+    public synchronized int invalidateUnder(File directory) {
+        ensureLoaded();
+        String prefix;
+        try {
+            prefix = directory.toPath().toRealPath().toString();
+        } catch (IOException e) {
+            prefix = directory.getAbsolutePath();
+        }
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+            String path = entry.getValue().path;
+            if (path.equals(prefix) || path.startsWith(prefix + File.separator)) {
+                names.add(entry.getKey());
+            }
+        }
+        for (String name : names) {
+            remove(name);
+        }
+        invalidationCount += names.size();
+        logger.info("图层缓存失效: {} - {} 个条目", prefix, names.size());
+        return names.size();
+    }
+
+    /**
+     * 缓存统计
+     */
+    public synchronized LayerCacheStats getStats() {
+        if (scanConfig.isLayerCacheEnabled()) {
+            ensureLoaded();
+        }
+        LayerCacheStats stats = new LayerCacheStats();
+        stats.setEnabled(scanConfig.isLayerCacheEnabled());
+        stats.setHitCount(hitCount);
+        stats.setMissCount(missCount);
+        stats.setEvictionCount(evictionCount);
+        stats.setInvalidationCount(invalidationCount);
+        stats.setEntryCount(index.size());
+        stats.setTotalBytes(totalBytes);
+        stats.setMaxBytes(scanConfig.getLayerCacheMaxBytes());
+        return stats;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, IndexEntry>> iterator = index.entrySet().iterator();
+        while (totalBytes > scanConfig.getLayerCacheMaxBytes() && iterator.hasNext()) {
+            Map.Entry<String, IndexEntry> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue().bytes;
+            evictionCount++;
+            deleteQuietly(cacheDir().resolve(eldest.getKey()));
+            logger.debug("图层缓存淘汰: {}", eldest.getValue().path);
+        }
+    }
+
+    private void remove(String name) {
+        IndexEntry removed = index.remove(name);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+        deleteQuietly(cacheDir().resolve(name));
+    }
+
+    /**
+     * 首次使用时从缓存目录恢复索引，按条目文件的修改时间（最近访问时间）排序
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path dir = cacheDir();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + ENTRY_SUFFIX)) {
+            stream.forEach(entries::add);
+        } catch (IOException e) {
+            logger.warn("读取图层缓存目录失败: {} - {}", dir, e.getMessage());
+            return;
+        }
+        entries.sort((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()));
+        for (Path entry : entries) {
+            try {
+                JsonNode path = objectMapper.readTree(entry.toFile()).get("path");
+                if (path == null) {
+                    deleteQuietly(entry);
+                    continue;
+                }
+                long bytes = Files.size(entry);
+                index.put(entry.getFileName().toString(), new IndexEntry(path.asText(), bytes));
+                totalBytes += bytes;
+            } catch (IOException e) {
+                deleteQuietly(entry);
+            }
+        }
+        evictOverflow();
+        logger.info("图层缓存已加载: {} 个条目, {} 字节", index.size(), totalBytes);
+    }
+
+    private Path cacheDir() {
+        return Paths.get(scanConfig.getLayerCacheDir());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("删除缓存文件失败: {} - {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    public static final class Key {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+
+        Key(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        String fileName() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] hash = digest.digest((path + "|" + size + "|" + lastModified).getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(hash) + ENTRY_SUFFIX;
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 不可用", e);
+            }
+        }
+    }
+
+    /**
+     * 索引条目：原文件规范路径与条目文件大小
+     */
+    private static final class IndexEntry {
+        private final String path;
+        private final long bytes;
+
+        IndexEntry(String path, long bytes) {
+            this.path = path;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * 条目文件内容
+     */
+    static final class CachedLayers {
+        public String path;
+        public long size;
+        public long lastModified;
+        public List<LayerInfo> layers;
+    }
+}
@@ -0,0 +1,64 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MDB（Access / Personal Geodatabase）解析器
+ * 文件头第 4~18 字节为 "Standard Jet DB" 或 "Standard ACE DB"
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class MdbFormatParser implements FormatParser {
+
+    // Jackcess 打开数据库需要缓存页和系统表，同时解析过多会占满内存和扫描线程
+    private static final int MAX_CONCURRENCY = 2;
+
+    private final SimpleGeoParser simpleGeoParser;
+
+    public MdbFormatParser(SimpleGeoParser simpleGeoParser) {
+        this.simpleGeoParser = simpleGeoParser;
+    }
+
+    @Override
+    public String getFormat() {
+        return "mdb";
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Collections.singleton("mdb");
+    }
+
+    @Override
+    public boolean matches(File file, ByteBuffer header) {
+        if (header == null || header.limit() < 19) {
+            return false;
+        }
+        byte[] signature = new byte[15];
+        header.get(4, signature);
+        String text = new String(signature, StandardCharsets.US_ASCII);
+        return text.equals("Standard Jet DB") || text.equals("Standard ACE DB");
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return MAX_CONCURRENCY;
+    }
+
+    @Override
+    public List<LayerInfo> parse(File file) throws IOException {
+        return simpleGeoParser.parseMdbFile(file.getAbsolutePath());
+    }
+}
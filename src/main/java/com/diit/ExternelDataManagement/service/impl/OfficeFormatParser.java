@@ -0,0 +1,72 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Office 文档解析器（doc、docx、xls、xlsx）
+ * OOXML 为 ZIP 文件（"PK\3\4"），旧版二进制文档为 OLE2 复合文档（D0 CF 11 E0 A1 B1 1A E1）；
+ * ZIP 签名并非文档独有，因此还要求扩展名为 Office 文档
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class OfficeFormatParser implements FormatParser {
+
+    private static final int ZIP_SIGNATURE = 0x504B0304;
+
+    private static final long OLE_SIGNATURE = 0xD0CF11E0A1B11AE1L;
+
+    private static final Set<String> EXTENSIONS = new HashSet<>(Arrays.asList("doc", "docx", "xls", "xlsx"));
+
+    private final SimpleGeoParser simpleGeoParser;
+
+    public OfficeFormatParser(SimpleGeoParser simpleGeoParser) {
+        this.simpleGeoParser = simpleGeoParser;
+    }
+
+    @Override
+    public String getFormat() {
+        return "office";
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return EXTENSIONS;
+    }
+
+    @Override
+    public boolean matches(File file, ByteBuffer header) {
+        if (header == null || header.limit() < 8) {
+            return false;
+        }
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        int lastDotIndex = name.lastIndexOf('.');
+        if (lastDotIndex < 0 || !EXTENSIONS.contains(name.substring(lastDotIndex + 1))) {
+            return false;
+        }
+        return header.getInt(0) == ZIP_SIGNATURE || header.getLong(0) == OLE_SIGNATURE;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        // 只读取目录与摘要信息，不限制
+        return 0;
+    }
+
+    @Override
+    public List<LayerInfo> parse(File file) throws IOException {
+        return simpleGeoParser.parseDocument(file.getAbsolutePath());
+    }
+}
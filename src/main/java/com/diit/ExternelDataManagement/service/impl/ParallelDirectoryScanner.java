@@ -0,0 +1,130 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 并行目录遍历器
+ * 基于 ForkJoin 工作窃取线程池并行列举目录，每发现一个待解析文件立即交给回调处理。
+ * 每个文件附带层级顺序键（各级目录中的列举下标），按顺序键字典序排列即为串行深度优先遍历顺序。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class ParallelDirectoryScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelDirectoryScanner.class);
+
+    private final ForkJoinPool scanPool;
+
+    public ParallelDirectoryScanner(ScanConfig scanConfig) {
+        int parallelism = Math.max(1, scanConfig.getParallelism());
+        this.scanPool = new ForkJoinPool(parallelism);
+        logger.info("并行目录扫描线程池已创建，并行度: {}", parallelism);
+    }
+
+    /**
+     * 异步并行遍历目录
+     * 回调在遍历线程池的工作线程中执行，需要阻塞等待时应通过 ForkJoinPool.managedBlock 阻塞，
+     * 使线程池补充工作线程，其他遍历任务不会因此停顿
+     * @param directory 根目录
+     * @param supported 判断普通文件是否需要解析
+     * @param sink 文件回调（顺序键, 文件），在遍历线程中调用，可阻塞以形成背压
+     * @param stopped 返回 true 时不再列举尚未开始的目录
+     * @param onComplete 遍历结束回调，所有文件均已交给 sink 后在遍历线程中调用，参数为遍历异常（正常结束为 null）
+     * @return 遍历任务，完成即表示所有文件均已交给回调且结束回调已执行
+     */
+    public ForkJoinTask<?> walk(File directory, Predicate<File> supported, BiConsumer<int[], File> sink,
+                                BooleanSupplier stopped, Consumer<Throwable> onComplete) {
+        DirectoryTask root = new DirectoryTask(directory, new int[0], supported, sink, stopped);
+        return scanPool.submit(() -> {
+            Throwable error = null;
+            try {
+                root.invoke();
+            } catch (Throwable e) {
+                error = e;
+            }
+            onComplete.accept(error);
+        });
+    }
+
+    /**
+     * 比较两个层级顺序键
+     */
+    public static int compareOrderKeys(int[] a, int[] b) {
+        return Arrays.compare(a, b);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    /**
+     * 目录遍历任务：列举一层目录，文件直接交给回调，子目录派生子任务
+     */
+    private static class DirectoryTask extends RecursiveAction {
+
+        private final File directory;
+        private final int[] orderKey;
+        private final Predicate<File> supported;
+        private final BiConsumer<int[], File> sink;
+        private final BooleanSupplier stopped;
+
+        DirectoryTask(File directory, int[] orderKey, Predicate<File> supported, BiConsumer<int[], File> sink,
+                      BooleanSupplier stopped) {
+            this.directory = directory;
+            this.orderKey = orderKey;
+            this.supported = supported;
+            this.sink = sink;
+            this.stopped = stopped;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.getAsBoolean()) {
+                return;
+            }
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+
+            List<DirectoryTask> subtasks = new ArrayList<>();
+            for (int i = 0; i < files.length; i++) {
+                File file = files[i];
+                int[] childKey = Arrays.copyOf(orderKey, orderKey.length + 1);
+                childKey[orderKey.length] = i;
+                if (file.isDirectory()) {
+                    // GDB 文件夹直接作为整体解析，不递归进入
+                    if (file.getName().toLowerCase().endsWith(".gdb")) {
+                        logger.info("发现 GDB 文件夹: {}", file.getAbsolutePath());
+                        sink.accept(childKey, file);
+                    } else {
+                        subtasks.add(new DirectoryTask(file, childKey, supported, sink, stopped));
+                    }
+                } else if (supported.test(file)) {
+                    sink.accept(childKey, file);
+                }
+            }
+
+            invokeAll(subtasks);
+        }
+    }
+}
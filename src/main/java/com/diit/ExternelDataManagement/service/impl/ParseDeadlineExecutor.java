@@ -0,0 +1,211 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.exception.ParseTimeoutException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个文件解析单元的时限执行器
+ * 文件的状态查询（大小、修改时间、缓存键）、格式识别和解析作为一个整体在解析工作线程中执行，
+ * 调用方只等待结果：超过时限后中断工作线程并抛出 ParseTimeoutException，网络共享上打开或查询属性时
+ * 无响应的文件不会阻塞扫描。识别出格式之前使用扩展名对应格式的时限，识别后改用实际格式的时限
+ * （scan.format-timeout-seconds.&lt;格式&gt;，未配置时为 scan.parse-timeout-seconds）；
+ * 等待格式并发许可的时间不计入时限。
+ * 工作线程数有上限（scan.parse-worker-threads），卡在 I/O 上无法中断的线程继续占用名额和格式并发许可，
+ * 直到真正退出；名额被占满时新文件等待一个时限后按解析失败处理，线程数不会无限增长。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class ParseDeadlineExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParseDeadlineExecutor.class);
+
+    // 等待工作线程结果时检查时限的间隔（毫秒）
+    private static final long POLL_INTERVAL_MS = 100;
+
+    // 识别出格式之前超时时记录的格式名称
+    private static final String UNKNOWN_FORMAT = "unknown";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final ScanConfig scanConfig;
+
+    private final FormatParserRegistry formatParserRegistry;
+
+    private final ThreadPoolExecutor workers;
+
+    public ParseDeadlineExecutor(ScanConfig scanConfig, FormatParserRegistry formatParserRegistry) {
+        this.scanConfig = scanConfig;
+        this.formatParserRegistry = formatParserRegistry;
+        int threads = scanConfig.getParseWorkerThreads() > 0
+                ? scanConfig.getParseWorkerThreads() : Math.max(2, scanConfig.getParallelism() * 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "format-parse-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+        logger.info("解析工作线程上限: {}", threads);
+    }
+
+    /**
+     * 在解析工作线程中执行单个文件的解析单元并等待结果
+     * @param file 文件或文件夹
+     * @param task 解析单元（包括该文件的全部 I/O）
+     * @return 解析单元的结果
+     * @throws ParseTimeoutException 解析单元超过时限
+     * @throws IOException 解析单元失败、工作线程被超时任务占满或等待被中断
+     */
+    public <T> T call(File file, Callable<T> task) throws IOException {
+        Deadline deadline = new Deadline(formatParserRegistry.formatOf(file.getName()));
+        Future<T> future = workers.submit(() -> {
+            deadline.start();
+            CURRENT.set(deadline);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.remove();
+                deadline.pause();
+            }
+        });
+        long submittedAt = System.currentTimeMillis();
+        try {
+            while (true) {
+                try {
+                    return future.get(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (!deadline.isStarted()) {
+                        long queueLimit = deadline.getLimitMillis();
+                        if (queueLimit > 0 && System.currentTimeMillis() - submittedAt > queueLimit) {
+                            future.cancel(false);
+                            throw new IOException("解析工作线程均被超时任务占用，放弃解析: " + file.getAbsolutePath());
+                        }
+                    } else if (deadline.isExpired()) {
+                        future.cancel(true);
+                        String format = deadline.getFormat() != null ? deadline.getFormat() : UNKNOWN_FORMAT;
+                        logger.warn("文件解析超过 {} 格式时限 {} 秒，已中断: {}", format,
+                                deadline.getLimitMillis() / 1000, file.getAbsolutePath());
+                        throw new ParseTimeoutException(format, deadline.getLimitMillis() / 1000,
+                                file.getAbsolutePath());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待解析结果时被中断: " + file.getAbsolutePath());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("解析文件失败: " + file.getAbsolutePath(), cause);
+        }
+    }
+
+    /**
+     * 格式的解析时限（毫秒），0 表示不限制；格式未知时使用 scan.parse-timeout-seconds
+     */
+    long timeoutMillis(String format) {
+        int seconds = format != null
+                ? scanConfig.getFormatTimeoutSeconds().getOrDefault(format, scanConfig.getParseTimeoutSeconds())
+                : scanConfig.getParseTimeoutSeconds();
+        return Math.max(0, seconds) * 1000L;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * 当前线程正在执行的解析单元的时限，不在解析单元中时返回 null
+     */
+    static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 单个解析单元的时限：只累计工作线程实际执行的时间，暂停期间（等待格式并发许可）不计时
+     */
+    final class Deadline {
+        private volatile String format;
+        private volatile long limitMillis;
+        private volatile boolean started;
+        private long activeMillis;
+        private long runningSince = -1;
+
+        private Deadline(String format) {
+            this.format = format;
+            this.limitMillis = timeoutMillis(format);
+        }
+
+        /**
+         * 识别出实际格式后改用该格式的时限
+         */
+        void identified(String format) {
+            this.format = format;
+            this.limitMillis = timeoutMillis(format);
+        }
+
+        synchronized void start() {
+            started = true;
+            runningSince = System.currentTimeMillis();
+        }
+
+        synchronized void pause() {
+            if (runningSince >= 0) {
+                activeMillis += System.currentTimeMillis() - runningSince;
+                runningSince = -1;
+            }
+        }
+
+        synchronized void resume() {
+            if (runningSince < 0) {
+                runningSince = System.currentTimeMillis();
+            }
+        }
+
+        synchronized boolean isExpired() {
+            long elapsed = activeMillis + (runningSince >= 0 ? System.currentTimeMillis() - runningSince : 0);
+            return limitMillis > 0 && elapsed > limitMillis;
+        }
+
+        boolean isStarted() {
+            return started;
+        }
+
+        String getFormat() {
+            return format;
+        }
+
+        long getLimitMillis() {
+            return limitMillis;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.common.IngestMode;
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.exception.DataNotFoundException;
+import com.diit.ExternelDataManagement.pojo.ParseJob;
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import com.diit.ExternelDataManagement.service.FileService;
+import com.diit.ExternelDataManagement.service.ParseJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 异步文件解析任务服务实现
+ * 解析任务在专用线程池中执行，任务状态保存在内存中，已结束的任务按保留时长清理
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Service
+public class ParseJobServiceImpl implements ParseJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParseJobServiceImpl.class);
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private ScanConfig scanConfig;
+
+    @Autowired
+    @Qualifier("parseJobExecutor")
+    private ThreadPoolTaskExecutor parseJobExecutor;
+
+    private final Map<String, ParseJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized ParseJob submit(String receiveCode, IngestMode ingestMode) {
+        if (receiveCode == null || receiveCode.trim().isEmpty()) {
+            throw new IllegalArgumentException("接收编码不能为空");
+        }
+        cleanupFinishedJobs();
+
+        // 同一接收编码只允许一个未结束的任务，避免重复扫描
+        for (ParseJob existing : jobs.values()) {
+            if (receiveCode.equals(existing.getReceiveCode()) && !existing.isFinished()) {
+                logger.info("接收编码已有未结束的解析任务，直接返回: jobId={}, receiveCode={}", existing.getJobId(), receiveCode);
+                return existing;
+            }
+        }
+
+        ParseJob job = new ParseJob(generateJobId(), receiveCode, ingestMode != null ? ingestMode : IngestMode.AUTO);
+        jobs.put(job.getJobId(), job);
+        try {
+            parseJobExecutor.execute(() -> runJob(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getJobId());
+            logger.warn("解析任务队列已满，拒绝提交: receiveCode={}", receiveCode);
+            throw new RuntimeException("解析任务队列已满，请稍后重试");
+        }
+        logger.info("解析任务已提交: jobId={}, receiveCode={}", job.getJobId(), receiveCode);
+        return job;
+    }
+
+    @Override
+    public ParseJob getJob(String jobId) {
+        ParseJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new DataNotFoundException("解析任务不存在，jobId: " + jobId);
+        }
+        return job;
+    }
+
+    @Override
+    public ParseJob cancel(String jobId) {
+        ParseJob job = getJob(jobId);
+        if (job.isFinished()) {
+            logger.info("解析任务已结束，无需取消: jobId={}, status={}", jobId, job.getStatus());
+            return job;
+        }
+        job.getProgress().cancel();
+        logger.info("已请求取消解析任务: jobId={}", jobId);
+        return job;
+    }
+
+    /**
+     * 在解析线程池中执行解析任务
+     */
+    private void runJob(ParseJob job) {
+        if (job.getProgress().isCancelled()) {
+            finishJob(job, ParseJob.STATUS_CANCELLED, "任务在开始前已取消");
+            return;
+        }
+        job.setStatus(ParseJob.STATUS_RUNNING);
+        job.setStartTime(LocalDateTime.now());
+        logger.info("开始执行解析任务: jobId={}, receiveCode={}", job.getJobId(), job.getReceiveCode());
+
+        try {
+            fileService.parseAndSaveFiles(job.getReceiveCode(), job.getIngestMode(), job.getProgress());
+            ParseProgress progress = job.getProgress();
+            finishJob(job, ParseJob.STATUS_COMPLETED, "解析完成，新增 " + progress.getRowsPersisted()
+                    + " 条，更新 " + progress.getRowsUpdated() + " 条，跳过 " + progress.getRowsSkipped()
+                    + " 条，失败 " + progress.getRowsFailed() + " 条");
+        } catch (CancellationException e) {
+            finishJob(job, ParseJob.STATUS_CANCELLED, "任务已取消");
+        } catch (Exception e) {
+            logger.error("解析任务执行失败: jobId={}, receiveCode={}", job.getJobId(), job.getReceiveCode(), e);
+            finishJob(job, ParseJob.STATUS_FAILED, e.getMessage());
+        }
+    }
+
+    private void finishJob(ParseJob job, String status, String message) {
+        job.setStatus(status);
+        job.setMessage(message);
+        job.setEndTime(LocalDateTime.now());
+        logger.info("解析任务结束: jobId={}, status={}, 进度: {}", job.getJobId(), status, job.getProgress());
+    }
+
+    /**
+     * 清理超过保留时长的已结束任务
+     */
+    private void cleanupFinishedJobs() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(scanConfig.getJobRetentionMinutes());
+        jobs.values().removeIf(job -> job.isFinished()
+                && job.getEndTime() != null && job.getEndTime().isBefore(expireBefore));
+    }
+
+    private String generateJobId() {
+        // 生成格式: JOB_YYYYMMDD_HHMMSS_UUID前8位
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String uuid = UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
+        return "JOB_" + timestamp + "_" + uuid;
+    }
+}
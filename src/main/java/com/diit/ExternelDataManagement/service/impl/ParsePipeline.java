@@ -0,0 +1,279 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.pojo.FileEntity;
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 文件解析流水线：目录遍历 -> 解析线程池 -> 入库
+ * 各阶段之间通过有界队列连接，队列满时上游阻塞等待（背压），
+ * 解析结果按分片交给入库回调，扫描过程中即可持续入库，内存占用与目录规模无关。
+ * 解析线程池（parserExecutor）由所有流水线共用，同时运行的解析任务不会使解析线程数超过 scan.parallelism。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class ParsePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParsePipeline.class);
+
+    // 队列阻塞等待时检查中止标记的间隔（毫秒）
+    private static final long POLL_INTERVAL_MS = 100;
+
+    // 遍历结束标记
+    private static final ScannedFile END_OF_FILES = new ScannedFile(null, null);
+
+    @Autowired
+    private ParallelDirectoryScanner directoryScanner;
+
+    @Autowired
+    private ScanConfig scanConfig;
+
+    @Autowired
+    @Qualifier("parserExecutor")
+    private ThreadPoolTaskExecutor parserExecutor;
+
+    /**
+     * 运行解析流水线，入库回调在调用线程中执行
+     * @param directory 根目录
+     * @param supported 判断普通文件是否需要解析
+     * @param parser 文件解析函数，返回该文件对应的实体列表
+     * @param writer 入库回调，每次传入不超过 scan.write-chunk-size 条记录
+     * @param progress 解析进度（取消后流水线尽快停止并抛出 CancellationException）
+     * @param retainRows 是否保留全部解析结果并按串行遍历顺序返回（同步接口使用）
+     * @return retainRows 为 true 时返回全部文件实体，否则返回空列表
+     */
+    public List<FileEntity> run(File directory, Predicate<File> supported, Function<File, List<FileEntity>> parser,
+                                Consumer<List<FileEntity>> writer, ParseProgress progress, boolean retainRows) {
+        int queueCapacity = Math.max(1, scanConfig.getQueueCapacity());
+        int chunkSize = Math.max(1, scanConfig.getWriteChunkSize());
+        long flushIntervalMillis = Math.max(0, scanConfig.getWriteFlushIntervalSeconds()) * 1000L;
+        int parseLoops = Math.max(1, scanConfig.getParallelism());
+
+        BlockingQueue<ScannedFile> fileQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ParsedFile> resultQueue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // 遍历阶段：ForkJoin 并行列举目录，文件逐个放入文件队列；遍历结束后在遍历线程中为每个解析循环放入一个结束标记
+        directoryScanner.walk(directory, supported,
+                (orderKey, file) -> put(fileQueue, new ScannedFile(orderKey, file), failure, progress),
+                () -> failure.get() != null || progress.isCancelled(),
+                error -> {
+                    if (error != null) {
+                        failure.compareAndSet(null, error);
+                    }
+                    for (int i = 0; i < parseLoops; i++) {
+                        put(fileQueue, END_OF_FILES, failure, progress);
+                    }
+                });
+
+        // 解析阶段：在共用解析线程池中运行固定数量的解析循环，从文件队列取文件，解析结果放入结果队列
+        for (int i = 0; i < parseLoops; i++) {
+            parserExecutor.execute(() -> parseLoop(fileQueue, resultQueue, parser, failure, progress));
+        }
+
+        List<ParsedFile> retained = retainRows ? new ArrayList<>() : null;
+        try {
+            writeLoop(resultQueue, parseLoops, chunkSize, flushIntervalMillis, writer, failure, progress, retained);
+        } catch (RuntimeException e) {
+            // 设置中止标记，本次流水线的解析循环处理完当前文件后退出
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+
+        logger.info("解析流水线执行完成: {}, 进度: {}", directory.getAbsolutePath(), progress);
+        if (!retainRows) {
+            return new ArrayList<>();
+        }
+        retained.sort(Comparator.comparing(ParsedFile::orderKey, ParallelDirectoryScanner::compareOrderKeys));
+        List<FileEntity> fileEntities = new ArrayList<>();
+        for (ParsedFile parsedFile : retained) {
+            fileEntities.addAll(parsedFile.entities());
+        }
+        return fileEntities;
+    }
+
+    /**
+     * 解析循环：从文件队列取文件解析，取到结束标记或流水线中止后通知入库阶段
+     * 共用线程池中有其他解析循环排队时，处理完当前文件（或等待一个轮询间隔）后让出线程，
+     * 将自身重新提交到队尾，并发的解析任务按文件轮流使用解析线程
+     */
+    private void parseLoop(BlockingQueue<ScannedFile> fileQueue, BlockingQueue<ParsedFile> resultQueue,
+                           Function<File, List<FileEntity>> parser, AtomicReference<Throwable> failure,
+                           ParseProgress progress) {
+        boolean finished = true;
+        try {
+            while (failure.get() == null && !progress.isCancelled()) {
+                ScannedFile scannedFile = fileQueue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (scannedFile == END_OF_FILES) {
+                    break;
+                }
+                if (scannedFile != null) {
+                    List<FileEntity> entities = parser.apply(scannedFile.file());
+                    put(resultQueue, new ParsedFile(scannedFile.orderKey(), entities), failure, progress);
+                }
+                if (parserExecutor.getQueueSize() > 0) {
+                    parserExecutor.execute(() -> parseLoop(fileQueue, resultQueue, parser, failure, progress));
+                    finished = false;
+                    return;
+                }
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            // 无论正常结束还是出错，都通知入库阶段本解析循环已结束（出错时入库阶段通过中止标记感知）
+            if (finished) {
+                put(resultQueue, ParsedFile.END, failure, progress);
+            }
+        }
+    }
+
+    /**
+     * 入库阶段：凑满 scan.write-chunk-size 条写入一次；解析较慢时未凑满的分片最多等待 flushIntervalMillis 后写入，
+     * 不会每个轮询间隔写入零散的几条记录；全部解析线程结束后写入剩余记录
+     */
+    private void writeLoop(BlockingQueue<ParsedFile> resultQueue, int parseLoops, int chunkSize,
+                           long flushIntervalMillis, Consumer<List<FileEntity>> writer,
+                           AtomicReference<Throwable> failure, ParseProgress progress, List<ParsedFile> retained) {
+        List<FileEntity> chunk = new ArrayList<>(chunkSize);
+        // 当前分片第一条记录加入的时间
+        long chunkStartedAt = 0;
+        int finishedParsers = 0;
+        while (finishedParsers < parseLoops) {
+            rethrowFailure(failure, progress);
+            if (!chunk.isEmpty() && System.currentTimeMillis() - chunkStartedAt >= flushIntervalMillis) {
+                writer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+            ParsedFile parsedFile;
+            try {
+                parsedFile = resultQueue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("解析任务已中断");
+            }
+            if (parsedFile == null) {
+                continue;
+            }
+            if (parsedFile == ParsedFile.END) {
+                finishedParsers++;
+                continue;
+            }
+            if (retained != null) {
+                retained.add(parsedFile);
+            }
+            for (FileEntity entity : parsedFile.entities()) {
+                if (chunk.isEmpty()) {
+                    chunkStartedAt = System.currentTimeMillis();
+                }
+                chunk.add(entity);
+                if (chunk.size() >= chunkSize) {
+                    writer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        rethrowFailure(failure, progress);
+        if (!chunk.isEmpty()) {
+            writer.accept(chunk);
+        }
+    }
+
+    private void rethrowFailure(AtomicReference<Throwable> failure, ParseProgress progress) {
+        progress.checkCancelled();
+        Throwable e = failure.get();
+        if (e == null) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        throw new RuntimeException("文件解析流水线执行失败: " + e.getMessage(), e);
+    }
+
+    /**
+     * 放入有界队列，队列满时阻塞等待；流水线中止或任务取消时放弃
+     * 通过 ForkJoinPool.managedBlock 阻塞：在遍历线程池中阻塞时线程池补充工作线程，
+     * 入库较慢的流水线不会占满共用的遍历线程、拖住其他解析任务的遍历；在普通线程中等同于直接阻塞
+     */
+    private <T> void put(BlockingQueue<T> queue, T item, AtomicReference<Throwable> failure, ParseProgress progress) {
+        try {
+            ForkJoinPool.managedBlock(new QueuePut<>(queue, item, failure, progress));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 可被 ForkJoin 线程池感知的有界队列放入操作，每个轮询间隔检查一次中止标记
+     */
+    private static final class QueuePut<T> implements ForkJoinPool.ManagedBlocker {
+
+        private final BlockingQueue<T> queue;
+        private final T item;
+        private final AtomicReference<Throwable> failure;
+        private final ParseProgress progress;
+        private boolean done;
+
+        QueuePut(BlockingQueue<T> queue, T item, AtomicReference<Throwable> failure, ParseProgress progress) {
+            this.queue = queue;
+            this.item = item;
+            this.failure = failure;
+            this.progress = progress;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!done) {
+                done = aborted() || queue.offer(item, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            return done;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (!done) {
+                done = aborted() || queue.offer(item);
+            }
+            return done;
+        }
+
+        private boolean aborted() {
+            return failure.get() != null || progress.isCancelled();
+        }
+    }
+
+    /**
+     * 遍历得到的待解析文件
+     */
+    private record ScannedFile(int[] orderKey, File file) {
+    }
+
+    /**
+     * 单个文件的解析结果
+     */
+    private record ParsedFile(int[] orderKey, List<FileEntity> entities) {
+        static final ParsedFile END = new ParsedFile(null, null);
+    }
+}
@@ -0,0 +1,211 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.healthmarketscience.jackcess.Cursor;
+import com.healthmarketscience.jackcess.CursorBuilder;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Personal Geodatabase（MDB）系统表读取器
+ * 从 GDB_GeomColumns 读取各要素类的几何字段、几何类型、Z/M 标记和范围，从 GDB_SpatialRefs 读取空间参考 WKT；
+ * 范围缺失时逐行读取几何字段，只解析形状二进制开头的类型和外包矩形。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class PersonalGdbReader {
+
+    private static final String GEOM_COLUMNS_TABLE = "GDB_GeomColumns";
+
+    private static final String SPATIAL_REFS_TABLE = "GDB_SpatialRefs";
+
+    private PersonalGdbReader() {
+    }
+
+    /**
+     * 是否为 Personal Geodatabase（存在 GDB_GeomColumns 表）
+     */
+    public static boolean isPersonalGdb(Database db) throws IOException {
+        return db.getTableNames().stream().anyMatch(GEOM_COLUMNS_TABLE::equalsIgnoreCase);
+    }
+
+    /**
+     * 读取全部要素类的几何字段定义
+     * @return 表名（不区分大小写）-> 几何字段定义；不是 Personal Geodatabase 时返回空映射
+     */
+    public static Map<String, GeomColumn> readGeomColumns(Database db) throws IOException {
+        if (!isPersonalGdb(db)) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, String> spatialRefs = readSpatialRefs(db);
+
+        Map<String, GeomColumn> columns = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Row row : db.getTable(GEOM_COLUMNS_TABLE)) {
+            String tableName = row.getString("TableName");
+            if (tableName == null) {
+                continue;
+            }
+            GeomColumn column = new GeomColumn();
+            column.tableName = tableName;
+            column.fieldName = row.getString("FieldName");
+            column.shapeType = toInt(row.get("ShapeType"));
+            column.hasZ = toBoolean(row.get("HasZ"));
+            column.hasM = toBoolean(row.get("HasM"));
+            column.extent = toExtent(toDouble(row.get("ExtentLeft")), toDouble(row.get("ExtentBottom")),
+                    toDouble(row.get("ExtentRight")), toDouble(row.get("ExtentTop")));
+            Integer srid = row.get("SRID") instanceof Number ? toInt(row.get("SRID")) : null;
+            column.wkt = srid != null ? spatialRefs.get(srid) : null;
+            columns.put(tableName, column);
+        }
+        return columns;
+    }
+
+    /**
+     * 读取 GDB_SpatialRefs：SRID -> 空间参考 WKT
+     */
+    private static Map<Integer, String> readSpatialRefs(Database db) throws IOException {
+        Map<Integer, String> spatialRefs = new HashMap<>();
+        Table table = db.getTable(SPATIAL_REFS_TABLE);
+        if (table == null) {
+            return spatialRefs;
+        }
+        for (Row row : table) {
+            if (row.get("SRID") instanceof Number && row.getString("SRTEXT") != null) {
+                spatialRefs.put(toInt(row.get("SRID")), row.getString("SRTEXT"));
+            }
+        }
+        return spatialRefs;
+    }
+
+    /**
+     * 逐行读取几何字段，由形状二进制开头的外包矩形汇总图层范围
+     * 形状二进制与 Shapefile 记录内容格式一致：类型(4) + 点坐标(16) 或 外包矩形(32) + 其余几何数据
+     * @return [minX, minY, maxX, maxY]；没有非空几何时返回 null
+     */
+    public static double[] scanShapeExtent(Table table, String fieldName) throws IOException {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        Cursor cursor = CursorBuilder.createCursor(table);
+        Row row;
+        while ((row = cursor.getNextRow(Collections.singleton(fieldName))) != null) {
+            byte[] shape = row.getBytes(fieldName);
+            if (shape == null || shape.length < 4) {
+                continue;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(shape).order(ByteOrder.LITTLE_ENDIAN);
+            int baseType = buffer.getInt(0) & 0xFF;
+            if (baseType == 0) {
+                continue;
+            }
+            if (isPointType(baseType)) {
+                if (shape.length < 20) {
+                    continue;
+                }
+                double x = buffer.getDouble(4);
+                double y = buffer.getDouble(12);
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            } else if (shape.length >= 36) {
+                minX = Math.min(minX, buffer.getDouble(4));
+                minY = Math.min(minY, buffer.getDouble(12));
+                maxX = Math.max(maxX, buffer.getDouble(20));
+                maxY = Math.max(maxY, buffer.getDouble(28));
+            }
+        }
+        return toExtent(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * 点类型：Point、PointZ、PointM、PointZM 以及扩展的通用点类型
+     */
+    private static boolean isPointType(int baseType) {
+        return baseType == 1 || baseType == 9 || baseType == 11 || baseType == 21 || baseType == 52;
+    }
+
+    private static double[] toExtent(Double minX, Double minY, Double maxX, Double maxY) {
+        if (minX == null || minY == null || maxX == null || maxY == null
+                || minX.isNaN() || minY.isNaN() || maxX.isNaN() || maxY.isNaN()
+                || minX.isInfinite() || maxX.isInfinite() || minX > maxX || minY > maxY
+                || (minX == 0 && minY == 0 && maxX == 0 && maxY == 0)) {
+            return null;
+        }
+        return new double[]{minX, minY, maxX, maxY};
+    }
+
+    private static Double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return value instanceof Number && ((Number) value).intValue() != 0;
+    }
+
+    /**
+     * 要素类几何字段定义
+     */
+    public static class GeomColumn {
+        private String tableName;
+        private String fieldName;
+        private int shapeType;
+        private boolean hasZ;
+        private boolean hasM;
+        private double[] extent;
+        private String wkt;
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        /** 几何类型编码（1 点、2 多点、3 线、4 面、9 多面体） */
+        public int getShapeType() {
+            return shapeType;
+        }
+
+        /** 几何类型名称，带 Z/M 后缀 */
+        public String getGeometryTypeName() {
+            return GdbTableReader.geometryTypeName(shapeType) + (hasZ ? "Z" : "") + (hasM ? "M" : "");
+        }
+
+        public boolean isHasZ() {
+            return hasZ;
+        }
+
+        public boolean isHasM() {
+            return hasM;
+        }
+
+        /** 系统表中记录的范围 [minX, minY, maxX, maxY]，缺失时为 null */
+        public double[] getExtent() {
+            return extent;
+        }
+
+        /** 空间参考 WKT，缺失时为 null */
+        public String getWkt() {
+            return wkt;
+        }
+    }
+}
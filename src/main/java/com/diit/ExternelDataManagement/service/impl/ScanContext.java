@@ -0,0 +1,200 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import com.diit.ExternelDataManagement.pojo.ParseQuarantineEntry;
+import com.diit.ExternelDataManagement.pojo.ScanManifestEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单次目录扫描的上下文
+ * 持有本次扫描共享的文件大小索引，以及上次扫描清单与本次扫描结果的比对状态，
+ * 并记录解析隔离名单的命中、本次超时和恢复正常的文件。
+ * 线程安全，可在并行扫描任务间共享。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public class ScanContext {
+
+    private final String receiveCode;
+
+    // 解析进度（同时承载取消标记）
+    private final ParseProgress progress;
+
+    // 本次扫描共用的文件大小索引，每个目录只遍历一次
+    private final FileSizeIndex sizeIndex = new FileSizeIndex();
+
+    // 上次扫描清单（文件路径 -> 清单条目）
+    private final Map<String, ScanManifestEntry> previousManifest;
+
+    // 本次扫描中遇到的文件路径
+    private final Set<String> seenFiles = ConcurrentHashMap.newKeySet();
+
+    // 本次重新解析的文件清单条目（待写入清单表）
+    private final Map<String, ScanManifestEntry> parsedEntries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+
+    // 解析隔离名单（文件路径 -> 名单条目）
+    private final Map<String, ParseQuarantineEntry> quarantine;
+
+    // 连续超时达到该次数的文件跳过解析，0 表示不隔离
+    private final int quarantineThreshold;
+
+    // 按路径隔离的条目（大小和修改时间未知）在最后一次超时后的有效期，为 null 表示一直有效
+    private final Duration quarantinePathExpiry;
+
+    // 本次解析超时的文件（待写入隔离名单）
+    private final Map<String, ParseQuarantineEntry> timedOutEntries = new ConcurrentHashMap<>();
+
+    public ScanContext(String receiveCode, List<ScanManifestEntry> previousEntries,
+                       List<ParseQuarantineEntry> quarantineEntries, int quarantineThreshold,
+                       Duration quarantinePathExpiry, ParseProgress progress) {
+        this.receiveCode = receiveCode;
+        this.progress = progress;
+        this.previousManifest = new HashMap<>();
+        for (ScanManifestEntry entry : previousEntries) {
+            previousManifest.put(entry.getFilePath(), entry);
+        }
+        this.quarantine = new HashMap<>();
+        for (ParseQuarantineEntry entry : quarantineEntries) {
+            quarantine.put(entry.getFilePath(), entry);
+        }
+        this.quarantineThreshold = quarantineThreshold;
+        this.quarantinePathExpiry = quarantinePathExpiry;
+    }
+
+    public String getReceiveCode() {
+        return receiveCode;
+    }
+
+    public ParseProgress getProgress() {
+        return progress;
+    }
+
+    public FileSizeIndex getSizeIndex() {
+        return sizeIndex;
+    }
+
+    /**
+     * 标记文件已在本次扫描中出现，并返回其上次扫描的清单条目
+     * @param filePath 文件路径
+     * @return 上次扫描的清单条目，首次出现返回 null
+     */
+    public ScanManifestEntry markSeen(String filePath) {
+        seenFiles.add(filePath);
+        return previousManifest.get(filePath);
+    }
+
+    /**
+     * 判断文件自上次扫描以来是否未发生变化（指纹的大小和修改时间均一致，.shp 包含同名附属文件，见 FileFingerprint）
+     */
+    public boolean isUnchanged(ScanManifestEntry previous, long fileSize, long lastModified) {
+        return previous != null
+                && previous.getFileSize() == fileSize
+                && previous.getLastModified() == lastModified;
+    }
+
+    /**
+     * 判断文件是否在隔离名单中：连续超时次数达到阈值，且大小和修改时间与最后一次超时时一致
+     */
+    public boolean isQuarantined(String filePath, long fileSize, long lastModified) {
+        ParseQuarantineEntry entry = quarantine.get(filePath);
+        return quarantineThreshold > 0
+                && entry != null
+                && entry.getTimeoutCount() >= quarantineThreshold
+                && entry.getFileSize() == fileSize
+                && entry.getLastModified() == lastModified;
+    }
+
+    /**
+     * 判断文件是否因查询状态时即超时（大小和修改时间未知）而按路径列入隔离名单，此类文件无需再查询状态
+     * 无法据文件变化解除隔离，最后一次超时超过有效期后重新尝试：再次超时则重新计入隔离，否则移出隔离名单
+     */
+    public boolean isQuarantinedByPath(String filePath) {
+        ParseQuarantineEntry entry = quarantine.get(filePath);
+        return quarantineThreshold > 0
+                && entry != null
+                && entry.getTimeoutCount() >= quarantineThreshold
+                && entry.getFileSize() < 0
+                && !isPathEntryExpired(entry);
+    }
+
+    /**
+     * 按路径隔离的条目是否已超过有效期
+     */
+    private boolean isPathEntryExpired(ParseQuarantineEntry entry) {
+        return quarantinePathExpiry != null
+                && entry.getFileSize() < 0
+                && (entry.getLastTimeoutTime() == null
+                    || entry.getLastTimeoutTime().plus(quarantinePathExpiry).isBefore(LocalDateTime.now()));
+    }
+
+    public void recordQuarantined() {
+        progress.fileQuarantined();
+    }
+
+    public void recordTimedOut(ParseQuarantineEntry entry) {
+        timedOutEntries.put(entry.getFilePath(), entry);
+        progress.fileTimedOut();
+    }
+
+    public void recordUnchanged() {
+        unchangedCount.incrementAndGet();
+        progress.fileUnchanged();
+    }
+
+    public void recordParsed(ScanManifestEntry entry) {
+        parsedEntries.put(entry.getFilePath(), entry);
+    }
+
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    public Collection<ScanManifestEntry> getParsedEntries() {
+        return parsedEntries.values();
+    }
+
+    public Collection<ParseQuarantineEntry> getTimedOutEntries() {
+        return timedOutEntries.values();
+    }
+
+    /**
+     * 获取隔离名单中本次已解析成功或已不存在的文件，以及按路径隔离已过期且本次重新尝试未超时的文件（需移出隔离名单）
+     */
+    public List<String> getReleasedQuarantineFiles() {
+        List<String> releasedFiles = new ArrayList<>();
+        for (Map.Entry<String, ParseQuarantineEntry> entry : quarantine.entrySet()) {
+            String filePath = entry.getKey();
+            if (parsedEntries.containsKey(filePath) || !seenFiles.contains(filePath)
+                    || (isPathEntryExpired(entry.getValue()) && !timedOutEntries.containsKey(filePath))) {
+                releasedFiles.add(filePath);
+            }
+        }
+        return releasedFiles;
+    }
+
+    /**
+     * 获取上次扫描存在、本次扫描中已不存在的文件
+     */
+    public List<String> getRemovedFiles() {
+        List<String> removedFiles = new ArrayList<>();
+        for (String filePath : previousManifest.keySet()) {
+            if (!seenFiles.contains(filePath)) {
+                removedFiles.add(filePath);
+            }
+        }
+        return removedFiles;
+    }
+}
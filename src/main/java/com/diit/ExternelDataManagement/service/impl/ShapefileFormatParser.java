@@ -0,0 +1,57 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shapefile 解析器
+ * 文件头前 4 字节为大端 9994
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@Component
+public class ShapefileFormatParser implements FormatParser {
+
+    private static final int FILE_CODE = 9994;
+
+    private final SimpleGeoParser simpleGeoParser;
+
+    public ShapefileFormatParser(SimpleGeoParser simpleGeoParser) {
+        this.simpleGeoParser = simpleGeoParser;
+    }
+
+    @Override
+    public String getFormat() {
+        return "shp";
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+        return Collections.singleton("shp");
+    }
+
+    @Override
+    public boolean matches(File file, ByteBuffer header) {
+        return header != null && header.limit() >= 100 && header.getInt(0) == FILE_CODE;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        // 几何扫描按窗口映射 .shp，内存占用固定，不限制
+        return 0;
+    }
+
+    @Override
+    public List<LayerInfo> parse(File file) throws IOException {
+        return simpleGeoParser.parseShapefileBasic(file.getAbsolutePath());
+    }
+}
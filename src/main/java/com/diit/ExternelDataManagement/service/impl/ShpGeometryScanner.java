@@ -0,0 +1,284 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Shapefile 几何记录流式扫描器
+ * 按固定大小的窗口内存映射 .shp 文件，直接在映射缓冲区上按绝对位置读取坐标，
+ * 逐条统计记录数、部件数、顶点数，并对面要素按鞋带公式计算面积（外环顺时针、内环逆时针，内环面积自动扣除）：
+ * 投影坐标系直接计算平面面积，地理坐标系先将经纬度变换到椭球等积圆柱投影再计算，得到椭球面积（平方米）。
+ * 扫描过程不为顶点分配对象，内存占用与文件大小无关。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class ShpGeometryScanner {
+
+    // Shapefile 文件头长度
+    private static final int FILE_HEADER_SIZE = 100;
+
+    // 记录头长度：记录号(4) + 内容长度(4)，均为大端
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    // 映射窗口大小，单条记录超过窗口时单独映射
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private ShpGeometryScanner() {
+    }
+
+    /**
+     * 扫描 .shp 文件的全部记录
+     * @param shpPath .shp 文件路径
+     * @return 扫描统计
+     * @throws IOException 文件无法读取或记录长度越界
+     */
+    public static ScanResult scan(Path shpPath) throws IOException {
+        return scan(shpPath, null);
+    }
+
+    /**
+     * 扫描 .shp 文件的全部记录
+     * @param shpPath .shp 文件路径
+     * @param crs 坐标系，地理坐标系时计算椭球面积；为 null 时按平面坐标计算
+     * @return 扫描统计
+     * @throws IOException 文件无法读取或记录长度越界
+     */
+    public static ScanResult scan(Path shpPath, CrsParser.CrsInfo crs) throws IOException {
+        CrsParser.CrsInfo geographic = crs != null && crs.isGeographic() ? crs : null;
+        try (FileChannel channel = FileChannel.open(shpPath, StandardOpenOption.READ)) {
+            Window window = new Window(channel);
+            long fileSize = channel.size();
+            if (fileSize < FILE_HEADER_SIZE) {
+                throw new IOException("shp 文件过小: " + shpPath);
+            }
+            long fileLength = Math.min(fileSize, Integer.toUnsignedLong(
+                    Integer.reverseBytes(window.require(24, 4).getInt(window.offset(24)))) * 2);
+
+            ScanResult result = new ScanResult();
+            result.geodesicArea = geographic != null;
+            long position = FILE_HEADER_SIZE;
+            while (position + RECORD_HEADER_SIZE <= fileLength) {
+                MappedByteBuffer header = window.require(position, RECORD_HEADER_SIZE);
+                long contentLength = Integer.toUnsignedLong(
+                        Integer.reverseBytes(header.getInt(window.offset(position + 4)))) * 2;
+                long contentStart = position + RECORD_HEADER_SIZE;
+                if (contentStart + contentLength > fileLength || contentLength > Integer.MAX_VALUE) {
+                    throw new IOException("shp 记录长度越界: 偏移 " + position + " (" + shpPath + ")");
+                }
+                if (contentLength >= 4) {
+                    MappedByteBuffer content = window.require(contentStart, (int) contentLength);
+                    scanRecord(content, window.offset(contentStart), (int) contentLength, result, geographic);
+                }
+                result.recordCount++;
+                position = contentStart + contentLength;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 解析单条记录内容（小端）：形状类型(4) + 形状数据
+     */
+    private static void scanRecord(MappedByteBuffer buffer, int start, int length, ScanResult result,
+                                   CrsParser.CrsInfo geographic) {
+        int shapeType = buffer.getInt(start);
+        switch (shapeType) {
+            case 0:
+                result.nullCount++;
+                break;
+            case 1:
+            case 11:
+            case 21:
+                result.vertexCount++;
+                break;
+            case 8:
+            case 18:
+            case 28:
+                // 类型(4) + 范围(32) + 点数(4)
+                if (length >= 40) {
+                    result.vertexCount += Integer.toUnsignedLong(buffer.getInt(start + 36));
+                }
+                break;
+            case 3:
+            case 13:
+            case 23:
+            case 31:
+                scanParts(buffer, start, length, result, false, geographic);
+                break;
+            case 5:
+            case 15:
+            case 25:
+                scanParts(buffer, start, length, result, true, geographic);
+                break;
+            default:
+                result.unknownCount++;
+                break;
+        }
+    }
+
+    /**
+     * 多部件记录：类型(4) + 范围(32) + 部件数(4) + 点数(4) + 部件起始下标(4*部件数) + XY 坐标(16*点数)
+     */
+    private static void scanParts(MappedByteBuffer buffer, int start, int length, ScanResult result, boolean polygon,
+                                  CrsParser.CrsInfo geographic) {
+        if (length < 44) {
+            return;
+        }
+        int numParts = buffer.getInt(start + 36);
+        int numPoints = buffer.getInt(start + 40);
+        int partsStart = start + 44;
+        int pointsStart = partsStart + numParts * 4;
+        if (numParts < 0 || numPoints < 0 || (long) numParts * 4 + (long) numPoints * 16 + 44 > length) {
+            result.invalidCount++;
+            return;
+        }
+        result.partCount += numParts;
+        result.vertexCount += numPoints;
+        if (!polygon) {
+            return;
+        }
+
+        double recordArea = 0;
+        for (int part = 0; part < numParts; part++) {
+            int from = buffer.getInt(partsStart + part * 4);
+            int to = part + 1 < numParts ? buffer.getInt(partsStart + (part + 1) * 4) : numPoints;
+            if (from < 0 || to > numPoints || to - from < 3) {
+                continue;
+            }
+            recordArea += geographic != null
+                    ? ringSignedAreaGeodesic(buffer, pointsStart, from, to, geographic)
+                    : ringSignedArea(buffer, pointsStart, from, to);
+        }
+        // 外环顺时针时鞋带公式为负，取反即为外环减内环；环方向不规范的数据取绝对值
+        result.totalArea += Math.abs(recordArea);
+    }
+
+    /**
+     * 鞋带公式计算环的有向面积（逆时针为正），坐标先减去首点以减小大坐标值的舍入误差
+     */
+    private static double ringSignedArea(MappedByteBuffer buffer, int pointsStart, int from, int to) {
+        int base = pointsStart + from * 16;
+        double x0 = buffer.getDouble(base);
+        double y0 = buffer.getDouble(base + 8);
+        double sum = 0;
+        double prevX = 0;
+        double prevY = 0;
+        for (int i = from + 1; i < to; i++) {
+            int offset = pointsStart + i * 16;
+            double x = buffer.getDouble(offset) - x0;
+            double y = buffer.getDouble(offset + 8) - y0;
+            sum += prevX * y - x * prevY;
+            prevX = x;
+            prevY = y;
+        }
+        return sum / 2;
+    }
+
+    /**
+     * 椭球面积：顶点变换到等积圆柱投影后按鞋带公式计算，相对首点累加以减小舍入误差
+     */
+    private static double ringSignedAreaGeodesic(MappedByteBuffer buffer, int pointsStart, int from, int to,
+                                                 CrsParser.CrsInfo crs) {
+        int base = pointsStart + from * 16;
+        double x0 = crs.equalAreaX(buffer.getDouble(base));
+        double y0 = crs.equalAreaY(buffer.getDouble(base + 8));
+        double sum = 0;
+        double prevX = 0;
+        double prevY = 0;
+        for (int i = from + 1; i < to; i++) {
+            int offset = pointsStart + i * 16;
+            double x = crs.equalAreaX(buffer.getDouble(offset)) - x0;
+            double y = crs.equalAreaY(buffer.getDouble(offset + 8)) - y0;
+            sum += prevX * y - x * prevY;
+            prevX = x;
+            prevY = y;
+        }
+        return sum / 2;
+    }
+
+    /**
+     * 映射窗口：所需区间不在当前窗口内时从该位置重新映射
+     */
+    private static final class Window {
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+        private long start;
+        private long end;
+
+        Window(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        MappedByteBuffer require(long position, int length) throws IOException {
+            if (buffer == null || position < start || position + length > end) {
+                long size = Math.min(Math.max(WINDOW_SIZE, length), channel.size() - position);
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                start = position;
+                end = position + size;
+            }
+            return buffer;
+        }
+
+        int offset(long position) {
+            return (int) (position - start);
+        }
+    }
+
+    /**
+     * 扫描统计
+     */
+    public static class ScanResult {
+        private int recordCount;
+        private int nullCount;
+        private int invalidCount;
+        private int unknownCount;
+        private long partCount;
+        private long vertexCount;
+        private double totalArea;
+        private boolean geodesicArea;
+
+        /** 记录总数（含空几何） */
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        /** 空几何记录数 */
+        public int getNullCount() {
+            return nullCount;
+        }
+
+        /** 部件数与点数越界的损坏记录数 */
+        public int getInvalidCount() {
+            return invalidCount;
+        }
+
+        /** 未知形状类型的记录数 */
+        public int getUnknownCount() {
+            return unknownCount;
+        }
+
+        public long getPartCount() {
+            return partCount;
+        }
+
+        public long getVertexCount() {
+            return vertexCount;
+        }
+
+        /** 面要素的面积合计：椭球面积为平方米，平面面积为坐标单位的平方；非面图层为 0 */
+        public double getTotalArea() {
+            return totalArea;
+        }
+
+        /** 面积是否按地理坐标系计算的椭球面积 */
+        public boolean isGeodesicArea() {
+            return geodesicArea;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.diit.ExternelDataManagement.service.impl;
 
 import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.Row;
+import com.healthmarketscience.jackcess.Table;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -10,22 +14,22 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 简化的地理空间数据解析器
- * 支持 GDB (通过 SQLite) 和 Shapefile (基本解析)
+ * 支持 GDB (直接读取 FileGDB 表文件)、Shapefile (基本解析)、MDB、GeoTIFF (只读取文件头和 IFD)、ERDAS IMAGINE (只读取 HFA 节点头)
+ * 以及 Office 文档 (只读取 ZIP 中央目录或 OLE2 摘要信息)。
+ * 各格式的入口由对应的 FormatParser 调用，格式识别与分发见 FormatParserRegistry
  * 
  * @author Assistant
  * @since 2025-11-05
@@ -36,74 +40,10 @@ public class SimpleGeoParser {
     private static final Logger logger = LoggerFactory.getLogger(SimpleGeoParser.class);
     
     /**
-     * 规范化文件路径，支持多种路径格式
-     * 支持：
-     * - Windows 普通路径：C:\data\file.gdb
-     * - Windows UNC 路径：\\server\share\file.gdb
-     * - Unix/Linux 路径：/data/file.gdb
-     * @param filePath 原始路径
-     * @return 规范化后的路径（Java File 和 Paths 类可以直接使用）
-     */
-    private String normalizePath(String filePath) {
-        if (filePath == null || filePath.isEmpty()) {
-            return filePath;
-        }
-        // Java 的 File 和 Paths 类可以处理各种路径格式
-        // 保持路径原样，让 Java 的文件系统 API 自动处理
-        return filePath;
-    }
-    
-    /**
-     * 为 SQLite JDBC URL 规范化路径
-     * SQLite JDBC 需要将反斜杠转换为正斜杠
-     * 支持：
-     * - Windows 普通路径：C:\data\file.gdb -> C:/data/file.gdb
-     * - Windows UNC 路径：\\server\share\file.gdb -> //server/share/file.gdb
-     * - Unix/Linux 路径：/data/file.gdb（保持不变）
-     * @param filePath 文件路径
-     * @return 适用于 SQLite JDBC 的路径（使用正斜杠）
-     */
-    private String normalizePathForSqlite(String filePath) {
-        if (filePath == null || filePath.isEmpty()) {
-            return filePath;
-        }
-        // SQLite JDBC 在 Windows 和 Unix 系统上都能处理正斜杠路径
-        // 将反斜杠统一转换为正斜杠，确保跨平台兼容性
-        // 对于 UNC 路径（\\server\share），转换为 //server/share
-        // 对于 Windows 普通路径（C:\data），转换为 C:/data
-        return filePath.replace('\\', '/');
-    }
-    
-    /**
-     * 解析地理空间数据文件
-     */
-    public List<LayerInfo> parseGeospatialFile(String filePath) throws IOException {
-        logger.info("解析地理空间文件: {}", filePath);
-        
-        // 规范化路径
-        String normalizedPath = normalizePath(filePath);
-        File file = new File(normalizedPath);
-        if (!file.exists()) {
-            throw new IOException("文件不存在: " + filePath);
-        }
-        
-        // 根据文件类型选择解析方法
-        if (file.isDirectory() && normalizedPath.toLowerCase().endsWith(".gdb")) {
-            return parseGdbFile(normalizedPath);
-        } else if (normalizedPath.toLowerCase().endsWith(".shp")) {
-            return parseShapefileBasic(normalizedPath);
-        } else if (normalizedPath.toLowerCase().endsWith(".mdb")) {
-            return parseMdbFile(normalizedPath);
-        } else {
-            throw new IOException("暂不支持的文件格式: " + filePath + "，当前支持 .gdb、.shp 和 .mdb");
-        }
-    }
-    
-    /**
-     * 解析 GDB 文件（通过 SQLite JDBC）
+     * 解析 GDB 文件（直接读取 FileGDB 表文件）
      * 通过GDB_Items表识别真正的图层
      */
-    private List<LayerInfo> parseGdbFile(String gdbPath) throws IOException {
+    List<LayerInfo> parseGdbFile(String gdbPath) throws IOException {
         logger.info("解析 GDB 文件: {}", gdbPath);
         
         List<LayerInfo> layers = new ArrayList<>();
@@ -120,39 +60,61 @@ public class SimpleGeoParser {
                 throw new IOException("路径不是目录: " + gdbPath);
             }
             
-            // 读取GDB目录表，获取真正的图层列表
-            List<GdbItem> gdbItems = readGdbItems(gdbDir);
+            // 只列举一次目录，系统目录、各图层表头和备用方法共用表文件索引
+            GdbTableIndex tableIndex = GdbTableIndex.build(gdbDir);
+            logger.debug("GDB 表文件索引: {} 个表", tableIndex.getTables().size());
+            
+            // 读取GDB系统目录和GDB_Items表，获取真正的图层列表及其表文件
+            GdbCatalogReader.Catalog catalog = readGdbCatalog(tableIndex);
+            List<GdbCatalogReader.Item> gdbItems = readGdbItems(catalog);
             logger.info("从GDB_Items表读取到 {} 个项目", gdbItems.size());
             
             if (gdbItems.isEmpty()) {
                 logger.warn("未找到任何图层项目，尝试备用方法...");
                 // 备用方法：遍历所有表文件
-                return parseGdbFileFallback(gdbPath);
+                return parseGdbFileFallback(tableIndex, catalog);
             }
             
             // 为每个图层项目创建LayerInfo
-            for (GdbItem item : gdbItems) {
+            for (GdbCatalogReader.Item item : gdbItems) {
                 LayerInfo layer = new LayerInfo();
                 
-                // 设置图层名称（已经过处理，去除了路径分隔符）
-                String layerName = item.name != null ? item.name.trim() : "未知图层";
+                String layerName = item.getName();
                 layer.setLayerName(layerName);
-                layer.setFilePath(item.path);
                 
                 // 根据类型设置几何类型
-                String geometryType = determineGeometryTypeFromGdbType(item.type);
+                String geometryType = determineGeometryTypeFromGdbType(item.getType());
                 layer.setGeometryType(geometryType);
                 
-                // 尝试读取要素数量
-                int featureCount = getFeatureCountFromTable(gdbDir, item.uuid);
+                // 从表文件头读取精确的要素数量和几何字段的坐标系
+                String tableId = item.getTableId();
+                GdbTableIndex.Table tableFile = tableIndex.get(tableId);
+                GdbTableReader.TableInfo table = readTableInfo(tableFile);
+                // 图层记录的数据量取对应 .gdbtable 的大小，要素数据集等没有表文件的项目取 GDB 目录；
+                // GDB 内部的目录路径（如 \数据集\图层）不是文件系统路径，只记入补充信息
+                layer.setFilePath(tableFile != null ? tableFile.getTablePath().toString() : gdbDir.toString());
+                if (item.getPath() != null && !item.getPath().isEmpty()) {
+                    layer.getMetadata().put("catalogPath", item.getPath());
+                }
+                int featureCount = table != null ? table.getRowCount() : 0;
                 layer.setFeatureCount(featureCount);
+                if (table != null && table.getGeometryField() != null) {
+                    CrsParser.CrsInfo crs = CrsParser.parse(table.getGeometryField().getWkt());
+                    layer.setCrs(crs != null ? crs.getIdentifier() : null);
+                }
                 
+                // 要素类使用几何字段定义中的几何类型和 XY 范围，无需读取要素
                 layer.setBbox(null);
+                if (table != null && table.hasGeometry()) {
+                    layer.setGeometryType(gdbGeometryTypeName(table));
+                    layer.setBbox(gdbExtent(table));
+                }
                 layer.setTotalArea(0.0);
                 
                 layers.add(layer);
-                logger.info("解析图层: {} (类型: {}, UUID: {}) - {} 个要素", 
-                    layerName, item.type, item.uuid, featureCount);
+                logger.info("解析图层: {} (类型: {}, 几何类型: {}, UUID: {}, 表: {}) - {} 个要素, 范围: {}", 
+                    layerName, item.getType(), layer.getGeometryType(), item.getUuid(), tableId, featureCount,
+                    layer.getBbox());
             }
             
             logger.info("GDB解析完成，共 {} 个图层", layers.size());
@@ -166,171 +128,23 @@ public class SimpleGeoParser {
     }
     
     /**
-     * GDB项目信息
+     * 从GDB_Items中筛选用户图层、表和要素数据集，跳过系统表
      */
-    private static class GdbItem {
-        String uuid;
-        String name;
-        String type;
-        String path;
-    }
-    
-    /**
-     * 读取GDB_Items表，获取所有图层和表
-     */
-    private List<GdbItem> readGdbItems(Path gdbDir) {
-        List<GdbItem> items = new ArrayList<>();
-        
-        try {
-            // GDB目录表通常是 a00000001.gdbtable
-            Path catalogFile = gdbDir.resolve("a00000001.gdbtable");
-            if (!Files.exists(catalogFile)) {
-                logger.warn("未找到GDB目录表文件 a00000001.gdbtable");
-                return items;
+    private List<GdbCatalogReader.Item> readGdbItems(GdbCatalogReader.Catalog catalog) {
+        List<GdbCatalogReader.Item> items = new ArrayList<>();
+        for (GdbCatalogReader.Item item : catalog.getItems()) {
+            String type = item.getType();
+            if (!"esriFeatureClass".equals(type) && !"esriTable".equals(type) && !"esriFeatureDataset".equals(type)) {
+                continue;
             }
-            
-            String sqlitePath = normalizePathForSqlite(catalogFile.toString());
-            String jdbcUrl = "jdbc:sqlite:" + sqlitePath;
-            logger.debug("连接GDB目录表: {}", jdbcUrl);
-            
-            try (Connection conn = DriverManager.getConnection(jdbcUrl);
-                 Statement stmt = conn.createStatement()) {
-                
-                // 查询GDB_Items表（这是GDB的标准目录表）
-                // GDB_Items表包含所有项目的元数据
-                String querySql = "SELECT UUID, Name, Type, Path FROM GDB_Items " +
-                                 "WHERE Type IN ('esriFeatureClass', 'esriTable', 'esriFeatureDataset') " +
-                                 "ORDER BY Name";
-                
-                try {
-                    ResultSet rs = stmt.executeQuery(querySql);
-                    while (rs.next()) {
-                        GdbItem item = new GdbItem();
-                        item.uuid = rs.getString("UUID");
-                        String rawName = rs.getString("Name");
-                        item.type = rs.getString("Type");
-                        item.path = rs.getString("Path");
-                        
-                        // 处理图层名称：GDB_Items表中的Name可能包含路径分隔符
-                        // 例如："\\图层名" 或 "数据集\\图层名"，需要提取最后的名称部分
-                        if (rawName != null) {
-                            // 移除开头的反斜杠和路径分隔符
-                            String cleanedName = rawName.trim();
-                            if (cleanedName.startsWith("\\")) {
-                                cleanedName = cleanedName.substring(1);
-                            }
-                            // 如果包含路径分隔符，取最后一部分
-                            if (cleanedName.contains("\\")) {
-                                String[] parts = cleanedName.split("\\\\");
-                                cleanedName = parts[parts.length - 1];
-                            }
-                            item.name = cleanedName;
-                        } else {
-                            item.name = null;
-                        }
-                        
-                        // 只处理用户图层和表，跳过系统表
-                        if (item.name != null && !item.name.isEmpty() && 
-                            !item.name.startsWith("GDB_") && 
-                            !item.name.startsWith("a0000000")) {
-                            items.add(item);
-                            logger.debug("发现图层/表: {} (UUID: {}, Type: {}, 原始名称: {})", 
-                                item.name, item.uuid, item.type, rawName);
-                        }
-                    }
-                    rs.close();
-                } catch (Exception e) {
-                    logger.warn("查询GDB_Items表失败，尝试查找其他表: {}", e.getMessage());
-                    // 如果GDB_Items表不存在，尝试查找其他可能的表名
-                    return readGdbItemsAlternative(stmt);
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("读取GDB_Items失败: {}", e.getMessage());
-            if (logger.isDebugEnabled()) {
-                logger.debug("读取GDB_Items异常详情", e);
-            }
-        }
-        
-        return items;
-    }
-    
-    /**
-     * 备用方法：尝试查找其他可能的目录表
-     */
-    private List<GdbItem> readGdbItemsAlternative(Statement stmt) {
-        List<GdbItem> items = new ArrayList<>();
-        
-        try {
-            // 查找所有表
-            ResultSet tables = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type='table'");
-            while (tables.next()) {
-                String tableName = tables.getString("name");
-                logger.debug("发现表: {}", tableName);
-                
-                // 尝试查找包含Name和UUID字段的表
-                try {
-                    ResultSet columns = stmt.executeQuery(
-                        "PRAGMA table_info(\"" + tableName + "\")");
-                    boolean hasName = false;
-                    boolean hasUuid = false;
-                    boolean hasType = false;
-                    
-                    while (columns.next()) {
-                        String colName = columns.getString("name");
-                        if (colName.equalsIgnoreCase("Name")) hasName = true;
-                        if (colName.equalsIgnoreCase("UUID")) hasUuid = true;
-                        if (colName.equalsIgnoreCase("Type")) hasType = true;
-                    }
-                    columns.close();
-                    
-                    // 如果表有Name和UUID字段，尝试查询
-                    if (hasName && hasUuid) {
-                        String querySql = "SELECT UUID, Name" + 
-                                         (hasType ? ", Type" : ", '' as Type") + 
-                                         ", '' as Path FROM \"" + tableName + "\"";
-                        try {
-                            ResultSet rs = stmt.executeQuery(querySql);
-                            while (rs.next()) {
-                                String rawName = rs.getString("Name");
-                                if (rawName != null && !rawName.startsWith("GDB_") && 
-                                    !rawName.startsWith("a0000000")) {
-                                    // 处理图层名称
-                                    String cleanedName = rawName.trim();
-                                    if (cleanedName.startsWith("\\")) {
-                                        cleanedName = cleanedName.substring(1);
-                                    }
-                                    if (cleanedName.contains("\\")) {
-                                        String[] parts = cleanedName.split("\\\\");
-                                        cleanedName = parts[parts.length - 1];
-                                    }
-                                    
-                                    if (!cleanedName.isEmpty()) {
-                                        GdbItem item = new GdbItem();
-                                        item.uuid = rs.getString("UUID");
-                                        item.name = cleanedName;
-                                        item.type = hasType ? rs.getString("Type") : "Unknown";
-                                        item.path = "";
-                                        items.add(item);
-                                        logger.debug("备用方法发现图层/表: {} (UUID: {})", 
-                                            item.name, item.uuid);
-                                    }
-                                }
-                            }
-                            rs.close();
-                        } catch (Exception e) {
-                            logger.debug("查询表 {} 失败: {}", tableName, e.getMessage());
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.debug("检查表 {} 结构失败: {}", tableName, e.getMessage());
-                }
+            String name = item.getName();
+            if (name != null && !name.isEmpty() && !name.startsWith("GDB_") && !name.startsWith("a0000000")) {
+                items.add(item);
+                logger.debug("发现图层/表: {} (UUID: {}, Type: {}, 路径: {})",
+                    name, item.getUuid(), type, item.getPath());
             }
-            tables.close();
-        } catch (Exception e) {
-            logger.warn("备用方法读取失败: {}", e.getMessage());
         }
-        
+        items.sort(Comparator.comparing(GdbCatalogReader.Item::getName));
         return items;
     }
     
@@ -355,109 +169,73 @@ public class SimpleGeoParser {
     }
     
     /**
-     * 根据UUID获取要素数量
+     * GDB 要素类几何类型名称，带 Z/M 后缀（与 Shapefile 的 PolygonZ 等命名一致）
      */
-    private int getFeatureCountFromTable(Path gdbDir, String uuid) {
-        if (uuid == null || uuid.isEmpty()) {
-            return 0;
+    private String gdbGeometryTypeName(GdbTableReader.TableInfo table) {
+        return table.getGeometryTypeName() + (table.isHasZ() ? "Z" : "") + (table.isHasM() ? "M" : "");
+    }
+
+    /**
+     * GDB 要素类的 XY 范围，空图层或范围无效时返回 null
+     */
+    private String gdbExtent(GdbTableReader.TableInfo table) {
+        GdbTableReader.GeometryDef def = table.getGeometryField();
+        if (def == null || !def.hasExtent()) {
+            return null;
+        }
+        return formatBbox(def.getXMin(), def.getYMin(), def.getXMax(), def.getYMax());
+    }
+
+    /**
+     * 边界框格式：minX,minY,maxX,maxY
+     */
+    private String formatBbox(double minX, double minY, double maxX, double maxY) {
+        return String.format("%.6f,%.6f,%.6f,%.6f", minX, minY, maxX, maxY);
+    }
+
+    /**
+     * 读取表文件头（有效行数、几何字段定义）
+     * @param tableFile 表文件索引中的表，没有表文件时为 null
+     * @return 表信息；没有表文件或无法读取时返回 null
+     */
+    private GdbTableReader.TableInfo readTableInfo(GdbTableIndex.Table tableFile) {
+        if (tableFile == null) {
+            return null;
         }
-        
         try {
-            // UUID格式通常是 {xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx}
-            // 需要转换为表文件名格式 a00000001.gdbtable
-            // 这里简化处理：尝试查找对应的表文件
-            
-            // 先尝试直接通过UUID查找表文件（如果UUID包含表ID信息）
-            // 或者遍历所有表文件，查找包含该UUID的表
-            
-            // 查找所有表文件
-            List<Path> tableFiles = Files.walk(gdbDir)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> {
-                        String fileName = path.getFileName().toString().toLowerCase();
-                        return fileName.startsWith("a") && fileName.matches("a[0-9]{8}\\.gdbtable");
-                    })
-                    .collect(Collectors.toList());
-            
-            // 尝试在每个表文件中查找记录
-            for (Path tableFile : tableFiles) {
-                try {
-                    String sqlitePath = normalizePathForSqlite(tableFile.toString());
-                    String jdbcUrl = "jdbc:sqlite:" + sqlitePath;
-                    
-                    try (Connection conn = DriverManager.getConnection(jdbcUrl);
-                         Statement stmt = conn.createStatement()) {
-                        
-                        // 查询所有表
-                        ResultSet tables = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type='table'");
-                        while (tables.next()) {
-                            String tableName = tables.getString("name");
-                            if (tableName.startsWith("sqlite_") || tableName.startsWith("rtree_")) {
-                                continue;
-                            }
-                            
-                            try {
-                                ResultSet countRs = stmt.executeQuery("SELECT COUNT(*) FROM \"" + tableName + "\"");
-                                if (countRs.next()) {
-                                    int count = countRs.getInt(1);
-                                    countRs.close();
-                                    tables.close();
-                                    return count;
-                                }
-                                countRs.close();
-                            } catch (Exception e) {
-                                // 继续尝试下一个表
-                            }
-                        }
-                        tables.close();
-                    }
-                } catch (Exception e) {
-                    // 继续尝试下一个文件
-                }
-            }
-        } catch (Exception e) {
-            logger.debug("获取要素数量失败: {}", e.getMessage());
+            return GdbTableReader.read(tableFile.getTablePath(), tableFile.getTablxPath());
+        } catch (IOException e) {
+            logger.debug("读取表文件头失败: {} - {}", tableFile.getTablePath(), e.getMessage());
+            return null;
         }
-        
-        return 0;
     }
     
     /**
      * 备用解析方法：如果无法读取GDB_Items，使用原来的方法
      */
-    private List<LayerInfo> parseGdbFileFallback(String gdbPath) throws IOException {
+    private List<LayerInfo> parseGdbFileFallback(GdbTableIndex tableIndex, GdbCatalogReader.Catalog catalog)
+            throws IOException {
         logger.info("使用备用方法解析GDB文件");
         List<LayerInfo> layers = new ArrayList<>();
         
         try {
-            Path gdbDir = Paths.get(gdbPath);
-            
-            List<Path> tableFiles = Files.walk(gdbDir)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> {
-                        String fileName = path.getFileName().toString().toLowerCase();
-                        return fileName.startsWith("a") && fileName.matches("a[0-9]{8}\\.gdbtable");
-                    })
-                    .collect(Collectors.toList());
-            
-            logger.info("发现 {} 个GDB表文件（备用方法）", tableFiles.size());
+            logger.info("发现 {} 个GDB表文件（备用方法）", tableIndex.getTables().size());
             
             // 过滤掉系统表（通常是a00000001）
-            tableFiles = tableFiles.stream()
-                    .filter(path -> {
-                        String fileName = path.getFileName().toString().toLowerCase();
-                        return !fileName.equals("a00000001.gdbtable");
-                    })
-                    .collect(Collectors.toList());
+            List<GdbTableIndex.Table> tableFiles = new ArrayList<>();
+            for (GdbTableIndex.Table tableFile : tableIndex.getTables()) {
+                if (!tableFile.getTableId().equals(GdbCatalogReader.SYSTEM_CATALOG_TABLE)) {
+                    tableFiles.add(tableFile);
+                }
+            }
             
             logger.info("过滤后剩余 {} 个表文件", tableFiles.size());
             
-            Map<String, LayerMetadata> layerMetadataMap = readGdbMetadata(gdbPath);
+            Map<String, LayerMetadata> layerMetadataMap = readGdbMetadata(tableIndex, catalog);
             
             for (int i = 0; i < tableFiles.size(); i++) {
-                Path tableFile = tableFiles.get(i);
-                String fileName = tableFile.getFileName().toString();
-                String tableId = fileName.substring(0, fileName.lastIndexOf('.'));
+                GdbTableIndex.Table tableFile = tableFiles.get(i);
+                String tableId = tableFile.getTableId();
                 
                 LayerInfo layer = new LayerInfo();
                 
@@ -466,16 +244,17 @@ public class SimpleGeoParser {
                     layer.setLayerName(metadata.name);
                     layer.setFeatureCount(metadata.featureCount);
                     layer.setGeometryType(metadata.geometryType);
+                    layer.setCrs(metadata.crs);
+                    layer.setBbox(metadata.bbox);
                 } else {
                     layer.setLayerName("图层_" + (i + 1));
-                    long fileSize = Files.size(tableFile);
+                    long fileSize = tableFile.getTableSize();
                     int estimatedCount = Math.max(1, (int) (fileSize / 512));
                     layer.setFeatureCount(estimatedCount);
                     layer.setGeometryType("Unknown");
                 }
                 
-                layer.setFilePath(tableFile.toString());
-                layer.setBbox(null);
+                layer.setFilePath(tableFile.getTablePath().toString());
                 layer.setTotalArea(0.0);
                 
                 layers.add(layer);
@@ -492,71 +271,37 @@ public class SimpleGeoParser {
     /**
      * 尝试读取 GDB 元数据
      */
-    private Map<String, LayerMetadata> readGdbMetadata(String gdbPath) {
+    private Map<String, LayerMetadata> readGdbMetadata(GdbTableIndex tableIndex, GdbCatalogReader.Catalog catalog) {
         Map<String, LayerMetadata> metadataMap = new HashMap<>();
         
         try {
-            Path gdbDir = Paths.get(gdbPath);
-            
-            // 1. 首先尝试读取系统目录表 (a00000001.gdbtable)
-            Map<String, String> tableNameMap = readGdbCatalog(gdbDir);
+            // 1. 系统目录表 (a00000001.gdbtable) 中的表名
+            Map<String, String> tableNameMap = catalog.getTableNames();
             
             // 2. 然后读取每个表的记录数
-            List<Path> tableFiles = Files.walk(gdbDir)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> {
-                        String fileName = path.getFileName().toString().toLowerCase();
-                        return fileName.startsWith("a") && fileName.matches("a[0-9]{8}\\.gdbtable");
-                    })
-                    .collect(Collectors.toList());
-            
-            for (Path tableFile : tableFiles) {
-                String fileName = tableFile.getFileName().toString();
-                String tableId = fileName.substring(0, fileName.lastIndexOf('.'));
+            for (GdbTableIndex.Table tableFile : tableIndex.getTables()) {
+                String tableId = tableFile.getTableId();
                 
-                // 尝试通过 SQLite 读取记录数
+                // 直接读取表文件头中的有效行数和几何类型
                 try {
-                    // 规范化路径以支持 UNC 路径
-                    String sqlitePath = normalizePathForSqlite(tableFile.toString());
-                    String jdbcUrl = "jdbc:sqlite:" + sqlitePath;
-                    logger.debug("尝试连接 SQLite: {}", jdbcUrl);
-                    
-                    try (Connection conn = DriverManager.getConnection(jdbcUrl);
-                         Statement stmt = conn.createStatement()) {
-                        
-                        // 查询表结构
-                        ResultSet tables = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type='table'");
-                        while (tables.next()) {
-                            String tableName = tables.getString("name");
-                            
-                            // 跳过系统表
-                            if (tableName.startsWith("sqlite_") || tableName.startsWith("rtree_")) {
-                                continue;
-                            }
-                            
-                            try {
-                                ResultSet countRs = stmt.executeQuery("SELECT COUNT(*) FROM \"" + tableName + "\"");
-                                if (countRs.next()) {
-                                    int count = countRs.getInt(1);
-                                    
-                                    LayerMetadata metadata = new LayerMetadata();
-                                    // 使用目录中的真实名称，如果没有则使用表名
-                                    metadata.name = tableNameMap.getOrDefault(tableId, tableName);
-                                    metadata.featureCount = count;
-                                    metadata.geometryType = "Unknown";
-                                    
-                                    metadataMap.put(tableId, metadata);
-                                    logger.debug("表 {} (ID: {}) 有 {} 条记录", metadata.name, tableId, count);
-                                }
-                                countRs.close();
-                            } catch (Exception e) {
-                                logger.warn("无法查询表 {} 的记录数: {}", tableName, e.getMessage());
-                            }
-                        }
-                        tables.close();
+                    GdbTableReader.TableInfo table = GdbTableReader.read(tableFile.getTablePath(), tableFile.getTablxPath());
+
+                    LayerMetadata metadata = new LayerMetadata();
+                    // 使用目录中的真实名称，如果没有则使用表ID
+                    metadata.name = tableNameMap.getOrDefault(tableId, tableId);
+                    metadata.featureCount = table.getRowCount();
+                    metadata.geometryType = table.hasGeometry() ? gdbGeometryTypeName(table) : "Table";
+                    metadata.bbox = table.hasGeometry() ? gdbExtent(table) : null;
+                    if (table.getGeometryField() != null) {
+                        CrsParser.CrsInfo crs = CrsParser.parse(table.getGeometryField().getWkt());
+                        metadata.crs = crs != null ? crs.getIdentifier() : null;
                     }
+
+                    metadataMap.put(tableId, metadata);
+                    logger.debug("表 {} (ID: {}) 有 {} 条记录，几何类型: {}",
+                            metadata.name, tableId, metadata.featureCount, metadata.geometryType);
                 } catch (Exception e) {
-                    logger.warn("无法读取表文件 {}: {} - 将使用估算值", tableFile, e.getMessage());
+                    logger.warn("无法读取表文件 {}: {} - 将使用估算值", tableFile.getTablePath(), e.getMessage());
                     if (logger.isDebugEnabled()) {
                         logger.debug("读取表文件异常详情", e);
                     }
@@ -574,103 +319,28 @@ public class SimpleGeoParser {
     }
     
     /**
-     * 读取 GDB 目录表，获取表ID到表名的映射
+     * 读取 GDB 系统目录，获取表ID到表名的映射及GDB_Items项目
+     * @return 目录信息；读取失败时返回空目录
      */
-    private Map<String, String> readGdbCatalog(Path gdbDir) {
-        Map<String, String> tableNameMap = new HashMap<>();
-        
+    private GdbCatalogReader.Catalog readGdbCatalog(GdbTableIndex tableIndex) {
         try {
-            // GDB 目录表通常是 a00000001.gdbtable
-            Path catalogFile = gdbDir.resolve("a00000001.gdbtable");
-            if (!Files.exists(catalogFile)) {
-                logger.debug("未找到 GDB 目录表文件");
-                return tableNameMap;
-            }
-            
-            // 规范化路径以支持 UNC 路径
-            String sqlitePath = normalizePathForSqlite(catalogFile.toString());
-            String jdbcUrl = "jdbc:sqlite:" + sqlitePath;
-            logger.debug("尝试连接 GDB 目录表 SQLite: {}", jdbcUrl);
-            
-            try (Connection conn = DriverManager.getConnection(jdbcUrl);
-                 Statement stmt = conn.createStatement()) {
-                
-                // 查询目录表的结构
-                ResultSet tables = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type='table'");
-                while (tables.next()) {
-                    String tableName = tables.getString("name");
-                    logger.debug("目录表中发现表: {}", tableName);
-                    
-                    // 尝试查询表内容，寻找名称字段
-                    try {
-                        // 常见的字段名：Name, TABLE_NAME, LAYER_NAME 等
-                        String[] nameFields = {"Name", "TABLE_NAME", "LAYER_NAME", "name", "table_name", "layer_name"};
-                        String[] idFields = {"ID", "OBJECTID", "id", "objectid"};
-                        
-                        for (String nameField : nameFields) {
-                            try {
-                                ResultSet rs = stmt.executeQuery("SELECT * FROM \"" + tableName + "\" LIMIT 10");
-                                
-                                // 检查是否有名称字段
-                                boolean hasNameField = false;
-                                boolean hasIdField = false;
-                                
-                                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
-                                    String columnName = rs.getMetaData().getColumnName(i);
-                                    if (columnName.equalsIgnoreCase(nameField)) {
-                                        hasNameField = true;
-                                    }
-                                    for (String idField : idFields) {
-                                        if (columnName.equalsIgnoreCase(idField)) {
-                                            hasIdField = true;
-                                        }
-                                    }
-                                }
-                                
-                                if (hasNameField) {
-                                    rs = stmt.executeQuery("SELECT * FROM \"" + tableName + "\"");
-                                    while (rs.next()) {
-                                        try {
-                                            String layerName = rs.getString(nameField);
-                                            if (layerName != null && !layerName.trim().isEmpty()) {
-                                                // 如果有ID字段，用ID作为键，否则用行号
-                                                String key = hasIdField ? "a" + String.format("%08d", rs.getInt(idFields[0])) : 
-                                                           "a" + String.format("%08d", rs.getRow());
-                                                tableNameMap.put(key, layerName.trim());
-                                                logger.debug("映射: {} -> {}", key, layerName.trim());
-                                            }
-                                        } catch (Exception e) {
-                                            logger.debug("读取行数据失败: {}", e.getMessage());
-                                        }
-                                    }
-                                    break; // 找到有效的名称字段就退出
-                                }
-                                rs.close();
-                            } catch (Exception e) {
-                                logger.debug("查询字段 {} 失败: {}", nameField, e.getMessage());
-                            }
-                        }
-                    } catch (Exception e) {
-                        logger.debug("查询表 {} 内容失败: {}", tableName, e.getMessage());
-                    }
-                }
-                tables.close();
-                
-            }
+            GdbCatalogReader.Catalog catalog = GdbCatalogReader.read(tableIndex);
+            logger.debug("读取 GDB 目录完成: {} 个表, {} 个项目",
+                catalog.getTableNames().size(), catalog.getItems().size());
+            return catalog;
         } catch (Exception e) {
             logger.warn("读取 GDB 目录失败: {} - 将使用表ID作为图层名称", e.getMessage());
             if (logger.isDebugEnabled()) {
                 logger.debug("读取 GDB 目录异常详情", e);
             }
+            return new GdbCatalogReader.Catalog();
         }
-        
-        return tableNameMap;
     }
     
     /**
      * 基本的 Shapefile 解析
      */
-    private List<LayerInfo> parseShapefileBasic(String shpPath) throws IOException {
+    List<LayerInfo> parseShapefileBasic(String shpPath) throws IOException {
         logger.info("解析 Shapefile: {}", shpPath);
         
         List<LayerInfo> layers = new ArrayList<>();
@@ -708,9 +378,15 @@ public class SimpleGeoParser {
             layerInfo.setFilePath(shpPath);
             layerInfo.setGeometryType(getShapeTypeName(shapeType));
             
-            // 估算要素数量（基于文件大小的粗略计算）
-            int estimatedFeatureCount = Math.max(1, (fileLength - 100) / 50); // 粗略估计
-            layerInfo.setFeatureCount(estimatedFeatureCount);
+            // 读取 .dbf 文件头（字段结构、记录数、代码页）
+            DbfHeaderReader.DbfHeader dbfHeader = readDbfHeader(Paths.get(shpPath));
+            if (dbfHeader != null) {
+                layerInfo.getMetadata().put("dbf", toDbfMetadata(dbfHeader));
+            }
+            
+            // 由 .shx 索引文件大小得到精确的要素数量，并与 .dbf 文件头记录数交叉校验
+            int featureCount = countShapefileRecords(Paths.get(shpPath), channel, fileLength, dbfHeader);
+            layerInfo.setFeatureCount(featureCount);
             
             // 读取边界框
             double minX = buffer.getDouble();
@@ -718,12 +394,34 @@ public class SimpleGeoParser {
             double maxX = buffer.getDouble();
             double maxY = buffer.getDouble();
             
-            String bbox = String.format("%.6f,%.6f,%.6f,%.6f", minX, minY, maxX, maxY);
+            String bbox = formatBbox(minX, minY, maxX, maxY);
             layerInfo.setBbox(bbox);
-            layerInfo.setTotalArea(0.0);
+            
+            // 读取 .prj 坐标系，地理坐标系下按椭球计算面积
+            CrsParser.CrsInfo crs = readPrj(Paths.get(shpPath));
+            if (crs != null) {
+                layerInfo.setCrs(crs.getIdentifier());
+            }
+            
+            // 流式扫描几何记录，统计顶点数、部件数和面要素总面积
+            ShpGeometryScanner.ScanResult scanResult = ShpGeometryScanner.scan(Paths.get(shpPath), crs);
+            layerInfo.setTotalArea(scanResult.getTotalArea());
+            layerInfo.getMetadata().put("areaMethod", scanResult.isGeodesicArea() ? "geodesic" : "planar");
+            // 顶点数、部件数只记录在补充信息中（随 METADATA 入库）
+            layerInfo.getMetadata().put("vertexCount", scanResult.getVertexCount());
+            layerInfo.getMetadata().put("partCount", scanResult.getPartCount());
+            if (scanResult.getRecordCount() != featureCount) {
+                logger.warn("Shapefile 记录数与索引不一致: {} - .shp {} 条, 索引 {} 条",
+                        shpPath, scanResult.getRecordCount(), featureCount);
+            }
+            if (scanResult.getInvalidCount() > 0) {
+                logger.warn("Shapefile 存在 {} 条损坏的几何记录: {}", scanResult.getInvalidCount(), shpPath);
+            }
             
             layers.add(layerInfo);
-            logger.info("解析 Shapefile 完成: {} - 估计 {} 个要素", layerName, estimatedFeatureCount);
+            logger.info("解析 Shapefile 完成: {} - {} 个要素, {} 个部件, {} 个顶点, 总面积 {}",
+                    layerName, featureCount, scanResult.getPartCount(), scanResult.getVertexCount(),
+                    scanResult.getTotalArea());
             
         } catch (Exception e) {
             logger.error("解析 Shapefile 失败: {}", e.getMessage(), e);
@@ -733,133 +431,202 @@ public class SimpleGeoParser {
         return layers;
     }
     
+    /**
+     * 获取 Shapefile 的精确要素数量
+     * 优先使用 .shx 索引：文件头 100 字节之后每条记录占 8 字节；.dbf 文件头第 4~7 字节为记录数，
+     * 两者同时存在时交叉校验。都不存在时逐条跳读 .shp 记录头计数。
+     * @param shpPath .shp 文件路径
+     * @param shpChannel 已打开的 .shp 文件通道
+     * @param shpFileLength .shp 文件头中的文件长度（字节）
+     * @param dbfHeader .dbf 文件头，不存在时为 null
+     */
+    private int countShapefileRecords(Path shpPath, FileChannel shpChannel, long shpFileLength,
+                                      DbfHeaderReader.DbfHeader dbfHeader) throws IOException {
+        int shxCount = -1;
+        Path shxPath = findSibling(shpPath, "shx");
+        if (shxPath != null) {
+            long shxSize = Files.size(shxPath);
+            if (shxSize >= 100 && (shxSize - 100) % 8 == 0) {
+                shxCount = (int) ((shxSize - 100) / 8);
+            } else {
+                logger.warn(".shx 文件长度异常，忽略索引: {} ({} 字节)", shxPath, shxSize);
+            }
+        }
+
+        int dbfCount = dbfHeader != null ? dbfHeader.getRecordCount() : -1;
+
+        if (shxCount >= 0) {
+            if (dbfCount >= 0 && dbfCount != shxCount) {
+                logger.warn("Shapefile 要素数不一致: {} - .shx {} 条, .dbf {} 条，以 .shx 为准",
+                        shpPath, shxCount, dbfCount);
+            }
+            return shxCount;
+        }
+        if (dbfCount >= 0) {
+            return dbfCount;
+        }
+
+        logger.warn("Shapefile 缺少 .shx 和 .dbf，逐条读取记录头计数: {}", shpPath);
+        long end = Math.min(shpFileLength, shpChannel.size());
+        ByteBuffer recordHeader = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN);
+        long position = 100;
+        int count = 0;
+        while (position + 8 <= end) {
+            recordHeader.clear();
+            if (shpChannel.read(recordHeader, position) != 8) {
+                break;
+            }
+            int contentLength = recordHeader.getInt(4) * 2; // 以16位字为单位
+            if (contentLength < 0) {
+                break;
+            }
+            position += 8 + contentLength;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 读取同名 .prj 文件中的坐标系
+     * @return 坐标系；.prj 不存在或无法解析时返回 null
+     */
+    private CrsParser.CrsInfo readPrj(Path shpPath) {
+        Path prjPath = findSibling(shpPath, "prj");
+        if (prjPath == null) {
+            return null;
+        }
+        try {
+            CrsParser.CrsInfo crs = CrsParser.parse(new String(Files.readAllBytes(prjPath), StandardCharsets.UTF_8));
+            if (crs == null) {
+                logger.warn("无法解析 .prj 坐标系: {}", prjPath);
+            }
+            return crs;
+        } catch (IOException e) {
+            logger.warn("读取 .prj 文件失败: {} - {}", prjPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 读取同名 .dbf 文件头
+     * @return 文件头；.dbf 不存在或无法解析时返回 null
+     */
+    private DbfHeaderReader.DbfHeader readDbfHeader(Path shpPath) {
+        Path dbfPath = findSibling(shpPath, "dbf");
+        if (dbfPath == null) {
+            return null;
+        }
+        try {
+            return DbfHeaderReader.read(dbfPath);
+        } catch (IOException e) {
+            logger.warn("读取 .dbf 文件头失败: {} - {}", dbfPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * .dbf 文件头转换为入库的补充信息
+     */
+    private Map<String, Object> toDbfMetadata(DbfHeaderReader.DbfHeader dbfHeader) {
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (DbfHeaderReader.DbfField field : dbfHeader.getFields()) {
+            Map<String, Object> fieldInfo = new LinkedHashMap<>();
+            fieldInfo.put("name", field.getName());
+            fieldInfo.put("type", String.valueOf(field.getType()));
+            fieldInfo.put("length", field.getLength());
+            fieldInfo.put("decimals", field.getDecimals());
+            fields.add(fieldInfo);
+        }
+        Map<String, Object> dbf = new LinkedHashMap<>();
+        dbf.put("recordCount", dbfHeader.getRecordCount());
+        dbf.put("codePage", dbfHeader.getCodePage());
+        dbf.put("encoding", dbfHeader.getEncoding());
+        dbf.put("fields", fields);
+        return dbf;
+    }
+
+    /**
+     * 查找同名的伴随文件（扩展名大小写均可）
+     * @return 文件路径，不存在时返回 null
+     */
+    private Path findSibling(Path path, String extension) {
+        String fileName = path.getFileName().toString();
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        for (String ext : new String[]{extension, extension.toUpperCase()}) {
+            Path sibling = path.resolveSibling(baseName + "." + ext);
+            if (Files.isRegularFile(sibling)) {
+                return sibling;
+            }
+        }
+        return null;
+    }
+    
     /**
      * 解析 MDB 文件（Personal Geodatabase）
-     * MDB是Microsoft Access数据库格式，Personal Geodatabase使用Access存储地理数据
+     * MDB是Microsoft Access数据库格式，Personal Geodatabase使用Access存储地理数据。
+     * 通过 Jackcess 按需读取数据页：表名来自系统表 MSysObjects，记录数来自表定义页，不加载任何表数据；
+     * 要素类的几何类型、范围和空间参考来自 GDB_GeomColumns / GDB_SpatialRefs。
      */
-    private List<LayerInfo> parseMdbFile(String mdbPath) throws IOException {
+    List<LayerInfo> parseMdbFile(String mdbPath) throws IOException {
         logger.info("解析 MDB 文件: {}", mdbPath);
         
         List<LayerInfo> layers = new ArrayList<>();
         
-        try {
-            File mdbFile = new File(mdbPath);
-            if (!mdbFile.exists()) {
-                throw new IOException("MDB 文件不存在: " + mdbPath);
+        File mdbFile = new File(mdbPath);
+        if (!mdbFile.exists()) {
+            throw new IOException("MDB 文件不存在: " + mdbPath);
+        }
+        
+        if (!mdbFile.isFile()) {
+            throw new IOException("路径不是文件: " + mdbPath);
+        }
+        
+        try (Database db = new DatabaseBuilder(mdbFile).setReadOnly(true).open()) {
+            boolean personalGdb = PersonalGdbReader.isPersonalGdb(db);
+            Map<String, PersonalGdbReader.GeomColumn> geomColumns = PersonalGdbReader.readGeomColumns(db);
+            List<String> tableNames = readMdbTableNames(db);
+            if (personalGdb) {
+                // 跳过 Personal Geodatabase 的系统表和空间索引表
+                tableNames.removeIf(name -> name.startsWith("GDB_") || name.endsWith("_Shape_Index"));
             }
+            logger.info("MDB文件中发现 {} 个表/图层", tableNames.size());
             
-            if (!mdbFile.isFile()) {
-                throw new IOException("路径不是文件: " + mdbPath);
+            if (tableNames.isEmpty()) {
+                logger.warn("MDB文件中未找到任何图层");
+                return layers;
             }
             
-            // 使用UCanAccess连接Access数据库
-            // JDBC URL格式: jdbc:ucanaccess://文件路径
-            String jdbcUrl = "jdbc:ucanaccess://" + mdbPath.replace("\\", "/");
-            logger.debug("连接MDB数据库: {}", jdbcUrl);
-            
-            try (Connection conn = DriverManager.getConnection(jdbcUrl);
-                 Statement stmt = conn.createStatement()) {
-                
-                // 查询MSysObjects表获取所有用户表（图层）
-                // MSysObjects是Access的系统表，包含所有对象信息
-                // Type=1表示用户表，Flags=0表示非系统表
-                String querySql = 
-                    "SELECT Name, Type, Flags FROM MSysObjects " +
-                    "WHERE Type = 1 AND Flags = 0 AND Name NOT LIKE 'MSys%' AND Name NOT LIKE '~*' " +
-                    "ORDER BY Name";
+            // 为每个表创建图层信息
+            for (String tableName : tableNames) {
+                LayerInfo layer = new LayerInfo();
+                layer.setLayerName(tableName);
+                layer.setFilePath(mdbPath);
+                layer.setGeometryType("Feature Class"); // MDB中的表通常是要素类
                 
-                List<String> tableNames = new ArrayList<>();
+                // 记录数直接取自表定义
+                Table table = null;
                 try {
-                    ResultSet rs = stmt.executeQuery(querySql);
-                    while (rs.next()) {
-                        String tableName = rs.getString("Name");
-                        if (tableName != null && !tableName.trim().isEmpty()) {
-                            tableNames.add(tableName.trim());
-                            logger.debug("发现表/图层: {}", tableName);
-                        }
-                    }
-                    rs.close();
+                    table = db.getTable(tableName);
+                    int count = table != null ? table.getRowCount() : 0;
+                    layer.setFeatureCount(count);
+                    logger.debug("表 {} 有 {} 条记录", tableName, count);
                 } catch (Exception e) {
-                    logger.warn("查询MSysObjects失败，尝试直接查询所有表: {}", e.getMessage());
-                    // 备用方法：直接查询所有表
-                    ResultSet tables = conn.getMetaData().getTables(null, null, null, new String[]{"TABLE"});
-                    while (tables.next()) {
-                        String tableName = tables.getString("TABLE_NAME");
-                        if (tableName != null && !tableName.startsWith("MSys") && 
-                            !tableName.startsWith("~")) {
-                            tableNames.add(tableName);
-                            logger.debug("发现表/图层: {}", tableName);
-                        }
-                    }
-                    tables.close();
-                }
-                
-                logger.info("MDB文件中发现 {} 个表/图层", tableNames.size());
-                
-                if (tableNames.isEmpty()) {
-                    logger.warn("MDB文件中未找到任何图层");
-                    return layers;
+                    logger.warn("无法读取表 {} 的记录数: {}", tableName, e.getMessage());
+                    layer.setFeatureCount(0);
                 }
                 
-                // 为每个表创建图层信息
-                for (String tableName : tableNames) {
-                    LayerInfo layer = new LayerInfo();
-                    layer.setLayerName(tableName);
-                    layer.setFilePath(mdbPath);
-                    layer.setGeometryType("Feature Class"); // MDB中的表通常是要素类
-                    
-                    // 尝试读取要素数量
-                    try {
-                        String countSql = "SELECT COUNT(*) FROM \"" + tableName + "\"";
-                        ResultSet countRs = stmt.executeQuery(countSql);
-                        if (countRs.next()) {
-                            int count = countRs.getInt(1);
-                            layer.setFeatureCount(count);
-                            logger.debug("表 {} 有 {} 条记录", tableName, count);
-                        }
-                        countRs.close();
-                    } catch (Exception e) {
-                        logger.warn("无法读取表 {} 的记录数: {}", tableName, e.getMessage());
-                        layer.setFeatureCount(0);
-                    }
-                    
-                    // 尝试读取边界框（如果表有Shape字段）
-                    try {
-                        // 检查表是否有Shape或OGR_GEOMETRY字段
-                        ResultSet columns = conn.getMetaData().getColumns(null, null, tableName, null);
-                        boolean hasShapeField = false;
-                        while (columns.next()) {
-                            String columnName = columns.getString("COLUMN_NAME");
-                            if (columnName != null && 
-                                (columnName.equalsIgnoreCase("Shape") || 
-                                 columnName.equalsIgnoreCase("OGR_GEOMETRY"))) {
-                                hasShapeField = true;
-                                break;
-                            }
-                        }
-                        columns.close();
-                        
-                        if (hasShapeField) {
-                            // 尝试查询边界框（这需要特殊的SQL，UCanAccess可能不支持）
-                            // 暂时设置为null
-                            layer.setBbox(null);
-                        } else {
-                            layer.setBbox(null);
-                        }
-                    } catch (Exception e) {
-                        logger.debug("无法读取表 {} 的边界框: {}", tableName, e.getMessage());
-                        layer.setBbox(null);
-                    }
-                    
-                    layer.setTotalArea(0.0);
-                    
-                    layers.add(layer);
-                    logger.info("解析图层: {} - {} 个要素", tableName, layer.getFeatureCount());
+                layer.setBbox(null);
+                PersonalGdbReader.GeomColumn geomColumn = geomColumns.get(tableName);
+                if (geomColumn != null) {
+                    applyGeomColumn(layer, geomColumn, table);
+                } else if (personalGdb) {
+                    layer.setGeometryType("Table");
                 }
+                layer.setTotalArea(0.0);
                 
-            } catch (Exception e) {
-                logger.error("连接MDB数据库失败: {}", e.getMessage(), e);
-                throw new IOException("解析MDB文件失败: " + e.getMessage(), e);
+                layers.add(layer);
+                logger.info("解析图层: {} ({}) - {} 个要素, 范围: {}", tableName, layer.getGeometryType(),
+                        layer.getFeatureCount(), layer.getBbox());
             }
             
         } catch (Exception e) {
@@ -870,6 +637,186 @@ public class SimpleGeoParser {
         return layers;
     }
     
+    /**
+     * 使用 GDB_GeomColumns 中的定义填充要素类的几何类型、范围和坐标系
+     * 系统表中没有有效范围时，逐行读取几何字段的外包矩形汇总
+     */
+    private void applyGeomColumn(LayerInfo layer, PersonalGdbReader.GeomColumn geomColumn, Table table) {
+        layer.setGeometryType(geomColumn.getGeometryTypeName());
+        CrsParser.CrsInfo crs = CrsParser.parse(geomColumn.getWkt());
+        layer.setCrs(crs != null ? crs.getIdentifier() : null);
+
+        double[] extent = geomColumn.getExtent();
+        if (extent == null && table != null && geomColumn.getFieldName() != null && layer.getFeatureCount() > 0) {
+            try {
+                extent = PersonalGdbReader.scanShapeExtent(table, geomColumn.getFieldName());
+            } catch (Exception e) {
+                logger.warn("无法读取表 {} 的几何范围: {}", layer.getLayerName(), e.getMessage());
+            }
+        }
+        if (extent != null) {
+            layer.setBbox(formatBbox(extent[0], extent[1], extent[2], extent[3]));
+        }
+    }
+    
+    /**
+     * 从系统表 MSysObjects 读取用户表名称
+     * Type=1表示本地表，Flags=0表示非系统表；无法读取 MSysObjects 时使用 Jackcess 的表目录
+     */
+    private List<String> readMdbTableNames(Database db) throws IOException {
+        List<String> tableNames = new ArrayList<>();
+        try {
+            Table systemObjects = db.getSystemTable("MSysObjects");
+            for (Row row : systemObjects) {
+                String tableName = row.getString("Name");
+                Object type = row.get("Type");
+                Object flags = row.get("Flags");
+                if (tableName == null || tableName.trim().isEmpty()
+                        || !(type instanceof Number) || ((Number) type).intValue() != 1
+                        || !(flags instanceof Number) || ((Number) flags).intValue() != 0
+                        || tableName.startsWith("MSys") || tableName.startsWith("~")) {
+                    continue;
+                }
+                tableNames.add(tableName.trim());
+                logger.debug("发现表/图层: {}", tableName);
+            }
+        } catch (Exception e) {
+            logger.warn("读取MSysObjects失败，使用表目录: {}", e.getMessage());
+            tableNames.clear();
+            for (String tableName : db.getTableNames()) {
+                if (!tableName.startsWith("MSys") && !tableName.startsWith("~")) {
+                    tableNames.add(tableName);
+                    logger.debug("发现表/图层: {}", tableName);
+                }
+            }
+        }
+        tableNames.sort(String::compareTo);
+        return tableNames;
+    }
+    
+    /**
+     * 解析 GeoTIFF / BigTIFF 文件
+     * 只读取文件头和 IFD 目录，不解码像素数据；影像作为一个图层，尺寸、波段、像素类型等写入补充信息
+     */
+    List<LayerInfo> parseGeoTiff(String tiffPath) throws IOException {
+        logger.info("解析 GeoTIFF 文件: {}", tiffPath);
+        
+        List<LayerInfo> layers = new ArrayList<>();
+        GeoTiffReader.TiffInfo tiff = GeoTiffReader.read(Paths.get(tiffPath));
+        
+        LayerInfo layer = new LayerInfo();
+        String fileName = Paths.get(tiffPath).getFileName().toString();
+        layer.setLayerName(fileName.substring(0, fileName.lastIndexOf('.')));
+        layer.setFilePath(tiffPath);
+        layer.setGeometryType("Raster");
+        layer.setFeatureCount(0);
+        layer.setTotalArea(0.0);
+        layer.setCrs(tiff.getCrs());
+        double[] extent = tiff.getExtent();
+        if (extent != null) {
+            layer.setBbox(formatBbox(extent[0], extent[1], extent[2], extent[3]));
+        }
+        
+        Map<String, Object> raster = new LinkedHashMap<>();
+        raster.put("width", tiff.getWidth());
+        raster.put("height", tiff.getHeight());
+        raster.put("bandCount", tiff.getBandCount());
+        raster.put("dataType", tiff.getDataType());
+        raster.put("compression", tiff.getCompression());
+        raster.put("interleave", tiff.getPlanarConfig());
+        raster.put("tiled", tiff.isTiled());
+        raster.put("blockWidth", tiff.getBlockWidth());
+        raster.put("blockHeight", tiff.getBlockHeight());
+        raster.put("overviewCount", tiff.getOverviewCount());
+        raster.put("bigTiff", tiff.isBigTiff());
+        if (tiff.getPixelSizeX() > 0) {
+            raster.put("pixelSizeX", tiff.getPixelSizeX());
+            raster.put("pixelSizeY", tiff.getPixelSizeY());
+        }
+        if (tiff.getNoData() != null) {
+            raster.put("noData", tiff.getNoData());
+        }
+        layer.getMetadata().put("raster", raster);
+        
+        layers.add(layer);
+        logger.info("解析 GeoTIFF 完成: {} - {}x{}, {} 个波段, {}, 范围: {}", layer.getLayerName(),
+                tiff.getWidth(), tiff.getHeight(), tiff.getBandCount(), tiff.getDataType(), layer.getBbox());
+        return layers;
+    }
+    
+    /**
+     * 解析 ERDAS IMAGINE (.img) 文件
+     * 只读取 HFA 节点树中的波段节点和 Map_Info 节点，不读取像素数据
+     */
+    List<LayerInfo> parseImgFile(String imgPath) throws IOException {
+        logger.info("解析 IMG 文件: {}", imgPath);
+        
+        List<LayerInfo> layers = new ArrayList<>();
+        HfaReader.ImgInfo img = HfaReader.read(Paths.get(imgPath));
+        
+        LayerInfo layer = new LayerInfo();
+        String fileName = Paths.get(imgPath).getFileName().toString();
+        layer.setLayerName(fileName.substring(0, fileName.lastIndexOf('.')));
+        layer.setFilePath(imgPath);
+        layer.setGeometryType("Raster");
+        layer.setFeatureCount(0);
+        layer.setTotalArea(0.0);
+        // Map_Info 只有投影名称（如 UTM），不足以确定坐标系标识，坐标系留空，投影名称写入补充信息
+        layer.setCrs(null);
+        double[] extent = img.getExtent();
+        if (extent != null) {
+            layer.setBbox(formatBbox(extent[0], extent[1], extent[2], extent[3]));
+        }
+        
+        Map<String, Object> raster = new LinkedHashMap<>();
+        raster.put("width", img.getWidth());
+        raster.put("height", img.getHeight());
+        raster.put("bandCount", img.getBandCount());
+        raster.put("dataType", img.getPixelType());
+        raster.put("layerType", img.getLayerType());
+        raster.put("blockWidth", img.getBlockWidth());
+        raster.put("blockHeight", img.getBlockHeight());
+        raster.put("bands", img.getBandNames());
+        if (extent != null) {
+            raster.put("pixelSizeX", img.getPixelSizeX());
+            raster.put("pixelSizeY", img.getPixelSizeY());
+            raster.put("units", img.getUnits());
+        }
+        if (img.getProjectionName() != null) {
+            raster.put("projectionName", img.getProjectionName());
+        }
+        layer.getMetadata().put("raster", raster);
+        
+        layers.add(layer);
+        logger.info("解析 IMG 完成: {} - {}x{}, {} 个波段, {}, 范围: {}", layer.getLayerName(),
+                img.getWidth(), img.getHeight(), img.getBandCount(), img.getPixelType(), layer.getBbox());
+        return layers;
+    }
+    
+    /**
+     * 解析 Office 文档（doc、docx、xls、xlsx）
+     * 文档不含空间信息，作为一个图层记录，页数、字数、工作表等统计信息写入补充信息
+     */
+    List<LayerInfo> parseDocument(String documentPath) throws IOException {
+        logger.info("解析文档: {}", documentPath);
+        
+        List<LayerInfo> layers = new ArrayList<>();
+        Map<String, Object> document = DocumentMetadataReader.read(Paths.get(documentPath));
+        
+        LayerInfo layer = new LayerInfo();
+        String fileName = Paths.get(documentPath).getFileName().toString();
+        layer.setLayerName(fileName.substring(0, fileName.lastIndexOf('.')));
+        layer.setFilePath(documentPath);
+        layer.setGeometryType("Document");
+        layer.setFeatureCount(0);
+        layer.setTotalArea(0.0);
+        layer.getMetadata().put("document", document);
+        
+        layers.add(layer);
+        logger.info("解析文档完成: {} - {}", layer.getLayerName(), document);
+        return layers;
+    }
+    
     /**
      * 获取 Shapefile 几何类型名称
      */
@@ -900,5 +847,7 @@ public class SimpleGeoParser {
         String name;
         int featureCount;
         String geometryType;
+        String crs;
+        String bbox;
     }
 }
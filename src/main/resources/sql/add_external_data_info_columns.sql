@@ -0,0 +1,12 @@
+-- 文件记录扩展列
+-- CRS：图层坐标系标识（如 EPSG:4490）
+-- METADATA：各格式解析得到的补充信息（如 Shapefile 的 .dbf 字段结构、代码页），JSON 格式
+-- PostgreSQL语法
+
+ALTER TABLE external_data_info ADD COLUMN IF NOT EXISTS CRS VARCHAR(255);
+
+ALTER TABLE external_data_info ADD COLUMN IF NOT EXISTS METADATA JSONB;
+
+COMMENT ON COLUMN external_data_info.CRS IS '坐标系标识';
+
+COMMENT ON COLUMN external_data_info.METADATA IS '补充信息（JSON）';
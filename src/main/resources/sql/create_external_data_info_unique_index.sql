@@ -0,0 +1,9 @@
+-- 文件记录唯一索引
+-- 同一接收编码下，文件路径 + 图层名称唯一（图层名称为空视为相同），入库时通过 ON CONFLICT 去重
+-- PostgreSQL语法
+-- 存在历史重复记录时索引无法创建，启动时只检查不删除数据，并终止启动；
+-- 需先手动执行一次性迁移 sql/migrate_dedupe_external_data_info.sql
+
+-- 创建唯一索引（如果不存在）
+CREATE UNIQUE INDEX IF NOT EXISTS uk_external_data_info_file_layer
+    ON external_data_info (RECEIVE_CODE, FILE_PATH, (COALESCE(LAYER_NAME, '')));
@@ -0,0 +1,15 @@
+-- 解析隔离名单表
+-- 记录每个接收编码下解析超时的文件及连续超时次数，超时次数达到阈值的文件在之后的扫描中跳过解析
+-- PostgreSQL语法
+
+-- 创建表（如果不存在）
+CREATE TABLE IF NOT EXISTS external_parse_quarantine (
+    RECEIVE_CODE VARCHAR(100) NOT NULL,
+    FILE_PATH VARCHAR(1000) NOT NULL,
+    FILE_SIZE BIGINT NOT NULL,
+    LAST_MODIFIED BIGINT NOT NULL,
+    FORMAT VARCHAR(20),
+    TIMEOUT_COUNT INTEGER NOT NULL DEFAULT 0,
+    LAST_TIMEOUT_TIME TIMESTAMP,
+    CONSTRAINT pk_external_parse_quarantine PRIMARY KEY (RECEIVE_CODE, FILE_PATH)
+);
@@ -0,0 +1,14 @@
+-- 扫描清单表
+-- 记录每个接收编码下已解析文件的大小、修改时间（.shp 包含同名附属文件）和图层指纹，用于增量重新解析
+-- PostgreSQL语法
+
+-- 创建表（如果不存在）
+CREATE TABLE IF NOT EXISTS external_scan_manifest (
+    RECEIVE_CODE VARCHAR(100) NOT NULL,
+    FILE_PATH VARCHAR(1000) NOT NULL,
+    FILE_SIZE BIGINT NOT NULL,
+    LAST_MODIFIED BIGINT NOT NULL,
+    LAYER_FINGERPRINT VARCHAR(64),
+    SCAN_TIME TIMESTAMP,
+    CONSTRAINT pk_external_scan_manifest PRIMARY KEY (RECEIVE_CODE, FILE_PATH)
+);
@@ -0,0 +1,48 @@
+-- 一次性迁移：清理 external_data_info 中的历史重复文件记录并创建唯一索引
+-- 不在应用启动时执行，由运维确认后手动执行一次，例如：
+--   psql -v ON_ERROR_STOP=1 -d <数据库> -f migrate_dedupe_external_data_info.sql
+-- 每组（接收编码 + 文件路径 + 图层名称，图层名称为空视为相同）保留 ID 最大的一条：
+-- ID 格式为 FILE_yyyyMMdd_HHmmss_xxxxxxxx，按字典序最大即最后写入的记录。
+-- 被删除的记录先完整备份到 external_data_info_dedupe_backup，整个迁移在一个事务中完成。
+-- PostgreSQL语法
+
+BEGIN;
+
+-- 待删除的重复记录
+CREATE TEMP TABLE external_data_info_duplicates ON COMMIT DROP AS
+SELECT ID
+FROM (
+    SELECT ID,
+           ROW_NUMBER() OVER (
+               PARTITION BY RECEIVE_CODE, FILE_PATH, COALESCE(LAYER_NAME, '')
+               ORDER BY ID DESC
+           ) AS rn
+    FROM external_data_info
+) ranked
+WHERE rn > 1;
+
+-- 备份待删除的记录
+CREATE TABLE IF NOT EXISTS external_data_info_dedupe_backup (LIKE external_data_info);
+
+INSERT INTO external_data_info_dedupe_backup
+SELECT d.*
+FROM external_data_info d
+JOIN external_data_info_duplicates dup ON dup.ID = d.ID;
+
+DO $$
+DECLARE
+    duplicate_count INTEGER;
+BEGIN
+    SELECT COUNT(*) INTO duplicate_count FROM external_data_info_duplicates;
+    RAISE NOTICE '重复文件记录 % 条，已备份到 external_data_info_dedupe_backup，开始删除', duplicate_count;
+END $$;
+
+DELETE FROM external_data_info d
+USING external_data_info_duplicates dup
+WHERE d.ID = dup.ID;
+
+-- 创建唯一索引（如果不存在）
+CREATE UNIQUE INDEX IF NOT EXISTS uk_external_data_info_file_layer
+    ON external_data_info (RECEIVE_CODE, FILE_PATH, (COALESCE(LAYER_NAME, '')));
+
+COMMIT;
@@ -0,0 +1,73 @@
+package com.diit.ExternelDataManagement.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 启动时文件记录唯一索引检查测试：索引缺失且无法创建时终止启动，JdbcTemplate 由桩代替
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class DatabaseInitializerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DatabaseInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        initializer = new DatabaseInitializer(jdbcTemplate);
+    }
+
+    @Test
+    void existingIndexIsLeftAlone() {
+        when(jdbcTemplate.queryForObject(contains("pg_indexes"), eq(Integer.class))).thenReturn(1);
+
+        assertThatCode(initializer::run).doesNotThrowAnyException();
+        verify(jdbcTemplate, never()).queryForObject(contains("HAVING COUNT(*) > 1"), eq(Integer.class));
+        verify(jdbcTemplate, never()).execute(contains("uk_external_data_info_file_layer"));
+    }
+
+    @Test
+    void duplicateRecordsAbortStartupWithoutDeletingData() {
+        when(jdbcTemplate.queryForObject(contains("pg_indexes"), eq(Integer.class))).thenReturn(0);
+        when(jdbcTemplate.queryForObject(contains("HAVING COUNT(*) > 1"), eq(Integer.class))).thenReturn(3);
+
+        assertThatThrownBy(initializer::run)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("3 组重复文件记录")
+                .hasMessageContaining("migrate_dedupe_external_data_info.sql");
+        verify(jdbcTemplate, never()).execute(contains("DELETE"));
+    }
+
+    @Test
+    void indexThatCannotBeCreatedAbortsStartup() {
+        when(jdbcTemplate.queryForObject(contains("pg_indexes"), eq(Integer.class))).thenReturn(0);
+        when(jdbcTemplate.queryForObject(contains("HAVING COUNT(*) > 1"), eq(Integer.class))).thenReturn(0);
+
+        assertThatThrownBy(initializer::run)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("创建失败");
+        verify(jdbcTemplate).execute(contains("uk_external_data_info_file_layer"));
+    }
+
+    @Test
+    void missingIndexIsCreatedWhenNoDuplicatesExist() {
+        when(jdbcTemplate.queryForObject(contains("pg_indexes"), eq(Integer.class))).thenReturn(0, 1);
+        when(jdbcTemplate.queryForObject(contains("HAVING COUNT(*) > 1"), eq(Integer.class))).thenReturn(0);
+
+        assertThatCode(initializer::run).doesNotThrowAnyException();
+        verify(jdbcTemplate).execute(contains("uk_external_data_info_file_layer"));
+    }
+}
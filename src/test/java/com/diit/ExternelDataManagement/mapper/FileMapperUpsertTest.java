@@ -0,0 +1,191 @@
+package com.diit.ExternelDataManagement.mapper;
+
+import com.diit.ExternelDataManagement.pojo.FileEntity;
+import com.diit.ExternelDataManagement.service.impl.FileCopyIngester;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文件记录入库集成测试：多行 VALUES 批量写入、单条写入和 COPY 合并的 新增/更新/跳过 统计
+ * 需要 PostgreSQL，设置环境变量 EXTERNEL_TEST_DB_URL（以及 EXTERNEL_TEST_DB_USERNAME / EXTERNEL_TEST_DB_PASSWORD）后执行，
+ * 否则跳过。测试在临时 schema 中建表并创建与正式环境相同的唯一索引，结束后删除该 schema。
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+@EnabledIfEnvironmentVariable(named = "EXTERNEL_TEST_DB_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FileMapperUpsertTest {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE external_data_info (" +
+            "ID VARCHAR(64) PRIMARY KEY, RECEIVE_CODE VARCHAR(255), FILE_PATH VARCHAR(1024), " +
+            "DATA_TYPE VARCHAR(64), FILE_TYPE VARCHAR(64), BBOX VARCHAR(255), DATA_SIZE VARCHAR(64), " +
+            "TOTAL_OBJECT_NUM INTEGER, TOTAL_AREA DOUBLE PRECISION, LAYER_NAME VARCHAR(255), " +
+            "CRS VARCHAR(255), METADATA JSONB)";
+
+    private final String schema = "externel_test_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SqlSession session;
+
+    private FileMapper fileMapper;
+
+    @BeforeAll
+    void createSchema() throws IOException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("EXTERNEL_TEST_DB_URL"));
+        dataSource.setUsername(System.getenv("EXTERNEL_TEST_DB_USERNAME"));
+        dataSource.setPassword(System.getenv("EXTERNEL_TEST_DB_PASSWORD"));
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setConnectionInitSql("SET search_path TO " + schema);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        String indexSql = new ClassPathResource("sql/create_external_data_info_unique_index.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        jdbcTemplate.execute(indexSql);
+    }
+
+    @AfterAll
+    void dropSchema() {
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @BeforeEach
+    void openSession() {
+        jdbcTemplate.execute("TRUNCATE external_data_info");
+        Configuration configuration = new Configuration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(FileMapper.class);
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        session = sqlSessionFactory.openSession(true);
+        fileMapper = session.getMapper(FileMapper.class);
+    }
+
+    @AfterEach
+    void closeSession() {
+        session.close();
+    }
+
+    @Test
+    void upsertBatchReportsInsertedUpdatedAndSkipped() {
+        FileEntity roads = entity("1", "/data/roads.shp", "roads", 10);
+        FileEntity parcels = entity("2", "/data/parcels.gdb", "parcels", 20);
+
+        assertThat(fileMapper.upsertBatch(Arrays.asList(roads, parcels))).containsExactly(true, true);
+
+        // 内容未变化的记录不返回（跳过）
+        assertThat(fileMapper.upsertBatch(Arrays.asList(entity("3", "/data/roads.shp", "roads", 10),
+                entity("4", "/data/parcels.gdb", "parcels", 20)))).isEmpty();
+
+        // 只有变化的记录被更新，ID 保持首次写入的值
+        assertThat(fileMapper.upsertBatch(Arrays.asList(entity("5", "/data/roads.shp", "roads", 10),
+                entity("6", "/data/parcels.gdb", "parcels", 21)))).containsExactly(false);
+
+        assertThat(countRows()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT TOTAL_OBJECT_NUM FROM external_data_info WHERE ID = 'FILE_2'", Integer.class)).isEqualTo(21);
+    }
+
+    @Test
+    void upsertBatchAcceptsMaximumChunkInOneStatement() {
+        List<FileEntity> entities = new ArrayList<>();
+        for (int i = 0; i < FileMapper.MAX_UPSERT_BATCH_SIZE; i++) {
+            entities.add(entity(String.valueOf(i), "/data/tile_" + i + ".tif", null, 1));
+        }
+
+        assertThat(fileMapper.upsertBatch(entities)).hasSize(FileMapper.MAX_UPSERT_BATCH_SIZE).containsOnly(true);
+        assertThat(countRows()).isEqualTo(FileMapper.MAX_UPSERT_BATCH_SIZE);
+    }
+
+    @Test
+    void upsertReturnsNullForUnchangedRecord() {
+        assertThat(fileMapper.upsert(entity("1", "/data/a.tif", null, 1))).isTrue();
+        assertThat(fileMapper.upsert(entity("2", "/data/a.tif", null, 1))).isNull();
+        // 图层名称为空的记录按 COALESCE(LAYER_NAME, '') 视为同一条
+        assertThat(fileMapper.upsert(entity("3", "/data/a.tif", null, 2))).isFalse();
+        assertThat(fileMapper.upsert(entity("4", "/data/a.tif", "band_1", 2))).isTrue();
+
+        assertThat(countRows()).isEqualTo(2);
+    }
+
+    @Test
+    void copyMergeCountsInsertedAndUpdated() throws Exception {
+        FileCopyIngester ingester = new FileCopyIngester();
+        ReflectionTestUtils.setField(ingester, "dataSource", dataSource);
+
+        try (FileCopyIngester.CopySession copySession = ingester.openSession()) {
+            // 同一分片内的重复记录只合并一条
+            FileCopyIngester.MergeResult first = copySession.ingest(Arrays.asList(
+                    entity("1", "/data/roads.shp", "roads", 10),
+                    entity("2", "/data/parcels.gdb", "parcels", 20),
+                    entity("3", "/data/parcels.gdb", "parcels", 20)));
+            assertThat(first.inserted()).isEqualTo(2);
+            assertThat(first.updated()).isZero();
+
+            FileCopyIngester.MergeResult second = copySession.ingest(Arrays.asList(
+                    entity("4", "/data/roads.shp", "roads", 10),
+                    entity("5", "/data/parcels.gdb", "parcels", 25),
+                    entity("6", "/data/water.shp", "water", 5)));
+            assertThat(second.inserted()).isEqualTo(1);
+            assertThat(second.updated()).isEqualTo(1);
+        }
+
+        assertThat(countRows()).isEqualTo(3);
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM external_data_info", Integer.class);
+    }
+
+    private static FileEntity entity(String id, String filePath, String layerName, int objectCount) {
+        FileEntity entity = new FileEntity();
+        entity.setId("FILE_" + id);
+        entity.setReceiveCode("RC001");
+        entity.setFilePath(filePath);
+        entity.setDataType("vector");
+        entity.setFileType(filePath.substring(filePath.lastIndexOf('.') + 1));
+        entity.setBbox("0.000000,0.000000,1.000000,1.000000");
+        entity.setDataSize("1024");
+        entity.setTotalObjectNum(objectCount);
+        entity.setTotalArea(objectCount * 1.5);
+        entity.setLayerName(layerName);
+        entity.setCrs("EPSG:4490");
+        entity.setMetadata("{\"source\":\"test\"}");
+        return entity;
+    }
+}
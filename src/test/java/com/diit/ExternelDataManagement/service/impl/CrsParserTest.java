@@ -0,0 +1,86 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * WKT 坐标系解析测试
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class CrsParserTest {
+
+    @Test
+    void parsesEsriGeographicCrsByKnownName() {
+        CrsParser.CrsInfo crs = CrsParser.parse("GEOGCS[\"GCS_China_Geodetic_Coordinate_System_2000\","
+                + "DATUM[\"D_China_2000\",SPHEROID[\"CGCS2000\",6378137.0,298.257222101]],"
+                + "PRIMEM[\"Greenwich\",0.0],UNIT[\"Degree\",0.0174532925199433]]");
+
+        assertThat(crs).isNotNull();
+        assertThat(crs.isGeographic()).isTrue();
+        assertThat(crs.getName()).isEqualTo("GCS_China_Geodetic_Coordinate_System_2000");
+        assertThat(crs.getIdentifier()).isEqualTo("EPSG:4490");
+        assertThat(crs.getSemiMajorAxis()).isEqualTo(6378137.0);
+        assertThat(crs.getInverseFlattening()).isEqualTo(298.257222101);
+    }
+
+    @Test
+    void prefersAuthorityCode() {
+        CrsParser.CrsInfo crs = CrsParser.parse("GEOGCS[\"WGS 84\",DATUM[\"WGS_1984\","
+                + "SPHEROID[\"WGS 84\",6378137,298.257223563,AUTHORITY[\"EPSG\",\"7030\"]]],"
+                + "PRIMEM[\"Greenwich\",0],UNIT[\"degree\",0.0174532925199433],AUTHORITY[\"EPSG\",\"4326\"]]");
+
+        assertThat(crs).isNotNull();
+        assertThat(crs.getIdentifier()).isEqualTo("EPSG:4326");
+    }
+
+    @Test
+    void parsesProjectedCrsWithNestedSpheroid() {
+        CrsParser.CrsInfo crs = CrsParser.parse("PROJCS[\"Xian_1980_3_Degree_GK_CM_117E\","
+                + "GEOGCS[\"GCS_Xian_1980\",DATUM[\"D_Xian_1980\",SPHEROID[\"Xian_1980\",6378140.0,298.257]],"
+                + "PRIMEM[\"Greenwich\",0.0],UNIT[\"Degree\",0.0174532925199433]],"
+                + "PROJECTION[\"Gauss_Kruger\"],PARAMETER[\"False_Easting\",500000.0],"
+                + "PARAMETER[\"Central_Meridian\",117.0],UNIT[\"Meter\",1.0],AUTHORITY[\"EPSG\",2385]]");
+
+        assertThat(crs).isNotNull();
+        assertThat(crs.isGeographic()).isFalse();
+        assertThat(crs.getIdentifier()).isEqualTo("EPSG:2385");
+        assertThat(crs.getSemiMajorAxis()).isEqualTo(6378140.0);
+        assertThat(crs.getInverseFlattening()).isEqualTo(298.257);
+    }
+
+    @Test
+    void takesHorizontalCrsFromCompoundCrs() {
+        CrsParser.CrsInfo crs = CrsParser.parse("COMPD_CS[\"WGS 84 + EGM96\","
+                + "GEOGCS[\"WGS 84\",DATUM[\"WGS_1984\",SPHEROID[\"WGS 84\",6378137,298.257223563]],"
+                + "UNIT[\"degree\",0.0174532925199433]],"
+                + "VERT_CS[\"EGM96 geoid height\",VERT_DATUM[\"EGM96 geoid\",2005],UNIT[\"metre\",1]]]");
+
+        assertThat(crs).isNotNull();
+        assertThat(crs.isGeographic()).isTrue();
+        assertThat(crs.getIdentifier()).isEqualTo("EPSG:4326");
+    }
+
+    @Test
+    void equalAreaProjectionMatchesSphericalAreaNearEquator() {
+        CrsParser.CrsInfo crs = CrsParser.parse("GEOGCS[\"GCS_WGS_1984\",DATUM[\"D_WGS_1984\","
+                + "SPHEROID[\"WGS_1984\",6378137.0,298.257223563]],UNIT[\"Degree\",0.0174532925199433]]");
+
+        // 1°x1° 格网在赤道处约 1.23e10 平方米
+        double width = crs.equalAreaX(1) - crs.equalAreaX(0);
+        double height = crs.equalAreaY(1) - crs.equalAreaY(0);
+        assertThat(width * height).isCloseTo(1.2308e10, within(0.01e10));
+    }
+
+    @Test
+    void returnsNullForEmptyOrMalformedWkt() {
+        assertThat(CrsParser.parse(null)).isNull();
+        assertThat(CrsParser.parse("   ")).isNull();
+        assertThat(CrsParser.parse("not a wkt")).isNull();
+        assertThat(CrsParser.parse("GEOGCS[\"WGS 84\",DATUM[\"WGS_1984\"")).isNull();
+        assertThat(CrsParser.parse("LOCAL_CS[\"Engineering\",UNIT[\"metre\",1]]")).isNull();
+    }
+}
@@ -0,0 +1,150 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.mapper.DataMapper;
+import com.diit.ExternelDataManagement.mapper2.workflow.WorkflowInstanceMapper;
+import com.diit.ExternelDataManagement.pojo.DataEntity;
+import com.diit.ExternelDataManagement.pojo.SyncStatusResult;
+import com.diit.ExternelDataManagement.pojo.WorkflowInstanceEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 质检状态同步测试：工作流状态一次批量查询，状态变化在一个事务中按分片批量更新，数据库访问由 Mockito 桩代替
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class DataServiceImplTest {
+
+    private DataMapper dataMapper;
+    private WorkflowInstanceMapper workflowInstanceMapper;
+    private PlatformTransactionManager transactionManager;
+    private DataServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        dataMapper = mock(DataMapper.class);
+        workflowInstanceMapper = mock(WorkflowInstanceMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        service = new DataServiceImpl();
+        ReflectionTestUtils.setField(service, "dataMapper", dataMapper);
+        ReflectionTestUtils.setField(service, "workflowInstanceMapper", workflowInstanceMapper);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+    }
+
+    @Test
+    void fetchesStatusesOnceAndUpdatesChangedRecordsInOneTransaction() {
+        when(dataMapper.findAllInQualityCheck()).thenReturn(List.of(
+                record("1", "101"), record("2", "102"), record("3", "103"),
+                record("4", "104"), record("5", "105"), record("6", "abc")));
+        when(workflowInstanceMapper.findByIds(any())).thenReturn(List.of(
+                instance(101L, 2), instance(102L, 3), instance(103L, 4), instance(104L, 9)));
+        when(dataMapper.updateQualityStatusBatch(anyList())).thenReturn(List.of("102", "103"));
+
+        SyncStatusResult result = service.syncQualityCheckStatus();
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        verify(workflowInstanceMapper, times(1)).findByIds(ids.capture());
+        assertThat(ids.getValue()).containsExactly(101L, 102L, 103L, 104L, 105L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DataEntity>> updates = ArgumentCaptor.forClass(List.class);
+        verify(dataMapper, times(1)).updateQualityStatusBatch(updates.capture());
+        assertThat(updates.getValue()).extracting(DataEntity::getInstanceId, DataEntity::getQualityStatus)
+                .containsExactly(tuple("102", "未通过"), tuple("103", "通过"));
+        verify(transactionManager, times(1)).commit(any());
+
+        assertThat(result.getTotalCount()).isEqualTo(6);
+        assertThat(result.getUpdatedCount()).isEqualTo(2);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getFailedCount()).isEqualTo(3);
+        assertThat(result.getDetails()).extracting(SyncStatusResult.SyncDetail::getId,
+                        SyncStatusResult.SyncDetail::getAction)
+                .containsExactly(tuple("1", "skipped"), tuple("2", "updated"), tuple("3", "updated"),
+                        tuple("4", "failed"), tuple("5", "failed"), tuple("6", "failed"));
+    }
+
+    @Test
+    void splitsLargeUpdatesIntoChunksWithinOneTransaction() {
+        List<DataEntity> records = new ArrayList<>();
+        List<WorkflowInstanceEntity> instances = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            records.add(record(String.valueOf(i), String.valueOf(i)));
+            instances.add(instance((long) i, 4));
+        }
+        when(dataMapper.findAllInQualityCheck()).thenReturn(records);
+        when(workflowInstanceMapper.findByIds(any())).thenReturn(instances);
+        when(dataMapper.updateQualityStatusBatch(anyList())).thenAnswer(invocation -> {
+            List<DataEntity> chunk = invocation.getArgument(0);
+            return chunk.stream().map(DataEntity::getInstanceId).collect(Collectors.toList());
+        });
+
+        SyncStatusResult result = service.syncQualityCheckStatus();
+
+        verify(dataMapper, times(3)).updateQualityStatusBatch(anyList());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertThat(result.getUpdatedCount()).isEqualTo(2500);
+    }
+
+    @Test
+    void failedUpdateRollsBackAndMarksPendingRecordsFailed() {
+        when(dataMapper.findAllInQualityCheck()).thenReturn(List.of(record("1", "101"), record("2", "102")));
+        when(workflowInstanceMapper.findByIds(any())).thenReturn(List.of(instance(101L, 4), instance(102L, 2)));
+        when(dataMapper.updateQualityStatusBatch(anyList())).thenThrow(new IllegalStateException("连接中断"));
+
+        SyncStatusResult result = service.syncQualityCheckStatus();
+
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertThat(result.getUpdatedCount()).isZero();
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getFailedCount()).isEqualTo(1);
+        assertThat(result.getDetails().get(0).getMessage()).contains("连接中断");
+    }
+
+    @Test
+    void emptyListSkipsWorkflowQuery() {
+        when(dataMapper.findAllInQualityCheck()).thenReturn(List.of());
+
+        SyncStatusResult result = service.syncQualityCheckStatus();
+
+        assertThat(result.getTotalCount()).isZero();
+        verify(workflowInstanceMapper, never()).findByIds(any());
+        verify(dataMapper, never()).updateQualityStatusBatch(anyList());
+    }
+
+    private static DataEntity record(String id, String instanceId) {
+        DataEntity entity = new DataEntity();
+        entity.setId(id);
+        entity.setReceiveCode("R" + id);
+        entity.setInstanceId(instanceId);
+        entity.setQualityStatus("质检中");
+        return entity;
+    }
+
+    private static WorkflowInstanceEntity instance(Long id, Integer status) {
+        WorkflowInstanceEntity instance = new WorkflowInstanceEntity();
+        instance.setId(id);
+        instance.setStatus(status);
+        return instance;
+    }
+}
@@ -0,0 +1,74 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.writeDbf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * .dbf 文件头读取测试：字段定义、记录数和编码（语言驱动ID 与 .cpg 声明）
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class DbfHeaderReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsFieldsRecordCountAndCodePage() throws IOException {
+        Path dbf = writeDbf(dir.resolve("parcel.dbf"), 2, 0x4D);
+
+        DbfHeaderReader.DbfHeader header = DbfHeaderReader.read(dbf);
+
+        assertThat(header.getVersion()).isEqualTo(3);
+        assertThat(header.getRecordCount()).isEqualTo(2);
+        assertThat(header.getHeaderLength()).isEqualTo(32 + 3 * 32 + 1);
+        assertThat(header.getRecordLength()).isEqualTo(1 + 20 + 12 + 8);
+        assertThat(header.getEncoding()).isEqualTo("GBK");
+        assertThat(header.getFields()).extracting(DbfHeaderReader.DbfField::getName)
+                .containsExactly("名称", "AREA", "UPDATED");
+        DbfHeaderReader.DbfField area = header.getFields().get(1);
+        assertThat(area.getType()).isEqualTo('N');
+        assertThat(area.getLength()).isEqualTo(12);
+        assertThat(area.getDecimals()).isEqualTo(3);
+    }
+
+    @Test
+    void prefersCpgDeclaration() throws IOException {
+        Path dbf = writeDbf(dir.resolve("parcel.dbf"), 2, 0x57);
+        Files.write(dir.resolve("parcel.cpg"), "936\r\n".getBytes(StandardCharsets.US_ASCII));
+        assertThat(DbfHeaderReader.read(dbf).getEncoding()).isEqualTo("GBK");
+
+        Files.write(dir.resolve("parcel.cpg"), "UTF-8".getBytes(StandardCharsets.US_ASCII));
+        assertThat(DbfHeaderReader.read(dbf).getEncoding()).isEqualTo("UTF-8");
+    }
+
+    @Test
+    void rejectsTruncatedHeader() throws IOException {
+        Path dbf = writeDbf(dir.resolve("parcel.dbf"), 2, 0x4D);
+        ByteWriter.read(dbf, ByteOrder.LITTLE_ENDIAN).truncate(20).writeTo(dbf);
+
+        assertThatThrownBy(() -> DbfHeaderReader.read(dbf))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("不完整");
+    }
+
+    @Test
+    void rejectsTruncatedFieldDescriptors() throws IOException {
+        Path dbf = writeDbf(dir.resolve("parcel.dbf"), 2, 0x4D);
+        ByteWriter.read(dbf, ByteOrder.LITTLE_ENDIAN).truncate(60).writeTo(dbf);
+
+        assertThatThrownBy(() -> DbfHeaderReader.read(dbf)).isInstanceOf(IOException.class);
+    }
+}
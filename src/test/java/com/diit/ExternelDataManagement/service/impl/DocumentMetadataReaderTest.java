@@ -0,0 +1,307 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Office 文档元数据读取测试：OOXML 由 ZipOutputStream 生成，OLE2 复合文档按 512 字节扇区逐字节生成
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class DocumentMetadataReaderTest {
+
+    private static final String XLSX_APP_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<Properties xmlns:vt=\"http://schemas.openxmlformats.org/officeDocument/2006/docPropsVTypes\">"
+            + "<Application>Microsoft Excel</Application><Company>A &amp; B</Company>"
+            + "<HeadingPairs><vt:vector size=\"2\" baseType=\"variant\">"
+            + "<vt:variant><vt:lpstr>Worksheets</vt:lpstr></vt:variant>"
+            + "<vt:variant><vt:i4>2</vt:i4></vt:variant></vt:vector></HeadingPairs>"
+            + "<TitlesOfParts><vt:vector size=\"2\" baseType=\"lpstr\">"
+            + "<vt:lpstr>汇总</vt:lpstr><vt:lpstr>明细</vt:lpstr></vt:vector></TitlesOfParts>"
+            + "<AppVersion>16.0300</AppVersion></Properties>";
+
+    private static final String DOCX_APP_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<Properties><Application>Microsoft Office Word</Application>"
+            + "<Pages>3</Pages><Words>120</Words><Characters>689</Characters><Lines>12</Lines></Properties>";
+
+    private static final int SECTOR_SIZE = 512;
+    private static final int MINI_SECTOR_SIZE = 64;
+    private static final int FREE_SECTOR = 0xFFFFFFFF;
+    private static final int END_OF_CHAIN = 0xFFFFFFFE;
+    private static final int FAT_SECTOR = 0xFFFFFFFD;
+
+    // 扇区布局：0 FAT，1 目录，2 MiniFAT，3 短流容器
+    private static final int DIRECTORY_SECTOR = 1;
+    private static final int MINI_FAT_SECTOR = 2;
+    private static final int MINI_STREAM_SECTOR = 3;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsWorkbookStatisticsAndSheetNames() throws IOException {
+        Path xlsx = writeZip(dir.resolve("report.xlsx"), "docProps/app.xml", XLSX_APP_XML,
+                "xl/workbook.xml", "<workbook/>", "xl/worksheets/sheet1.xml", "<worksheet/>",
+                "xl/worksheets/sheet2.xml", "<worksheet/>", "xl/worksheets/_rels/sheet1.xml.rels", "<Relationships/>");
+
+        Map<String, Object> metadata = DocumentMetadataReader.read(xlsx);
+
+        assertThat(metadata)
+                .containsEntry("format", "OOXML")
+                .containsEntry("entries", 5)
+                .containsEntry("sheets", 2)
+                .containsEntry("application", "Microsoft Excel")
+                .containsEntry("appVersion", "16.0300")
+                .containsEntry("company", "A & B");
+        assertThat(metadata.get("sheetNames")).isEqualTo(List.of("汇总", "明细"));
+    }
+
+    @Test
+    void readsDocumentStatisticsAsNumbers() throws IOException {
+        Path docx = writeZip(dir.resolve("report.docx"), "word/document.xml", "<document/>",
+                "docProps/app.xml", DOCX_APP_XML);
+
+        Map<String, Object> metadata = DocumentMetadataReader.read(docx);
+
+        assertThat(metadata)
+                .containsEntry("pages", 3)
+                .containsEntry("words", 120)
+                .containsEntry("characters", 689)
+                .containsEntry("lines", 12)
+                .doesNotContainKey("sheets");
+    }
+
+    @Test
+    void detectsFormatByMagicRatherThanExtension() throws IOException {
+        Path renamed = writeZip(dir.resolve("report.doc"), "docProps/app.xml", DOCX_APP_XML);
+
+        assertThat(DocumentMetadataReader.read(renamed)).containsEntry("format", "OOXML");
+    }
+
+    @Test
+    void rejectsZipWithoutCentralDirectory() throws IOException {
+        Path xlsx = writeZip(dir.resolve("report.xlsx"), "docProps/app.xml", XLSX_APP_XML);
+        ByteWriter zip = ByteWriter.read(xlsx, ByteOrder.LITTLE_ENDIAN);
+        zip.truncate(zip.size() - 22).writeTo(xlsx);
+
+        assertThatThrownBy(() -> DocumentMetadataReader.read(xlsx))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("中央目录");
+    }
+
+    @Test
+    void rejectsOutOfRangeCentralDirectoryOffset() throws IOException {
+        Path xlsx = writeZip(dir.resolve("report.xlsx"), "docProps/app.xml", XLSX_APP_XML);
+        ByteWriter zip = ByteWriter.read(xlsx, ByteOrder.LITTLE_ENDIAN);
+        zip.i32At(zip.size() - 22 + 16, 0x7FFFFFF0).writeTo(xlsx);
+
+        assertThatThrownBy(() -> DocumentMetadataReader.read(xlsx))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("越界");
+    }
+
+    @Test
+    void readsSummaryInformationFromMiniStream() throws IOException {
+        Path doc = writeOle(dir.resolve("report.doc"), propertySet(false), false);
+
+        Map<String, Object> metadata = DocumentMetadataReader.read(doc);
+
+        assertThat(metadata)
+                .containsEntry("format", "OLE2")
+                .containsEntry("streams", 2)
+                .containsEntry("title", "测试标题")
+                .containsEntry("subject", "Subject")
+                .containsEntry("author", "张三")
+                .containsEntry("pages", 7);
+    }
+
+    @Test
+    void readsSummaryInformationFromRegularSectors() throws IOException {
+        Path doc = writeOle(dir.resolve("report.xls"), propertySet(false), true);
+
+        assertThat(DocumentMetadataReader.read(doc))
+                .containsEntry("title", "测试标题")
+                .containsEntry("pages", 7);
+    }
+
+    @Test
+    void skipsStringPropertiesWithCorruptLength() throws IOException {
+        Path doc = writeOle(dir.resolve("report.doc"), propertySet(true), false);
+
+        Map<String, Object> metadata = DocumentMetadataReader.read(doc);
+
+        // 长度接近 Integer.MAX_VALUE 的属性被跳过，不会分配超大数组；其余属性照常读取
+        assertThat(metadata)
+                .doesNotContainKeys("title", "subject")
+                .containsEntry("author", "张三")
+                .containsEntry("pages", 7);
+    }
+
+    @Test
+    void rejectsTruncatedCompoundFile() throws IOException {
+        Path doc = writeOle(dir.resolve("report.doc"), propertySet(false), false);
+        ByteWriter.read(doc, ByteOrder.LITTLE_ENDIAN).truncate(SECTOR_SIZE).writeTo(doc);
+
+        assertThatThrownBy(() -> DocumentMetadataReader.read(doc))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("扇区越界");
+    }
+
+    @Test
+    void rejectsInvalidSectorShift() throws IOException {
+        Path doc = writeOle(dir.resolve("report.doc"), propertySet(false), false);
+        ByteWriter.read(doc, ByteOrder.LITTLE_ENDIAN).i16At(30, 40).writeTo(doc);
+
+        assertThatThrownBy(() -> DocumentMetadataReader.read(doc))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("扇区大小");
+    }
+
+    @Test
+    void rejectsUnknownOrTinyFiles() throws IOException {
+        Path text = dir.resolve("notes.doc");
+        Files.write(text, "plain text, not a document".getBytes(StandardCharsets.US_ASCII));
+        assertThatThrownBy(() -> DocumentMetadataReader.read(text))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("无法识别");
+
+        Path tiny = dir.resolve("tiny.docx");
+        Files.write(tiny, new byte[]{'P', 'K'});
+        assertThatThrownBy(() -> DocumentMetadataReader.read(tiny)).isInstanceOf(IOException.class);
+    }
+
+    /**
+     * 依次写入 (条目名, 内容) 对
+     */
+    private static Path writeZip(Path path, String... entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return path;
+    }
+
+    /**
+     * SummaryInformation 属性集：字节序(2) + 版本(2) + 系统ID(4) + CLSID(16) + 节数(4) + FMTID(16) + 节偏移(4)，
+     * 节内为 代码页(1)、标题(2)、主题(3)、作者(4)、页数(14)
+     * @param corruptLengths 标题和主题的长度写为接近 Integer.MAX_VALUE 的值
+     */
+    private static byte[] propertySet(boolean corruptLengths) {
+        byte[] title = "测试标题\0".getBytes(StandardCharsets.UTF_8);
+        byte[] subject = "Subject\0".getBytes(StandardCharsets.UTF_16LE);
+        byte[] author = "张三\0".getBytes(StandardCharsets.UTF_8);
+        int[] ids = {1, 2, 3, 4, 14};
+
+        ByteWriter values = ByteWriter.littleEndian();
+        int[] offsets = new int[ids.length];
+        int base = 8 + ids.length * 8;
+        offsets[0] = base + values.position();
+        values.i32(2).i16(65001).i16(0);
+        offsets[1] = base + values.position();
+        values.i32(30).i32(corruptLengths ? Integer.MAX_VALUE - 4 : title.length).bytes(title).align(4);
+        offsets[2] = base + values.position();
+        values.i32(31).i32(corruptLengths ? 0x40000000 : subject.length / 2).bytes(subject).align(4);
+        offsets[3] = base + values.position();
+        values.i32(30).i32(author.length).bytes(author).align(4);
+        offsets[4] = base + values.position();
+        values.i32(3).i32(7);
+
+        int sectionSize = base + values.size();
+        ByteWriter stream = ByteWriter.littleEndian()
+                .i16(0xFFFE).i16(0).i32(0x00020006)
+                .zeros(16)
+                .i32(1)
+                .zeros(16)
+                .i32(48)
+                .i32(sectionSize).i32(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            stream.i32(ids[i]).i32(offsets[i]);
+        }
+        return stream.bytes(values.toByteArray()).toByteArray();
+    }
+
+    /**
+     * 生成 OLE2 复合文档（版本 3，512 字节扇区）：
+     * 目录中有根目录项、SummaryInformation 流和一个空的 WordDocument 流；
+     * 属性集存放在短流容器扇区开头，regularStream 为 true 时短流上限设为 0，SummaryInformation 改为直接引用该扇区
+     */
+    private static Path writeOle(Path path, byte[] summary, boolean regularStream) throws IOException {
+        ByteWriter file = ByteWriter.littleEndian().zeros(SECTOR_SIZE * 5);
+
+        // 文件头
+        file.i64At(0, 0xE11AB1A1E011CFD0L);
+        file.i16At(24, 0x3E).i16At(26, 3).i16At(28, 0xFFFE);
+        file.i16At(30, 9).i16At(32, 6);
+        file.i32At(44, 1).i32At(48, DIRECTORY_SECTOR);
+        file.i32At(56, regularStream ? 0 : 4096);
+        file.i32At(60, MINI_FAT_SECTOR).i32At(64, 1);
+        file.i32At(68, END_OF_CHAIN).i32At(72, 0);
+        file.i32At(76, 0);
+        for (int i = 1; i < 109; i++) {
+            file.i32At(76 + i * 4, FREE_SECTOR);
+        }
+
+        // FAT
+        int fat = sectorOffset(0);
+        for (int i = 0; i < SECTOR_SIZE / 4; i++) {
+            file.i32At(fat + i * 4, FREE_SECTOR);
+        }
+        file.i32At(fat, FAT_SECTOR);
+        file.i32At(fat + DIRECTORY_SECTOR * 4, END_OF_CHAIN);
+        file.i32At(fat + MINI_FAT_SECTOR * 4, END_OF_CHAIN);
+        file.i32At(fat + MINI_STREAM_SECTOR * 4, END_OF_CHAIN);
+
+        // MiniFAT：属性集占用的短扇区依次相连
+        int miniFat = sectorOffset(MINI_FAT_SECTOR);
+        int miniSectors = (summary.length + MINI_SECTOR_SIZE - 1) / MINI_SECTOR_SIZE;
+        for (int i = 0; i < SECTOR_SIZE / 4; i++) {
+            file.i32At(miniFat + i * 4, i < miniSectors - 1 ? i + 1 : (i == miniSectors - 1 ? END_OF_CHAIN : FREE_SECTOR));
+        }
+
+        // 目录
+        int directory = sectorOffset(DIRECTORY_SECTOR);
+        directoryEntry(file, directory, "Root Entry", 5, MINI_STREAM_SECTOR, SECTOR_SIZE);
+        directoryEntry(file, directory + 128, "\u0005SummaryInformation", 2,
+                regularStream ? MINI_STREAM_SECTOR : 0, summary.length);
+        directoryEntry(file, directory + 256, "WordDocument", 2, END_OF_CHAIN, 0);
+
+        return file.bytesAt(sectorOffset(MINI_STREAM_SECTOR), summary).writeTo(path);
+    }
+
+    /**
+     * 目录项：名称(64, UTF-16LE) + 名称长度(2) + 类型(1) + 颜色(1) + 左/右/子节点(12) + ... + 起始扇区(4)@116 + 流大小(4)@120
+     */
+    private static void directoryEntry(ByteWriter file, int offset, String name, int type, int startSector, int size) {
+        byte[] nameBytes = (name + "\0").getBytes(StandardCharsets.UTF_16LE);
+        file.bytesAt(offset, nameBytes)
+                .i16At(offset + 64, nameBytes.length)
+                .u8At(offset + 66, type)
+                .u8At(offset + 67, 1)
+                .i32At(offset + 68, FREE_SECTOR).i32At(offset + 72, FREE_SECTOR).i32At(offset + 76, FREE_SECTOR)
+                .i32At(offset + 116, startSector)
+                .i32At(offset + 120, size);
+    }
+
+    private static int sectorOffset(int sector) {
+        return (sector + 1) * SECTOR_SIZE;
+    }
+}
@@ -0,0 +1,92 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 文件指纹测试：.shp 计入同名附属文件，GDB 文件夹计入其中直接包含的文件
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class FileFingerprintTest {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shapefileIncludesSidecars() throws IOException {
+        Path shp = write("parcel.shp", 100, BASE_TIME);
+        write("parcel.dbf", 40, BASE_TIME + 5000);
+        write("parcel.SHX", 20, BASE_TIME);
+        write("parcel.prj", 10, BASE_TIME);
+        write("other.dbf", 999, BASE_TIME + 9000);
+
+        FileFingerprint fingerprint = FileFingerprint.of(shp.toFile());
+
+        assertThat(fingerprint.getPath()).isEqualTo(shp.toRealPath().toString());
+        assertThat(fingerprint.getSize()).isEqualTo(170);
+        assertThat(fingerprint.getLastModified()).isEqualTo(BASE_TIME + 5000);
+    }
+
+    @Test
+    void editingOnlyTheDbfChangesTheShapefileFingerprint() throws IOException {
+        Path shp = write("parcel.shp", 100, BASE_TIME);
+        Path dbf = write("parcel.dbf", 40, BASE_TIME);
+        FileFingerprint before = FileFingerprint.of(shp.toFile());
+
+        Files.setLastModifiedTime(dbf, FileTime.fromMillis(BASE_TIME + 60_000));
+        FileFingerprint after = FileFingerprint.of(shp.toFile());
+
+        assertThat(after.getSize()).isEqualTo(before.getSize());
+        assertThat(after.getLastModified()).isNotEqualTo(before.getLastModified());
+    }
+
+    @Test
+    void otherFilesUseOwnAttributesOnly() throws IOException {
+        Path tif = write("dem.tif", 64, BASE_TIME);
+        write("dem.dbf", 40, BASE_TIME + 5000);
+
+        FileFingerprint fingerprint = FileFingerprint.of(tif.toFile());
+
+        assertThat(fingerprint.getSize()).isEqualTo(64);
+        assertThat(fingerprint.getLastModified()).isEqualTo(BASE_TIME);
+    }
+
+    @Test
+    void directoryCountsDirectChildrenOnly() throws IOException {
+        Path gdb = Files.createDirectories(dir.resolve("land.gdb"));
+        write("land.gdb/a00000001.gdbtable", 100, BASE_TIME);
+        write("land.gdb/a00000001.gdbtablx", 20, BASE_TIME + 3000);
+        Files.createDirectories(gdb.resolve("nested"));
+        write("land.gdb/nested/ignored", 500, BASE_TIME + 9000);
+
+        FileFingerprint fingerprint = FileFingerprint.of(gdb.toFile());
+
+        assertThat(fingerprint.getSize()).isEqualTo(120);
+        assertThat(fingerprint.getLastModified()).isEqualTo(BASE_TIME + 3000);
+    }
+
+    @Test
+    void missingFileThrows() {
+        assertThatThrownBy(() -> FileFingerprint.of(dir.resolve("missing.shp").toFile()))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
+    private Path write(String name, int size, long lastModified) throws IOException {
+        Path path = Files.write(dir.resolve(name), new byte[size]);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+        return path;
+    }
+}
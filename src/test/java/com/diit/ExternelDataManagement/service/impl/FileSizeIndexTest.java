@@ -0,0 +1,94 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 文件大小索引测试：目录大小为其下所有文件之和，首次查询后的结果来自索引，不再读取文件系统
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class FileSizeIndexTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void directorySizeSumsNestedFilesAndIndexesChildren() throws IOException {
+        Path gdb = Files.createDirectories(root.resolve("land.gdb"));
+        Path nested = Files.createDirectories(gdb.resolve("nested"));
+        Files.write(gdb.resolve("a00000001.gdbtable"), new byte[100]);
+        Files.write(gdb.resolve("a00000001.gdbtablx"), new byte[20]);
+        Files.write(nested.resolve("a00000004.gdbtable"), new byte[300]);
+        FileSizeIndex index = new FileSizeIndex();
+
+        assertThat(index.sizeOf(gdb.toFile())).isEqualTo(420);
+        assertThat(index.sizeOf(nested.toFile())).isEqualTo(300);
+        assertThat(index.regularFileSize(gdb.resolve("a00000001.gdbtable").toFile())).isEqualTo(100);
+        assertThat(index.regularFileSize(nested.toFile())).isNull();
+    }
+
+    @Test
+    void answersFromIndexAfterFirstWalk() throws IOException {
+        Path gdb = Files.createDirectories(root.resolve("land.gdb"));
+        Path table = Files.write(gdb.resolve("a00000001.gdbtable"), new byte[100]);
+        FileSizeIndex index = new FileSizeIndex();
+        index.sizeOf(gdb.toFile());
+
+        // 同一次扫描中文件被修改或删除，查询结果仍是首次遍历时的值
+        Files.write(table, new byte[500]);
+        Files.write(gdb.resolve("a00000002.gdbtable"), new byte[50]);
+        assertThat(index.sizeOf(gdb.toFile())).isEqualTo(100);
+        assertThat(index.regularFileSize(table.toFile())).isEqualTo(100);
+
+        Files.delete(table);
+        assertThat(index.sizeOf(table.toFile())).isEqualTo(100);
+        assertThat(new FileSizeIndex().sizeOf(gdb.toFile())).isEqualTo(50);
+    }
+
+    @Test
+    void directoryLastModifiedIsNewestNestedFile() throws IOException {
+        Path dir = Files.createDirectories(root.resolve("package").resolve("sub"));
+        Path older = Files.write(root.resolve("package").resolve("a.shp"), new byte[1]);
+        Path newer = Files.write(dir.resolve("b.shp"), new byte[1]);
+        long base = 1_700_000_000_000L;
+        Files.setLastModifiedTime(older, FileTime.fromMillis(base));
+        Files.setLastModifiedTime(newer, FileTime.fromMillis(base + 60_000));
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(base));
+        Files.setLastModifiedTime(root.resolve("package"), FileTime.fromMillis(base));
+        FileSizeIndex index = new FileSizeIndex();
+
+        assertThat(index.lastModifiedOf(root.resolve("package").toFile())).isEqualTo(base + 60_000);
+        assertThat(index.lastModifiedOf(older.toFile())).isEqualTo(base);
+    }
+
+    @Test
+    void missingPathsReportZeroOrNull() {
+        File missing = root.resolve("missing.shp").toFile();
+        FileSizeIndex index = new FileSizeIndex();
+
+        assertThat(index.sizeOf(missing)).isZero();
+        assertThat(index.lastModifiedOf(missing)).isZero();
+        assertThat(index.regularFileSize(missing)).isNull();
+    }
+
+    @Test
+    void unnormalizedPathSharesEntryWithNormalizedPath() throws IOException {
+        Path table = Files.write(root.resolve("a.tif"), new byte[64]);
+        FileSizeIndex index = new FileSizeIndex();
+        index.regularFileSize(table.toFile());
+        Files.write(table, new byte[128]);
+
+        File unnormalized = root.resolve("sub").resolve("..").resolve("a.tif").toFile();
+        assertThat(index.regularFileSize(unnormalized)).isEqualTo(64);
+    }
+}
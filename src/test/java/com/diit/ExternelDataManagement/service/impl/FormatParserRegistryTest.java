@@ -0,0 +1,156 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 格式解析器注册表测试：Shapefile 和 MDB 解析器按文件头魔数识别，实际解析由 SimpleGeoParser 桩代替
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class FormatParserRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    private SimpleGeoParser simpleGeoParser;
+    private ScanConfig scanConfig;
+
+    @BeforeEach
+    void setUp() {
+        simpleGeoParser = mock(SimpleGeoParser.class);
+        scanConfig = new ScanConfig();
+    }
+
+    @Test
+    void identifiesFormatByMagicRatherThanExtension() throws IOException {
+        FormatParserRegistry registry = registry();
+        File shp = shapefileHeader(dir.resolve("roads.shp"));
+        File renamedShp = shapefileHeader(dir.resolve("roads.mdb"));
+        File mdb = mdbHeader(dir.resolve("LAND.MDB"));
+
+        assertThat(registry.identify(shp).getFormat()).isEqualTo("shp");
+        assertThat(registry.identify(renamedShp).getFormat()).isEqualTo("shp");
+        assertThat(registry.identify(mdb).getFormat()).isEqualTo("mdb");
+    }
+
+    @Test
+    void unrecognizedFileParsesToEmptyListWithoutCallingParsers() throws IOException {
+        FormatParserRegistry registry = registry();
+        Path text = Files.write(dir.resolve("notes.shp"), "plain text".getBytes(StandardCharsets.US_ASCII));
+        Path empty = Files.write(dir.resolve("empty.mdb"), new byte[0]);
+
+        assertThat(registry.identify(text.toFile())).isNull();
+        assertThat(registry.parse(text.toFile())).isEmpty();
+        assertThat(registry.parse(empty.toFile())).isEmpty();
+        verify(simpleGeoParser, never()).parseShapefileBasic(anyString());
+        verify(simpleGeoParser, never()).parseMdbFile(anyString());
+    }
+
+    @Test
+    void answersExtensionQueriesWithoutReadingFiles() {
+        FormatParserRegistry registry = registry();
+
+        assertThat(registry.supportsExtension("Roads.SHP")).isTrue();
+        assertThat(registry.supportsExtension("land.mdb")).isTrue();
+        assertThat(registry.supportsExtension("readme.txt")).isFalse();
+        assertThat(registry.supportsExtension(".shp")).isFalse();
+        assertThat(registry.supportsExtension("roads.")).isFalse();
+        assertThat(registry.formatOf("LAND.MDB")).isEqualTo("mdb");
+        assertThat(registry.formatOf("readme.txt")).isNull();
+    }
+
+    @Test
+    void rejectsExtensionRegisteredByTwoParsers() {
+        FormatParser other = mock(FormatParser.class);
+        when(other.getFormat()).thenReturn("other");
+        when(other.getExtensions()).thenReturn(Collections.singleton("SHP"));
+
+        assertThatThrownBy(() -> new FormatParserRegistry(
+                List.of(new ShapefileFormatParser(simpleGeoParser), other), scanConfig))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shp");
+    }
+
+    @Test
+    void limitsConcurrentParsesPerFormat() throws Exception {
+        scanConfig.setFormatConcurrency(Map.of("mdb", 1));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        when(simpleGeoParser.parseMdbFile(anyString())).thenAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            active.decrementAndGet();
+            return List.of(new LayerInfo());
+        });
+        FormatParserRegistry registry = registry();
+        File mdb = mdbHeader(dir.resolve("land.mdb"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<LayerInfo>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> registry.parse(mdb)));
+            }
+            for (Future<List<LayerInfo>> result : results) {
+                assertThat(result.get()).hasSize(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(maxActive.get()).isEqualTo(1);
+    }
+
+    private FormatParserRegistry registry() {
+        return new FormatParserRegistry(List.of(new ShapefileFormatParser(simpleGeoParser),
+                new MdbFormatParser(simpleGeoParser)), scanConfig);
+    }
+
+    /**
+     * 100 字节 Shapefile 文件头：大端文件代码 9994，其余为 0
+     */
+    private static File shapefileHeader(Path path) throws IOException {
+        return ByteWriter.bigEndian().i32(9994).zeros(96).writeTo(path).toFile();
+    }
+
+    /**
+     * Jet 数据库文件头：第 4 字节起为 "Standard Jet DB"
+     */
+    private static File mdbHeader(Path path) throws IOException {
+        return ByteWriter.littleEndian()
+                .zeros(4)
+                .bytes("Standard Jet DB\0".getBytes(StandardCharsets.US_ASCII))
+                .zeros(108)
+                .writeTo(path)
+                .toFile();
+    }
+}
@@ -0,0 +1,123 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * FileGDB 行数据和系统目录读取测试
+ * 示例 GDB 由 GdbTableBuilder 生成：系统目录表 a00000001、GDB_Items 表 a00000002 和面图层表 a00000004
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class GdbCatalogReaderTest {
+
+    @TempDir
+    Path gdb;
+
+    @Test
+    void readRowsSkipsDeletedRowsAndDecodesWantedColumns() throws IOException {
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        List<GdbTableReader.Row> rows = GdbTableReader.readRows(gdb.resolve("a00000001.gdbtable"),
+                Arrays.asList("name"));
+
+        assertThat(rows).extracting(GdbTableReader.Row::getObjectId, row -> row.getString("Name"))
+                .containsExactly(
+                        tuple(1, "GDB_SystemCatalog"),
+                        tuple(2, "GDB_Items"),
+                        tuple(4, "parcels"),
+                        tuple(6, "地块"));
+        // 未请求的字段不解码
+        assertThat(rows.get(0).get("FileFormat")).isNull();
+    }
+
+    @Test
+    void readRowsDecodesNullsGuidsAndUtf16Strings() throws IOException {
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        List<GdbTableReader.Row> rows = GdbTableReader.readRows(gdb.resolve("a00000002.gdbtable"),
+                Arrays.asList("UUID", "Type", "Name", "PhysicalName", "Path"));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getString("Type")).isEqualTo(GdbTableBuilder.FEATURE_CLASS_TYPE);
+        assertThat(rows.get(0).getString("Name")).isEqualTo("\\数据集\\parcels");
+        assertThat(rows.get(0).get("PhysicalName")).isNull();
+        assertThat(rows.get(0).getString("UUID")).isEqualTo("{11111111-2222-3333-4444-555555555555}");
+        assertThat(rows.get(1).getString("PhysicalName")).isEqualTo("地块");
+    }
+
+    @Test
+    void catalogMapsTableNamesAndItems() throws IOException {
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        GdbCatalogReader.Catalog catalog = GdbCatalogReader.read(GdbTableIndex.build(gdb));
+
+        assertThat(catalog.getTableNames())
+                .containsEntry("a00000001", "GDB_SystemCatalog")
+                .containsEntry("a00000004", "parcels")
+                .containsEntry("a00000006", "地块")
+                .doesNotContainKey("a00000003");
+        assertThat(catalog.getTableId("PARCELS")).isEqualTo("a00000004");
+        assertThat(catalog.getItems())
+                .extracting(GdbCatalogReader.Item::getName, GdbCatalogReader.Item::getType,
+                        GdbCatalogReader.Item::getTableId, GdbCatalogReader.Item::getPath)
+                .containsExactly(
+                        tuple("parcels", "esriFeatureClass", "a00000004", "\\数据集\\parcels"),
+                        tuple("LandTable", "esriTable", "a00000006", "\\LandTable"));
+    }
+
+    @Test
+    void tableIdIsLowerCaseHexObjectId() {
+        assertThat(GdbCatalogReader.tableId(1)).isEqualTo("a00000001");
+        assertThat(GdbCatalogReader.tableId(26)).isEqualTo("a0000001a");
+    }
+
+    @Test
+    void catalogRequiresSystemCatalogTable() throws IOException {
+        Files.write(gdb.resolve("a00000004.gdbtable"), new byte[100]);
+
+        assertThatThrownBy(() -> GdbCatalogReader.read(GdbTableIndex.build(gdb)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("系统目录表");
+    }
+
+    @Test
+    void rejectsTruncatedRow() throws IOException {
+        GdbTableBuilder.catalogTable().write(gdb, "a00000001");
+        Path table = gdb.resolve("a00000001.gdbtable");
+        ByteWriter bytes = ByteWriter.read(table, ByteOrder.LITTLE_ENDIAN);
+        bytes.truncate(bytes.size() - 4).writeTo(table);
+
+        assertThatThrownBy(() -> GdbTableReader.readRows(table, Arrays.asList("Name")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("行长度无效");
+    }
+
+    @Test
+    void rejectsRowsOfTableWithUnsupportedField() throws IOException {
+        new GdbTableBuilder(0, true)
+                .field("OBJECTID", GdbTableReader.FIELD_TYPE_OBJECTID, false)
+                .field("RASTER", GdbTableReader.FIELD_TYPE_RASTER, true)
+                .row()
+                .write(gdb, "a00000008");
+        Path table = gdb.resolve("a00000008.gdbtable");
+
+        assertThat(GdbTableReader.read(table).isFieldsComplete()).isFalse();
+        assertThatThrownBy(() -> GdbTableReader.readRows(table, Arrays.asList("RASTER")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("字段描述不完整");
+    }
+}
@@ -0,0 +1,247 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 生成 FileGDB 10.x 表文件，供 GDB 相关读取测试共用：
+ * .gdbtable = 文件头(40，版本@0、行数@4、最大行长@8、字段描述区偏移@32) + 字段描述区长度(4) + 字段描述区 + 各行（长度(4) + 行数据）
+ * .gdbtablx = 文件头(16) + 1 个 1024 行的偏移量块（每个偏移 5 字节）
+ * 示例 GDB 包含系统目录表 a00000001、GDB_Items 表 a00000002 和面图层表 a00000004
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+final class GdbTableBuilder {
+
+    static final String FEATURE_CLASS_TYPE = "{70737809-852C-4A03-9E22-2CECEA5B9BFA}";
+    static final String TABLE_TYPE = "{CD06BC3B-789D-4C51-AAFA-A467912B8965}";
+
+    static final String WKT = "GEOGCS[\"GCS_China_Geodetic_Coordinate_System_2000\","
+            + "DATUM[\"D_China_2000\",SPHEROID[\"CGCS2000\",6378137.0,298.257222101]],"
+            + "PRIMEM[\"Greenwich\",0.0],UNIT[\"Degree\",0.0174532925199433]]";
+
+    private final int geometryType;
+    private final boolean utf8;
+    private final List<Object[]> fields = new ArrayList<>();
+    // 行数据，null 表示已删除的行槽，空数组表示长度为负的行
+    private final List<byte[]> rows = new ArrayList<>();
+    private int rowCount = -1;
+    private int totalRowSlots = -1;
+
+    GdbTableBuilder(int geometryType, boolean utf8) {
+        this.geometryType = geometryType;
+        this.utf8 = utf8;
+    }
+
+    /**
+     * 系统目录（UTF-8 字符串）：第 3、5 行已删除（行偏移为 0 / 行长度为负）
+     */
+    static GdbTableBuilder catalogTable() {
+        return new GdbTableBuilder(0, true)
+                .field("ID", GdbTableReader.FIELD_TYPE_OBJECTID, false)
+                .field("Name", GdbTableReader.FIELD_TYPE_STRING, false)
+                .field("FileFormat", GdbTableReader.FIELD_TYPE_INT32, false)
+                .row("GDB_SystemCatalog", 0)
+                .row("GDB_Items", 0)
+                .deletedRow()
+                .row("parcels", 0)
+                .negativeRow()
+                .row("地块", 0);
+    }
+
+    static void writeSampleGdb(Path gdb) throws IOException {
+        catalogTable().write(gdb, "a00000001");
+
+        // GDB_Items（UTF-16 字符串），第二项的 Name 不在系统目录中，按 PhysicalName 匹配
+        new GdbTableBuilder(0, false)
+                .field("OBJECTID", GdbTableReader.FIELD_TYPE_OBJECTID, false)
+                .field("UUID", GdbTableReader.FIELD_TYPE_GLOBALID, false)
+                .field("Type", GdbTableReader.FIELD_TYPE_GUID, false)
+                .field("Name", GdbTableReader.FIELD_TYPE_STRING, true)
+                .field("PhysicalName", GdbTableReader.FIELD_TYPE_STRING, true)
+                .field("Path", GdbTableReader.FIELD_TYPE_STRING, true)
+                .field("Definition", GdbTableReader.FIELD_TYPE_XML, true)
+                .row("{11111111-2222-3333-4444-555555555555}", FEATURE_CLASS_TYPE, "\\数据集\\parcels", null,
+                        "\\数据集\\parcels", "<DEFeatureClassInfo/>")
+                .row("{66666666-7777-8888-9999-AAAAAAAAAAAA}", TABLE_TYPE, "LandTable", "地块",
+                        "\\LandTable", null)
+                .write(gdb, "a00000002");
+
+        new GdbTableBuilder(4, true)
+                .field("OBJECTID", GdbTableReader.FIELD_TYPE_OBJECTID, false)
+                .field("SHAPE", GdbTableReader.FIELD_TYPE_GEOMETRY, true)
+                .field("NAME", GdbTableReader.FIELD_TYPE_STRING, true)
+                .rowCount(3, 5)
+                .write(gdb, "a00000004");
+    }
+
+    GdbTableBuilder field(String name, int type, boolean nullable) {
+        fields.add(new Object[]{name, type, nullable});
+        return this;
+    }
+
+    GdbTableBuilder rowCount(int rowCount, int totalRowSlots) {
+        this.rowCount = rowCount;
+        this.totalRowSlots = totalRowSlots;
+        return this;
+    }
+
+    GdbTableBuilder deletedRow() {
+        rows.add(null);
+        return this;
+    }
+
+    GdbTableBuilder negativeRow() {
+        rows.add(new byte[0]);
+        return this;
+    }
+
+    /**
+     * 行数据：空值标记位图 + 各非 ObjectID 字段的值，values 依次对应非 ObjectID 字段
+     */
+    GdbTableBuilder row(Object... values) {
+        List<Object[]> valueFields = new ArrayList<>();
+        for (Object[] field : fields) {
+            if ((int) field[1] != GdbTableReader.FIELD_TYPE_OBJECTID) {
+                valueFields.add(field);
+            }
+        }
+        int nullableCount = (int) valueFields.stream().filter(field -> (boolean) field[2]).count();
+        byte[] nullFlags = new byte[(nullableCount + 7) / 8];
+        ByteWriter row = ByteWriter.littleEndian().zeros(nullFlags.length);
+        int nullIndex = 0;
+        for (int i = 0; i < valueFields.size(); i++) {
+            Object[] field = valueFields.get(i);
+            Object value = i < values.length ? values[i] : null;
+            if ((boolean) field[2]) {
+                if (value == null) {
+                    nullFlags[nullIndex >> 3] |= (byte) (1 << (nullIndex & 7));
+                }
+                nullIndex++;
+            }
+            if (value != null) {
+                putValue(row, (int) field[1], value);
+            }
+        }
+        rows.add(row.bytesAt(0, nullFlags).toByteArray());
+        return this;
+    }
+
+    private void putValue(ByteWriter row, int type, Object value) {
+        switch (type) {
+            case GdbTableReader.FIELD_TYPE_INT32:
+                row.i32((int) value);
+                break;
+            case GdbTableReader.FIELD_TYPE_STRING:
+            case GdbTableReader.FIELD_TYPE_XML: {
+                byte[] bytes = value.toString().getBytes(utf8 || type == GdbTableReader.FIELD_TYPE_XML
+                        ? StandardCharsets.UTF_8 : StandardCharsets.UTF_16LE);
+                row.bytes(ByteWriter.varUInt(bytes.length)).bytes(bytes);
+                break;
+            }
+            case GdbTableReader.FIELD_TYPE_GUID:
+            case GdbTableReader.FIELD_TYPE_GLOBALID:
+                row.bytes(ByteWriter.guid(value.toString()));
+                break;
+            default:
+                throw new IllegalArgumentException("测试不支持的字段类型: " + type);
+        }
+    }
+
+    /**
+     * 字段描述区：版本(4) + 图层标记(4) + 字段数(2) + 各字段描述
+     */
+    private byte[] fieldSection() {
+        ByteWriter section = ByteWriter.littleEndian();
+        section.i32(4);
+        section.i32(geometryType | (utf8 ? 0x100 : 0));
+        section.i16(fields.size());
+        for (Object[] field : fields) {
+            int type = (int) field[1];
+            int nullable = (boolean) field[2] ? 1 : 0;
+            putUtf16(section, (String) field[0]);
+            putUtf16(section, "");
+            section.u8(type);
+            switch (type) {
+                case GdbTableReader.FIELD_TYPE_STRING:
+                    section.i32(255).u8(nullable).u8(0);
+                    break;
+                case GdbTableReader.FIELD_TYPE_INT32:
+                    section.u8(4).u8(nullable).u8(0);
+                    break;
+                case GdbTableReader.FIELD_TYPE_GEOMETRY:
+                    section.u8(0).u8(nullable);
+                    putGeometryDef(section);
+                    break;
+                default:
+                    section.u8(0).u8(nullable);
+                    break;
+            }
+        }
+        return section.toByteArray();
+    }
+
+    /**
+     * 几何字段定义：WKT 字节数(2) + WKT + 标记(1) + 原点/比例(24) + 容差(8) + 范围(32) + 未使用(1) + 格网级数(4) + 格网大小
+     */
+    private static void putGeometryDef(ByteWriter section) {
+        byte[] wkt = WKT.getBytes(StandardCharsets.UTF_16LE);
+        section.i16(wkt.length).bytes(wkt);
+        section.u8(0);
+        section.f64(-400).f64(-400).f64(1e9);
+        section.f64(8.983e-9);
+        section.f64(113.5).f64(22.1).f64(114.6).f64(23.2);
+        section.u8(0);
+        section.i32(1).f64(0.5);
+    }
+
+    private static void putUtf16(ByteWriter section, String text) {
+        section.u8(text.length());
+        section.bytes(text.getBytes(StandardCharsets.UTF_16LE));
+    }
+
+    byte[] build() {
+        return layout()[0].toByteArray();
+    }
+
+    void write(Path dir, String tableId) throws IOException {
+        ByteWriter[] files = layout();
+        files[0].writeTo(dir.resolve(tableId + ".gdbtable"));
+        files[1].writeTo(dir.resolve(tableId + ".gdbtablx"));
+    }
+
+    private ByteWriter[] layout() {
+        byte[] section = fieldSection();
+        int validRows = (int) rows.stream().filter(row -> row != null && row.length > 0).count();
+        ByteWriter table = ByteWriter.littleEndian();
+        table.i32(3);
+        table.i32(rowCount >= 0 ? rowCount : validRows);
+        table.i32(rows.stream().mapToInt(row -> row != null ? row.length : 0).max().orElse(0));
+        table.i64At(32, 40).position(40);
+        table.i32(section.length);
+        table.bytes(section);
+
+        int slots = totalRowSlots >= 0 ? totalRowSlots : rows.size();
+        ByteWriter tablx = ByteWriter.littleEndian();
+        tablx.i32(3).i32(1).i32(slots).i32(5);
+        for (byte[] row : rows) {
+            long offset = 0;
+            if (row != null) {
+                offset = table.position();
+                table.i32(row.length > 0 ? row.length : -8);
+                table.bytes(row);
+            }
+            for (int i = 0; i < 5; i++) {
+                tablx.u8((int) (offset >>> (8 * i)));
+            }
+        }
+        tablx.position(16 + 1024 * 5 - 1).u8(0);
+        return new ByteWriter[]{table, tablx};
+    }
+}
@@ -0,0 +1,72 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GDB 目录表文件索引测试：一次列举按表ID汇总各类文件，读取器直接使用索引中的 .gdbtablx 路径
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class GdbTableIndexTest {
+
+    @TempDir
+    Path gdb;
+
+    @Test
+    void indexGroupsTableFilesCaseInsensitively() throws IOException {
+        Files.write(gdb.resolve("a00000001.gdbtable"), new byte[100]);
+        Files.write(gdb.resolve("A00000001.GDBTABLX"), new byte[20]);
+        Files.write(gdb.resolve("a00000004.gdbtable"), new byte[300]);
+        Files.write(gdb.resolve("a00000004.spx"), new byte[40]);
+        Files.write(gdb.resolve("a00000004.FDO_UUID.atx"), new byte[10]);
+        Files.write(gdb.resolve("a00000009.gdbtablx"), new byte[16]);
+        Files.write(gdb.resolve("a0000000g.gdbtable"), new byte[16]);
+        Files.write(gdb.resolve("gdb"), new byte[4]);
+        Files.write(gdb.resolve("timestamps"), new byte[4]);
+
+        GdbTableIndex index = GdbTableIndex.build(gdb);
+
+        assertThat(index.getTables()).extracting(GdbTableIndex.Table::getTableId)
+                .containsExactly("a00000001", "a00000004");
+        GdbTableIndex.Table catalog = index.get("A00000001");
+        assertThat(catalog.getTablxPath()).isEqualTo(gdb.resolve("A00000001.GDBTABLX"));
+        assertThat(catalog.getSpatialIndexPath()).isNull();
+        assertThat(catalog.getTotalSize()).isEqualTo(120);
+        GdbTableIndex.Table layer = index.get("a00000004");
+        assertThat(layer.getTablxPath()).isNull();
+        assertThat(layer.getSpatialIndexSize()).isEqualTo(40);
+        assertThat(layer.getTotalSize()).isEqualTo(340);
+        // 只有 .gdbtablx 没有 .gdbtable 的表不可见
+        assertThat(index.get("a00000009")).isNull();
+        assertThat(index.get(null)).isNull();
+    }
+
+    @Test
+    void readerUsesTablxPathFromIndex() throws IOException {
+        GdbTableBuilder.catalogTable().write(gdb, "a00000001");
+        Path table = gdb.resolve("a00000001.gdbtable");
+        // 大小写不同的 .gdbtablx 按同级文件名查找不到，只能通过索引定位
+        Files.move(gdb.resolve("a00000001.gdbtablx"), gdb.resolve("A00000001.GDBTABLX"));
+
+        Path tablx = GdbTableIndex.build(gdb).get("a00000001").getTablxPath();
+        List<GdbTableReader.Row> rows = GdbTableReader.readRows(table, tablx, List.of("Name"));
+
+        assertThat(rows).extracting(row -> row.getString("Name"))
+                .containsExactly("GDB_SystemCatalog", "GDB_Items", "parcels", "地块");
+        assertThat(GdbTableReader.read(table, tablx).getTotalRowSlots()).isEqualTo(6);
+        assertThat(GdbTableReader.read(table, null).getTotalRowSlots()).isEqualTo(-1);
+        assertThatThrownBy(() -> GdbTableReader.readRows(table, null, List.of("Name")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("gdbtablx");
+    }
+}
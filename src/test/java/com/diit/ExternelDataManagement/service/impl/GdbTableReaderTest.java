@@ -0,0 +1,121 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * FileGDB 表文件头和字段描述读取测试，表文件由 GdbTableBuilder 逐字节生成
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class GdbTableReaderTest {
+
+    @TempDir
+    Path gdb;
+
+    @Test
+    void readsFeatureTableHeaderAndGeometryDefinition() throws IOException {
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        GdbTableReader.TableInfo info = GdbTableReader.read(gdb.resolve("a00000004.gdbtable"));
+
+        assertThat(info.getRowCount()).isEqualTo(3);
+        assertThat(info.getGeometryType()).isEqualTo(4);
+        assertThat(info.getGeometryTypeName()).isEqualTo("Polygon");
+        assertThat(info.hasGeometry()).isTrue();
+        assertThat(info.isHasZ()).isFalse();
+        assertThat(info.isFieldsComplete()).isTrue();
+        assertThat(info.getFields())
+                .extracting(GdbTableReader.Field::getName, GdbTableReader.Field::getType, GdbTableReader.Field::isNullable)
+                .containsExactly(
+                        tuple("OBJECTID", GdbTableReader.FIELD_TYPE_OBJECTID, false),
+                        tuple("SHAPE", GdbTableReader.FIELD_TYPE_GEOMETRY, true),
+                        tuple("NAME", GdbTableReader.FIELD_TYPE_STRING, true));
+        GdbTableReader.GeometryDef geometry = info.getGeometryField();
+        assertThat(geometry.getFieldName()).isEqualTo("SHAPE");
+        assertThat(geometry.getWkt()).isEqualTo(GdbTableBuilder.WKT);
+        assertThat(info.getTotalRowSlots()).isEqualTo(5);
+        assertThat(info.getOffsetSize()).isEqualTo(5);
+    }
+
+    @Test
+    void readsGeometryFieldExtent() throws IOException {
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        GdbTableReader.GeometryDef geometry = GdbTableReader.read(gdb.resolve("a00000004.gdbtable"))
+                .getGeometryField();
+
+        assertThat(geometry.hasExtent()).isTrue();
+        assertThat(new double[]{geometry.getXMin(), geometry.getYMin(), geometry.getXMax(), geometry.getYMax()})
+                .containsExactly(113.5, 22.1, 114.6, 23.2);
+    }
+
+    @Test
+    void readsNonSpatialTableHeader() throws IOException {
+        GdbTableBuilder.catalogTable().write(gdb, "a00000001");
+
+        GdbTableReader.TableInfo info = GdbTableReader.read(gdb.resolve("a00000001.gdbtable"));
+
+        assertThat(info.getRowCount()).isEqualTo(4);
+        assertThat(info.hasGeometry()).isFalse();
+        assertThat(info.getGeometryField()).isNull();
+        assertThat(info.getFields()).extracting(GdbTableReader.Field::getName)
+                .containsExactly("ID", "Name", "FileFormat");
+    }
+
+    @Test
+    void rejectsShortFileAndUnsupportedVersion() throws IOException {
+        Path tiny = gdb.resolve("a00000001.gdbtable");
+        Files.write(tiny, new byte[20]);
+        assertThatThrownBy(() -> GdbTableReader.read(tiny))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("过小");
+
+        Path future = gdb.resolve("a00000002.gdbtable");
+        GdbTableBuilder.catalogTable().write(gdb, "a00000002");
+        ByteWriter.read(future, ByteOrder.LITTLE_ENDIAN).i32At(0, 4).writeTo(future);
+        assertThatThrownBy(() -> GdbTableReader.read(future))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("版本");
+    }
+
+    @Test
+    void rejectsOutOfRangeFieldSection() throws IOException {
+        GdbTableBuilder.catalogTable().write(gdb, "a00000001");
+        Path table = gdb.resolve("a00000001.gdbtable");
+        ByteWriter bytes = ByteWriter.read(table, ByteOrder.LITTLE_ENDIAN);
+
+        bytes.i64At(32, bytes.size() + 100L).writeTo(table);
+        assertThatThrownBy(() -> GdbTableReader.read(table))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("字段描述区偏移");
+
+        bytes.i64At(32, 40).i32At(40, 0x7FFFFF00).writeTo(table);
+        assertThatThrownBy(() -> GdbTableReader.read(table))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("字段描述区长度");
+    }
+
+    @Test
+    void readsVarUInt() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0x05, (byte) 0x96, 0x01});
+        assertThat(GdbTableReader.readVarUInt(buffer)).isEqualTo(5);
+        assertThat(GdbTableReader.readVarUInt(buffer)).isEqualTo(150);
+
+        ByteBuffer overlong = ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, 0x01});
+        assertThatThrownBy(() -> GdbTableReader.readVarUInt(overlong)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
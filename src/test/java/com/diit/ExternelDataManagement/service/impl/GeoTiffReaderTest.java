@@ -0,0 +1,314 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TIFF/BigTIFF 文件头与 GeoTIFF 标签读取测试，测试文件由 TiffBuilder 按规范逐字节生成（不含像素数据）
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class GeoTiffReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsClassicGeographicTiffWithOverview() throws IOException {
+        TiffBuilder tiff = new TiffBuilder(false, ByteOrder.LITTLE_ENDIAN);
+        Map<Integer, Entry> main = tiff.ifd();
+        main.put(256, longs(1000));
+        main.put(257, longs(500));
+        main.put(258, shorts(16, 16, 16));
+        main.put(259, shorts(5));
+        main.put(277, shorts(3));
+        main.put(284, shorts(1));
+        main.put(322, shorts(256));
+        main.put(323, shorts(256));
+        main.put(339, shorts(2, 2, 2));
+        main.put(33550, doubles(0.01, 0.01, 0));
+        main.put(33922, doubles(0, 0, 0, 100, 40, 0));
+        main.put(34735, shorts(1, 1, 0, 3, 1024, 0, 1, 2, 1025, 0, 1, 1, 2048, 0, 1, 4326));
+        main.put(42113, ascii("-9999"));
+        tiff.ifd().put(254, longs(1));
+        tiff.ifd().put(254, longs(0));
+
+        GeoTiffReader.TiffInfo info = GeoTiffReader.read(tiff.write(dir.resolve("dem.tif")));
+
+        assertThat(info.isBigTiff()).isFalse();
+        assertThat(info.getWidth()).isEqualTo(1000);
+        assertThat(info.getHeight()).isEqualTo(500);
+        assertThat(info.getBandCount()).isEqualTo(3);
+        assertThat(info.getBitsPerSample()).isEqualTo(16);
+        assertThat(info.getDataType()).isEqualTo("Int16");
+        assertThat(info.getCompression()).isEqualTo("LZW");
+        assertThat(info.getPlanarConfig()).isEqualTo("Contiguous");
+        assertThat(info.isTiled()).isTrue();
+        assertThat(info.getBlockWidth()).isEqualTo(256);
+        assertThat(info.getBlockHeight()).isEqualTo(256);
+        assertThat(info.getNoData()).isEqualTo("-9999");
+        assertThat(info.isGeoTiff()).isTrue();
+        assertThat(info.isGeographic()).isTrue();
+        assertThat(info.getCrs()).isEqualTo("EPSG:4326");
+        assertThat(info.getPixelSizeX()).isEqualTo(0.01);
+        assertThat(info.getExtent()).containsExactly(100, 35, 110, 40);
+        assertThat(info.getOverviewCount()).isEqualTo(1);
+        assertThat(info.getSubImageCount()).isEqualTo(1);
+    }
+
+    @Test
+    void readsBigEndianBigTiffWithPixelIsPointShift() throws IOException {
+        TiffBuilder tiff = new TiffBuilder(true, ByteOrder.BIG_ENDIAN);
+        Map<Integer, Entry> main = tiff.ifd();
+        main.put(256, shorts(100));
+        main.put(257, shorts(50));
+        main.put(258, shorts(32));
+        main.put(278, shorts(16));
+        main.put(339, shorts(3));
+        main.put(33550, doubles(30, 30, 0));
+        main.put(33922, doubles(0, 0, 0, 500000, 4000000, 0));
+        main.put(34735, shorts(1, 1, 0, 3, 1024, 0, 1, 1, 1025, 0, 1, 2, 3072, 0, 1, 32650));
+
+        GeoTiffReader.TiffInfo info = GeoTiffReader.read(tiff.write(dir.resolve("scene.tif")));
+
+        assertThat(info.isBigTiff()).isTrue();
+        assertThat(info.getDataType()).isEqualTo("Float32");
+        assertThat(info.getCompression()).isEqualTo("None");
+        assertThat(info.isTiled()).isFalse();
+        assertThat(info.getBlockWidth()).isEqualTo(100);
+        assertThat(info.getBlockHeight()).isEqualTo(16);
+        assertThat(info.isGeographic()).isFalse();
+        assertThat(info.getCrs()).isEqualTo("EPSG:32650");
+        // 像素为点：范围向外扩半个像素
+        assertThat(info.getExtent()).containsExactly(499985, 3998515, 502985, 4000015);
+    }
+
+    @Test
+    void usesCitationForUserDefinedProjection() throws IOException {
+        TiffBuilder tiff = new TiffBuilder(false, ByteOrder.LITTLE_ENDIAN);
+        Map<Integer, Entry> main = tiff.ifd();
+        main.put(256, shorts(10));
+        main.put(257, shorts(10));
+        main.put(34735, shorts(1, 1, 0, 2, 1024, 0, 1, 1, 3073, 34737, 22, 0));
+        main.put(34737, ascii("CGCS2000 / GK zone 39|"));
+
+        GeoTiffReader.TiffInfo info = GeoTiffReader.read(tiff.write(dir.resolve("custom.tif")));
+
+        assertThat(info.isGeoTiff()).isTrue();
+        assertThat(info.getCrs()).isEqualTo("CGCS2000 / GK zone 39");
+        assertThat(info.getExtent()).isNull();
+    }
+
+    @Test
+    void stopsAtCyclicIfdChain() throws IOException {
+        TiffBuilder tiff = new TiffBuilder(false, ByteOrder.LITTLE_ENDIAN);
+        tiff.ifd().put(256, shorts(10));
+        tiff.cyclic = true;
+
+        GeoTiffReader.TiffInfo info = GeoTiffReader.read(tiff.write(dir.resolve("cycle.tif")));
+
+        assertThat(info.getWidth()).isEqualTo(10);
+        assertThat(info.getOverviewCount()).isZero();
+        assertThat(info.getSubImageCount()).isZero();
+        assertThat(info.isGeoTiff()).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownMagicAndVersion() throws IOException {
+        Path notTiff = dir.resolve("a.tif");
+        Files.write(notTiff, "XX*\0\u0008\0\0\0".getBytes(StandardCharsets.ISO_8859_1));
+        assertThatThrownBy(() -> GeoTiffReader.read(notTiff))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("不是 TIFF");
+
+        Path badVersion = ByteWriter.littleEndian()
+                .u8('I').u8('I').i16(41).i32(8)
+                .writeTo(dir.resolve("b.tif"));
+        assertThatThrownBy(() -> GeoTiffReader.read(badVersion))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("版本号");
+
+        Path badBigTiff = ByteWriter.littleEndian()
+                .u8('I').u8('I').i16(43).i16(4).i16(0).i64(16)
+                .writeTo(dir.resolve("c.tif"));
+        assertThatThrownBy(() -> GeoTiffReader.read(badBigTiff))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("BigTIFF");
+    }
+
+    @Test
+    void rejectsOutOfRangeIfdOffset() throws IOException {
+        Path tif = ByteWriter.littleEndian()
+                .u8('I').u8('I').i16(42).i32(0xF0).i16(0)
+                .writeTo(dir.resolve("a.tif"));
+
+        assertThatThrownBy(() -> GeoTiffReader.read(tif))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("越界");
+    }
+
+    @Test
+    void rejectsTruncatedIfd() throws IOException {
+        TiffBuilder tiff = new TiffBuilder(false, ByteOrder.LITTLE_ENDIAN);
+        Map<Integer, Entry> main = tiff.ifd();
+        main.put(256, shorts(10));
+        main.put(257, shorts(10));
+        main.put(258, shorts(8));
+        Path tif = tiff.write(dir.resolve("a.tif"));
+        ByteWriter.read(tif, ByteOrder.LITTLE_ENDIAN).truncate(8 + 2 + 12).writeTo(tif);
+
+        assertThatThrownBy(() -> GeoTiffReader.read(tif)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsFileShorterThanHeader() throws IOException {
+        Path tif = dir.resolve("a.tif");
+        Files.write(tif, new byte[]{'I', 'I', 42, 0});
+
+        assertThatThrownBy(() -> GeoTiffReader.read(tif)).isInstanceOf(IOException.class);
+    }
+
+    private static Entry shorts(int... values) {
+        return new Entry(3, values.length, 2, out -> {
+            for (int value : values) {
+                out.i16(value);
+            }
+        });
+    }
+
+    private static Entry longs(long... values) {
+        return new Entry(4, values.length, 4, out -> {
+            for (long value : values) {
+                out.i32(value);
+            }
+        });
+    }
+
+    private static Entry doubles(double... values) {
+        return new Entry(12, values.length, 8, out -> {
+            for (double value : values) {
+                out.f64(value);
+            }
+        });
+    }
+
+    private static Entry ascii(String value) {
+        byte[] bytes = (value + "\0").getBytes(StandardCharsets.ISO_8859_1);
+        return new Entry(2, bytes.length, 1, out -> out.bytes(bytes));
+    }
+
+    /**
+     * 目录项：类型 + 数量 + 按文件字节序写出各个值的回调
+     */
+    private static final class Entry {
+        private final int type;
+        private final int count;
+        private final int length;
+        private final Consumer<ByteWriter> values;
+
+        Entry(int type, int count, int valueSize, Consumer<ByteWriter> values) {
+            this.type = type;
+            this.count = count;
+            this.length = count * valueSize;
+            this.values = values;
+        }
+    }
+
+    /**
+     * 生成只有文件头和 IFD 链的 TIFF：各 IFD 依次存放，超出内联长度的值紧跟在所属 IFD 之后
+     */
+    private static final class TiffBuilder {
+        private final boolean bigTiff;
+        private final ByteOrder order;
+        private final List<Map<Integer, Entry>> ifds = new ArrayList<>();
+        // 最后一个 IFD 的下一 IFD 偏移指回第一个 IFD
+        private boolean cyclic;
+
+        TiffBuilder(boolean bigTiff, ByteOrder order) {
+            this.bigTiff = bigTiff;
+            this.order = order;
+        }
+
+        Map<Integer, Entry> ifd() {
+            Map<Integer, Entry> ifd = new TreeMap<>();
+            ifds.add(ifd);
+            return ifd;
+        }
+
+        Path write(Path path) throws IOException {
+            int headerSize = bigTiff ? 16 : 8;
+            int countSize = bigTiff ? 8 : 2;
+            int entrySize = bigTiff ? 20 : 12;
+            int offsetSize = bigTiff ? 8 : 4;
+
+            long[] ifdOffsets = new long[ifds.size()];
+            long position = headerSize;
+            for (int i = 0; i < ifds.size(); i++) {
+                ifdOffsets[i] = position;
+                position += countSize + (long) ifds.get(i).size() * entrySize + offsetSize;
+                for (Entry entry : ifds.get(i).values()) {
+                    if (entry.length > offsetSize) {
+                        position += (entry.length + 1) & ~1;
+                    }
+                }
+            }
+
+            char magic = order == ByteOrder.LITTLE_ENDIAN ? 'I' : 'M';
+            ByteWriter out = ByteWriter.of(order).u8(magic).u8(magic);
+            if (bigTiff) {
+                out.i16(43).i16(8).i16(0).i64(ifdOffsets[0]);
+            } else {
+                out.i16(42).i32(ifdOffsets[0]);
+            }
+
+            for (int i = 0; i < ifds.size(); i++) {
+                Map<Integer, Entry> ifd = ifds.get(i);
+                int dataPosition = (int) ifdOffsets[i] + countSize + ifd.size() * entrySize + offsetSize;
+                out.position((int) ifdOffsets[i]);
+                offset(out, ifd.size(), countSize);
+                for (Map.Entry<Integer, Entry> item : ifd.entrySet()) {
+                    Entry entry = item.getValue();
+                    out.i16(item.getKey()).i16(entry.type);
+                    offset(out, entry.count, offsetSize);
+                    if (entry.length <= offsetSize) {
+                        int valueStart = out.position();
+                        entry.values.accept(out);
+                        out.zeros(offsetSize - (out.position() - valueStart));
+                    } else {
+                        offset(out, dataPosition, offsetSize);
+                        int entryEnd = out.position();
+                        entry.values.accept(out.position(dataPosition));
+                        out.position(entryEnd);
+                        dataPosition += (entry.length + 1) & ~1;
+                    }
+                }
+                offset(out, i + 1 < ifds.size() ? ifdOffsets[i + 1] : (cyclic ? ifdOffsets[0] : 0), offsetSize);
+            }
+            return out.writeTo(path);
+        }
+
+        private static void offset(ByteWriter out, long value, int size) {
+            switch (size) {
+                case 2: out.i16((int) value); break;
+                case 4: out.i32(value); break;
+                default: out.i64(value); break;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ERDAS IMAGINE（HFA）节点树读取测试
+ * 测试文件：文件头 -> Ehfa_File -> 根节点 -> 两个 Eimg_Layer 波段节点，第一个波段下挂 Eprj_MapInfo
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class HfaReaderTest {
+
+    private static final int ROOT = 100;
+    private static final int LAYER_1 = 300;
+    private static final int LAYER_1_DATA = 500;
+    private static final int LAYER_2 = 600;
+    private static final int LAYER_2_DATA = 800;
+    private static final int MAP_INFO = 900;
+    private static final int MAP_INFO_DATA = 1100;
+    private static final int FILE_SIZE = 1400;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBandsAndMapInfo() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+
+        HfaReader.ImgInfo info = HfaReader.read(img.write(dir.resolve("scene.img")));
+
+        assertThat(info.getBandCount()).isEqualTo(2);
+        assertThat(info.getBandNames()).containsExactly("Layer_1", "Layer_2");
+        assertThat(info.getWidth()).isEqualTo(1000);
+        assertThat(info.getHeight()).isEqualTo(800);
+        assertThat(info.getLayerType()).isEqualTo("athematic");
+        assertThat(info.getPixelType()).isEqualTo("UInt8");
+        assertThat(info.getBlockWidth()).isEqualTo(64);
+        assertThat(info.getBlockHeight()).isEqualTo(64);
+        assertThat(info.getProjectionName()).isEqualTo("UTM");
+        assertThat(info.getUnits()).isEqualTo("meters");
+        assertThat(info.getPixelSizeX()).isEqualTo(30);
+        // 左上、右下为像素中心，外扩半个像素
+        assertThat(info.getExtent()).containsExactly(500000, 4000000, 501000, 4001000);
+    }
+
+    @Test
+    void readsBandsWithoutMapInfo() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.entry(LAYER_1, LAYER_2, 0, LAYER_1_DATA, 20, "Layer_1", "Eimg_Layer");
+
+        HfaReader.ImgInfo info = HfaReader.read(img.write(dir.resolve("scene.img")));
+
+        assertThat(info.getBandCount()).isEqualTo(2);
+        assertThat(info.getProjectionName()).isNull();
+        assertThat(info.getExtent()).isNull();
+    }
+
+    @Test
+    void stopsAtCyclicSiblingChain() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.entry(LAYER_2, LAYER_1, 0, LAYER_2_DATA, 20, "Layer_2", "Eimg_Layer");
+
+        HfaReader.ImgInfo info = HfaReader.read(img.write(dir.resolve("scene.img")));
+
+        assertThat(info.getBandCount()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresTruncatedMapInfo() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.entry(MAP_INFO, 0, 0, MAP_INFO_DATA, 30, "Map_Info", "Eprj_MapInfo");
+
+        HfaReader.ImgInfo info = HfaReader.read(img.write(dir.resolve("scene.img")));
+
+        assertThat(info.getBandCount()).isEqualTo(2);
+        assertThat(info.getExtent()).isNull();
+    }
+
+    @Test
+    void rejectsWrongHeaderTag() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.out.bytesAt(0, "NOT_A_HFA_TAG!!".getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> HfaReader.read(img.write(dir.resolve("scene.img"))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("不是 ERDAS IMAGINE");
+    }
+
+    @Test
+    void rejectsFileWithoutBands() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.entry(ROOT, 0, 0, 0, 0, "root", "root");
+
+        assertThatThrownBy(() -> HfaReader.read(img.write(dir.resolve("scene.img"))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("没有影像波段");
+    }
+
+    @Test
+    void rejectsOutOfRangeNodePointer() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.entry(LAYER_1, 99999, MAP_INFO, LAYER_1_DATA, 20, "Layer_1", "Eimg_Layer");
+
+        assertThatThrownBy(() -> HfaReader.read(img.write(dir.resolve("scene.img"))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("越界");
+    }
+
+    @Test
+    void rejectsInvalidFilePointerAndTruncatedHeader() throws IOException {
+        ImgBuilder img = new ImgBuilder();
+        img.out.i32At(16, 4);
+        assertThatThrownBy(() -> HfaReader.read(img.write(dir.resolve("a.img"))))
+                .isInstanceOf(IOException.class);
+
+        Path truncated = dir.resolve("b.img");
+        Files.write(truncated, "EHFA_HEADER_TAG".getBytes(StandardCharsets.US_ASCII));
+        assertThatThrownBy(() -> HfaReader.read(truncated)).isInstanceOf(IOException.class);
+    }
+
+    /**
+     * 生成最小的 HFA 文件，各节点和节点数据放在固定偏移处，测试中可覆盖单个节点
+     */
+    private static final class ImgBuilder {
+        private final ByteWriter out = ByteWriter.littleEndian().zeros(FILE_SIZE);
+
+        ImgBuilder() {
+            out.bytesAt(0, "EHFA_HEADER_TAG".getBytes(StandardCharsets.US_ASCII));
+            out.i32At(16, 20);
+            // Ehfa_File：version(4) + freeList(4) + rootEntryPtr(4) + entryHeaderLength(2) + dictionaryPtr(4)
+            out.i32At(20, 1).i32At(28, ROOT).i16At(32, 128);
+
+            entry(ROOT, 0, LAYER_1, 0, 0, "root", "root");
+            entry(LAYER_1, LAYER_2, MAP_INFO, LAYER_1_DATA, 20, "Layer_1", "Eimg_Layer");
+            entry(LAYER_2, 0, 0, LAYER_2_DATA, 20, "Layer_2", "Eimg_Layer");
+            entry(MAP_INFO, 0, 0, MAP_INFO_DATA, 120, "Map_Info", "Eprj_MapInfo");
+            layer(LAYER_1_DATA);
+            layer(LAYER_2_DATA);
+            mapInfo();
+        }
+
+        /**
+         * 节点头：next(4) + prev(4) + parent(4) + child(4) + data(4) + dataSize(4) + name(64) + type(32)
+         */
+        void entry(int position, int next, int child, int data, int dataSize, String name, String type) {
+            out.i32At(position, next)
+                    .i32At(position + 12, child)
+                    .i32At(position + 16, data)
+                    .i32At(position + 20, dataSize)
+                    .bytesAt(position + 24, new byte[64])
+                    .bytesAt(position + 24, name.getBytes(StandardCharsets.US_ASCII))
+                    .bytesAt(position + 88, new byte[32])
+                    .bytesAt(position + 88, type.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Eimg_Layer：width(4) + height(4) + layerType(2) + pixelType(2) + blockWidth(4) + blockHeight(4)
+         */
+        private void layer(int position) {
+            out.i32At(position, 1000).i32At(position + 4, 800)
+                    .i16At(position + 8, 1).i16At(position + 10, 3)
+                    .i32At(position + 12, 64).i32At(position + 16, 64);
+        }
+
+        /**
+         * Eprj_MapInfo：proName + upperLeftCenter + lowerRightCenter + pixelSize + units，
+         * 字符串和对象均以 数量(4) + 偏移(4) 开头
+         */
+        private void mapInfo() {
+            out.position(MAP_INFO_DATA)
+                    .i32(4).i32(0).bytes("UTM\0".getBytes(StandardCharsets.US_ASCII))
+                    .i32(1).i32(0).f64(500015).f64(4000985)
+                    .i32(1).i32(0).f64(500985).f64(4000015)
+                    .i32(1).i32(0).f64(30).f64(30)
+                    .i32(7).i32(0).bytes("meters\0".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        Path write(Path path) throws IOException {
+            return out.writeTo(path);
+        }
+    }
+}
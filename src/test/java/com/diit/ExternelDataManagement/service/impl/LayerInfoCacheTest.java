@@ -0,0 +1,135 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.pojo.LayerCacheStats;
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 图层解析结果磁盘缓存测试：缓存目录为临时目录，容量上限按单个条目大小设置
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class LayerInfoCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private ScanConfig scanConfig;
+
+    @BeforeEach
+    void setUp() {
+        scanConfig = new ScanConfig();
+        scanConfig.setLayerCacheDir(dir.resolve("cache").toString());
+    }
+
+    @Test
+    void entriesSurviveRestart() {
+        LayerInfoCache.Key key = new LayerInfoCache.Key("/data/a.shp", 100, 1000);
+        new LayerInfoCache(scanConfig).put(key, List.of(new LayerInfo("a", 3)));
+
+        LayerInfoCache restarted = new LayerInfoCache(scanConfig);
+
+        assertThat(restarted.getStats().getEntryCount()).isEqualTo(1);
+        assertThat(restarted.get(key))
+                .extracting(LayerInfo::getLayerName, LayerInfo::getFeatureCount)
+                .containsExactly(tuple("a", 3));
+    }
+
+    @Test
+    void changedFileMissesPreviousEntry() throws IOException {
+        LayerInfoCache cache = new LayerInfoCache(scanConfig);
+        File file = Files.write(dir.resolve("report.xlsx"), new byte[10]).toFile();
+        file.setLastModified(1_700_000_000_000L);
+        LayerInfoCache.Key before = cache.keyOf(FileFingerprint.of(file));
+        cache.put(before, List.of(new LayerInfo("Sheet1", 0)));
+
+        assertThat(cache.get(cache.keyOf(file))).hasSize(1);
+
+        Files.write(file.toPath(), new byte[20]);
+        file.setLastModified(1_700_000_060_000L);
+        LayerInfoCache.Key after = cache.keyOf(FileFingerprint.of(file));
+
+        assertThat(after.getPath()).isEqualTo(before.getPath());
+        assertThat(cache.get(after)).isNull();
+        LayerCacheStats stats = cache.getStats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        LayerInfoCache cache = new LayerInfoCache(scanConfig);
+        LayerInfoCache.Key a = new LayerInfoCache.Key("/data/a.shp", 100, 1000);
+        LayerInfoCache.Key b = new LayerInfoCache.Key("/data/b.shp", 100, 1000);
+        LayerInfoCache.Key c = new LayerInfoCache.Key("/data/c.shp", 100, 1000);
+        cache.put(a, List.of(new LayerInfo("a", 1)));
+        // 三个条目内容长度相同，上限只容得下两个
+        scanConfig.setLayerCacheMaxBytes(cache.getStats().getTotalBytes() * 2);
+        cache.put(b, List.of(new LayerInfo("b", 1)));
+
+        assertThat(cache.get(a)).isNotNull();
+        cache.put(c, List.of(new LayerInfo("c", 1)));
+
+        assertThat(cache.get(b)).isNull();
+        assertThat(cache.get(a)).isNotNull();
+        assertThat(cache.get(c)).isNotNull();
+        assertThat(cache.getStats().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getStats().getEntryCount()).isEqualTo(2);
+        assertThat(dir.resolve("cache").resolve(b.fileName())).doesNotExist();
+    }
+
+    @Test
+    void readsEntryWithUnknownProperties() throws IOException {
+        LayerInfoCache.Key key = new LayerInfoCache.Key("/data/a.shp", 100, 1000);
+        Path cacheDir = Files.createDirectories(dir.resolve("cache"));
+        Files.write(cacheDir.resolve(key.fileName()), ("{\"path\":\"/data/a.shp\",\"size\":100,\"lastModified\":1000,"
+                + "\"writtenBy\":\"1.0\",\"layers\":[{\"layerName\":\"a\",\"featureCount\":3,\"removedField\":true}]}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        List<LayerInfo> layers = new LayerInfoCache(scanConfig).get(key);
+
+        assertThat(layers).hasSize(1);
+        assertThat(layers.get(0).getLayerName()).isEqualTo("a");
+        assertThat(layers.get(0).getFeatureCount()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidatesEntriesUnderDirectory() throws IOException {
+        LayerInfoCache cache = new LayerInfoCache(scanConfig);
+        Path data = Files.createDirectories(dir.resolve("data").resolve("sub"));
+        String inside = data.toRealPath().resolve("a.shp").toString();
+        String outside = dir.toRealPath().resolve("data2").resolve("a.shp").toString();
+        cache.put(new LayerInfoCache.Key(inside, 1, 1), List.of(new LayerInfo("a", 1)));
+        cache.put(new LayerInfoCache.Key(outside, 1, 1), List.of(new LayerInfo("a", 1)));
+
+        assertThat(cache.invalidateUnder(dir.resolve("data").toFile())).isEqualTo(1);
+        assertThat(cache.get(new LayerInfoCache.Key(inside, 1, 1))).isNull();
+        assertThat(cache.get(new LayerInfoCache.Key(outside, 1, 1))).isNotNull();
+    }
+
+    @Test
+    void disabledCacheHasNoKeys() throws IOException {
+        scanConfig.setLayerCacheEnabled(false);
+        File file = Files.write(dir.resolve("a.tif"), new byte[1]).toFile();
+
+        LayerInfoCache cache = new LayerInfoCache(scanConfig);
+
+        assertThat(cache.keyOf(file)).isNull();
+        assertThat(cache.keyOf(FileFingerprint.of(file))).isNull();
+        assertThat(cache.getStats().isEnabled()).isFalse();
+    }
+}
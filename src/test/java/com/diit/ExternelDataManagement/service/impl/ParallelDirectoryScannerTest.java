@@ -0,0 +1,136 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 并行目录遍历测试：顺序键排序后与串行深度优先遍历顺序一致，GDB 文件夹整体交给回调，遍历结束回调在所有文件之后执行
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class ParallelDirectoryScannerTest {
+
+    @TempDir
+    Path root;
+
+    private ParallelDirectoryScanner scanner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ScanConfig config = new ScanConfig();
+        config.setParallelism(4);
+        scanner = new ParallelDirectoryScanner(config);
+
+        for (int i = 0; i < 5; i++) {
+            Path sub = Files.createDirectories(root.resolve("d" + i).resolve("inner"));
+            Files.write(root.resolve("d" + i).resolve("a" + i + ".shp"), new byte[1]);
+            Files.write(root.resolve("d" + i).resolve("notes" + i + ".txt"), new byte[1]);
+            for (int j = 0; j < 20; j++) {
+                Files.write(sub.resolve("f" + j + ".tif"), new byte[1]);
+            }
+        }
+        Path gdb = Files.createDirectories(root.resolve("d2").resolve("land.gdb"));
+        Files.write(gdb.resolve("a00000001.gdbtable"), new byte[1]);
+        Files.write(root.resolve("top.img"), new byte[1]);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+    }
+
+    @Test
+    void orderKeysReproduceSerialDepthFirstOrder() throws Exception {
+        Map<File, int[]> found = new ConcurrentHashMap<>();
+        CompletableFuture<Throwable> completed = new CompletableFuture<>();
+        List<Integer> sizeAtCompletion = new ArrayList<>();
+
+        scanner.walk(root.toFile(), ParallelDirectoryScannerTest::supported, (key, file) -> found.put(file, key),
+                () -> false, error -> {
+                    sizeAtCompletion.add(found.size());
+                    completed.complete(error);
+                }).get(30, TimeUnit.SECONDS);
+
+        assertThat(completed.get(1, TimeUnit.SECONDS)).isNull();
+        List<File> ordered = found.entrySet().stream()
+                .sorted((a, b) -> ParallelDirectoryScanner.compareOrderKeys(a.getValue(), b.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        List<File> expected = new ArrayList<>();
+        serialWalk(root.toFile(), expected);
+        assertThat(ordered).containsExactlyElementsOf(expected);
+        assertThat(ordered).hasSize(5 + 5 * 20 + 1 + 1)
+                .contains(root.resolve("d2").resolve("land.gdb").toFile())
+                .doesNotContain(root.resolve("d2").resolve("land.gdb").resolve("a00000001.gdbtable").toFile());
+        assertThat(sizeAtCompletion).containsExactly(ordered.size());
+    }
+
+    @Test
+    void stoppedWalkListsNothingAndStillCompletes() throws Exception {
+        List<File> found = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Throwable> completed = new CompletableFuture<>();
+
+        scanner.walk(root.toFile(), ParallelDirectoryScannerTest::supported, (key, file) -> found.add(file),
+                () -> true, completed::complete).get(30, TimeUnit.SECONDS);
+
+        assertThat(completed.get(1, TimeUnit.SECONDS)).isNull();
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void sinkFailureIsPassedToCompletionCallback() throws Exception {
+        CompletableFuture<Throwable> completed = new CompletableFuture<>();
+
+        scanner.walk(root.toFile(), ParallelDirectoryScannerTest::supported, (key, file) -> {
+            throw new IllegalStateException("sink failed");
+        }, () -> false, completed::complete).get(30, TimeUnit.SECONDS);
+
+        assertThat(completed.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("sink failed");
+    }
+
+    @Test
+    void comparesOrderKeysLexicographically() {
+        assertThat(ParallelDirectoryScanner.compareOrderKeys(new int[]{0, 5}, new int[]{1})).isNegative();
+        assertThat(ParallelDirectoryScanner.compareOrderKeys(new int[]{1}, new int[]{1, 0})).isNegative();
+        assertThat(ParallelDirectoryScanner.compareOrderKeys(new int[]{2, 1}, new int[]{2, 1})).isZero();
+        assertThat(ParallelDirectoryScanner.compareOrderKeys(new int[]{10}, new int[]{9, 99})).isPositive();
+    }
+
+    private static boolean supported(File file) {
+        return !file.getName().endsWith(".txt");
+    }
+
+    /**
+     * 串行深度优先遍历：按列举顺序逐项处理，遇到子目录立即递归
+     */
+    private static void serialWalk(File directory, List<File> out) {
+        for (File file : directory.listFiles()) {
+            if (file.isDirectory() && !file.getName().endsWith(".gdb")) {
+                serialWalk(file, out);
+            } else if (file.isDirectory() || supported(file)) {
+                out.add(file);
+            }
+        }
+    }
+}
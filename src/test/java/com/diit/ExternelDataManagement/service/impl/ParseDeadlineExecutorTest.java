@@ -0,0 +1,125 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.exception.ParseTimeoutException;
+import com.diit.ExternelDataManagement.service.FormatParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 解析单元时限测试：格式注册表只注册一个扩展名为 mdb 的桩解析器，用于按扩展名选择格式时限
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class ParseDeadlineExecutorTest {
+
+    private ParseDeadlineExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void returnsResultAndRethrowsTaskFailure() throws IOException {
+        executor = executor(new ScanConfig());
+
+        assertThat(executor.call(new File("/data/a.mdb"), () -> 42)).isEqualTo(42);
+        assertThatThrownBy(() -> executor.call(new File("/data/a.mdb"), () -> {
+            throw new IOException("损坏");
+        })).isInstanceOf(IOException.class).hasMessage("损坏");
+        assertThatThrownBy(() -> executor.call(new File("/data/a.mdb"), () -> {
+            throw new IllegalStateException("bug");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void interruptsTaskPastFormatDeadline() throws InterruptedException {
+        ScanConfig scanConfig = new ScanConfig();
+        scanConfig.setParseTimeoutSeconds(0);
+        scanConfig.setFormatTimeoutSeconds(Map.of("mdb", 1));
+        executor = executor(scanConfig);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> executor.call(new File("/data/a.mdb"), () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }))
+                .isInstanceOfSatisfying(ParseTimeoutException.class, e -> {
+                    assertThat(e.getFormat()).isEqualTo("mdb");
+                    assertThat(e.getTimeoutSeconds()).isEqualTo(1);
+                })
+                .hasMessageContaining("/data/a.mdb");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void usesDefaultTimeoutForUnregisteredFormats() {
+        ScanConfig scanConfig = new ScanConfig();
+        scanConfig.setParseTimeoutSeconds(30);
+        scanConfig.setFormatTimeoutSeconds(Map.of("mdb", 0));
+        executor = executor(scanConfig);
+
+        assertThat(executor.timeoutMillis("mdb")).isZero();
+        assertThat(executor.timeoutMillis("tif")).isEqualTo(30_000);
+        assertThat(executor.timeoutMillis(null)).isEqualTo(30_000);
+    }
+
+    @Test
+    void givesUpWhenWorkersAreHeldByStuckTasks() throws IOException {
+        ScanConfig scanConfig = new ScanConfig();
+        scanConfig.setParseTimeoutSeconds(1);
+        scanConfig.setParseWorkerThreads(1);
+        executor = executor(scanConfig);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // 忽略中断的任务在超时后继续占用唯一的工作线程
+            assertThatThrownBy(() -> executor.call(new File("/data/stuck.mdb"), () -> {
+                while (true) {
+                    try {
+                        if (release.await(100, TimeUnit.MILLISECONDS)) {
+                            return null;
+                        }
+                    } catch (InterruptedException e) {
+                        // 模拟卡在不响应中断的 I/O 上
+                    }
+                }
+            })).isInstanceOf(ParseTimeoutException.class);
+
+            assertThatThrownBy(() -> executor.call(new File("/data/next.mdb"), () -> 1))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("均被超时任务占用");
+        } finally {
+            release.countDown();
+        }
+        assertThat(executor.call(new File("/data/next.mdb"), () -> 1)).isEqualTo(1);
+    }
+
+    private static ParseDeadlineExecutor executor(ScanConfig scanConfig) {
+        FormatParser mdb = mock(FormatParser.class);
+        when(mdb.getFormat()).thenReturn("mdb");
+        when(mdb.getExtensions()).thenReturn(Collections.singleton("mdb"));
+        return new ParseDeadlineExecutor(scanConfig, new FormatParserRegistry(List.of(mdb), scanConfig));
+    }
+}
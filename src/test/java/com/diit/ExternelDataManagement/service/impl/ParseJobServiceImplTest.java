@@ -0,0 +1,159 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.common.IngestMode;
+import com.diit.ExternelDataManagement.config.ApplicationConfig;
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.exception.DataNotFoundException;
+import com.diit.ExternelDataManagement.pojo.ParseJob;
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import com.diit.ExternelDataManagement.service.FileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 异步解析任务测试：任务在单线程、无排队的任务线程池中执行，文件解析由 FileService 桩代替
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class ParseJobServiceImplTest {
+
+    private FileService fileService;
+    private ThreadPoolTaskExecutor executor;
+    private ParseJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ScanConfig scanConfig = new ScanConfig();
+        scanConfig.setJobThreads(1);
+        scanConfig.setJobQueueCapacity(0);
+        fileService = mock(FileService.class);
+        executor = new ApplicationConfig().parseJobExecutor(scanConfig);
+        service = new ParseJobServiceImpl();
+        ReflectionTestUtils.setField(service, "fileService", fileService);
+        ReflectionTestUtils.setField(service, "scanConfig", scanConfig);
+        ReflectionTestUtils.setField(service, "parseJobExecutor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void completedJobReportsRowCounts() throws InterruptedException {
+        doAnswer(invocation -> {
+            ParseProgress progress = invocation.getArgument(2);
+            progress.rowsPersisted(3);
+            progress.rowsUpdated(1);
+            return null;
+        }).when(fileService).parseAndSaveFiles(eq("R001"), eq(IngestMode.AUTO), any());
+
+        ParseJob job = service.submit("R001", null);
+
+        awaitFinished(job);
+        assertThat(job.getStatus()).isEqualTo(ParseJob.STATUS_COMPLETED);
+        assertThat(job.getIngestMode()).isEqualTo(IngestMode.AUTO);
+        assertThat(job.getMessage()).contains("新增 3 条", "更新 1 条");
+        assertThat(job.getStartTime()).isNotNull();
+        assertThat(service.getJob(job.getJobId())).isSameAs(job);
+    }
+
+    @Test
+    void cancelStopsRunningJobAtNextCheckpoint() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ParseProgress progress = invocation.getArgument(2);
+            started.countDown();
+            while (true) {
+                progress.checkCancelled();
+                Thread.sleep(10);
+            }
+        }).when(fileService).parseAndSaveFiles(eq("R001"), any(), any());
+
+        ParseJob job = service.submit("R001", IngestMode.COPY);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        service.cancel(job.getJobId());
+
+        awaitFinished(job);
+        assertThat(job.getStatus()).isEqualTo(ParseJob.STATUS_CANCELLED);
+        assertThat(job.getProgress().isCancelled()).isTrue();
+    }
+
+    @Test
+    void resubmittingUnfinishedReceiveCodeReturnsExistingJob() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(fileService).parseAndSaveFiles(eq("R001"), any(), any());
+
+        ParseJob first = service.submit("R001", IngestMode.AUTO);
+        ParseJob second = service.submit("R001", IngestMode.COPY);
+        release.countDown();
+        awaitFinished(first);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getIngestMode()).isEqualTo(IngestMode.AUTO);
+        verify(fileService, times(1)).parseAndSaveFiles(eq("R001"), any(), any());
+    }
+
+    @Test
+    void rejectsSubmissionWhenPoolIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(fileService).parseAndSaveFiles(any(), any(), any());
+
+        ParseJob running = service.submit("R001", IngestMode.AUTO);
+        assertThatThrownBy(() -> service.submit("R002", IngestMode.AUTO))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("队列已满");
+        release.countDown();
+        awaitFinished(running);
+    }
+
+    @Test
+    void failedJobKeepsErrorMessage() throws InterruptedException {
+        doThrow(new IllegalStateException("目录不存在")).when(fileService)
+                .parseAndSaveFiles(eq("R001"), any(), any());
+
+        ParseJob job = service.submit("R001", IngestMode.AUTO);
+
+        awaitFinished(job);
+        assertThat(job.getStatus()).isEqualTo(ParseJob.STATUS_FAILED);
+        assertThat(job.getMessage()).isEqualTo("目录不存在");
+    }
+
+    @Test
+    void rejectsBlankReceiveCodeAndUnknownJob() {
+        assertThatThrownBy(() -> service.submit(" ", IngestMode.AUTO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getJob("JOB_UNKNOWN")).isInstanceOf(DataNotFoundException.class);
+        assertThatThrownBy(() -> service.cancel("JOB_UNKNOWN")).isInstanceOf(DataNotFoundException.class);
+    }
+
+    private static void awaitFinished(ParseJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).as("任务在 10 秒内结束").isTrue();
+    }
+}
@@ -0,0 +1,201 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.config.ApplicationConfig;
+import com.diit.ExternelDataManagement.config.ScanConfig;
+import com.diit.ExternelDataManagement.pojo.FileEntity;
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 解析流水线测试：按遍历顺序返回结果、按分片入库、入库阻塞时上游停止解析（背压）、取消和解析失败时中止
+ * 每个测试目录下有 3 个子目录，各含 20 个 .tif 文件
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class ParsePipelineTest {
+
+    private static final int FILE_COUNT = 60;
+
+    @TempDir
+    Path root;
+
+    private ParallelDirectoryScanner scanner;
+    private ThreadPoolTaskExecutor parserExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (scanner != null) {
+            scanner.shutdown();
+        }
+        if (parserExecutor != null) {
+            parserExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void retainedRowsFollowSerialOrderAndWritesAreChunked() throws IOException {
+        createFiles();
+        ParsePipeline pipeline = pipeline(4, 5, 7);
+        List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<>());
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        List<FileEntity> rows = pipeline.run(root.toFile(), this::supported, ParsePipelineTest::entityOf,
+                chunk -> {
+                    chunkSizes.add(chunk.size());
+                    chunk.forEach(entity -> written.add(entity.getFilePath()));
+                }, new ParseProgress(), true);
+
+        List<String> expected = new ArrayList<>();
+        for (File sub : root.toFile().listFiles()) {
+            for (File file : sub.listFiles()) {
+                expected.add(file.getAbsolutePath());
+            }
+        }
+        assertThat(rows).extracting(FileEntity::getFilePath).containsExactlyElementsOf(expected);
+        assertThat(written).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(chunkSizes).allSatisfy(size -> assertThat(size).isBetween(1, 7));
+        assertThat(chunkSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(FILE_COUNT);
+    }
+
+    @Test
+    void blockedWriterStopsUpstreamParsing() throws Exception {
+        createFiles();
+        ParsePipeline pipeline = pipeline(1, 2, 1);
+        AtomicInteger parsed = new AtomicInteger();
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+
+        CompletableFuture<List<FileEntity>> run = CompletableFuture.supplyAsync(() -> pipeline.run(root.toFile(),
+                this::supported, file -> {
+                    parsed.incrementAndGet();
+                    return entityOf(file);
+                }, chunk -> {
+                    writerBlocked.countDown();
+                    await(release);
+                    written.addAndGet(chunk.size());
+                }, new ParseProgress(), false));
+
+        assertThat(writerBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(500);
+        // 入库中 1 条 + 结果队列 2 条 + 解析线程阻塞在放入上的 1 条
+        assertThat(parsed.get()).isLessThanOrEqualTo(4);
+
+        release.countDown();
+        run.get(30, TimeUnit.SECONDS);
+        assertThat(parsed.get()).isEqualTo(FILE_COUNT);
+        assertThat(written.get()).isEqualTo(FILE_COUNT);
+    }
+
+    @Test
+    void cancellationStopsPipeline() throws IOException {
+        createFiles();
+        ParsePipeline pipeline = pipeline(2, 4, 5);
+        ParseProgress progress = new ParseProgress();
+        AtomicInteger parsed = new AtomicInteger();
+
+        assertThatThrownBy(() -> pipeline.run(root.toFile(), this::supported, file -> {
+            if (parsed.incrementAndGet() == 10) {
+                progress.cancel();
+            }
+            return entityOf(file);
+        }, chunk -> { }, progress, false)).isInstanceOf(CancellationException.class);
+
+        assertThat(parsed.get()).isLessThan(FILE_COUNT);
+    }
+
+    @Test
+    void parserFailureAbortsRun() throws IOException {
+        createFiles();
+        ParsePipeline pipeline = pipeline(2, 4, 5);
+        AtomicInteger parsed = new AtomicInteger();
+        Function<File, List<FileEntity>> failing = file -> {
+            if (parsed.incrementAndGet() == 5) {
+                throw new IllegalStateException("解析器异常");
+            }
+            return entityOf(file);
+        };
+
+        assertThatThrownBy(() -> pipeline.run(root.toFile(), this::supported, failing, chunk -> { },
+                new ParseProgress(), false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("解析器异常");
+        assertThat(parsed.get()).isLessThan(FILE_COUNT);
+    }
+
+    @Test
+    void emptyDirectoryCompletesWithoutWrites() {
+        ParsePipeline pipeline = pipeline(2, 4, 5);
+        AtomicInteger writes = new AtomicInteger();
+
+        List<FileEntity> rows = pipeline.run(root.toFile(), this::supported, ParsePipelineTest::entityOf,
+                chunk -> writes.incrementAndGet(), new ParseProgress(), true);
+
+        assertThat(rows).isEmpty();
+        assertThat(writes.get()).isZero();
+    }
+
+    private ParsePipeline pipeline(int parallelism, int queueCapacity, int writeChunkSize) {
+        ScanConfig scanConfig = new ScanConfig();
+        scanConfig.setParallelism(parallelism);
+        scanConfig.setQueueCapacity(queueCapacity);
+        scanConfig.setWriteChunkSize(writeChunkSize);
+        scanConfig.setWriteFlushIntervalSeconds(5);
+        scanner = new ParallelDirectoryScanner(scanConfig);
+        parserExecutor = new ApplicationConfig().parserExecutor(scanConfig);
+        ParsePipeline pipeline = new ParsePipeline();
+        ReflectionTestUtils.setField(pipeline, "directoryScanner", scanner);
+        ReflectionTestUtils.setField(pipeline, "scanConfig", scanConfig);
+        ReflectionTestUtils.setField(pipeline, "parserExecutor", parserExecutor);
+        return pipeline;
+    }
+
+    private void createFiles() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            Path sub = Files.createDirectories(root.resolve("d" + i));
+            for (int j = 0; j < FILE_COUNT / 3; j++) {
+                Files.write(sub.resolve("f" + j + ".tif"), new byte[1]);
+            }
+        }
+    }
+
+    private boolean supported(File file) {
+        return file.getName().endsWith(".tif");
+    }
+
+    private static List<FileEntity> entityOf(File file) {
+        FileEntity entity = new FileEntity();
+        entity.setFilePath(file.getAbsolutePath());
+        return Collections.singletonList(entity);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.ParseProgress;
+import com.diit.ExternelDataManagement.pojo.ParseQuarantineEntry;
+import com.diit.ExternelDataManagement.pojo.ScanManifestEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 扫描上下文测试：与上次扫描清单比对，跳过未变化的文件并找出已删除的文件；
+ * 按超时次数、文件大小和修改时间（或按路径及有效期）判断隔离名单
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class ScanContextTest {
+
+    private static final String RECEIVE_CODE = "R001";
+
+    @Test
+    void unchangedOnlyWhenSizeAndModifiedTimeMatch() {
+        ScanContext context = manifestContext(new ScanManifestEntry(RECEIVE_CODE, "/data/a.shp", 100, 1000));
+
+        ScanManifestEntry previous = context.markSeen("/data/a.shp");
+
+        assertThat(context.isUnchanged(previous, 100, 1000)).isTrue();
+        assertThat(context.isUnchanged(previous, 101, 1000)).isFalse();
+        assertThat(context.isUnchanged(previous, 100, 1001)).isFalse();
+        // 首次出现的文件没有清单条目，总要解析
+        assertThat(context.markSeen("/data/new.tif")).isNull();
+        assertThat(context.isUnchanged(null, 100, 1000)).isFalse();
+    }
+
+    @Test
+    void filesMissingFromThisScanAreRemoved() {
+        ScanContext context = manifestContext(
+                new ScanManifestEntry(RECEIVE_CODE, "/data/a.shp", 100, 1000),
+                new ScanManifestEntry(RECEIVE_CODE, "/data/b.tif", 200, 2000),
+                new ScanManifestEntry(RECEIVE_CODE, "/data/c.gdb", 300, 3000));
+
+        context.markSeen("/data/a.shp");
+        context.markSeen("/data/c.gdb");
+        context.markSeen("/data/d.img");
+
+        assertThat(context.getRemovedFiles()).containsExactly("/data/b.tif");
+    }
+
+    @Test
+    void countsUnchangedFilesAndCollectsReparsedEntries() {
+        ParseProgress progress = new ParseProgress();
+        ScanContext context = new ScanContext(RECEIVE_CODE,
+                List.of(new ScanManifestEntry(RECEIVE_CODE, "/data/a.shp", 100, 1000)),
+                Collections.emptyList(), 0, null, progress);
+
+        context.recordUnchanged();
+        context.recordParsed(new ScanManifestEntry(RECEIVE_CODE, "/data/b.tif", 200, 2000));
+        context.recordParsed(new ScanManifestEntry(RECEIVE_CODE, "/data/b.tif", 250, 2500));
+
+        assertThat(context.getUnchangedCount()).isEqualTo(1);
+        assertThat(progress.getFilesUnchanged()).isEqualTo(1);
+        assertThat(context.getParsedEntries()).singleElement()
+                .extracting(ScanManifestEntry::getFileSize).isEqualTo(250L);
+    }
+
+    @Test
+    void firstScanHasNoRemovedFiles() {
+        ScanContext context = manifestContext();
+
+        context.markSeen("/data/a.shp");
+
+        assertThat(context.getRemovedFiles()).isEmpty();
+    }
+
+    @Test
+    void quarantinedOnlyAtThresholdAndWhileFileIsUnchanged() {
+        ScanContext context = quarantineContext(
+                quarantineEntry("/data/a.mdb", 100, 1000, 2, LocalDateTime.now()),
+                quarantineEntry("/data/b.mdb", 100, 1000, 1, LocalDateTime.now()));
+
+        assertThat(context.isQuarantined("/data/a.mdb", 100, 1000)).isTrue();
+        assertThat(context.isQuarantined("/data/a.mdb", 101, 1000)).isFalse();
+        assertThat(context.isQuarantined("/data/a.mdb", 100, 1001)).isFalse();
+        assertThat(context.isQuarantined("/data/b.mdb", 100, 1000)).isFalse();
+        assertThat(context.isQuarantined("/data/c.mdb", 100, 1000)).isFalse();
+        // 大小已知的条目不按路径隔离
+        assertThat(context.isQuarantinedByPath("/data/a.mdb")).isFalse();
+    }
+
+    @Test
+    void zeroThresholdDisablesQuarantine() {
+        ScanContext context = new ScanContext(RECEIVE_CODE, Collections.emptyList(),
+                List.of(quarantineEntry("/data/a.mdb", 100, 1000, 5, LocalDateTime.now()),
+                        quarantineEntry("/data/b.mdb", -1, -1, 5, LocalDateTime.now())),
+                0, null, new ParseProgress());
+
+        assertThat(context.isQuarantined("/data/a.mdb", 100, 1000)).isFalse();
+        assertThat(context.isQuarantinedByPath("/data/b.mdb")).isFalse();
+    }
+
+    @Test
+    void pathQuarantineExpiresAfterConfiguredDuration() {
+        ScanContext context = quarantineContext(
+                quarantineEntry("/share/recent.mdb", -1, -1, 2, LocalDateTime.now().minusHours(1)),
+                quarantineEntry("/share/stale.mdb", -1, -1, 2, LocalDateTime.now().minusHours(25)),
+                quarantineEntry("/share/unknown.mdb", -1, -1, 2, null));
+
+        assertThat(context.isQuarantinedByPath("/share/recent.mdb")).isTrue();
+        assertThat(context.isQuarantinedByPath("/share/stale.mdb")).isFalse();
+        assertThat(context.isQuarantinedByPath("/share/unknown.mdb")).isFalse();
+
+        ScanContext withoutExpiry = new ScanContext(RECEIVE_CODE, Collections.emptyList(),
+                List.of(quarantineEntry("/share/stale.mdb", -1, -1, 2, LocalDateTime.now().minusDays(30))),
+                2, null, new ParseProgress());
+        assertThat(withoutExpiry.isQuarantinedByPath("/share/stale.mdb")).isTrue();
+    }
+
+    @Test
+    void releasesParsedMissingAndExpiredEntriesThatDidNotTimeOutAgain() {
+        ScanContext context = quarantineContext(
+                quarantineEntry("/data/parsed.mdb", 100, 1000, 2, LocalDateTime.now()),
+                quarantineEntry("/data/deleted.mdb", 100, 1000, 2, LocalDateTime.now()),
+                quarantineEntry("/data/still.mdb", 100, 1000, 2, LocalDateTime.now()),
+                quarantineEntry("/share/retried.mdb", -1, -1, 2, LocalDateTime.now().minusHours(25)),
+                quarantineEntry("/share/again.mdb", -1, -1, 2, LocalDateTime.now().minusHours(25)),
+                quarantineEntry("/share/recent.mdb", -1, -1, 2, LocalDateTime.now()));
+        for (String path : List.of("/data/parsed.mdb", "/data/still.mdb", "/share/retried.mdb",
+                "/share/again.mdb", "/share/recent.mdb")) {
+            context.markSeen(path);
+        }
+
+        context.recordParsed(new ScanManifestEntry(RECEIVE_CODE, "/data/parsed.mdb", 100, 1000));
+        context.recordTimedOut(quarantineEntry("/share/again.mdb", -1, -1, 3, LocalDateTime.now()));
+
+        assertThat(context.getReleasedQuarantineFiles())
+                .containsExactlyInAnyOrder("/data/parsed.mdb", "/data/deleted.mdb", "/share/retried.mdb");
+        assertThat(context.getTimedOutEntries()).extracting(ParseQuarantineEntry::getFilePath)
+                .containsExactly("/share/again.mdb");
+        assertThat(context.getProgress().getFilesTimedOut()).isEqualTo(1);
+    }
+
+    private static ScanContext quarantineContext(ParseQuarantineEntry... quarantineEntries) {
+        return new ScanContext(RECEIVE_CODE, Collections.emptyList(), List.of(quarantineEntries), 2,
+                Duration.ofHours(24), new ParseProgress());
+    }
+
+    private static ParseQuarantineEntry quarantineEntry(String filePath, long fileSize, long lastModified,
+                                                        int timeoutCount, LocalDateTime lastTimeoutTime) {
+        ParseQuarantineEntry entry = new ParseQuarantineEntry(RECEIVE_CODE, filePath, fileSize, lastModified, "mdb");
+        entry.setTimeoutCount(timeoutCount);
+        entry.setLastTimeoutTime(lastTimeoutTime);
+        return entry;
+    }
+
+    private static ScanContext manifestContext(ScanManifestEntry... previousEntries) {
+        return new ScanContext(RECEIVE_CODE, List.of(previousEntries), Collections.emptyList(), 0, null,
+                new ParseProgress());
+    }
+}
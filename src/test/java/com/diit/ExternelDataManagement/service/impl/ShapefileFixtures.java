@@ -0,0 +1,104 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Shapefile 测试文件生成，供 .shp / .shx / .dbf 相关读取测试共用
+ * 测试数据为一个带洞的正方形面（外环 10x10，内环 2x2）和一条空记录
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+final class ShapefileFixtures {
+
+    // 外环顺时针，内环逆时针
+    private static final double[][] OUTER_RING = {{0, 0}, {0, 10}, {10, 10}, {10, 0}, {0, 0}};
+    private static final double[][] INNER_RING = {{2, 2}, {4, 2}, {4, 4}, {2, 4}, {2, 2}};
+
+    private ShapefileFixtures() {
+    }
+
+    /**
+     * 面记录内容：类型(4) + 范围(32) + 部件数(4) + 点数(4) + 部件起始下标 + 坐标
+     * @param numParts 写入文件头的部件数，不等于 2 时记录损坏
+     */
+    static byte[] polygonRecord(int numParts) {
+        ByteWriter record = ByteWriter.littleEndian();
+        record.i32(5);
+        record.f64(0).f64(0).f64(10).f64(10);
+        record.i32(numParts);
+        record.i32(OUTER_RING.length + INNER_RING.length);
+        record.i32(0);
+        record.i32(OUTER_RING.length);
+        for (double[][] ring : new double[][][]{OUTER_RING, INNER_RING}) {
+            for (double[] point : ring) {
+                record.f64(point[0]).f64(point[1]);
+            }
+        }
+        return record.toByteArray();
+    }
+
+    static byte[] nullRecord() {
+        return ByteWriter.littleEndian().i32(0).toByteArray();
+    }
+
+    /**
+     * 写入 .shp 和 .shx：文件头(100) + 各记录（记录头为大端的 记录号 + 内容长度，以16位字为单位）
+     */
+    static Path writeShapefile(Path dir, String name, byte[]... records) throws IOException {
+        ByteWriter shp = ByteWriter.bigEndian().zeros(100);
+        ByteWriter shx = ByteWriter.bigEndian().zeros(100);
+        for (int i = 0; i < records.length; i++) {
+            shx.i32(shp.position() / 2).i32(records[i].length / 2);
+            shp.i32(i + 1).i32(records[i].length / 2).bytes(records[i]);
+        }
+        writeMainHeader(shp);
+        writeMainHeader(shx);
+        Path shpPath = shp.writeTo(dir.resolve(name + ".shp"));
+        shx.writeTo(dir.resolve(name + ".shx"));
+        return shpPath;
+    }
+
+    /**
+     * 主文件头：文件代码和文件长度为大端，版本、形状类型和范围为小端
+     */
+    private static void writeMainHeader(ByteWriter file) {
+        file.order(ByteOrder.BIG_ENDIAN).i32At(0, 9994).i32At(24, file.size() / 2);
+        file.order(ByteOrder.LITTLE_ENDIAN).i32At(28, 1000).i32At(32, 5)
+                .f64At(36, 0).f64At(44, 0).f64At(52, 10).f64At(60, 10);
+    }
+
+    /**
+     * 写入 .dbf 文件头：版本(1) + 日期(3) + 记录数(4) + 文件头长度(2) + 记录长度(2) + ... + 语言驱动ID@29，
+     * 之后为 32 字节的字段描述（名称 名称/AREA/UPDATED）和结束标记 0x0D（不写入记录内容）
+     */
+    static Path writeDbf(Path path, int recordCount, int languageDriver) throws IOException {
+        Object[][] fields = {{"名称", 'C', 20, 0}, {"AREA", 'N', 12, 3}, {"UPDATED", 'D', 8, 0}};
+        int headerLength = 32 + fields.length * 32 + 1;
+        int recordLength = 1;
+        for (Object[] field : fields) {
+            recordLength += (int) field[2];
+        }
+        ByteWriter dbf = ByteWriter.littleEndian();
+        dbf.u8At(0, 3);
+        dbf.i32At(4, recordCount);
+        dbf.i16At(8, headerLength);
+        dbf.i16At(10, recordLength);
+        dbf.u8At(29, languageDriver);
+        Charset gbk = Charset.forName("GBK");
+        for (int i = 0; i < fields.length; i++) {
+            int start = 32 + i * 32;
+            dbf.bytesAt(start, ((String) fields[i][0]).getBytes(gbk));
+            dbf.u8At(start + 11, (char) fields[i][1]);
+            dbf.u8At(start + 16, (int) fields[i][2]);
+            dbf.u8At(start + 17, (int) fields[i][3]);
+        }
+        dbf.u8At(headerLength - 1, 0x0D);
+        return dbf.writeTo(path);
+    }
+}
@@ -0,0 +1,92 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.nullRecord;
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.polygonRecord;
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.writeShapefile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/**
+ * .shp 几何扫描测试：部件数、顶点数和面积（投影坐标系为平面面积，地理坐标系为椭球面积），损坏记录计为无效
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class ShpGeometryScannerTest {
+
+    private static final String GEOGRAPHIC_PRJ = "GEOGCS[\"GCS_WGS_1984\",DATUM[\"D_WGS_1984\","
+            + "SPHEROID[\"WGS_1984\",6378137.0,298.257223563]],PRIMEM[\"Greenwich\",0.0],"
+            + "UNIT[\"Degree\",0.0174532925199433]]";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void scanCountsPartsVerticesAndPlanarArea() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(2), nullRecord());
+
+        ShpGeometryScanner.ScanResult result = ShpGeometryScanner.scan(shp);
+
+        assertThat(result.getRecordCount()).isEqualTo(2);
+        assertThat(result.getNullCount()).isEqualTo(1);
+        assertThat(result.getInvalidCount()).isZero();
+        assertThat(result.getUnknownCount()).isZero();
+        assertThat(result.getPartCount()).isEqualTo(2);
+        assertThat(result.getVertexCount()).isEqualTo(10);
+        assertThat(result.getTotalArea()).isCloseTo(96.0, within(1e-9));
+        assertThat(result.isGeodesicArea()).isFalse();
+    }
+
+    @Test
+    void scanUsesEllipsoidalAreaForGeographicCrs() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(2));
+
+        ShpGeometryScanner.ScanResult result = ShpGeometryScanner.scan(shp, CrsParser.parse(GEOGRAPHIC_PRJ));
+
+        // 赤道附近 10°x10° 减去 2°x2°，约 1.18e12 平方米
+        assertThat(result.isGeodesicArea()).isTrue();
+        assertThat(result.getTotalArea()).isCloseTo(1.18e12, withinPercentage(2));
+    }
+
+    @Test
+    void scanCountsRecordWithCorruptPartCountAsInvalid() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(1000), polygonRecord(2));
+
+        ShpGeometryScanner.ScanResult result = ShpGeometryScanner.scan(shp);
+
+        assertThat(result.getRecordCount()).isEqualTo(2);
+        assertThat(result.getInvalidCount()).isEqualTo(1);
+        assertThat(result.getPartCount()).isEqualTo(2);
+        assertThat(result.getTotalArea()).isCloseTo(96.0, within(1e-9));
+    }
+
+    @Test
+    void scanRejectsTruncatedRecord() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(2));
+        ByteWriter bytes = ByteWriter.read(shp, ByteOrder.BIG_ENDIAN);
+        bytes.truncate(bytes.size() - 40).writeTo(shp);
+
+        assertThatThrownBy(() -> ShpGeometryScanner.scan(shp))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("记录长度越界");
+    }
+
+    @Test
+    void scanRejectsFileShorterThanHeader() throws IOException {
+        Path shp = dir.resolve("empty.shp");
+        Files.write(shp, new byte[60]);
+
+        assertThatThrownBy(() -> ShpGeometryScanner.scan(shp)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GDB 图层解析测试，示例 GDB 由 GdbTableBuilder 生成：
+ * 要素类 parcels 对应表 a00000004，表 LandTable 对应的 a00000006 没有表文件
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class SimpleGeoParserGdbTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void layerFilePathsStayOnTheFilesystem() throws IOException {
+        Path gdb = Files.createDirectories(dir.resolve("land.gdb"));
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        List<LayerInfo> layers = new SimpleGeoParser().parseGdbFile(gdb.toString());
+
+        assertThat(layers).extracting(LayerInfo::getLayerName).containsExactlyInAnyOrder("parcels", "LandTable");
+        LayerInfo parcels = layer(layers, "parcels");
+        assertThat(parcels.getFilePath()).isEqualTo(gdb.resolve("a00000004.gdbtable").toString());
+        assertThat(parcels.getFeatureCount()).isEqualTo(3);
+        // GDB 内部的目录路径只记入补充信息
+        assertThat(parcels.getMetadata()).containsEntry("catalogPath", "\\数据集\\parcels");
+        LayerInfo table = layer(layers, "LandTable");
+        assertThat(table.getFilePath()).isEqualTo(gdb.toString());
+        assertThat(table.getMetadata()).containsEntry("catalogPath", "\\LandTable");
+    }
+
+    @Test
+    void featureClassTakesGeometryTypeExtentAndCrsFromFieldDescriptor() throws IOException {
+        Path gdb = Files.createDirectories(dir.resolve("land.gdb"));
+        GdbTableBuilder.writeSampleGdb(gdb);
+
+        List<LayerInfo> layers = new SimpleGeoParser().parseGdbFile(gdb.toString());
+
+        LayerInfo parcels = layer(layers, "parcels");
+        assertThat(parcels.getGeometryType()).isEqualTo("Polygon");
+        assertThat(parcels.getBbox()).isEqualTo("113.500000,22.100000,114.600000,23.200000");
+        assertThat(parcels.getCrs()).isEqualTo("EPSG:4490");
+        // 没有表文件的非空间表不带范围
+        assertThat(layer(layers, "LandTable").getBbox()).isNull();
+    }
+
+    private static LayerInfo layer(List<LayerInfo> layers, String name) {
+        return layers.stream().filter(layer -> name.equals(layer.getLayerName())).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import com.healthmarketscience.jackcess.ColumnBuilder;
+import com.healthmarketscience.jackcess.DataType;
+import com.healthmarketscience.jackcess.Database;
+import com.healthmarketscience.jackcess.DatabaseBuilder;
+import com.healthmarketscience.jackcess.Table;
+import com.healthmarketscience.jackcess.TableBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * MDB 图层解析测试，测试数据库由 Jackcess 生成
+ * Personal Geodatabase 示例：面要素类 parcels（范围记录在 GDB_GeomColumns）、线要素类 roads（范围缺失，逐行读取几何），
+ * 属性表 owners，以及应跳过的空间索引表
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class SimpleGeoParserMdbTest {
+
+    private static final String CGCS2000_WKT = "GEOGCS[\"GCS_China_Geodetic_Coordinate_System_2000\","
+            + "DATUM[\"D_China_2000\",SPHEROID[\"CGCS2000\",6378137.0,298.257222101]],"
+            + "PRIMEM[\"Greenwich\",0.0],UNIT[\"Degree\",0.0174532925199433]]";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void listsUserTablesWithRowCountsFromTableDefinitions() throws IOException {
+        Path mdb = dir.resolve("survey.mdb");
+        try (Database db = DatabaseBuilder.create(Database.FileFormat.V2000, mdb.toFile())) {
+            Table roads = new TableBuilder("roads")
+                    .addColumn(new ColumnBuilder("ID", DataType.LONG))
+                    .addColumn(new ColumnBuilder("NAME", DataType.TEXT))
+                    .toTable(db);
+            for (int i = 0; i < 3; i++) {
+                roads.addRow(i, "road_" + i);
+            }
+            new TableBuilder("empty_table")
+                    .addColumn(new ColumnBuilder("ID", DataType.LONG))
+                    .toTable(db);
+        }
+
+        List<LayerInfo> layers = new SimpleGeoParser().parseMdbFile(mdb.toString());
+
+        assertThat(layers)
+                .extracting(LayerInfo::getLayerName, LayerInfo::getFeatureCount, LayerInfo::getGeometryType,
+                        LayerInfo::getFilePath)
+                .containsExactly(
+                        tuple("empty_table", 0, "Feature Class", mdb.toString()),
+                        tuple("roads", 3, "Feature Class", mdb.toString()));
+        assertThat(layers).extracting(LayerInfo::getBbox).containsOnlyNulls();
+    }
+
+    @Test
+    void personalGdbTakesGeometryTypeExtentAndCrsFromSystemTables() throws IOException {
+        Path mdb = dir.resolve("land.mdb");
+        try (Database db = DatabaseBuilder.create(Database.FileFormat.V2000, mdb.toFile())) {
+            Table geomColumns = new TableBuilder("GDB_GeomColumns")
+                    .addColumn(new ColumnBuilder("TableName", DataType.TEXT))
+                    .addColumn(new ColumnBuilder("FieldName", DataType.TEXT))
+                    .addColumn(new ColumnBuilder("ShapeType", DataType.LONG))
+                    .addColumn(new ColumnBuilder("ExtentLeft", DataType.DOUBLE))
+                    .addColumn(new ColumnBuilder("ExtentBottom", DataType.DOUBLE))
+                    .addColumn(new ColumnBuilder("ExtentRight", DataType.DOUBLE))
+                    .addColumn(new ColumnBuilder("ExtentTop", DataType.DOUBLE))
+                    .addColumn(new ColumnBuilder("HasZ", DataType.BOOLEAN))
+                    .addColumn(new ColumnBuilder("HasM", DataType.BOOLEAN))
+                    .addColumn(new ColumnBuilder("SRID", DataType.LONG))
+                    .toTable(db);
+            geomColumns.addRow("parcels", "SHAPE", 4, 113.5, 22.1, 114.6, 23.2, false, false, 1);
+            geomColumns.addRow("roads", "SHAPE", 3, null, null, null, null, true, false, 1);
+            Table spatialRefs = new TableBuilder("GDB_SpatialRefs")
+                    .addColumn(new ColumnBuilder("SRID", DataType.LONG))
+                    .addColumn(new ColumnBuilder("SRTEXT", DataType.MEMO))
+                    .toTable(db);
+            spatialRefs.addRow(1, CGCS2000_WKT);
+
+            Table parcels = featureTable(db, "parcels");
+            parcels.addRow(1, null);
+            Table roads = featureTable(db, "roads");
+            roads.addRow(1, lineShape(100, 20, 101, 21));
+            roads.addRow(2, lineShape(99.5, 20.5, 100.5, 22));
+            roads.addRow(3, null);
+            featureTable(db, "parcels_Shape_Index");
+            new TableBuilder("owners")
+                    .addColumn(new ColumnBuilder("OWNER", DataType.TEXT))
+                    .toTable(db)
+                    .addRow("张三");
+        }
+
+        List<LayerInfo> layers = new SimpleGeoParser().parseMdbFile(mdb.toString());
+
+        assertThat(layers)
+                .extracting(LayerInfo::getLayerName, LayerInfo::getGeometryType, LayerInfo::getFeatureCount,
+                        LayerInfo::getBbox, LayerInfo::getCrs)
+                .containsExactly(
+                        tuple("owners", "Table", 1, null, null),
+                        tuple("parcels", "Polygon", 1, "113.500000,22.100000,114.600000,23.200000", "EPSG:4490"),
+                        tuple("roads", "PolylineZ", 3, "99.500000,20.000000,101.000000,22.000000", "EPSG:4490"));
+    }
+
+    @Test
+    void rejectsMissingFileAndNonAccessFile() throws IOException {
+        assertThatThrownBy(() -> new SimpleGeoParser().parseMdbFile(dir.resolve("missing.mdb").toString()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("不存在");
+
+        Path text = Files.write(dir.resolve("notes.mdb"), new byte[64]);
+        assertThatThrownBy(() -> new SimpleGeoParser().parseMdbFile(text.toString()))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static Table featureTable(Database db, String name) throws IOException {
+        return new TableBuilder(name)
+                .addColumn(new ColumnBuilder("OBJECTID", DataType.LONG))
+                .addColumn(new ColumnBuilder("SHAPE", DataType.OLE))
+                .toTable(db);
+    }
+
+    /**
+     * 形状二进制开头：类型(4) + 外包矩形(32)，其余几何数据对范围统计无影响，写为一个部件两个点
+     */
+    private static byte[] lineShape(double minX, double minY, double maxX, double maxY) {
+        return ByteWriter.littleEndian()
+                .i32(3)
+                .f64(minX).f64(minY).f64(maxX).f64(maxY)
+                .i32(1).i32(2).i32(0)
+                .f64(minX).f64(minY).f64(maxX).f64(maxY)
+                .toByteArray();
+    }
+}
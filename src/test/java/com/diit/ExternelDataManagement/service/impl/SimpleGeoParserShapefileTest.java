@@ -0,0 +1,83 @@
+package com.diit.ExternelDataManagement.service.impl;
+
+import com.diit.ExternelDataManagement.pojo.LayerInfo;
+import com.diit.ExternelDataManagement.testutil.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.nullRecord;
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.polygonRecord;
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.writeDbf;
+import static com.diit.ExternelDataManagement.service.impl.ShapefileFixtures.writeShapefile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Shapefile 图层解析测试：要素数、几何与属性信息由 .shp 和同名附属文件组合而成
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+class SimpleGeoParserShapefileTest {
+
+    private static final String PROJECTED_PRJ = "PROJCS[\"CGCS2000_3_Degree_GK_CM_114E\","
+            + "GEOGCS[\"GCS_China_Geodetic_Coordinate_System_2000\",DATUM[\"D_China_2000\","
+            + "SPHEROID[\"CGCS2000\",6378137.0,298.257222101]],PRIMEM[\"Greenwich\",0.0],"
+            + "UNIT[\"Degree\",0.0174532925199433]],PROJECTION[\"Gauss_Kruger\"],"
+            + "PARAMETER[\"Central_Meridian\",114.0],UNIT[\"Meter\",1.0],AUTHORITY[\"EPSG\",4547]]";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parseShapefileBasicCombinesSidecars() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(2), nullRecord());
+        writeDbf(dir.resolve("parcel.dbf"), 2, 0x4D);
+        Files.write(dir.resolve("parcel.prj"), PROJECTED_PRJ.getBytes(StandardCharsets.UTF_8));
+
+        List<LayerInfo> layers = new SimpleGeoParser().parseShapefileBasic(shp.toString());
+
+        assertThat(layers).hasSize(1);
+        LayerInfo layer = layers.get(0);
+        assertThat(layer.getLayerName()).isEqualTo("parcel");
+        assertThat(layer.getGeometryType()).isEqualTo("Polygon");
+        assertThat(layer.getFeatureCount()).isEqualTo(2);
+        assertThat(layer.getBbox()).isEqualTo("0.000000,0.000000,10.000000,10.000000");
+        assertThat(layer.getCrs()).isEqualTo("EPSG:4547");
+        assertThat(layer.getTotalArea()).isCloseTo(96.0, within(1e-9));
+        assertThat(layer.getMetadata())
+                .containsEntry("areaMethod", "planar")
+                .containsEntry("vertexCount", 10L)
+                .containsEntry("partCount", 2L)
+                .containsKey("dbf");
+    }
+
+    @Test
+    void parseShapefileBasicTakesFeatureCountFromShx() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(2), nullRecord());
+        // .dbf 记录数与 .shx 不一致时以 .shx 为准
+        writeDbf(dir.resolve("parcel.dbf"), 5, 0x4D);
+
+        LayerInfo layer = new SimpleGeoParser().parseShapefileBasic(shp.toString()).get(0);
+
+        assertThat(layer.getFeatureCount()).isEqualTo(2);
+        assertThat(layer.getCrs()).isNull();
+    }
+
+    @Test
+    void parseShapefileBasicRejectsWrongFileCode() throws IOException {
+        Path shp = writeShapefile(dir, "parcel", polygonRecord(2));
+        ByteWriter.read(shp, ByteOrder.BIG_ENDIAN).u8At(3, 0).writeTo(shp);
+
+        assertThatThrownBy(() -> new SimpleGeoParser().parseShapefileBasic(shp.toString()))
+                .isInstanceOf(IOException.class);
+    }
+}
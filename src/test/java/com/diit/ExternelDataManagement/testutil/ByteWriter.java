@@ -0,0 +1,215 @@
+package com.diit.ExternelDataManagement.testutil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 测试用二进制文件生成工具：按指定字节序顺序写入或按偏移写入，写入位置超出当前长度时自动补零扩容
+ * 各格式读取测试用它逐字节构造测试文件，也可读入已有文件后修改个别字段或截断
+ *
+ * @author Assistant
+ * @since 2025-11-05
+ */
+public final class ByteWriter {
+
+    private byte[] data;
+    private ByteBuffer view;
+    private ByteOrder order;
+    private int position;
+    private int size;
+
+    private ByteWriter(byte[] data, int size, ByteOrder order) {
+        this.data = data;
+        this.size = size;
+        this.order = order;
+        this.view = ByteBuffer.wrap(data).order(order);
+    }
+
+    public static ByteWriter littleEndian() {
+        return new ByteWriter(new byte[256], 0, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static ByteWriter bigEndian() {
+        return new ByteWriter(new byte[256], 0, ByteOrder.BIG_ENDIAN);
+    }
+
+    public static ByteWriter of(ByteOrder order) {
+        return new ByteWriter(new byte[256], 0, order);
+    }
+
+    /**
+     * 读入已有文件，写入位置在文件末尾
+     */
+    public static ByteWriter read(Path path, ByteOrder order) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteWriter writer = new ByteWriter(Arrays.copyOf(bytes, Math.max(bytes.length, 16)), bytes.length, order);
+        writer.position = bytes.length;
+        return writer;
+    }
+
+    /**
+     * 切换之后写入使用的字节序（如 Shapefile 文件头中大端与小端字段混排）
+     */
+    public ByteWriter order(ByteOrder order) {
+        this.order = order;
+        view.order(order);
+        return this;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public ByteWriter position(int position) {
+        this.position = position;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ByteWriter u8(int value) {
+        u8At(position, value);
+        position += 1;
+        return this;
+    }
+
+    public ByteWriter i16(int value) {
+        i16At(position, value);
+        position += 2;
+        return this;
+    }
+
+    public ByteWriter i32(long value) {
+        i32At(position, value);
+        position += 4;
+        return this;
+    }
+
+    public ByteWriter i64(long value) {
+        i64At(position, value);
+        position += 8;
+        return this;
+    }
+
+    public ByteWriter f64(double value) {
+        f64At(position, value);
+        position += 8;
+        return this;
+    }
+
+    public ByteWriter bytes(byte[] value) {
+        bytesAt(position, value);
+        position += value.length;
+        return this;
+    }
+
+    /**
+     * 写入 count 个零字节
+     */
+    public ByteWriter zeros(int count) {
+        return bytes(new byte[count]);
+    }
+
+    /**
+     * 补零到 alignment 的整数倍
+     */
+    public ByteWriter align(int alignment) {
+        return zeros((alignment - position % alignment) % alignment);
+    }
+
+    public ByteWriter u8At(int offset, int value) {
+        ensure(offset, 1);
+        view.put(offset, (byte) value);
+        return this;
+    }
+
+    public ByteWriter i16At(int offset, int value) {
+        ensure(offset, 2);
+        view.putShort(offset, (short) value);
+        return this;
+    }
+
+    public ByteWriter i32At(int offset, long value) {
+        ensure(offset, 4);
+        view.putInt(offset, (int) value);
+        return this;
+    }
+
+    public ByteWriter i64At(int offset, long value) {
+        ensure(offset, 8);
+        view.putLong(offset, value);
+        return this;
+    }
+
+    public ByteWriter f64At(int offset, double value) {
+        ensure(offset, 8);
+        view.putDouble(offset, value);
+        return this;
+    }
+
+    public ByteWriter bytesAt(int offset, byte[] value) {
+        ensure(offset, value.length);
+        System.arraycopy(value, 0, data, offset, value.length);
+        return this;
+    }
+
+    /**
+     * 截断到 length 字节
+     */
+    public ByteWriter truncate(int length) {
+        size = Math.min(size, length);
+        position = Math.min(position, size);
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    public Path writeTo(Path path) throws IOException {
+        Files.write(path, toByteArray());
+        return path;
+    }
+
+    /**
+     * 无符号变长整数（每字节低 7 位，最高位表示后面还有字节）
+     */
+    public static byte[] varUInt(int value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while (value >= 0x80) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+        return out.toByteArray();
+    }
+
+    /**
+     * {XXXXXXXX-XXXX-XXXX-XXXX-XXXXXXXXXXXX} 按 Windows GUID 布局（前三段小端）编码
+     */
+    public static byte[] guid(String text) {
+        String hex = text.replaceAll("[{}-]", "");
+        byte[] raw = new byte[16];
+        for (int i = 0; i < 16; i++) {
+            raw[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return new byte[]{raw[3], raw[2], raw[1], raw[0], raw[5], raw[4], raw[7], raw[6],
+                raw[8], raw[9], raw[10], raw[11], raw[12], raw[13], raw[14], raw[15]};
+    }
+
+    private void ensure(int offset, int length) {
+        int end = offset + length;
+        if (end > data.length) {
+            data = Arrays.copyOf(data, Math.max(end, data.length * 2));
+            view = ByteBuffer.wrap(data).order(order);
+        }
+        size = Math.max(size, end);
+    }
+}